@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the Across benchmarks, accepting the regular JMH command line options.
+ * Unless specified otherwise, results are written as JSON to {@code jmh-result.json} in the working directory,
+ * so runs of different versions can be compared, for example with a JMH visualizer.
+ * <p/>
+ * Build with {@code mvn -P benchmarks -pl across-benchmarks -am package} and run with
+ * {@code java -jar across-benchmarks/target/benchmarks.jar [regexp] [options]}.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+public final class AcrossBenchmarks
+{
+	private AcrossBenchmarks() {
+	}
+
+	public static void main( String[] args ) throws RunnerException, CommandLineOptionException {
+		CommandLineOptions commandLineOptions = new CommandLineOptions( args );
+		ChainedOptionsBuilder options = new OptionsBuilder().parent( commandLineOptions );
+
+		if ( !commandLineOptions.getResultFormat().hasValue() ) {
+			options.resultFormat( ResultFormatType.JSON );
+		}
+
+		new Runner( options.build() ).run();
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.benchmarks.bootstrap;
+
+import com.foreach.across.test.AcrossTestContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bootstrap time of a context of {@link SyntheticModules} depending on the number of modules and the shape
+ * of their dependency graph.  Every invocation is a full bootstrap, see {@link BootstrapScalingReport}
+ * for a breakdown per bootstrap phase and the heap usage.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BootstrapScalingBenchmark
+{
+	@Param({ "10", "50", "200" })
+	public int moduleCount;
+
+	@Param({ "CHAIN", "WIDE", "DIAMOND" })
+	public ModuleGraphShape shape;
+
+	@Param({ "5" })
+	public int exposedBeansPerModule;
+
+	@Param({ "1" })
+	public int eventListenersPerModule;
+
+	@Param({ "0" })
+	public int installersPerModule;
+
+	private AcrossTestContext context;
+
+	@Benchmark
+	public AcrossTestContext bootstrap() {
+		context = SyntheticModules.of( moduleCount, shape )
+		                          .exposedBeansPerModule( exposedBeansPerModule )
+		                          .eventListenersPerModule( eventListenersPerModule )
+		                          .installersPerModule( installersPerModule )
+		                          .bootstrap();
+		return context;
+	}
+
+	@TearDown(Level.Invocation)
+	public void shutdown() {
+		if ( context != null ) {
+			context.close();
+			context = null;
+		}
+	}
+}
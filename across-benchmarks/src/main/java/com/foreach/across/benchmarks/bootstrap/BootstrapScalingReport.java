@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.benchmarks.bootstrap;
+
+import com.foreach.across.core.context.bootstrap.AcrossBootstrapTimer;
+import com.foreach.across.test.AcrossTestContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Bootstraps contexts of {@link SyntheticModules} and prints the bootstrap phases and the retained heap as CSV,
+ * one line per bootstrap.  Configured using system properties, all take a comma separated list of values:
+ * <ul>
+ * <li>{@code modules}: number of modules (default: 10,50,200)</li>
+ * <li>{@code shapes}: {@link ModuleGraphShape} of the dependency graph (default: all)</li>
+ * <li>{@code exposedBeans}: exposed beans per module (default: 5)</li>
+ * <li>{@code eventListeners}: event listeners per module (default: 1)</li>
+ * <li>{@code installers}: installers per module (default: 0)</li>
+ * </ul>
+ * The {@code repetitions} property determines the number of bootstraps per combination (default: 5),
+ * the first bootstrap of every combination is a warmup that is not reported.
+ * <p/>
+ * Example: {@code java -Dmodules=50 -Dshapes=CHAIN -cp across-benchmarks/target/benchmarks.jar }
+ * {@code com.foreach.across.benchmarks.bootstrap.BootstrapScalingReport}
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+public final class BootstrapScalingReport
+{
+	private static final String HEADER = "modules,shape,exposedBeans,eventListeners,installers,"
+			+ "totalMs,configurationMs,moduleContextsMs,installersMs,refreshBeansMs,bootstrappedEventMs,retainedHeapKb";
+
+	private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+	private BootstrapScalingReport() {
+	}
+
+	public static void main( String[] args ) {
+		List<Integer> moduleCounts = integers( "modules", "10,50,200" );
+		List<ModuleGraphShape> shapes = Arrays.stream( System.getProperty( "shapes", "CHAIN,WIDE,DIAMOND" ).split( "," ) )
+		                                      .map( String::trim )
+		                                      .map( ModuleGraphShape::valueOf )
+		                                      .collect( Collectors.toList() );
+		List<Integer> exposedBeans = integers( "exposedBeans", "5" );
+		List<Integer> eventListeners = integers( "eventListeners", "1" );
+		List<Integer> installers = integers( "installers", "0" );
+		int repetitions = Integer.getInteger( "repetitions", 5 );
+
+		StringBuilder report = new StringBuilder( HEADER ).append( System.lineSeparator() );
+
+		for ( int moduleCount : moduleCounts ) {
+			for ( ModuleGraphShape shape : shapes ) {
+				for ( int exposedBeansPerModule : exposedBeans ) {
+					for ( int eventListenersPerModule : eventListeners ) {
+						for ( int installersPerModule : installers ) {
+							SyntheticModules modules = SyntheticModules.of( moduleCount, shape )
+							                                           .exposedBeansPerModule( exposedBeansPerModule )
+							                                           .eventListenersPerModule( eventListenersPerModule )
+							                                           .installersPerModule( installersPerModule );
+							for ( int i = 0; i <= repetitions; i++ ) {
+								String line = moduleCount + "," + shape + "," + exposedBeansPerModule + "," + eventListenersPerModule + ","
+										+ installersPerModule + "," + measure( modules );
+								if ( i > 0 ) {
+									report.append( line ).append( System.lineSeparator() );
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+
+		// bootstrap logging is verbose, print the report as a single block at the end
+		System.out.print( report );
+	}
+
+	private static String measure( SyntheticModules modules ) {
+		long heapBefore = usedHeap();
+
+		AtomicReference<AcrossBootstrapTimer> timerReference = new AtomicReference<>();
+
+		try (AcrossTestContext context = modules.bootstrap( timerReference::set )) {
+			long retainedHeap = usedHeap() - heapBefore;
+			AcrossBootstrapTimer timer = timerReference.get();
+
+			return timer.getTotalTimeInMillis() + ","
+					+ timer.getConfigurationPhaseInMillis() + ","
+					+ timer.getTotalModuleApplicationContextTimeInMillis() + ","
+					+ timer.getTotalInstallersTimeInMillis() + ","
+					+ timer.getRefreshBeansInMillis() + ","
+					+ timer.getBootstrappedEventInMillis() + ","
+					+ retainedHeap / 1024;
+		}
+	}
+
+	private static long usedHeap() {
+		for ( int i = 0; i < 3; i++ ) {
+			System.gc();
+		}
+		return MEMORY.getHeapMemoryUsage().getUsed();
+	}
+
+	private static List<Integer> integers( String property, String defaultValue ) {
+		return Arrays.stream( System.getProperty( property, defaultValue ).split( "," ) )
+		             .map( String::trim )
+		             .map( Integer::valueOf )
+		             .collect( Collectors.toList() );
+	}
+}
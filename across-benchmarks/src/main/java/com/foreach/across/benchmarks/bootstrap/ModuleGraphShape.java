@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.benchmarks.bootstrap;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Shape of the dependency graph between the modules of a {@link SyntheticModules} context.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+public enum ModuleGraphShape
+{
+	/**
+	 * Every module depends on the module before it.
+	 */
+	CHAIN {
+		@Override
+		List<Integer> dependencies( int index ) {
+			return index > 0 ? Collections.singletonList( index - 1 ) : Collections.emptyList();
+		}
+	},
+
+	/**
+	 * All modules depend on the first module only.
+	 */
+	WIDE {
+		@Override
+		List<Integer> dependencies( int index ) {
+			return index > 0 ? Collections.singletonList( 0 ) : Collections.emptyList();
+		}
+	},
+
+	/**
+	 * Chained diamonds: every third module is the top of a diamond, the two modules after it
+	 * depend on the top, and the next top depends on both of them.
+	 */
+	DIAMOND {
+		@Override
+		List<Integer> dependencies( int index ) {
+			if ( index == 0 ) {
+				return Collections.emptyList();
+			}
+			int position = index % 3;
+			return position == 0 ? Arrays.asList( index - 2, index - 1 ) : Collections.singletonList( index - position );
+		}
+	};
+
+	/**
+	 * @param index of the module
+	 * @return indices of the modules the module depends on, always lower than the index itself
+	 */
+	abstract List<Integer> dependencies( int index );
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.benchmarks.bootstrap;
+
+import com.foreach.across.core.annotations.Installer;
+import com.foreach.across.core.annotations.InstallerMethod;
+import com.foreach.across.core.installers.InstallerRunCondition;
+
+/**
+ * Fixed set of installers that always run and do nothing, used to measure the installer overhead
+ * of a bootstrap.  Installers are identified by their class, so a module can have at most
+ * as many installers as there are {@link #INSTALLER_CLASSES}.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+final class SyntheticInstallers
+{
+	static final Class<?>[] INSTALLER_CLASSES = {
+			First.class, Second.class, Third.class, Fourth.class, Fifth.class
+	};
+
+	private SyntheticInstallers() {
+	}
+
+	public abstract static class SyntheticInstaller
+	{
+		@InstallerMethod
+		public void install() {
+		}
+	}
+
+	@Installer(description = "Synthetic installer", runCondition = InstallerRunCondition.AlwaysRun)
+	public static class First extends SyntheticInstaller
+	{
+	}
+
+	@Installer(description = "Synthetic installer", runCondition = InstallerRunCondition.AlwaysRun)
+	public static class Second extends SyntheticInstaller
+	{
+	}
+
+	@Installer(description = "Synthetic installer", runCondition = InstallerRunCondition.AlwaysRun)
+	public static class Third extends SyntheticInstaller
+	{
+	}
+
+	@Installer(description = "Synthetic installer", runCondition = InstallerRunCondition.AlwaysRun)
+	public static class Fourth extends SyntheticInstaller
+	{
+	}
+
+	@Installer(description = "Synthetic installer", runCondition = InstallerRunCondition.AlwaysRun)
+	public static class Fifth extends SyntheticInstaller
+	{
+	}
+}
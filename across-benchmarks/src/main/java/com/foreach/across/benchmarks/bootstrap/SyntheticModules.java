@@ -0,0 +1,230 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.benchmarks.bootstrap;
+
+import com.foreach.across.core.AcrossModule;
+import com.foreach.across.core.context.beans.ProvidedBeansMap;
+import com.foreach.across.core.context.bootstrap.AcrossBootstrapTimer;
+import com.foreach.across.core.context.bootstrap.AcrossBootstrapper;
+import com.foreach.across.core.context.bootstrap.BootstrapAdapter;
+import com.foreach.across.core.context.configurer.ApplicationContextConfigurer;
+import com.foreach.across.core.context.configurer.ProvidedBeansConfigurer;
+import com.foreach.across.core.events.AcrossModuleBootstrappedEvent;
+import com.foreach.across.test.AcrossTestContext;
+import com.foreach.across.test.support.AcrossTestBuilders;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.context.event.EventListener;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Generates a context of identical modules to measure how the bootstrap scales with the number of modules.
+ * Modules depend on each other according to a {@link ModuleGraphShape}.  Every module has:
+ * <ul>
+ * <li>a number of exposed {@link SyntheticService} beans</li>
+ * <li>a single {@link SyntheticConsumer} that gets all visible services injected</li>
+ * <li>a number of {@link SyntheticEventListener} beans handling every {@link AcrossModuleBootstrappedEvent}</li>
+ * <li>a number of installers that always run, requiring the test datasource</li>
+ * </ul>
+ * Beans are registered as bean definitions, so no configuration classes need to be generated.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+public final class SyntheticModules
+{
+	public static final String MODULE_PREFIX = "SyntheticModule";
+	public static final int MAX_INSTALLERS_PER_MODULE = SyntheticInstallers.INSTALLER_CLASSES.length;
+
+	private final int moduleCount;
+	private final ModuleGraphShape shape;
+
+	private int exposedBeansPerModule = 1;
+	private int eventListenersPerModule;
+	private int installersPerModule;
+
+	private SyntheticModules( int moduleCount, ModuleGraphShape shape ) {
+		this.moduleCount = moduleCount;
+		this.shape = shape;
+	}
+
+	/**
+	 * @param moduleCount number of modules
+	 * @param shape       of the dependency graph
+	 * @return generator with a single exposed bean per module and no event listeners or installers
+	 */
+	public static SyntheticModules of( int moduleCount, ModuleGraphShape shape ) {
+		return new SyntheticModules( moduleCount, shape );
+	}
+
+	public SyntheticModules exposedBeansPerModule( int exposedBeansPerModule ) {
+		this.exposedBeansPerModule = exposedBeansPerModule;
+		return this;
+	}
+
+	public SyntheticModules eventListenersPerModule( int eventListenersPerModule ) {
+		this.eventListenersPerModule = eventListenersPerModule;
+		return this;
+	}
+
+	public SyntheticModules installersPerModule( int installersPerModule ) {
+		if ( installersPerModule > MAX_INSTALLERS_PER_MODULE ) {
+			throw new IllegalArgumentException( "At most " + MAX_INSTALLERS_PER_MODULE + " installers per module are supported" );
+		}
+		this.installersPerModule = installersPerModule;
+		return this;
+	}
+
+	/**
+	 * Bootstrap a context with the generated modules.  The test datasource is only used if installers are generated.
+	 *
+	 * @return running context
+	 */
+	public AcrossTestContext bootstrap() {
+		return bootstrap( null );
+	}
+
+	/**
+	 * Bootstrap a context with the generated modules and pass the {@link AcrossBootstrapTimer} to the listener
+	 * once the bootstrap has finished.
+	 *
+	 * @param timerListener to call with the bootstrap timer, can be {@code null}
+	 * @return running context
+	 */
+	public AcrossTestContext bootstrap( Consumer<AcrossBootstrapTimer> timerListener ) {
+		return AcrossTestBuilders.standard( installersPerModule > 0 ).modules( modules( timerListener ) ).build();
+	}
+
+	/**
+	 * @return new module instances
+	 */
+	public AcrossModule[] modules() {
+		return modules( null );
+	}
+
+	private AcrossModule[] modules( Consumer<AcrossBootstrapTimer> timerListener ) {
+		return IntStream.range( 0, moduleCount )
+		                .mapToObj( index -> module( index, index == 0 ? timerListener : null ) )
+		                .toArray( AcrossModule[]::new );
+	}
+
+	private AcrossModule module( int index, Consumer<AcrossBootstrapTimer> timerListener ) {
+		String name = MODULE_PREFIX + index;
+		SyntheticModule module = new SyntheticModule(
+				name, Arrays.copyOf( SyntheticInstallers.INSTALLER_CLASSES, installersPerModule ), timerListener
+		);
+		shape.dependencies( index ).forEach( dependency -> module.addRuntimeDependency( MODULE_PREFIX + dependency ) );
+
+		ProvidedBeansMap beans = new ProvidedBeansMap();
+		for ( int i = 0; i < exposedBeansPerModule; i++ ) {
+			beans.put( name + "Service" + i, BeanDefinitionBuilder.genericBeanDefinition( SyntheticService.class ).getBeanDefinition() );
+		}
+		for ( int i = 0; i < eventListenersPerModule; i++ ) {
+			beans.put( name + "Listener" + i, BeanDefinitionBuilder.genericBeanDefinition( SyntheticEventListener.class ).getBeanDefinition() );
+		}
+		beans.put( name + "Consumer", BeanDefinitionBuilder.genericBeanDefinition( SyntheticConsumer.class ).getBeanDefinition() );
+
+		module.addApplicationContextConfigurer( new ProvidedBeansConfigurer( beans ) );
+		module.expose( SyntheticService.class );
+
+		return module;
+	}
+
+	public static class SyntheticService
+	{
+	}
+
+	public static class SyntheticConsumer
+	{
+		private List<SyntheticService> services;
+
+		@Autowired(required = false)
+		public void setServices( List<SyntheticService> services ) {
+			this.services = services;
+		}
+
+		public List<SyntheticService> getServices() {
+			return services;
+		}
+	}
+
+	public static class SyntheticEventListener
+	{
+		private int received;
+
+		@EventListener
+		public void onModuleBootstrapped( AcrossModuleBootstrappedEvent event ) {
+			received++;
+		}
+
+		public int getReceived() {
+			return received;
+		}
+	}
+
+	private static final class SyntheticModule extends AcrossModule implements BootstrapAdapter
+	{
+		private final String name;
+		private final Object[] installers;
+		private final Consumer<AcrossBootstrapTimer> timerListener;
+
+		SyntheticModule( String name, Object[] installers, Consumer<AcrossBootstrapTimer> timerListener ) {
+			this.name = name;
+			this.installers = installers;
+			this.timerListener = timerListener;
+		}
+
+		@Override
+		public void customizeBootstrapper( AcrossBootstrapper bootstrapper ) {
+			if ( timerListener != null ) {
+				bootstrapper.addBootstrapTimerListener( timerListener );
+			}
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public String getDescription() {
+			return "Synthetic module - generated for benchmarking";
+		}
+
+		@Override
+		public Object[] getInstallers() {
+			return installers.clone();
+		}
+
+		@Override
+		public String[] getInstallerScanPackages() {
+			return new String[0];
+		}
+
+		@Override
+		protected void registerDefaultApplicationContextConfigurers( Set<ApplicationContextConfigurer> contextConfigurers ) {
+		}
+
+		@Override
+		protected void registerDefaultInstallerContextConfigurers( Set<ApplicationContextConfigurer> installerContextConfigurers ) {
+		}
+	}
+}
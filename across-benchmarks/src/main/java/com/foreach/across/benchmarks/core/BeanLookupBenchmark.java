@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.benchmarks.core;
+
+import com.foreach.across.benchmarks.core.BenchmarkModules.BenchmarkService;
+import com.foreach.across.benchmarks.core.BenchmarkModules.InternalService;
+import com.foreach.across.benchmarks.core.BenchmarkModules.ProvidedService;
+import com.foreach.across.test.AcrossTestContext;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.ListableBeanFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean lookups of exposed beans in the parent {@link org.springframework.context.ApplicationContext}
+ * of the Across context, and through the {@link com.foreach.across.core.context.registry.AcrossContextBeanRegistry}.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeanLookupBenchmark
+{
+	@Param({ "5", "25" })
+	public int moduleCount;
+
+	private AcrossTestContext context;
+	private ListableBeanFactory beanFactory;
+
+	@Setup(Level.Trial)
+	public void bootstrap() {
+		context = BenchmarkModules.bootstrap( moduleCount );
+		beanFactory = context.contextInfo().getApplicationContext().getParent();
+	}
+
+	@TearDown(Level.Trial)
+	public void shutdown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Map<String, BenchmarkService> beanFactoryGetBeansOfType() {
+		return beanFactory.getBeansOfType( BenchmarkService.class );
+	}
+
+	@Benchmark
+	public ProvidedService beanFactoryGetExposedBean() {
+		return beanFactory.getBean( ProvidedService.class );
+	}
+
+	@Benchmark
+	public Map<String, BenchmarkService> beanRegistryGetBeansOfTypeAsMap() {
+		return context.getBeansOfTypeAsMap( BenchmarkService.class );
+	}
+
+	@Benchmark
+	public Map<String, InternalService> beanRegistryGetBeansOfTypeAsMapIncludingInternals() {
+		return context.getBeansOfTypeAsMap( InternalService.class, true );
+	}
+
+	@Benchmark
+	public List<BenchmarkService> beanRegistryGetBeansOfType() {
+		return context.getBeansOfType( BenchmarkService.class );
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.benchmarks.core;
+
+import com.foreach.across.core.AcrossModule;
+import com.foreach.across.core.EmptyAcrossModule;
+import com.foreach.across.core.annotations.Exposed;
+import com.foreach.across.core.registry.RefreshableRegistry;
+import com.foreach.across.test.AcrossTestContext;
+import com.foreach.across.test.support.AcrossTestBuilders;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Creates an Across context with a configurable number of identical modules.
+ * Every module exposes a {@link BenchmarkService}, has an internal {@link InternalService},
+ * listens for {@link BenchmarkEvent} and has a {@link RefreshableRegistry} of all benchmark services.
+ * The first module also exposes the single {@link ProvidedService}.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+public final class BenchmarkModules
+{
+	public static final String MODULE_PREFIX = "BenchmarkModule";
+
+	private BenchmarkModules() {
+	}
+
+	/**
+	 * Bootstrap a context with the given number of modules, without datasource.
+	 *
+	 * @param moduleCount number of modules
+	 * @return running context
+	 */
+	public static AcrossTestContext bootstrap( int moduleCount ) {
+		return AcrossTestBuilders.standard( false ).modules( modules( moduleCount ) ).build();
+	}
+
+	/**
+	 * @param moduleCount number of modules
+	 * @return new module instances
+	 */
+	public static AcrossModule[] modules( int moduleCount ) {
+		return IntStream.range( 0, moduleCount ).mapToObj( BenchmarkModules::module ).toArray( AcrossModule[]::new );
+	}
+
+	private static AcrossModule module( int index ) {
+		return index == 0
+				? new EmptyAcrossModule( MODULE_PREFIX + index, ModuleConfiguration.class, ProviderConfiguration.class )
+				: new EmptyAcrossModule( MODULE_PREFIX + index, ModuleConfiguration.class );
+	}
+
+	public static class BenchmarkService
+	{
+	}
+
+	public static class InternalService
+	{
+	}
+
+	public static class ProvidedService
+	{
+	}
+
+	public static class BenchmarkEvent
+	{
+	}
+
+	public static class BenchmarkEventListener
+	{
+		private final AtomicLong received = new AtomicLong();
+
+		@EventListener
+		public void onEvent( BenchmarkEvent event ) {
+			received.incrementAndGet();
+		}
+
+		public long getReceived() {
+			return received.get();
+		}
+	}
+
+	@Configuration
+	public static class ModuleConfiguration
+	{
+		@Bean
+		@Exposed
+		public BenchmarkService benchmarkService() {
+			return new BenchmarkService();
+		}
+
+		@Bean
+		public InternalService internalService() {
+			return new InternalService();
+		}
+
+		@Bean
+		public BenchmarkEventListener benchmarkEventListener() {
+			return new BenchmarkEventListener();
+		}
+
+		@Bean
+		public RefreshableRegistry<BenchmarkService> benchmarkServiceRegistry() {
+			return new RefreshableRegistry<>( BenchmarkService.class, true );
+		}
+	}
+
+	@Configuration
+	public static class ProviderConfiguration
+	{
+		@Bean
+		@Exposed
+		public ProvidedService providedService() {
+			return new ProvidedService();
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.benchmarks.core;
+
+import com.foreach.across.benchmarks.core.BenchmarkModules.BenchmarkEvent;
+import com.foreach.across.core.AcrossContext;
+import com.foreach.across.test.AcrossTestContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishing an event on the Across context, dispatched by the
+ * {@link com.foreach.across.core.events.AcrossContextApplicationEventMulticaster} to a listener in every module.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventPublicationBenchmark
+{
+	@Param({ "5", "25" })
+	public int moduleCount;
+
+	private AcrossTestContext context;
+	private AcrossContext acrossContext;
+
+	@Setup(Level.Trial)
+	public void bootstrap() {
+		context = BenchmarkModules.bootstrap( moduleCount );
+		acrossContext = context.contextInfo().getContext();
+	}
+
+	@TearDown(Level.Trial)
+	public void shutdown() {
+		context.close();
+	}
+
+	@Benchmark
+	public BenchmarkEvent publishEvent() {
+		BenchmarkEvent event = new BenchmarkEvent();
+		acrossContext.publishEvent( event );
+		return event;
+	}
+}
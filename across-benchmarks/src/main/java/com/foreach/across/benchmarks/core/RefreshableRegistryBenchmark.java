@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.benchmarks.core;
+
+import com.foreach.across.benchmarks.core.BenchmarkModules.BenchmarkService;
+import com.foreach.across.core.registry.RefreshableRegistry;
+import com.foreach.across.test.AcrossTestContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterating over and refreshing a {@link RefreshableRegistry} that contains a member from every module.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RefreshableRegistryBenchmark
+{
+	@Param({ "5", "25" })
+	public int moduleCount;
+
+	private AcrossTestContext context;
+	private RefreshableRegistry<BenchmarkService> registry;
+
+	@Setup(Level.Trial)
+	@SuppressWarnings("unchecked")
+	public void bootstrap() {
+		context = BenchmarkModules.bootstrap( moduleCount );
+		registry = context.getBeanFromModule( BenchmarkModules.MODULE_PREFIX + 0, "benchmarkServiceRegistry" );
+	}
+
+	@TearDown(Level.Trial)
+	public void shutdown() {
+		context.close();
+	}
+
+	@Benchmark
+	public void iterate( Blackhole blackhole ) {
+		for ( BenchmarkService service : registry ) {
+			blackhole.consume( service );
+		}
+	}
+
+	@Benchmark
+	public int refresh() {
+		registry.refresh();
+		return registry.size();
+	}
+}
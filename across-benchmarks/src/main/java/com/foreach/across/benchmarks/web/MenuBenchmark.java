@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.benchmarks.web;
+
+import com.foreach.across.modules.web.menu.Menu;
+import com.foreach.across.modules.web.menu.PathBasedMenuBuilder;
+import com.foreach.across.modules.web.menu.RequestMenuSelector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a menu from a {@link PathBasedMenuBuilder} and selecting the item matching a request
+ * using a {@link RequestMenuSelector}.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MenuBenchmark
+{
+	@Param({ "10", "50" })
+	public int groupCount;
+
+	private static final int ITEMS_PER_GROUP = 10;
+
+	private PathBasedMenuBuilder menuBuilder;
+	private Menu menu;
+	private String selectedPath;
+
+	@Setup(Level.Trial)
+	public void createMenu() {
+		menuBuilder = new PathBasedMenuBuilder();
+
+		for ( int group = 0; group < groupCount; group++ ) {
+			menuBuilder.group( "/group-" + group, "Group " + group );
+			for ( int item = 0; item < ITEMS_PER_GROUP; item++ ) {
+				String path = "/group-" + group + "/item-" + item;
+				menuBuilder.item( path, "Item " + item, "/admin" + path ).order( ITEMS_PER_GROUP - item );
+			}
+		}
+
+		menu = menuBuilder.build();
+		selectedPath = "/admin/group-" + ( groupCount - 1 ) + "/item-" + ( ITEMS_PER_GROUP - 1 );
+	}
+
+	@Benchmark
+	public Menu build() {
+		return menuBuilder.build();
+	}
+
+	@Benchmark
+	public Menu select() {
+		RequestMenuSelector selector = new RequestMenuSelector(
+				"http://localhost" + selectedPath + "?page=2", selectedPath, selectedPath + "?page=2"
+		);
+		menu.select( selector );
+		return menu.getSelectedItem();
+	}
+}
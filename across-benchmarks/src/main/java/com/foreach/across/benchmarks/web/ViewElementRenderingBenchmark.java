@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.benchmarks.web;
+
+import com.foreach.across.modules.web.AcrossWebModule;
+import com.foreach.across.modules.web.ui.elements.ContainerViewElement;
+import com.foreach.across.modules.web.ui.elements.NodeViewElement;
+import com.foreach.across.modules.web.ui.elements.TextViewElement;
+import com.foreach.across.test.AcrossTestWebContext;
+import com.foreach.across.test.modules.webtest.WebTestModule;
+import com.foreach.across.test.modules.webtest.controllers.RenderViewElementController;
+import com.foreach.across.test.support.AcrossTestBuilders;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Rendering a tree of view elements through the Thymeleaf dialect, using the full
+ * view resolving stack of {@link RenderViewElementController}.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ViewElementRenderingBenchmark
+{
+	@Param({ "10", "100" })
+	public int elementCount;
+
+	private AcrossTestWebContext context;
+	private MockMvc mockMvc;
+
+	@Setup(Level.Trial)
+	public void bootstrap() {
+		context = AcrossTestBuilders.web( false ).modules( AcrossWebModule.NAME ).modules( new WebTestModule() ).build();
+		mockMvc = context.mockMvc();
+
+		ContainerViewElement container = new ContainerViewElement();
+		for ( int i = 0; i < elementCount; i++ ) {
+			NodeViewElement node = new NodeViewElement( "div" );
+			node.setAttribute( "class", "item item-" + i );
+			node.addChild( new TextViewElement( "Item <" + i + ">" ) );
+			container.addChild( node );
+		}
+
+		context.getBeanOfType( RenderViewElementController.class ).setElement( container );
+	}
+
+	@TearDown(Level.Trial)
+	public void shutdown() {
+		context.close();
+	}
+
+	@Benchmark
+	public String render() throws Exception {
+		return mockMvc.perform( get( RenderViewElementController.PATH ) ).andReturn().getResponse().getContentAsString();
+	}
+}
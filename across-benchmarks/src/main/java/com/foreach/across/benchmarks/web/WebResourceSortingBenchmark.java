@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.benchmarks.web;
+
+import com.foreach.across.modules.web.resource.WebResourceReference;
+import com.foreach.across.modules.web.resource.WebResourceReferenceCollection;
+import com.foreach.across.modules.web.ui.elements.TextViewElement;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterating a {@link WebResourceReferenceCollection}, which sorts the references on order and
+ * their before and after dependencies.  A new collection is sorted on first iteration,
+ * iterating the same unchanged collection again reuses the sorted order.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebResourceSortingBenchmark
+{
+	@Param({ "10", "50", "500" })
+	public int resourceCount;
+
+	private List<WebResourceReference> references;
+	private WebResourceReferenceCollection collection;
+
+	@Setup(Level.Trial)
+	public void createReferences() {
+		references = new ArrayList<>( resourceCount );
+
+		for ( int i = 0; i < resourceCount; i++ ) {
+			String key = "resource-" + i;
+			references.add(
+					WebResourceReference.builder()
+					                    .key( key )
+					                    .viewElementBuilder( builderContext -> new TextViewElement( key ) )
+					                    .after( i % 3 == 1 ? "resource-" + ( i - 1 ) : null )
+					                    .before( i % 5 == 4 ? "resource-0" : null )
+					                    .order( i % 7 )
+					                    .build()
+			);
+		}
+
+		// fixed seed for comparable runs
+		Collections.shuffle( references, new Random( 42 ) );
+		collection = new WebResourceReferenceCollection( references );
+	}
+
+	@Benchmark
+	public void sort( Blackhole blackhole ) {
+		new WebResourceReferenceCollection( references ).forEach( blackhole::consume );
+	}
+
+	@Benchmark
+	public void iterateSorted( Blackhole blackhole ) {
+		collection.forEach( blackhole::consume );
+	}
+}
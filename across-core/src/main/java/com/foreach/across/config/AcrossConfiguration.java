@@ -17,12 +17,15 @@ package com.foreach.across.config;
 
 import lombok.*;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.StreamUtils;
 import org.yaml.snakeyaml.Yaml;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.unmodifiableList;
@@ -30,6 +33,8 @@ import static java.util.Collections.unmodifiableSet;
 
 /**
  * Utility loader for retrieving data from <strong>META-INF/across.configuration</strong> file.
+ * If a {@link AcrossConfigurationIndex} built from the same configuration files is present, it will be used
+ * instead of parsing the files.
  *
  * @author Arne Vandamme
  * @since 3.0.0
@@ -44,8 +49,7 @@ public final class AcrossConfiguration
 
 	private static final int DEFAULT_PRIORITY = 1000;
 
-	private static final Yaml YAML = new Yaml();
-	private static final Map<ClassLoader, AcrossConfiguration> CONFIGURATIONS = new HashMap<>();
+	private static final Map<ClassLoader, AcrossConfiguration> CONFIGURATIONS = new ConcurrentHashMap<>();
 
 	@Getter
 	private final List<Group> groups;
@@ -170,7 +174,8 @@ public final class AcrossConfiguration
 	 * @return configuration instance, never {@code null}
 	 */
 	public static AcrossConfiguration get( ClassLoader classLoader ) {
-		return CONFIGURATIONS.computeIfAbsent( classLoader, AcrossConfiguration::buildConfiguration );
+		return CONFIGURATIONS.computeIfAbsent( classLoader != null ? classLoader : ClassLoader.getSystemClassLoader(),
+		                                       AcrossConfiguration::buildConfiguration );
 	}
 
 	/**
@@ -179,26 +184,34 @@ public final class AcrossConfiguration
 	 * @param classLoader instance
 	 */
 	public static void remove( ClassLoader classLoader ) {
-		CONFIGURATIONS.remove( classLoader );
+		CONFIGURATIONS.remove( classLoader != null ? classLoader : ClassLoader.getSystemClassLoader() );
 	}
 
-	@SuppressWarnings("unchecked")
 	private static AcrossConfiguration buildConfiguration( ClassLoader classLoader ) {
-		List<Group> groups = new ArrayList<>();
+		List<byte[]> sources = readConfigurationResources( classLoader );
+		List<Group> groups = AcrossConfigurationIndex.load( classLoader, sources );
 
-		try {
-			Enumeration<URL> urls = ( classLoader != null ? classLoader.getResources( CONFIGURATION_RESOURCE_LOCATION ) :
-					ClassLoader.getSystemResources( CONFIGURATION_RESOURCE_LOCATION ) );
+		if ( groups == null ) {
+			groups = parseConfigurationResources( sources );
+		}
 
-			while ( urls.hasMoreElements() ) {
-				URL url = urls.nextElement();
+		groups.sort( Comparator.comparingInt( Group::getPriority ).reversed() );
 
-				try (InputStream is = url.openStream()) {
-					Map<?, ?> data = YAML.load( is );
+		return new AcrossConfiguration( groups );
+	}
+
+	/**
+	 * Read the contents of all configuration files in the class loader.
+	 */
+	static List<byte[]> readConfigurationResources( ClassLoader classLoader ) {
+		List<byte[]> sources = new ArrayList<>();
+
+		try {
+			Enumeration<URL> urls = classLoader.getResources( CONFIGURATION_RESOURCE_LOCATION );
 
-					data.forEach( ( groupName, entries ) -> {
-						groups.add( buildGroup( groupName, (Map) entries ) );
-					} );
+			while ( urls.hasMoreElements() ) {
+				try (InputStream is = urls.nextElement().openStream()) {
+					sources.add( StreamUtils.copyToByteArray( is ) );
 				}
 			}
 		}
@@ -206,9 +219,28 @@ public final class AcrossConfiguration
 			throw new RuntimeException( "Unable to load across-configuration.yml", ex );
 		}
 
-		groups.sort( Comparator.comparingInt( Group::getPriority ).reversed() );
+		return sources;
+	}
 
-		return new AcrossConfiguration( groups );
+	/**
+	 * Parse the groups from the contents of the configuration files.
+	 */
+	@SuppressWarnings("unchecked")
+	static List<Group> parseConfigurationResources( List<byte[]> sources ) {
+		Yaml yaml = new Yaml();
+		List<Group> groups = new ArrayList<>();
+
+		for ( byte[] source : sources ) {
+			Map<?, ?> data = yaml.load( new ByteArrayInputStream( source ) );
+
+			if ( data != null ) {
+				data.forEach( ( groupName, entries ) -> {
+					groups.add( buildGroup( groupName, (Map) entries ) );
+				} );
+			}
+		}
+
+		return groups;
 	}
 
 	@SuppressWarnings("unchecked")
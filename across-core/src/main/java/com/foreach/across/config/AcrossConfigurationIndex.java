@@ -0,0 +1,263 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.config;
+
+import com.foreach.across.config.AcrossConfiguration.AutoConfigurationClass;
+import com.foreach.across.config.AcrossConfiguration.Group;
+import com.foreach.across.config.AcrossConfiguration.IllegalConfiguration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.zip.CRC32;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * Pre-parsed binary index of all <strong>META-INF/across-configuration.yml</strong> files on a class path.
+ * The index is meant to be generated at build time and packaged in the final artifact, so that
+ * {@link AcrossConfiguration} does not need to parse the YAML files at runtime.
+ * <p/>
+ * The index stores a checksum of every configuration file it was built from.  At runtime the index is only used
+ * if the configuration files present in the class loader have exactly the same checksums, otherwise the files
+ * are parsed as usual.  If multiple indexes are present, the first matching one is used.
+ * <p/>
+ * Can be run as a main class: {@code AcrossConfigurationIndex <output directory>}, which creates the index for the
+ * class path of the current JVM in the output directory, for example from the {@code exec-maven-plugin} in the
+ * {@code prepare-package} phase, with {@code target/classes} as output directory.
+ *
+ * @author agent
+ * @see AcrossConfiguration
+ * @since 5.3.0
+ */
+@Slf4j
+public final class AcrossConfigurationIndex
+{
+	/**
+	 * Location of the index, relative to the class path root.
+	 */
+	public static final String INDEX_RESOURCE_LOCATION = "META-INF/across-configuration.idx";
+
+	private static final int MAGIC = 0x41434958;
+	private static final int VERSION = 1;
+
+	private AcrossConfigurationIndex() {
+	}
+
+	public static void main( String[] args ) throws IOException {
+		if ( args.length < 1 ) {
+			System.err.println( "Usage: AcrossConfigurationIndex <output directory>" );
+			System.exit( 1 );
+		}
+
+		generate( Thread.currentThread().getContextClassLoader(), Paths.get( args[0] ) );
+	}
+
+	/**
+	 * Create the index for all configuration files in the class loader.
+	 *
+	 * @param classLoader     to read the configuration files from
+	 * @param outputDirectory class path root in which to create the index
+	 * @return index file that has been written
+	 */
+	public static Path generate( ClassLoader classLoader, Path outputDirectory ) throws IOException {
+		List<byte[]> sources = AcrossConfiguration.readConfigurationResources( classLoader );
+		Path indexFile = outputDirectory.resolve( INDEX_RESOURCE_LOCATION );
+		Files.createDirectories( indexFile.getParent() );
+
+		try (OutputStream os = new BufferedOutputStream( Files.newOutputStream( indexFile ) )) {
+			write( checksums( sources ), AcrossConfiguration.parseConfigurationResources( sources ), os );
+		}
+
+		LOG.info( "Created across configuration index {} from {} configuration files", indexFile, sources.size() );
+
+		return indexFile;
+	}
+
+	/**
+	 * Load the groups from the first index in the class loader that matches the configuration files.
+	 *
+	 * @param classLoader to read the indexes from
+	 * @param sources     contents of the configuration files present
+	 * @return groups or {@code null} if there is no matching index
+	 */
+	static List<Group> load( ClassLoader classLoader, List<byte[]> sources ) {
+		try {
+			Enumeration<URL> urls = classLoader.getResources( INDEX_RESOURCE_LOCATION );
+
+			if ( urls.hasMoreElements() ) {
+				List<Long> checksums = checksums( sources );
+
+				while ( urls.hasMoreElements() ) {
+					URL url = urls.nextElement();
+
+					try (InputStream is = new BufferedInputStream( url.openStream() )) {
+						List<Group> groups = read( checksums, is );
+
+						if ( groups != null ) {
+							LOG.trace( "Using across configuration index {}", url );
+							return groups;
+						}
+
+						LOG.debug( "Ignoring across configuration index {} - it does not match the configuration files present", url );
+					}
+				}
+			}
+		}
+		catch ( IOException ioe ) {
+			LOG.warn( "Unable to read across configuration index - falling back to parsing the configuration files", ioe );
+		}
+
+		return null;
+	}
+
+	static void write( List<Long> checksums, List<Group> groups, OutputStream outputStream ) throws IOException {
+		DataOutputStream out = new DataOutputStream( outputStream );
+		out.writeInt( MAGIC );
+		out.writeInt( VERSION );
+
+		out.writeInt( checksums.size() );
+		for ( Long checksum : checksums ) {
+			out.writeLong( checksum );
+		}
+
+		out.writeInt( groups.size() );
+		for ( Group group : groups ) {
+			out.writeInt( group.getPriority() );
+			out.writeUTF( group.getName() );
+
+			out.writeInt( group.getExposeRules().size() );
+			for ( String rule : group.getExposeRules() ) {
+				out.writeUTF( rule );
+			}
+
+			out.writeInt( group.getAutoConfigurationClasses().size() );
+			for ( AutoConfigurationClass autoConfigurationClass : group.getAutoConfigurationClasses() ) {
+				out.writeUTF( autoConfigurationClass.getClassName() );
+				out.writeBoolean( autoConfigurationClass.isEnabled() );
+				writeNullable( out, autoConfigurationClass.getDestinationModule() );
+				writeNullable( out, autoConfigurationClass.getAdapterClassName() );
+			}
+
+			out.writeInt( group.getIllegalConfigurations().size() );
+			for ( IllegalConfiguration illegalConfiguration : group.getIllegalConfigurations() ) {
+				out.writeUTF( illegalConfiguration.getName() );
+				out.writeUTF( illegalConfiguration.getDescription() );
+				out.writeUTF( illegalConfiguration.getAction() );
+
+				out.writeInt( illegalConfiguration.getConfigurations().size() );
+				for ( IllegalConfiguration.ClassEntry classEntry : illegalConfiguration.getConfigurations() ) {
+					out.writeUTF( classEntry.getClassName() );
+					writeNullable( out, classEntry.getAllowed() );
+					writeNullable( out, classEntry.getIllegal() );
+				}
+			}
+		}
+
+		out.flush();
+	}
+
+	static List<Group> read( List<Long> expectedChecksums, InputStream inputStream ) throws IOException {
+		DataInputStream in = new DataInputStream( inputStream );
+
+		if ( in.readInt() != MAGIC || in.readInt() != VERSION ) {
+			return null;
+		}
+
+		int checksumCount = in.readInt();
+		List<Long> checksums = new ArrayList<>( checksumCount );
+		for ( int i = 0; i < checksumCount; i++ ) {
+			checksums.add( in.readLong() );
+		}
+
+		if ( !checksums.equals( expectedChecksums ) ) {
+			return null;
+		}
+
+		int groupCount = in.readInt();
+		List<Group> groups = new ArrayList<>( groupCount );
+
+		for ( int i = 0; i < groupCount; i++ ) {
+			int priority = in.readInt();
+			String name = in.readUTF();
+
+			int ruleCount = in.readInt();
+			Set<String> exposeRules = new HashSet<>( ruleCount );
+			for ( int j = 0; j < ruleCount; j++ ) {
+				exposeRules.add( in.readUTF() );
+			}
+
+			int autoConfigurationCount = in.readInt();
+			List<AutoConfigurationClass> autoConfigurationClasses = new ArrayList<>( autoConfigurationCount );
+			for ( int j = 0; j < autoConfigurationCount; j++ ) {
+				autoConfigurationClasses.add( new AutoConfigurationClass( in.readUTF(), in.readBoolean(), readNullable( in ), readNullable( in ) ) );
+			}
+
+			int illegalCount = in.readInt();
+			List<IllegalConfiguration> illegalConfigurations = new ArrayList<>( illegalCount );
+			for ( int j = 0; j < illegalCount; j++ ) {
+				String illegalName = in.readUTF();
+				String description = in.readUTF();
+				String action = in.readUTF();
+
+				int entryCount = in.readInt();
+				List<IllegalConfiguration.ClassEntry> entries = new ArrayList<>( entryCount );
+				for ( int k = 0; k < entryCount; k++ ) {
+					entries.add( new IllegalConfiguration.ClassEntry( in.readUTF(), readNullable( in ), readNullable( in ) ) );
+				}
+
+				illegalConfigurations.add( new IllegalConfiguration( illegalName, description, action, unmodifiableList( entries ) ) );
+			}
+
+			groups.add( new Group( priority, name, unmodifiableSet( exposeRules ), unmodifiableList( autoConfigurationClasses ),
+			                       unmodifiableList( illegalConfigurations ) ) );
+		}
+
+		return groups;
+	}
+
+	/**
+	 * Sorted checksums of the configuration files, the order of the class path entries is not relevant.
+	 */
+	static List<Long> checksums( List<byte[]> sources ) {
+		List<Long> checksums = new ArrayList<>( sources.size() );
+
+		for ( byte[] source : sources ) {
+			CRC32 crc = new CRC32();
+			crc.update( source );
+			checksums.add( crc.getValue() );
+		}
+
+		Collections.sort( checksums );
+		return checksums;
+	}
+
+	private static void writeNullable( DataOutputStream out, String value ) throws IOException {
+		out.writeBoolean( value != null );
+		if ( value != null ) {
+			out.writeUTF( value );
+		}
+	}
+
+	private static String readNullable( DataInputStream in ) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+}
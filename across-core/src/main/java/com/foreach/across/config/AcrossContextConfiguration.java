@@ -189,16 +189,25 @@ public class AcrossContextConfiguration implements ImportAware, EnvironmentAware
 		return modules.toArray( new String[0] );
 	}
 
+	/**
+	 * Metadata is shared with other Across contexts using the same class loader.
+	 */
+	@Bean(destroyMethod = "release")
+	public AcrossMetadataRepository acrossMetadataRepository() {
+		return AcrossMetadataRepository.acquire( beanClassLoader );
+	}
+
 	@Bean(SharedMetadataReaderFactory.BEAN_NAME)
-	public ConcurrentReferenceCachingMetadataReaderFactory sharedMetadataReaderFactory() {
-		return new ConcurrentReferenceCachingMetadataReaderFactory( beanClassLoader );
+	public ConcurrentReferenceCachingMetadataReaderFactory sharedMetadataReaderFactory( AcrossMetadataRepository acrossMetadataRepository ) {
+		return acrossMetadataRepository.getMetadataReaderFactory();
 	}
 
 	@Bean
 	@Lazy
-	public ModuleDependencyResolver moduleDependencyResolver( ApplicationContext applicationContext ) {
+	public ModuleDependencyResolver moduleDependencyResolver( ApplicationContext applicationContext, AcrossMetadataRepository acrossMetadataRepository ) {
 		final ClassPathScanningCandidateModuleProvider candidateModuleProvider = new ClassPathScanningCandidateModuleProvider(
-				applicationContext, applicationContext.getBean( SharedMetadataReaderFactory.BEAN_NAME, MetadataReaderFactory.class )
+				acrossMetadataRepository.cachingResourcePatternResolver( applicationContext ),
+				applicationContext.getBean( SharedMetadataReaderFactory.BEAN_NAME, MetadataReaderFactory.class )
 		);
 
 		ClassPathScanningModuleDependencyResolver moduleDependencyResolver = new ClassPathScanningModuleDependencyResolver( candidateModuleProvider );
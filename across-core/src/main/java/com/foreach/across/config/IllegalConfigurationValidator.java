@@ -16,13 +16,15 @@
 package com.foreach.across.config;
 
 import com.foreach.across.core.AcrossConfigurationException;
+import com.foreach.across.core.context.AcrossMetadataRepository;
 import com.foreach.across.core.context.ExposedBeanDefinition;
 import com.foreach.across.core.context.bootstrap.AcrossBootstrapConfigurer;
 import com.foreach.across.core.context.bootstrap.ModuleBootstrapConfig;
 import com.foreach.across.core.context.info.AcrossContextInfo;
 import com.foreach.across.core.context.info.AcrossModuleInfo;
+import com.foreach.across.core.events.AcrossContextBootstrappedEvent;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.BeansException;
@@ -33,14 +35,28 @@ import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.util.ClassUtils;
-
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.ResourceUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -74,6 +90,16 @@ import java.util.stream.Stream;
  * expected that 'META-INF/across.configuration' contains entries of the form: <strong>com.foreach.across.IllegalConfiguration[MESSAGE_KEY].description</strong>
  * and <strong>com.foreach.across.IllegalConfiguration[MESSAGE_KEY].description</strong>. These will be added to the thrown execption.</li>
  * </ul>
+ * <p/>
+ * Rules are compiled once into a lookup on class name.  Bean definitions are checked before any bean is created,
+ * using the class file metadata of the bean type and its supertypes: bean classes are never loaded by the validator.
+ * <p/>
+ * If the property {@code across.configuration.validate.cache-file} is set, the combinations of bean type and module
+ * that have been validated are written to that file once the Across context has bootstrapped.  A next run with the
+ * same class path and rules will skip validation for those combinations.  The class path is fingerprinted using the
+ * size and modification time of its archives, so the cache is only used if all class path entries are archives.
+ * If any entry is a directory (eg. {@code target/classes} during development) the cache file is ignored, as recompiling
+ * classes does not change the size or modification time of the directory.
  *
  * @author Arne Vandamme
  * @see com.foreach.across.core.diagnostics.AcrossConfigurationExceptionFailureAnalyzer
@@ -83,25 +109,71 @@ import java.util.stream.Stream;
 @ConditionalOnProperty(value = "across.configuration.validate", havingValue = "true", matchIfMissing = true)
 @Component("across.illegalConfigurationValidator")
 @Import(IllegalConfigurationValidator.IllegalConfigurationDetector.class)
-public class IllegalConfigurationValidator implements AcrossBootstrapConfigurer, BeanClassLoaderAware
+@Slf4j
+public class IllegalConfigurationValidator implements AcrossBootstrapConfigurer, BeanClassLoaderAware, EnvironmentAware, ApplicationListener<AcrossContextBootstrappedEvent>
 {
-	private final List<IllegalConfigurationEntry> illegalEntries = new ArrayList<>();
+	/**
+	 * File in which the validated bean types should be stored, for skipping validation on a next run.
+	 */
+	public static final String CACHE_FILE_PROPERTY = "across.configuration.validate.cache-file";
+
+	private static final String CONTEXT_SCOPE = "AcrossContext";
+
+	private final Map<String, List<IllegalConfigurationEntry>> illegalEntriesByTypeName = new LinkedHashMap<>();
+	private final Map<String, Collection<String>> typeHierarchies = new ConcurrentHashMap<>();
+	private final Set<String> validated = ConcurrentHashMap.newKeySet();
+
+	private final Function<ClassLoader, Collection<String>> classPathResolver;
+
+	private ClassLoader classLoader;
+	private MetadataReaderFactory metadataReaderFactory;
+	private String rulesDescription = "";
+
+	private Path cacheFile;
+	private String classPathFingerprint;
+	private boolean cacheModified;
+
+	public IllegalConfigurationValidator() {
+		this( IllegalConfigurationValidator::resolveClassPathEntries );
+	}
+
+	IllegalConfigurationValidator( Function<ClassLoader, Collection<String>> classPathResolver ) {
+		this.classPathResolver = classPathResolver;
+	}
 
 	@Override
 	public void setBeanClassLoader( ClassLoader classLoader ) {
+		this.classLoader = classLoader;
+
 		val entries = AcrossConfiguration.get( classLoader ).getIllegalConfigurations();
 
 		entries.forEach( configuration -> {
 			configuration.getConfigurations()
 			             .forEach( classEntry -> {
-				             Class<?> clazz = resolveClass( classEntry.getClassName(), classLoader );
-
-				             if ( clazz != null ) {
-					             Predicate<AcrossModuleInfo> matcher = new ModuleMatcher( classEntry.getAllowed(), classEntry.getIllegal() );
-					             illegalEntries.add( new IllegalConfigurationEntry( clazz, matcher, configuration ) );
-				             }
+				             Predicate<AcrossModuleInfo> matcher = new ModuleMatcher( classEntry.getAllowed(), classEntry.getIllegal() );
+				             illegalEntriesByTypeName.computeIfAbsent( classEntry.getClassName(), className -> new ArrayList<>() )
+				                                     .add( new IllegalConfigurationEntry( classEntry.getClassName(), matcher, configuration ) );
 			             } );
 		} );
+
+		rulesDescription = entries.toString();
+	}
+
+	@Override
+	public void setEnvironment( Environment environment ) {
+		String cacheFileName = environment.getProperty( CACHE_FILE_PROPERTY );
+
+		if ( StringUtils.isNotBlank( cacheFileName ) ) {
+			classPathFingerprint = calculateClassPathFingerprint( classPathResolver.apply( classLoader ) );
+
+			if ( classPathFingerprint != null ) {
+				cacheFile = Paths.get( cacheFileName );
+				loadValidated();
+			}
+			else {
+				LOG.info( "Ignoring configuration validation cache file {} - the class path contains directories", cacheFileName );
+			}
+		}
 	}
 
 	@Override
@@ -109,6 +181,13 @@ public class IllegalConfigurationValidator implements AcrossBootstrapConfigurer,
 		moduleConfiguration.addApplicationContextConfigurer( true, IllegalConfigurationDetector.class );
 	}
 
+	@Override
+	public void onApplicationEvent( AcrossContextBootstrappedEvent event ) {
+		if ( cacheFile != null && cacheModified ) {
+			storeValidated();
+		}
+	}
+
 	static class ModuleMatcher implements Predicate<AcrossModuleInfo>
 	{
 		//private final String[] allowedModules
@@ -194,41 +273,181 @@ public class IllegalConfigurationValidator implements AcrossBootstrapConfigurer,
 		}
 	}
 
-	private IllegalConfigurationEntry isIllegalUse( Class<?> clazz, AcrossModuleInfo moduleInfo ) {
-		for ( IllegalConfigurationEntry illegalToUse : illegalEntries ) {
-			if ( illegalToUse.illegalType.isAssignableFrom( clazz ) && illegalToUse.moduleMatcher.test( moduleInfo ) ) {
-				return illegalToUse;
+	/**
+	 * Check if a bean type is allowed in a module, using the class file metadata of the type and its supertypes.
+	 * Bean types that have been validated for the same module before are not checked again.
+	 *
+	 * @param className  name of the bean type
+	 * @param moduleInfo module being bootstrapped, {@code null} if the application context itself
+	 * @return illegal configuration entry that applies, {@code null} if allowed
+	 */
+	IllegalConfigurationEntry isIllegalUse( String className, AcrossModuleInfo moduleInfo ) {
+		if ( illegalEntriesByTypeName.isEmpty() ) {
+			return null;
+		}
+
+		String validationKey = ( moduleInfo != null ? moduleInfo.getName() : CONTEXT_SCOPE ) + ":" + className;
+
+		if ( validated.contains( validationKey ) ) {
+			return null;
+		}
+
+		for ( String typeName : typeHierarchies.computeIfAbsent( className, this::resolveTypeHierarchy ) ) {
+			List<IllegalConfigurationEntry> entries = illegalEntriesByTypeName.get( typeName );
+
+			if ( entries != null ) {
+				for ( IllegalConfigurationEntry illegalToUse : entries ) {
+					if ( illegalToUse.moduleMatcher.test( moduleInfo ) ) {
+						return illegalToUse;
+					}
+				}
 			}
 		}
+
+		if ( validated.add( validationKey ) ) {
+			cacheModified = true;
+		}
+
 		return null;
 	}
 
-	@SneakyThrows
-	private static Class<?> resolveClass( String className, ClassLoader classLoader ) {
-		if ( ClassUtils.isPresent( className, classLoader ) ) {
-			return classLoader.loadClass( className );
+	/**
+	 * Names of the type and all its superclasses and interfaces, read from the class files.
+	 * Supertypes from the {@code java} packages are included but not inspected further.
+	 * Types that can not be read - usually because they are not present - are ignored.
+	 */
+	private Collection<String> resolveTypeHierarchy( String className ) {
+		Set<String> typeNames = new LinkedHashSet<>();
+		Deque<String> queue = new ArrayDeque<>();
+		queue.add( className );
+
+		while ( !queue.isEmpty() ) {
+			String typeName = queue.poll();
+
+			if ( typeNames.add( typeName ) && !typeName.startsWith( "java." ) ) {
+				try {
+					ClassMetadata classMetadata = getMetadataReaderFactory().getMetadataReader( typeName ).getClassMetadata();
+					if ( classMetadata.getSuperClassName() != null ) {
+						queue.add( classMetadata.getSuperClassName() );
+					}
+					queue.addAll( Arrays.asList( classMetadata.getInterfaceNames() ) );
+				}
+				catch ( IOException ignore ) {
+					LOG.trace( "Unable to read class metadata for {}", typeName );
+				}
+			}
 		}
 
-		return null;
+		return typeNames;
+	}
+
+	private MetadataReaderFactory getMetadataReaderFactory() {
+		if ( metadataReaderFactory == null ) {
+			ClassLoader cl = classLoader != null ? classLoader : Thread.currentThread().getContextClassLoader();
+			metadataReaderFactory = AcrossMetadataRepository.find( cl )
+			                                                .<MetadataReaderFactory>map( AcrossMetadataRepository::getMetadataReaderFactory )
+			                                                .orElseGet( () -> new CachingMetadataReaderFactory( cl ) );
+		}
+		return metadataReaderFactory;
+	}
+
+	private void loadValidated() {
+		if ( Files.isRegularFile( cacheFile ) ) {
+			try {
+				List<String> lines = Files.readAllLines( cacheFile, StandardCharsets.UTF_8 );
+
+				if ( !lines.isEmpty() && lines.get( 0 ).equals( classPathFingerprint ) ) {
+					validated.addAll( lines.subList( 1, lines.size() ) );
+					LOG.debug( "Skipping configuration validation for {} previously validated bean types", validated.size() );
+				}
+				else {
+					LOG.debug( "Class path or rules have changed since {} was written - validating all bean types", cacheFile );
+				}
+			}
+			catch ( IOException ioe ) {
+				LOG.warn( "Unable to read configuration validation cache file {}", cacheFile, ioe );
+			}
+		}
+	}
+
+	private void storeValidated() {
+		List<String> lines = new ArrayList<>( validated.size() + 1 );
+		lines.add( classPathFingerprint );
+		validated.stream().sorted().forEach( lines::add );
+
+		try {
+			if ( cacheFile.getParent() != null ) {
+				Files.createDirectories( cacheFile.getParent() );
+			}
+			Files.write( cacheFile, lines, StandardCharsets.UTF_8 );
+			cacheModified = false;
+		}
+		catch ( IOException ioe ) {
+			LOG.warn( "Unable to write configuration validation cache file {}", cacheFile, ioe );
+		}
+	}
+
+	/**
+	 * Fingerprint of the rules and class path entries, using size and modification time of the entries.
+	 * Returns {@code null} if an entry is a directory or can not be resolved to a file.
+	 */
+	private String calculateClassPathFingerprint( Collection<String> classPathEntries ) {
+		StringBuilder description = new StringBuilder( rulesDescription );
+
+		for ( String entry : classPathEntries ) {
+			File file = resolveClassPathFile( entry );
+
+			if ( file == null || file.isDirectory() ) {
+				LOG.debug( "Class path entry {} is not an archive - unable to fingerprint the class path", entry );
+				return null;
+			}
+
+			description.append( '\n' ).append( entry ).append( '@' ).append( file.length() ).append( ':' ).append( file.lastModified() );
+		}
+
+		return DigestUtils.md5DigestAsHex( description.toString().getBytes( StandardCharsets.UTF_8 ) );
+	}
+
+	/**
+	 * Resolve the archive file for a class path entry, nested archives resolve to the outer archive.
+	 */
+	private File resolveClassPathFile( String entry ) {
+		if ( !ResourceUtils.isUrl( entry ) ) {
+			return new File( entry );
+		}
+
+		try {
+			URL url = new URL( entry );
+			return ResourceUtils.getFile( ResourceUtils.isJarURL( url ) ? ResourceUtils.extractArchiveURL( url ) : url );
+		}
+		catch ( IOException ioe ) {
+			return null;
+		}
+	}
+
+	private static Collection<String> resolveClassPathEntries( ClassLoader classLoader ) {
+		Set<String> entries = new LinkedHashSet<>();
+		Stream.of( StringUtils.split( System.getProperty( "java.class.path", "" ), File.pathSeparator ) ).forEach( entries::add );
+
+		for ( ClassLoader cl = classLoader; cl != null; cl = cl.getParent() ) {
+			if ( cl instanceof URLClassLoader ) {
+				Stream.of( ( (URLClassLoader) cl ).getURLs() ).map( URL::toString ).forEach( entries::add );
+			}
+		}
+
+		return entries;
 	}
 
 	@RequiredArgsConstructor
-	private static class IllegalConfigurationEntry
+	static class IllegalConfigurationEntry
 	{
-		private final Class<?> illegalType;
+		private final String illegalTypeName;
 		private final Predicate<AcrossModuleInfo> moduleMatcher;
 		private final AcrossConfiguration.IllegalConfiguration context;
 	}
 
-	static class IllegalConfigurationDetector implements BeanDefinitionRegistryPostProcessor, BeanClassLoaderAware
+	static class IllegalConfigurationDetector implements BeanDefinitionRegistryPostProcessor
 	{
-		private ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-
-		@Override
-		public void setBeanClassLoader( ClassLoader classLoader ) {
-			this.classLoader = classLoader;
-		}
-
 		@Override
 		public void postProcessBeanDefinitionRegistry( BeanDefinitionRegistry registry ) throws BeansException {
 			IllegalConfigurationValidator illegalConfigurationValidator
@@ -238,25 +457,23 @@ public class IllegalConfigurationValidator implements AcrossBootstrapConfigurer,
 			Stream.of( registry.getBeanDefinitionNames() )
 			      .forEach( beanName -> {
 				      BeanDefinition beanDefinition = registry.getBeanDefinition( beanName );
+				      String beanClassName = beanDefinition.getBeanClassName();
 
-				      if ( !( beanDefinition instanceof ExposedBeanDefinition ) ) {
-					      Class<?> beanType = resolveBeanType( beanDefinition );
-					      if ( beanType != null ) {
-						      IllegalConfigurationEntry illegal = illegalConfigurationValidator.isIllegalUse( beanType, moduleInfo );
-						      if ( illegal != null ) {
-							      String description = String.format(
-									      "A bean definition of type '%s' was detected.%n - Bean name: '%s'%n - Bean type: '%s'",
-									      illegal.illegalType.getName(), beanName, beanType.getName()
-							      );
-
-							      String contextDescription = illegal.context.getDescription();
+				      if ( beanClassName != null && !( beanDefinition instanceof ExposedBeanDefinition ) ) {
+					      IllegalConfigurationEntry illegal = illegalConfigurationValidator.isIllegalUse( beanClassName, moduleInfo );
+					      if ( illegal != null ) {
+						      String description = String.format(
+								      "A bean definition of type '%s' was detected.%n - Bean name: '%s'%n - Bean type: '%s'",
+								      illegal.illegalTypeName, beanName, beanClassName
+						      );
 
-							      if ( contextDescription != null ) {
-								      description = String.format( "%s%n%n%s", description, contextDescription );
-							      }
+						      String contextDescription = illegal.context.getDescription();
 
-							      throw new AcrossConfigurationException( description, illegal.context.getAction() );
+						      if ( contextDescription != null ) {
+							      description = String.format( "%s%n%n%s", description, contextDescription );
 						      }
+
+						      throw new AcrossConfigurationException( description, illegal.context.getAction() );
 					      }
 				      }
 			      } );
@@ -275,10 +492,5 @@ public class IllegalConfigurationValidator implements AcrossBootstrapConfigurer,
 		@Override
 		public void postProcessBeanFactory( ConfigurableListableBeanFactory beanFactory ) throws BeansException {
 		}
-
-		@SneakyThrows
-		private Class<?> resolveBeanType( BeanDefinition beanDefinition ) {
-			return resolveClass( beanDefinition.getBeanClassName(), classLoader );
-		}
 	}
 }
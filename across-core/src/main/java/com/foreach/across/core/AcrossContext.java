@@ -20,11 +20,14 @@ import com.foreach.across.core.annotations.ModuleConfiguration;
 import com.foreach.across.core.context.AbstractAcrossEntity;
 import com.foreach.across.core.context.AcrossContextUtils;
 import com.foreach.across.core.context.ModuleDependencyResolver;
+import com.foreach.across.core.context.bootstrap.AcrossBootstrapPlan;
 import com.foreach.across.core.context.bootstrap.AcrossBootstrapper;
+import com.foreach.across.core.context.bootstrap.AcrossLifecycleModuleReloadHandler;
 import com.foreach.across.core.context.bootstrap.AcrossLifecycleShutdownHandler;
 import com.foreach.across.core.context.configurer.ApplicationContextConfigurer;
 import com.foreach.across.core.context.configurer.ConfigurerScope;
 import com.foreach.across.core.context.configurer.PropertySourcesConfigurer;
+import com.foreach.across.core.context.info.AcrossModuleInfo;
 import com.foreach.across.core.installers.InstallerAction;
 import com.foreach.across.core.installers.InstallerSettings;
 import com.foreach.across.core.transformers.ExposedBeanDefinitionTransformer;
@@ -399,6 +402,21 @@ public class AcrossContext extends AbstractAcrossEntity implements DisposableBea
 		}
 	}
 
+	/**
+	 * Plan the bootstrap of this context without actually bootstrapping it.
+	 * The plan contains the modules in bootstrap order, the installers that would run and the beans
+	 * each module would expose, along with any problem that would cause the bootstrap to fail.
+	 *
+	 * @return bootstrap plan
+	 * @see AcrossBootstrapper#plan()
+	 */
+	public AcrossBootstrapPlan plan() {
+		if ( isBootstrapped ) {
+			throw new IllegalStateException( "AcrossContext has already been bootstrapped" );
+		}
+		return new AcrossBootstrapper( this ).plan();
+	}
+
 	public void shutdown() {
 		if ( isBootstrapped ) {
 			LOG.info( "Shutdown signal received - destroying ApplicationContext instances" );
@@ -407,6 +425,22 @@ public class AcrossContext extends AbstractAcrossEntity implements DisposableBea
 		}
 	}
 
+	/**
+	 * Close and bootstrap a single module again, without restarting the entire context.
+	 * All bootstrapped modules depending on the module will be reloaded as well.
+	 * Installers are not executed when reloading a module.
+	 *
+	 * @param moduleName name of the module
+	 * @return modules that have been reloaded, in bootstrap order
+	 * @see AcrossLifecycleModuleReloadHandler
+	 */
+	public Collection<AcrossModuleInfo> reloadModule( String moduleName ) {
+		if ( !isBootstrapped ) {
+			throw new IllegalStateException( "AcrossContext must be bootstrapped before modules can be reloaded" );
+		}
+		return new AcrossLifecycleModuleReloadHandler( this ).reloadModule( moduleName );
+	}
+
 	public boolean isBootstrapped() {
 		return isBootstrapped;
 	}
@@ -27,8 +27,8 @@ import java.io.InputStream;
 import java.net.URL;
 import java.text.ParseException;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
 
@@ -41,7 +41,7 @@ public class AcrossVersionInfo
 {
 	private static final Logger LOG = LoggerFactory.getLogger( AcrossVersionInfo.class );
 
-	private static final Map<Class, AcrossVersionInfo> versionInfoCache = new HashMap<>();
+	private static final Map<Class, AcrossVersionInfo> versionInfoCache = new ConcurrentHashMap<>();
 
 	public static final AcrossVersionInfo UNKNOWN = new AcrossVersionInfo();
 
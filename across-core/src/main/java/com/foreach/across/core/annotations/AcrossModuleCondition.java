@@ -17,6 +17,7 @@
 package com.foreach.across.core.annotations;
 
 import com.foreach.across.core.context.bootstrap.AcrossBootstrapConfig;
+import com.foreach.across.core.context.bootstrap.ModuleConditionEvaluations;
 import com.foreach.across.core.context.info.AcrossContextInfo;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -34,7 +35,7 @@ import java.util.Map;
 /**
  * Condition that checks that a given module is present in the AcrossContext.
  * To be used on @Configuration and @Bean instances to load components only if other modules
- * are being loaded.
+ * are being loaded.  Evaluations are counted and timed for the bootstrap report.
  *
  * @see com.foreach.across.core.annotations.ConditionalOnAcrossModule
  */
@@ -47,10 +48,8 @@ class AcrossModuleCondition extends SpringBootCondition
 
 		Assert.notNull( attributes, "@ConditionalOnAcrossModule was expected" );
 
-		String[] allOf = (String[]) attributes.get( "allOf" );
-		if ( allOf == null || allOf.length == 0 ) {
-			allOf = (String[]) attributes.get( "value" );
-		}
+		String[] allOfAttribute = (String[]) attributes.get( "allOf" );
+		String[] allOf = allOfAttribute == null || allOfAttribute.length == 0 ? (String[]) attributes.get( "value" ) : allOfAttribute;
 		String[] anyOf = (String[]) attributes.get( "anyOf" );
 		String[] noneOf = (String[]) attributes.get( "noneOf" );
 
@@ -58,7 +57,14 @@ class AcrossModuleCondition extends SpringBootCondition
 			AcrossContextInfo acrossContext = findAcrossContextInfo( context.getBeanFactory() );
 
 			if ( acrossContext != null ) {
-				return applies( acrossContext.getBootstrapConfiguration(), allOf, anyOf, noneOf );
+				AcrossBootstrapConfig config = acrossContext.getBootstrapConfiguration();
+				ModuleConditionEvaluations evaluations = config != null ? config.getModuleConditionEvaluations() : null;
+
+				if ( evaluations != null ) {
+					return evaluations.evaluate( () -> applies( config, allOf, anyOf, noneOf ) );
+				}
+
+				return applies( config, allOf, anyOf, noneOf );
 			}
 		}
 		catch ( NoSuchBeanDefinitionException ignore ) {
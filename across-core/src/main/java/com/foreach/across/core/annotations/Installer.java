@@ -64,4 +64,18 @@ public @interface Installer
 	 * @return When should this installer run during the context bootstrap.  Default value: BeforeContextBootstrap
 	 */
 	InstallerPhase phase() default InstallerPhase.BeforeContextBootstrap;
+
+	/**
+	 * Optional key for running installers in parallel.  Only used if parallel installer execution has been enabled
+	 * on the {@link com.foreach.across.core.installers.InstallerSettings} of the context.
+	 * <p/>
+	 * Installers of different parallel groups can be executed concurrently in the {@link InstallerPhase#BeforeContextBootstrap}
+	 * and {@link InstallerPhase#AfterContextBootstrap} phases.  Installers with the same parallel group - or without one -
+	 * are always executed one after the other, in registration order.  Only specify a parallel group if the installer
+	 * does not depend on installers from other groups, for example because it manages its own set of tables.
+	 *
+	 * @return parallel group or empty string if the installer should run with all other installers
+	 * @since 5.3.0
+	 */
+	String parallelGroup() default "";
 }
@@ -23,6 +23,8 @@ import com.foreach.across.core.cache.AcrossCompositeCacheManager;
 import com.foreach.across.core.context.support.AcrossContextOrderedMessageSource;
 import com.foreach.across.core.context.support.MessageSourceBuilder;
 import com.foreach.across.core.convert.StringToDateTimeConverter;
+import com.foreach.across.core.database.AcrossSchemaConfiguration;
+import com.foreach.across.core.database.SqlBasedSequenceGenerator;
 import com.foreach.across.core.development.AcrossDevelopmentMode;
 import com.foreach.across.core.events.AcrossContextApplicationEventMulticaster;
 import com.foreach.across.core.events.SpringContextRefreshedEventListener;
@@ -165,6 +167,29 @@ public class AcrossConfig
 		return new SqlBasedDistributedLockConfiguration( tablePrefix + "across_locks" );
 	}
 
+	/**
+	 * Requires the {@link com.foreach.across.core.installers.AcrossSequencesInstaller} to have been executed
+	 * by at least one module.
+	 */
+	@Bean(destroyMethod = "close")
+	@Lazy
+	public SqlBasedSequenceGenerator sequenceGenerator( @Qualifier(AcrossContext.DATASOURCE) Optional<DataSource> acrossDataSource,
+	                                                     CoreSchemaConfigurationHolder schemaConfigurationHolder ) {
+		if ( !acrossDataSource.isPresent() ) {
+			throw new AcrossConfigurationException(
+					"Unable to create the SequenceGenerator because there is no DataSource configured.",
+					"Define a datasource for Across. If you have multiple datasources mark one as @Primary or name the bean 'acrossDataSource'."
+			);
+		}
+
+		String tablePrefix = "";
+		String defaultSchema = schemaConfigurationHolder.getDefaultSchema();
+		if ( !StringUtils.isBlank( defaultSchema ) ) {
+			tablePrefix = defaultSchema + ".";
+		}
+		return new SqlBasedSequenceGenerator( acrossDataSource.get(), tablePrefix + AcrossSchemaConfiguration.TABLE_SEQUENCES );
+	}
+
 	@Bean
 	@Lazy
 	public CoreSchemaConfigurationHolder schemaConfigurationHolder() {
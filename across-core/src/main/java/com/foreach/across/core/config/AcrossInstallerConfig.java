@@ -21,6 +21,7 @@ import com.foreach.across.core.AcrossContext;
 import com.foreach.across.core.installers.AcrossCoreSchemaInstaller;
 import com.foreach.across.core.installers.AcrossInstallerRepository;
 import com.foreach.across.core.installers.AcrossInstallerRepositoryImpl;
+import com.foreach.across.core.installers.AcrossLiquibaseChecksumRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -69,6 +70,24 @@ public class AcrossInstallerConfig
 		return repository;
 	}
 
+	/**
+	 * Repository for the changelog checksums of {@link com.foreach.across.core.installers.AcrossLiquibaseInstaller}s.
+	 * Uses the installer datasource as that is where the core schema is installed.
+	 *
+	 * @return AcrossLiquibaseChecksumRepository instance.
+	 */
+	@Bean
+	@Lazy
+	@DependsOn("acrossCoreSchemaInstaller")
+	@SuppressWarnings("all")
+	public AcrossLiquibaseChecksumRepository liquibaseChecksumRepository( @Qualifier(AcrossContext.INSTALLER_DATASOURCE) Optional<DataSource> installerDataSource,
+	                                                                      CoreSchemaConfigurationHolder schemaHolder ) {
+		AcrossLiquibaseChecksumRepository repository = new AcrossLiquibaseChecksumRepository( installerDataSource.get() );
+		repository.setSchema( schemaHolder.getDefaultSchema() );
+
+		return repository;
+	}
+
 	@Bean
 	@Lazy
 	@SuppressWarnings("all")
@@ -18,6 +18,7 @@ package com.foreach.across.core.context;
 
 import com.foreach.across.core.context.annotation.ModuleConfigurationBeanNameGenerator;
 import com.foreach.across.core.context.beans.ProvidedBeansMap;
+import com.foreach.across.core.context.support.BeanDefinitionPreparer;
 import com.foreach.across.core.context.support.MessageSourceBuilder;
 import com.foreach.across.core.events.AcrossContextApplicationEventMulticaster;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -39,7 +40,7 @@ import java.util.Map;
 /**
  * ApplicationContext that allows a set of preregistered singletons to be passed in.
  */
-public class AcrossApplicationContext extends AnnotationConfigApplicationContext implements AcrossConfigurableApplicationContext
+public class AcrossApplicationContext extends AnnotationConfigApplicationContext implements PreparableApplicationContext
 {
 	private boolean installerMode = false;
 	private Integer moduleIndex;
@@ -105,6 +106,12 @@ public class AcrossApplicationContext extends AnnotationConfigApplicationContext
 		}
 	}
 
+	@Override
+	public void prepareBeanDefinitions() {
+		BeanDefinitionPreparer.prepare( this::prepareRefresh, this::obtainFreshBeanFactory, this::prepareBeanFactory,
+		                                this::postProcessBeanFactory, this::invokeBeanFactoryPostProcessors );
+	}
+
 	@Override
 	protected void initMessageSource() {
 		if ( !installerMode ) {
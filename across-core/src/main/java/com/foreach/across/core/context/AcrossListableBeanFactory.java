@@ -397,9 +397,26 @@ public class AcrossListableBeanFactory extends DefaultListableBeanFactory
 	@Override
 	public void registerBeanDefinition( String beanName, BeanDefinition beanDefinition ) throws BeanDefinitionStoreException {
 		destroySingleton( beanName );
+		exposedBeansCache.remove( beanName );
 		super.registerBeanDefinition( beanName, beanDefinition );
 	}
 
+	@Override
+	public void removeBeanDefinition( String beanName ) throws NoSuchBeanDefinitionException {
+		super.removeBeanDefinition( beanName );
+		exposedBeansCache.remove( beanName );
+	}
+
+	/**
+	 * An exposed bean is owned by the module it originates from: only that module should call its destruction callbacks.
+	 */
+	@Override
+	protected void registerDisposableBeanIfNecessary( String beanName, Object bean, RootBeanDefinition mbd ) {
+		if ( !isExposedBean( beanName ) ) {
+			super.registerDisposableBeanIfNecessary( beanName, bean, mbd );
+		}
+	}
+
 	@Override
 	public Comparator<Object> getDependencyComparator() {
 		return acrossOrderComparator;
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.context;
+
+import com.foreach.across.config.AcrossConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.type.classreading.ConcurrentReferenceCachingMetadataReaderFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JVM-level repository of class path metadata that can be shared read-only by all Across contexts
+ * using the same {@link ClassLoader}.  Holds the class metadata of the shared {@link MetadataReaderFactory}
+ * and the results of class path scanning (the resources matching a pattern), so that contexts bootstrapping
+ * after the first one start from warm data.  The parsed {@link AcrossConfiguration} rules are available
+ * through the repository as well.
+ * <p/>
+ * A repository is reference counted: every context acquires it using {@link #acquire(ClassLoader)} and
+ * must {@link #release()} it when it closes.  When the last reference is released the cached metadata is
+ * cleared and the next {@link #acquire(ClassLoader)} creates a new repository.  Class loaders and repositories
+ * are only held weakly, contexts that are never closed do not keep their class loader from being collected.
+ * <p/>
+ * Only resources for {@code classpath:} and {@code classpath*:} patterns are cached, as these can not
+ * change for the lifetime of the class loader.
+ *
+ * @author agent
+ * @see SharedMetadataReaderFactory
+ * @since 5.3.0
+ */
+@Slf4j
+public final class AcrossMetadataRepository
+{
+	private static final Map<ClassLoader, WeakReference<AcrossMetadataRepository>> REPOSITORIES = new WeakHashMap<>();
+
+	private final ClassLoader classLoader;
+	private final ConcurrentReferenceCachingMetadataReaderFactory metadataReaderFactory;
+	private final Map<String, Resource[]> resources = new ConcurrentHashMap<>();
+
+	private int references;
+
+	private AcrossMetadataRepository( ClassLoader classLoader ) {
+		this.classLoader = classLoader;
+		this.metadataReaderFactory = new ConcurrentReferenceCachingMetadataReaderFactory( classLoader );
+	}
+
+	/**
+	 * Get the repository for the class loader, creating it if necessary, and add a reference to it.
+	 *
+	 * @param classLoader for the metadata
+	 * @return repository
+	 */
+	public static AcrossMetadataRepository acquire( ClassLoader classLoader ) {
+		synchronized ( REPOSITORIES ) {
+			AcrossMetadataRepository repository = get( classLoader );
+			if ( repository == null ) {
+				repository = new AcrossMetadataRepository( classLoader );
+				REPOSITORIES.put( classLoader, new WeakReference<>( repository ) );
+			}
+			repository.references++;
+			LOG.trace( "Acquired metadata repository for {} - {} references", classLoader, repository.references );
+			return repository;
+		}
+	}
+
+	/**
+	 * Get the current repository for the class loader without adding a reference.
+	 *
+	 * @param classLoader for the metadata
+	 * @return repository if it has been acquired at least once
+	 */
+	public static Optional<AcrossMetadataRepository> find( ClassLoader classLoader ) {
+		synchronized ( REPOSITORIES ) {
+			return Optional.ofNullable( get( classLoader ) );
+		}
+	}
+
+	/**
+	 * Check if the metadata reader factory is held by a repository.  The metadata of such a factory
+	 * should not be cleared, that is done when the last reference to the repository is released.
+	 *
+	 * @param metadataReaderFactory to check
+	 * @return true if held by a repository
+	 */
+	public static boolean isManaged( MetadataReaderFactory metadataReaderFactory ) {
+		synchronized ( REPOSITORIES ) {
+			return REPOSITORIES.values()
+			                   .stream()
+			                   .map( WeakReference::get )
+			                   .anyMatch( repository -> repository != null && repository.metadataReaderFactory == metadataReaderFactory );
+		}
+	}
+
+	private static AcrossMetadataRepository get( ClassLoader classLoader ) {
+		WeakReference<AcrossMetadataRepository> reference = REPOSITORIES.get( classLoader );
+		return reference != null ? reference.get() : null;
+	}
+
+	/**
+	 * Remove a reference to this repository.  When the last reference is removed,
+	 * all metadata is cleared.
+	 */
+	public void release() {
+		synchronized ( REPOSITORIES ) {
+			if ( references > 0 && --references == 0 ) {
+				LOG.trace( "Last reference to metadata repository for {} released - clearing metadata", classLoader );
+				if ( get( classLoader ) == this ) {
+					REPOSITORIES.remove( classLoader );
+				}
+				metadataReaderFactory.clearCache();
+				resources.clear();
+			}
+		}
+	}
+
+	public int getReferenceCount() {
+		synchronized ( REPOSITORIES ) {
+			return references;
+		}
+	}
+
+	/**
+	 * @return metadata reader factory shared by all contexts using this repository
+	 */
+	public ConcurrentReferenceCachingMetadataReaderFactory getMetadataReaderFactory() {
+		return metadataReaderFactory;
+	}
+
+	/**
+	 * @return the across configuration rules for the class loader
+	 */
+	public AcrossConfiguration getAcrossConfiguration() {
+		return AcrossConfiguration.get( classLoader );
+	}
+
+	/**
+	 * Wrap a {@link ResourcePatternResolver} so that class path pattern results are cached in this repository.
+	 * If the resolver uses a different class loader, it is returned as is.
+	 *
+	 * @param resourcePatternResolver to use for resolving
+	 * @return caching resolver
+	 */
+	public ResourcePatternResolver cachingResourcePatternResolver( ResourcePatternResolver resourcePatternResolver ) {
+		if ( resourcePatternResolver.getClassLoader() != classLoader ) {
+			return resourcePatternResolver;
+		}
+
+		return new CachingResourcePatternResolver( resourcePatternResolver );
+	}
+
+	private final class CachingResourcePatternResolver implements ResourcePatternResolver
+	{
+		private final ResourcePatternResolver resourcePatternResolver;
+
+		CachingResourcePatternResolver( ResourcePatternResolver resourcePatternResolver ) {
+			this.resourcePatternResolver = resourcePatternResolver;
+		}
+
+		@Override
+		public Resource[] getResources( String locationPattern ) throws IOException {
+			if ( !StringUtils.startsWith( locationPattern, CLASSPATH_URL_PREFIX ) && !StringUtils.startsWith( locationPattern, CLASSPATH_ALL_URL_PREFIX ) ) {
+				return resourcePatternResolver.getResources( locationPattern );
+			}
+
+			Resource[] cached = resources.get( locationPattern );
+
+			if ( cached == null ) {
+				cached = resourcePatternResolver.getResources( locationPattern );
+				resources.putIfAbsent( locationPattern, cached );
+			}
+
+			return cached.clone();
+		}
+
+		@Override
+		public Resource getResource( String location ) {
+			return resourcePatternResolver.getResource( location );
+		}
+
+		@Override
+		public ClassLoader getClassLoader() {
+			return resourcePatternResolver.getClassLoader();
+		}
+	}
+}
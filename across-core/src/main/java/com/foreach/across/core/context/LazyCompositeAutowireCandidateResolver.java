@@ -21,8 +21,8 @@ import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.context.annotation.ContextAnnotationAutowireCandidateResolver;
 import org.springframework.lang.Nullable;
 
-import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
  * Allows registering additional {@link ContextAnnotationAutowireCandidateResolver} classes that will be taken into account
@@ -37,7 +37,7 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class LazyCompositeAutowireCandidateResolver extends ContextAnnotationAutowireCandidateResolver
 {
-	private static Set<ContextAnnotationAutowireCandidateResolver> ADDITIONAL_RESOLVERS = new LinkedHashSet<>();
+	private static final Set<ContextAnnotationAutowireCandidateResolver> ADDITIONAL_RESOLVERS = new CopyOnWriteArraySet<>();
 
 	@Override
 	@Nullable
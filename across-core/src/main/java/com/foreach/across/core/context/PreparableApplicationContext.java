@@ -0,0 +1,36 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.context;
+
+/**
+ * Optional interface for an {@link AcrossConfigurableApplicationContext} that can register its final set of
+ * bean definitions without being refreshed.  Required for planning a bootstrap.
+ *
+ * @author agent
+ * @see com.foreach.across.core.context.bootstrap.PlanningBootstrapApplicationContextFactory
+ * @since 5.3.0
+ */
+public interface PreparableApplicationContext extends AcrossConfigurableApplicationContext
+{
+	/**
+	 * Performs only the first part of a {@link #refresh()}: the bean factory is prepared and all
+	 * {@link org.springframework.beans.factory.config.BeanFactoryPostProcessor}s are invoked, so the
+	 * final set of bean definitions is registered.  No regular beans are created.
+	 * <p/>
+	 * Used for planning a bootstrap, afterwards the context can only be closed.
+	 */
+	void prepareBeanDefinitions();
+}
@@ -29,7 +29,8 @@ import org.springframework.core.type.classreading.MetadataReaderFactory;
 
 /**
  * Registers a shared metadata reader for all Across related contexts.
- * In a Spring boot configuration, an already available metadata reader factory will be reused.
+ * In a Spring boot configuration, an already available metadata reader factory will be reused,
+ * else the metadata reader factory of the JVM-level {@link AcrossMetadataRepository} is used.
  *
  * @author Arne Vandamme
  * @see org.springframework.boot.autoconfigure.SharedMetadataReaderFactoryContextInitializer
@@ -47,14 +48,14 @@ public class SharedMetadataReaderFactory
 	 */
 	static class SharedMetadataReaderFactoryBean
 			implements FactoryBean<ConcurrentReferenceCachingMetadataReaderFactory>,
-			BeanClassLoaderAware, BeanFactoryAware
+			BeanClassLoaderAware, BeanFactoryAware, DisposableBean
 	{
-		private ConcurrentReferenceCachingMetadataReaderFactory metadataReaderFactory;
+		private AcrossMetadataRepository metadataRepository;
 		private ConcurrentReferenceCachingMetadataReaderFactory parentReaderFactory;
 
 		@Override
 		public void setBeanClassLoader( ClassLoader classLoader ) {
-			this.metadataReaderFactory = new ConcurrentReferenceCachingMetadataReaderFactory( classLoader );
+			this.metadataRepository = AcrossMetadataRepository.acquire( classLoader );
 		}
 
 		@Override
@@ -69,7 +70,7 @@ public class SharedMetadataReaderFactory
 		@Override
 		public ConcurrentReferenceCachingMetadataReaderFactory getObject()
 				throws Exception {
-			return this.parentReaderFactory != null ? this.parentReaderFactory : this.metadataReaderFactory;
+			return this.parentReaderFactory != null ? this.parentReaderFactory : this.metadataRepository.getMetadataReaderFactory();
 		}
 
 		@Override
@@ -81,6 +82,11 @@ public class SharedMetadataReaderFactory
 		public boolean isSingleton() {
 			return true;
 		}
+
+		@Override
+		public void destroy() {
+			metadataRepository.release();
+		}
 	}
 
 	public static void registerAnnotationProcessors( BeanDefinitionRegistry beanFactory ) {
@@ -107,9 +113,19 @@ public class SharedMetadataReaderFactory
 		}
 	}
 
+	/**
+	 * Clear the cached metadata of the shared metadata reader factory, unless the factory belongs
+	 * to an {@link AcrossMetadataRepository}.  The metadata of a repository is kept for other contexts,
+	 * and only cleared when the repository is no longer used.
+	 *
+	 * @param applicationContext that has the shared metadata reader factory
+	 */
 	public static void clearCachedMetadata( ApplicationContext applicationContext ) {
 		ConcurrentReferenceCachingMetadataReaderFactory metadataReaderFactory
 				= applicationContext.getBean( BEAN_NAME, ConcurrentReferenceCachingMetadataReaderFactory.class );
-		metadataReaderFactory.clearCache();
+
+		if ( !AcrossMetadataRepository.isManaged( metadataReaderFactory ) ) {
+			metadataReaderFactory.clearCache();
+		}
 	}
 }
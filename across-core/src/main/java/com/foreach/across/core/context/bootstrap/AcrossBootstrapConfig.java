@@ -40,6 +40,7 @@ public class AcrossBootstrapConfig
 	private final AcrossContext context;
 	private final Map<String, ModuleBootstrapConfig> modules;
 	private final ModuleConfigurationSet moduleConfigurationSet;
+	private final ModuleConditionEvaluations moduleConditionEvaluations = new ModuleConditionEvaluations();
 
 	private InstallerSettings installerSettings;
 
@@ -77,6 +78,13 @@ public class AcrossBootstrapConfig
 		return moduleConfigurationSet;
 	}
 
+	/**
+	 * @return Statistics of the module conditions evaluated against this configuration.
+	 */
+	public ModuleConditionEvaluations getModuleConditionEvaluations() {
+		return moduleConditionEvaluations;
+	}
+
 	public InstallerSettings getInstallerSettings() {
 		return installerSettings;
 	}
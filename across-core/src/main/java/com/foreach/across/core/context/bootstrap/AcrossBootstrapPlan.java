@@ -0,0 +1,221 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.context.bootstrap;
+
+import com.foreach.across.core.context.AcrossModuleRole;
+import com.foreach.across.core.context.info.ModuleBootstrapStatus;
+import com.foreach.across.core.installers.InstallerPhase;
+import com.foreach.across.core.installers.InstallerRunCondition;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Result of a dry-run of an Across context bootstrap: the modules that would be bootstrapped in order,
+ * the installers that would be executed and the beans every module would expose.  Any problem that
+ * would make the bootstrap fail is added as a {@link Severity#ERROR} diagnostic.
+ * <p/>
+ * The plan can be converted to a machine-readable structure using {@link #toMap()} or {@link #toYaml()}.
+ *
+ * @author agent
+ * @see AcrossBootstrapper#plan()
+ * @since 5.3.0
+ */
+@Getter
+@RequiredArgsConstructor
+public final class AcrossBootstrapPlan
+{
+	public enum Severity
+	{
+		ERROR,
+		WARNING,
+		INFO
+	}
+
+	/**
+	 * Would an installer be executed.  If it depends on conditions that can only be evaluated
+	 * with the actual installer context, execution is {@link #UNDETERMINED}.
+	 */
+	public enum InstallerExecution
+	{
+		EXECUTE,
+		SKIP,
+		UNDETERMINED
+	}
+
+	private final String contextId;
+	private final String displayName;
+	private final List<ModulePlan> modules = new ArrayList<>();
+	private final List<Diagnostic> diagnostics = new ArrayList<>();
+
+	/**
+	 * @return true if the bootstrap is expected to succeed: there are no error diagnostics
+	 */
+	public boolean isValid() {
+		return getDiagnostics( Severity.ERROR ).isEmpty();
+	}
+
+	public List<Diagnostic> getDiagnostics( Severity severity ) {
+		return diagnostics.stream().filter( d -> d.getSeverity() == severity ).collect( Collectors.toList() );
+	}
+
+	public Optional<ModulePlan> getModule( String moduleName ) {
+		return modules.stream().filter( m -> m.getName().equals( moduleName ) ).findFirst();
+	}
+
+	void addDiagnostic( Severity severity, String moduleName, String message ) {
+		diagnostics.add( new Diagnostic( severity, moduleName, message ) );
+	}
+
+	/**
+	 * @return plan as a structure of maps, lists and simple values
+	 */
+	public Map<String, Object> toMap() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put( "context", contextId );
+		map.put( "displayName", displayName );
+		map.put( "valid", isValid() );
+		map.put( "modules", modules.stream().map( ModulePlan::toMap ).collect( Collectors.toList() ) );
+		map.put( "diagnostics", diagnostics.stream().map( Diagnostic::toMap ).collect( Collectors.toList() ) );
+		return map;
+	}
+
+	/**
+	 * @return plan as YAML document
+	 */
+	public String toYaml() {
+		DumperOptions options = new DumperOptions();
+		options.setDefaultFlowStyle( DumperOptions.FlowStyle.BLOCK );
+		return new Yaml( options ).dump( toMap() );
+	}
+
+	@Override
+	public String toString() {
+		return "AcrossBootstrapPlan{" +
+				"context=" + displayName +
+				", modules=" + modules.stream().map( ModulePlan::getName ).collect( Collectors.joining( "," ) ) +
+				", valid=" + isValid() +
+				'}';
+	}
+
+	/**
+	 * Planned bootstrap of a single module.  Modules that would be bootstrapped have status
+	 * {@link ModuleBootstrapStatus#AwaitingBootstrap}, modules without any configuration have
+	 * status {@link ModuleBootstrapStatus#Skipped}.
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	public static final class ModulePlan
+	{
+		private final int index;
+		private final String name;
+		private final AcrossModuleRole role;
+		private final ModuleBootstrapStatus status;
+		private final List<String> requiredDependencies;
+		private final List<String> optionalDependencies;
+		private final List<InstallerPlan> installers = new ArrayList<>();
+		private final List<ExposedBeanPlan> exposedBeans = new ArrayList<>();
+
+		Map<String, Object> toMap() {
+			Map<String, Object> map = new LinkedHashMap<>();
+			map.put( "index", index );
+			map.put( "name", name );
+			map.put( "role", role.name() );
+			map.put( "status", status.name() );
+			map.put( "requiredDependencies", requiredDependencies );
+			map.put( "optionalDependencies", optionalDependencies );
+			map.put( "installers", installers.stream().map( InstallerPlan::toMap ).collect( Collectors.toList() ) );
+			map.put( "exposedBeans", exposedBeans.stream().map( ExposedBeanPlan::toMap ).collect( Collectors.toList() ) );
+			return map;
+		}
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static final class InstallerPlan
+	{
+		private final String name;
+		private final InstallerPhase phase;
+		private final InstallerRunCondition runCondition;
+		private final int version;
+
+		/**
+		 * Currently installed version, -1 if not installed, {@code null} if it could not be determined.
+		 */
+		private final Integer installedVersion;
+		private final InstallerExecution execution;
+		private final String reason;
+
+		Map<String, Object> toMap() {
+			Map<String, Object> map = new LinkedHashMap<>();
+			map.put( "name", name );
+			map.put( "phase", phase.name() );
+			map.put( "runCondition", runCondition.name() );
+			map.put( "version", version );
+			map.put( "installedVersion", installedVersion );
+			map.put( "execution", execution.name() );
+			map.put( "reason", reason );
+			return map;
+		}
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static final class ExposedBeanPlan
+	{
+		private final String beanName;
+		private final String originalBeanName;
+		private final String beanType;
+
+		Map<String, Object> toMap() {
+			Map<String, Object> map = new LinkedHashMap<>();
+			map.put( "beanName", beanName );
+			map.put( "originalBeanName", originalBeanName );
+			map.put( "beanType", beanType );
+			return map;
+		}
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static final class Diagnostic
+	{
+		private final Severity severity;
+
+		/**
+		 * Name of the module the diagnostic applies to, {@code null} for the entire context.
+		 */
+		private final String module;
+		private final String message;
+
+		Map<String, Object> toMap() {
+			Map<String, Object> map = new LinkedHashMap<>();
+			map.put( "severity", severity.name() );
+			map.put( "module", module );
+			map.put( "message", message );
+			return map;
+		}
+
+		@Override
+		public String toString() {
+			return severity + ( module != null ? " [" + module + "] " : " " ) + message;
+		}
+	}
+}
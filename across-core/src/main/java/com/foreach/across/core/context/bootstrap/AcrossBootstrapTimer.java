@@ -16,9 +16,11 @@
 package com.foreach.across.core.context.bootstrap;
 
 import com.foreach.across.core.context.info.AcrossModuleInfo;
+import com.foreach.across.core.development.ClassDataSharingStatus;
 import com.foreach.across.core.installers.AcrossBootstrapInstallerRegistry;
 import com.foreach.across.core.installers.InstallerPhase;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.time.StopWatch;
 
@@ -48,6 +50,32 @@ public class AcrossBootstrapTimer
 	@Getter
 	private long bootstrappedEventInMillis;
 
+	/**
+	 * Class loader of the application classes, used for reporting class data sharing usage.
+	 */
+	@Setter
+	private ClassLoader classLoader;
+
+	/**
+	 * Module condition evaluations of the bootstrap configuration.
+	 */
+	@Setter
+	private ModuleConditionEvaluations moduleConditionEvaluations;
+
+	/**
+	 * @return total bootstrap time, 0 as long as the bootstrap has not finished
+	 */
+	public long getTotalTimeInMillis() {
+		return timesByPhase.getOrDefault( Phase.TOTAL, 0L );
+	}
+
+	/**
+	 * @return time reports by module name
+	 */
+	public Map<String, ModuleTimeReport> getModuleTimeReports() {
+		return Collections.unmodifiableMap( moduleReports );
+	}
+
 	public long getTotalModuleApplicationContextTimeInMillis() {
 		return moduleReports.values().stream()
 		                    .mapToLong( ModuleTimeReport::getApplicationContextTimeInMillis )
@@ -146,6 +174,12 @@ public class AcrossBootstrapTimer
 
 			LOG.info( "    Refresh beans: {}", refreshBeansInMillis / 1000.0 );
 			LOG.info( "    Context bootstrapped event: {}", bootstrappedEventInMillis / 1000.0 );
+			LOG.info( "    Class data sharing: {}", ClassDataSharingStatus.detect( classLoader != null ? classLoader : getClass().getClassLoader() ) );
+
+			if ( moduleConditionEvaluations != null ) {
+				LOG.info( "    Module conditions: {}", moduleConditionEvaluations );
+			}
+
 			LOG.info( "" );
 
 			moduleReports.values()
@@ -34,13 +34,19 @@ import com.foreach.across.core.context.installers.InstallerSetBuilder;
 import com.foreach.across.core.context.module.ModuleConfigurationExtension;
 import com.foreach.across.core.context.registry.AcrossContextBeanRegistry;
 import com.foreach.across.core.context.registry.DefaultAcrossContextBeanRegistry;
+import com.foreach.across.core.context.support.ModuleBeanSelectorUtils;
+import com.foreach.across.core.development.AcrossClassListRecorder;
 import com.foreach.across.core.events.AcrossContextBootstrappedEvent;
 import com.foreach.across.core.events.AcrossModuleBeforeBootstrapEvent;
 import com.foreach.across.core.events.AcrossModuleBootstrappedEvent;
 import com.foreach.across.core.filters.BeanFilter;
 import com.foreach.across.core.filters.BeanFilterComposite;
 import com.foreach.across.core.filters.NamedBeanFilter;
+import com.foreach.across.core.database.SchemaConfiguration;
 import com.foreach.across.core.installers.AcrossBootstrapInstallerRegistry;
+import com.foreach.across.core.installers.AcrossInstallerRepository;
+import com.foreach.across.core.installers.AcrossInstallerRepositoryImpl;
+import com.foreach.across.core.installers.InstallerDataSourceReleaser;
 import com.foreach.across.core.installers.InstallerPhase;
 import com.foreach.across.core.transformers.ExposedBeanDefinitionTransformer;
 import com.foreach.across.core.util.ClassLoadingUtils;
@@ -67,6 +73,7 @@ import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.env.PropertySources;
+import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.core.type.filter.TypeFilter;
 import org.springframework.util.ClassUtils;
@@ -74,8 +81,11 @@ import org.springframework.util.ReflectionUtils;
 import org.springframework.web.context.ConfigurableWebApplicationContext;
 import org.springframework.web.context.WebApplicationContext;
 
+import javax.sql.DataSource;
 import java.lang.reflect.Modifier;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import static com.foreach.across.core.context.bootstrap.AcrossBootstrapConfigurer.CONTEXT_INFRASTRUCTURE_MODULE;
@@ -97,6 +107,7 @@ public class AcrossBootstrapper
 
 	private final AcrossContext context;
 	private final Deque<ConfigurableApplicationContext> createdApplicationContexts = new ArrayDeque<>();
+	private final List<Consumer<AcrossBootstrapTimer>> bootstrapTimerListeners = new ArrayList<>();
 	private BootstrapApplicationContextFactory applicationContextFactory;
 	private List<AcrossBootstrapConfigurer> bootstrapConfigurers;
 
@@ -114,6 +125,17 @@ public class AcrossBootstrapper
 		this.applicationContextFactory = applicationContextFactory;
 	}
 
+	/**
+	 * Add a listener that receives the {@link AcrossBootstrapTimer} once the bootstrap has finished successfully.
+	 * The timer is not kept after the bootstrap, listeners can be added from a {@link BootstrapAdapter}.
+	 *
+	 * @param listener to call with the timer
+	 * @since 5.3.0
+	 */
+	public void addBootstrapTimerListener( Consumer<AcrossBootstrapTimer> listener ) {
+		bootstrapTimerListeners.add( listener );
+	}
+
 	/**
 	 * Bootstraps all modules in the context.
 	 */
@@ -290,6 +312,11 @@ public class AcrossBootstrapper
 			rootContext.publishEvent( new AcrossContextBootstrappedEvent( contextInfo ) );
 			bootstrapTimer.finishContextBootstrappedEventHandling();
 
+			recordClassList( rootContext );
+			releaseInstallerDataSource( rootContext );
+			bootstrapTimer.setClassLoader( rootContext.getClassLoader() );
+			bootstrapTimer.setModuleConditionEvaluations( contextInfo.getBootstrapConfiguration().getModuleConditionEvaluations() );
+
 			createdApplicationContexts.clear();
 
 			resetCommonCaches();
@@ -310,6 +337,183 @@ public class AcrossBootstrapper
 
 		bootstrapTimer.finish();
 		bootstrapTimer.printReport();
+
+		bootstrapTimerListeners.forEach( listener -> listener.accept( bootstrapTimer ) );
+	}
+
+	/**
+	 * Plans the bootstrap of all modules in the context, without actually bootstrapping them.
+	 * Resolves the modules and their bootstrap order, the installers that would be executed and
+	 * the beans that every module would expose.  The root ApplicationContext is created but module
+	 * ApplicationContexts are never refreshed: only their bean definitions are loaded, so module
+	 * conditions are evaluated.  Installers are never executed, installed versions are only read.
+	 * <p/>
+	 * Any exception that would prevent the bootstrap is added as an error diagnostic.  All
+	 * ApplicationContexts created are closed before returning.
+	 * <p/>
+	 * Exposed beans can only be determined if the application context factory implements
+	 * {@link PlanningBootstrapApplicationContextFactory}, else a warning is added for every module.
+	 *
+	 * @return plan
+	 * @since 5.3.0
+	 */
+	public AcrossBootstrapPlan plan() {
+		AcrossBootstrapPlan plan = new AcrossBootstrapPlan( context.getId(), context.getDisplayName() );
+		Map<ApplicationContextConfigurer, ConfigurerScope> originalConfigurers = new LinkedHashMap<>( context.getApplicationContextConfigurers() );
+		List<AcrossModule> preparedModules = new ArrayList<>();
+
+		ConfigurableAcrossContextInfo contextInfo;
+
+		try {
+			checkBootstrapIsPossible();
+			contextInfo = buildContextAndModuleInfo();
+		}
+		catch ( AcrossException ae ) {
+			plan.addDiagnostic( AcrossBootstrapPlan.Severity.ERROR, ae.getModuleBeingProcessed(), ae.getMessage() );
+			return plan;
+		}
+
+		try {
+			runModuleBootstrapperCustomizations( contextInfo.getModules(), context.getParentApplicationContext() );
+
+			LazyCompositeAutowireCandidateResolver.clearAdditionalResolvers();
+			AcrossApplicationContextHolder root = createRootContext( contextInfo );
+			AcrossConfigurableApplicationContext rootContext = root.getApplicationContext();
+			createdApplicationContexts.push( rootContext );
+
+			AcrossBootstrapConfig contextBootstrapConfig = createBootstrapConfiguration( contextInfo );
+			prepareForBootstrap( contextInfo );
+
+			ModuleConfigurationSet moduleConfigurationSet = contextBootstrapConfig.getModuleConfigurationSet();
+			AcrossBootstrapInstallerRegistry installerRegistry = new AcrossBootstrapInstallerRegistry(
+					contextBootstrapConfig, null, applicationContextFactory
+			);
+			AcrossInstallerRepository installerRepository = createPlanInstallerRepository( rootContext, plan );
+
+			List<ConfigurableAcrossModuleInfo> plannedModules = new ArrayList<>();
+			Map<String, String> exposedBeanModules = new HashMap<>();
+
+			for ( AcrossModuleInfo moduleInfo : contextInfo.getModules() ) {
+				ConfigurableAcrossModuleInfo configurableAcrossModuleInfo = (ConfigurableAcrossModuleInfo) moduleInfo;
+				ModuleBootstrapConfig config = moduleInfo.getBootstrapConfiguration();
+				plannedModules.forEach( previous -> config.addPreviouslyExposedBeans( previous.getExposedBeanRegistry() ) );
+
+				config.extendModule( moduleConfigurationSet.getConfigurations( moduleInfo.getName(), moduleInfo.getAliases() ) );
+				bootstrapConfigurers.forEach( configurer -> configurer.configureModule( config ) );
+
+				AcrossBootstrapPlan.ModulePlan modulePlan = new AcrossBootstrapPlan.ModulePlan(
+						moduleInfo.getIndex(), moduleInfo.getName(), moduleInfo.getModuleRole(),
+						config.isEmpty() ? ModuleBootstrapStatus.Skipped : ModuleBootstrapStatus.AwaitingBootstrap,
+						moduleNames( moduleInfo.getRequiredDependencies() ), moduleNames( moduleInfo.getOptionalDependencies() )
+				);
+				plan.getModules().add( modulePlan );
+
+				try {
+					modulePlan.getInstallers().addAll( installerRegistry.planInstallersForModule( moduleInfo.getName(), installerRepository ) );
+				}
+				catch ( RuntimeException re ) {
+					plan.addDiagnostic( AcrossBootstrapPlan.Severity.ERROR, moduleInfo.getName(), "Unable to plan installers: " + re.getMessage() );
+				}
+
+				if ( config.isEmpty() ) {
+					continue;
+				}
+
+				if ( !( applicationContextFactory instanceof PlanningBootstrapApplicationContextFactory ) ) {
+					plan.addDiagnostic( AcrossBootstrapPlan.Severity.WARNING, moduleInfo.getName(),
+					                    applicationContextFactory.getClass().getName() + " does not support planning, exposed beans are not determined" );
+					continue;
+				}
+
+				filterApplicationContextConfigurers( moduleInfo, config, moduleConfigurationSet );
+				configurableAcrossModuleInfo.setBootstrapStatus( ModuleBootstrapStatus.BootstrapBusy );
+
+				try {
+					AcrossConfigurableApplicationContext child = applicationContextFactory.createApplicationContext( context, config, root );
+					createdApplicationContexts.push( child );
+
+					AcrossApplicationContextHolder moduleApplicationContext = new AcrossApplicationContextHolder( child, root );
+					AcrossContextUtils.setAcrossApplicationContextHolder( config.getModule(), moduleApplicationContext );
+					preparedModules.add( config.getModule() );
+
+					( (PlanningBootstrapApplicationContextFactory) applicationContextFactory ).prepareApplicationContext( context, config, moduleApplicationContext );
+
+					exposeBeans( configurableAcrossModuleInfo, config.getExposeFilter(), config.getExposeTransformer(), rootContext );
+					plannedModules.add( configurableAcrossModuleInfo );
+
+					configurableAcrossModuleInfo.getExposedBeanDefinitions().forEach( ( name, definition ) -> {
+						String beanName = definition.getPreferredBeanName();
+						String previousModule = exposedBeanModules.put( beanName, moduleInfo.getName() );
+						if ( previousModule != null ) {
+							plan.addDiagnostic( AcrossBootstrapPlan.Severity.WARNING, moduleInfo.getName(),
+							                    "Exposed bean '" + beanName + "' is also exposed by module " + previousModule );
+						}
+						modulePlan.getExposedBeans().add(
+								new AcrossBootstrapPlan.ExposedBeanPlan( beanName, definition.getOriginalBeanName(), definition.getBeanClassName() )
+						);
+					} );
+				}
+				catch ( RuntimeException re ) {
+					plan.addDiagnostic( AcrossBootstrapPlan.Severity.ERROR, moduleInfo.getName(), re.getMessage() );
+				}
+				finally {
+					configurableAcrossModuleInfo.setBootstrapStatus( ModuleBootstrapStatus.AwaitingBootstrap );
+				}
+			}
+		}
+		catch ( RuntimeException re ) {
+			plan.addDiagnostic( AcrossBootstrapPlan.Severity.ERROR, null, re.getMessage() );
+		}
+		finally {
+			destroyAllCreatedApplicationContexts();
+
+			preparedModules.forEach( module -> AcrossContextUtils.setAcrossApplicationContextHolder( module, null ) );
+			AcrossContextUtils.setAcrossApplicationContextHolder( context, null );
+
+			context.getApplicationContextConfigurers().clear();
+			context.getApplicationContextConfigurers().putAll( originalConfigurers );
+
+			LazyCompositeAutowireCandidateResolver.clearAdditionalResolvers();
+		}
+
+		return plan;
+	}
+
+	/**
+	 * Read-only installer repository for planning, does not install the core schema.
+	 */
+	private AcrossInstallerRepository createPlanInstallerRepository( AcrossConfigurableApplicationContext rootContext,
+	                                                                 AcrossBootstrapPlan plan ) {
+		if ( !rootContext.containsBean( AcrossContext.DATASOURCE ) ) {
+			plan.addDiagnostic( AcrossBootstrapPlan.Severity.INFO, null, "No Across DataSource - installed versions can not be determined" );
+			return null;
+		}
+
+		AcrossInstallerRepositoryImpl repository = new AcrossInstallerRepositoryImpl( rootContext.getBean( AcrossContext.DATASOURCE, DataSource.class ) );
+		ModuleBeanSelectorUtils.selectBeanForModule( SchemaConfiguration.class, AcrossContext.BEAN, rootContext.getBeanFactory() )
+		                       .ifPresent( schemaConfiguration -> repository.setSchema( schemaConfiguration.getDefaultSchema() ) );
+
+		return repository;
+	}
+
+	private List<String> moduleNames( Collection<AcrossModuleInfo> modules ) {
+		List<String> names = new ArrayList<>( modules.size() );
+		modules.forEach( moduleInfo -> names.add( moduleInfo.getName() ) );
+		return names;
+	}
+
+	private void recordClassList( AcrossConfigurableApplicationContext rootContext ) {
+		String classListFile = rootContext.getEnvironment().getProperty( AcrossClassListRecorder.CLASS_LIST_FILE_PROPERTY );
+
+		if ( StringUtils.isNotBlank( classListFile ) ) {
+			AcrossClassListRecorder.record( rootContext.getClassLoader(), Paths.get( classListFile ) );
+		}
+	}
+
+	private void releaseInstallerDataSource( AcrossConfigurableApplicationContext rootContext ) {
+		if ( rootContext.getEnvironment().getProperty( InstallerDataSourceReleaser.RELEASE_PROPERTY, Boolean.class, false ) ) {
+			InstallerDataSourceReleaser.release( context.getInstallerDataSource(), context.getDataSource() );
+		}
 	}
 
 	private void resetCommonCaches() {
@@ -471,10 +675,10 @@ public class AcrossBootstrapper
 		}
 	}
 
-	private void exposeBeans( ConfigurableAcrossModuleInfo acrossModuleInfo,
-	                          BeanFilter exposeFilter,
-	                          ExposedBeanDefinitionTransformer exposeTransformer,
-	                          AcrossConfigurableApplicationContext parentContext ) {
+	static void exposeBeans( ConfigurableAcrossModuleInfo acrossModuleInfo,
+	                         BeanFilter exposeFilter,
+	                         ExposedBeanDefinitionTransformer exposeTransformer,
+	                         AcrossConfigurableApplicationContext parentContext ) {
 		BeanFilter exposeFilterToApply = exposeFilter;
 
 		AcrossListableBeanFactory moduleBeanFactory = AcrossContextUtils.getBeanFactory(
@@ -573,7 +777,9 @@ public class AcrossBootstrapper
 		MetadataReaderFactory metadataReaderFactory
 				= applicationContext.getBean( SharedMetadataReaderFactory.BEAN_NAME, MetadataReaderFactory.class );
 
-		ClassPathScanningInstallerProvider installerProvider = new ClassPathScanningInstallerProvider( applicationContext, metadataReaderFactory );
+		ClassPathScanningInstallerProvider installerProvider = new ClassPathScanningInstallerProvider(
+				scanningResourcePatternResolver( applicationContext ), metadataReaderFactory
+		);
 
 		BeanFilter defaultExposeFilter = buildDefaultExposeFilter( applicationContext.getClassLoader() );
 
@@ -733,10 +939,19 @@ public class AcrossBootstrapper
 
 		Collections.addAll( basePackages, contextInfo.getContext().getModuleConfigurationScanPackages() );
 
-		return new ClassPathScanningModuleConfigurationProvider( applicationContext, metadataReaderFactory )
+		return new ClassPathScanningModuleConfigurationProvider( scanningResourcePatternResolver( applicationContext ), metadataReaderFactory )
 				.scan( basePackages.toArray( new String[0] ) );
 	}
 
+	/**
+	 * Class path scanning results are shared with other contexts if a metadata repository is active.
+	 */
+	private ResourcePatternResolver scanningResourcePatternResolver( ApplicationContext applicationContext ) {
+		return AcrossMetadataRepository.find( applicationContext.getClassLoader() )
+		                               .map( repository -> repository.cachingResourcePatternResolver( applicationContext ) )
+		                               .orElse( applicationContext );
+	}
+
 	private void checkBootstrapIsPossible() {
 		checkUniqueModuleNames( context.getModules() );
 	}
@@ -754,7 +969,7 @@ public class AcrossBootstrapper
 		}
 	}
 
-	private void runModuleBootstrapperCustomizations( Collection<AcrossModuleInfo> modules, ApplicationContext applicationContext ) {
+	void runModuleBootstrapperCustomizations( Collection<AcrossModuleInfo> modules, ApplicationContext applicationContext ) {
 		if ( applicationContext != null ) {
 			Map<String, BootstrapAdapter> adapterMap = BeanFactoryUtils.beansOfTypeIncludingAncestors(
 					(ListableBeanFactory) applicationContext.getAutowireCapableBeanFactory(), BootstrapAdapter.class
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.context.bootstrap;
+
+import com.foreach.across.core.AcrossContext;
+import com.foreach.across.core.AcrossContextConfigurationModule;
+import com.foreach.across.core.context.*;
+import com.foreach.across.core.context.info.AcrossContextInfo;
+import com.foreach.across.core.context.info.AcrossModuleInfo;
+import com.foreach.across.core.context.info.ConfigurableAcrossModuleInfo;
+import com.foreach.across.core.context.info.ModuleBootstrapStatus;
+import com.foreach.across.core.events.AcrossContextApplicationEventMulticaster;
+import com.foreach.across.core.events.AcrossModuleBeforeReloadEvent;
+import com.foreach.across.core.events.AcrossModuleBootstrappedEvent;
+import com.foreach.across.core.events.AcrossModuleReloadedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.HierarchicalBeanFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.event.ApplicationEventMulticaster;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.context.support.AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME;
+
+/**
+ * Responsible for replacing the {@link org.springframework.context.ApplicationContext} of a single module
+ * in a running {@link AcrossContext}.  All bootstrapped modules that (transitively) depend on the module
+ * are reloaded as well.
+ * <p/>
+ * The module contexts are closed in reverse bootstrap order and created again in bootstrap order, using the
+ * original {@link ModuleBootstrapConfig}.  Beans exposed by the reloaded modules are replaced in the root context
+ * and in the other module contexts, after which all refreshable beans are refreshed.  Beans in other modules
+ * that hold a direct reference to an exposed bean of a reloaded module must be refreshable to pick up the new
+ * instance.  Beans exposed to the parent {@link org.springframework.context.ApplicationContext} are resolved
+ * again, but the set of bean names in the parent is not modified.
+ * <p/>
+ * A reload does not execute any installers and does not replace the module classes themselves.
+ *
+ * @author agent
+ * @see AcrossModuleBeforeReloadEvent
+ * @see AcrossModuleReloadedEvent
+ * @since 5.3.0
+ */
+@RequiredArgsConstructor
+@Slf4j
+public final class AcrossLifecycleModuleReloadHandler
+{
+	private final AcrossContext acrossContext;
+
+	/**
+	 * Reload a single module and all bootstrapped modules depending on it.
+	 *
+	 * @param moduleName name of the module
+	 * @return modules that have been reloaded, in bootstrap order
+	 */
+	public Collection<AcrossModuleInfo> reloadModule( String moduleName ) {
+		AcrossContextInfo contextInfo = AcrossContextUtils.getContextInfo( acrossContext );
+
+		if ( contextInfo == null || !contextInfo.isBootstrapped() ) {
+			throw new IllegalStateException( "Modules can only be reloaded once the AcrossContext has been bootstrapped" );
+		}
+
+		AcrossModuleInfo moduleInfo = contextInfo.getModuleInfo( moduleName );
+
+		if ( moduleInfo == null ) {
+			throw new IllegalArgumentException( "No module with name " + moduleName + " in the AcrossContext" );
+		}
+		if ( !moduleInfo.isBootstrapped() || moduleInfo.getModule() instanceof AcrossContextConfigurationModule ) {
+			throw new IllegalArgumentException( "Module " + moduleName + " cannot be reloaded, only bootstrapped Across modules can" );
+		}
+
+		List<ConfigurableAcrossModuleInfo> modulesToReload = findModulesToReload( contextInfo, moduleInfo );
+
+		LOG.info( "Reloading module {} - modules that will be reloaded: {}", moduleInfo.getName(),
+		          modulesToReload.stream().map( AcrossModuleInfo::getName ).collect( Collectors.joining( ", " ) ) );
+
+		AcrossApplicationContextHolder root = AcrossContextUtils.getAcrossApplicationContextHolder( acrossContext );
+		AcrossConfigurableApplicationContext rootContext = root.getApplicationContext();
+
+		rootContext.publishEvent( new AcrossModuleBeforeReloadEvent( moduleInfo, new ArrayList<>( modulesToReload ) ) );
+
+		Set<String> moduleNames = modulesToReload.stream().map( AcrossModuleInfo::getName ).collect( Collectors.toSet() );
+		String contextId = AcrossContextUtils.getBeanRegistry( contextInfo ).getContextId();
+
+		removeExposedBeanDefinitions( rootContext.getBeanFactory(), contextId, moduleNames );
+		otherBootstrappedModules( contextInfo, moduleNames )
+				.forEach( other -> removeExposedBeanDefinitions( other.getBeanFactory(), contextId, moduleNames ) );
+
+		List<ConfigurableAcrossModuleInfo> reverse = new ArrayList<>( modulesToReload );
+		Collections.reverse( reverse );
+		reverse.forEach( m -> closeModule( m, rootContext ) );
+
+		BootstrapApplicationContextFactory applicationContextFactory = createApplicationContextFactory( contextInfo );
+
+		for ( ConfigurableAcrossModuleInfo reloading : modulesToReload ) {
+			bootstrapModule( contextInfo, reloading, applicationContextFactory, root );
+		}
+
+		resetParentExposedBeans( rootContext, contextId, moduleNames );
+
+		AcrossContextUtils.refreshBeans( acrossContext );
+		SharedMetadataReaderFactory.clearCachedMetadata( rootContext );
+
+		rootContext.publishEvent( new AcrossModuleReloadedEvent( moduleInfo, new ArrayList<>( modulesToReload ) ) );
+
+		LOG.info( "Reloaded module {}", moduleInfo.getName() );
+
+		return new ArrayList<>( modulesToReload );
+	}
+
+	private List<ConfigurableAcrossModuleInfo> findModulesToReload( AcrossContextInfo contextInfo, AcrossModuleInfo moduleInfo ) {
+		Set<String> names = new HashSet<>();
+		names.add( moduleInfo.getName() );
+
+		// dependencies are always bootstrapped first, so a single pass is enough
+		List<ConfigurableAcrossModuleInfo> modules = new ArrayList<>();
+		for ( AcrossModuleInfo candidate : contextInfo.getModules() ) {
+			if ( candidate.isBootstrapped()
+					&& ( names.contains( candidate.getName() ) || dependsOnAny( candidate, names ) ) ) {
+				names.add( candidate.getName() );
+				modules.add( (ConfigurableAcrossModuleInfo) candidate );
+			}
+		}
+
+		return modules;
+	}
+
+	private boolean dependsOnAny( AcrossModuleInfo moduleInfo, Set<String> moduleNames ) {
+		return Stream.concat( moduleInfo.getRequiredDependencies().stream(), moduleInfo.getOptionalDependencies().stream() )
+		             .anyMatch( dependency -> moduleNames.contains( dependency.getName() ) );
+	}
+
+	private Stream<ConfigurableAcrossModuleInfo> otherBootstrappedModules( AcrossContextInfo contextInfo, Set<String> moduleNames ) {
+		return contextInfo.getModules()
+		                  .stream()
+		                  .filter( AcrossModuleInfo::isBootstrapped )
+		                  .filter( m -> !moduleNames.contains( m.getName() ) )
+		                  .map( ConfigurableAcrossModuleInfo.class::cast );
+	}
+
+	private void closeModule( ConfigurableAcrossModuleInfo moduleInfo, AcrossConfigurableApplicationContext rootContext ) {
+		AcrossConfigurableApplicationContext applicationContext = AcrossContextUtils.getApplicationContext( moduleInfo.getModule() );
+
+		if ( applicationContext != null ) {
+			LOG.debug( "Destroying ApplicationContext for module {}", moduleInfo.getName() );
+
+			// the module listeners should no longer receive events
+			if ( applicationContext.containsLocalBean( APPLICATION_EVENT_MULTICASTER_BEAN_NAME ) ) {
+				Object rootMulticaster = rootContext.getBean( APPLICATION_EVENT_MULTICASTER_BEAN_NAME );
+				if ( rootMulticaster instanceof AcrossContextApplicationEventMulticaster ) {
+					( (AcrossContextApplicationEventMulticaster) rootMulticaster ).removeModuleMulticaster(
+							applicationContext.getBean( APPLICATION_EVENT_MULTICASTER_BEAN_NAME, ApplicationEventMulticaster.class )
+					);
+				}
+			}
+
+			applicationContext.close();
+			AcrossContextUtils.setAcrossApplicationContextHolder( moduleInfo.getModule(), null );
+		}
+
+		moduleInfo.setExposedBeanRegistry( null );
+		moduleInfo.setBootstrapStatus( ModuleBootstrapStatus.AwaitingBootstrap );
+	}
+
+	private BootstrapApplicationContextFactory createApplicationContextFactory( AcrossContextInfo contextInfo ) {
+		// apply the same customizations as during the initial bootstrap
+		AcrossBootstrapper bootstrapper = new AcrossBootstrapper( acrossContext );
+		bootstrapper.runModuleBootstrapperCustomizations( contextInfo.getModules(), acrossContext.getParentApplicationContext() );
+		return bootstrapper.getApplicationContextFactory();
+	}
+
+	private void bootstrapModule( AcrossContextInfo contextInfo,
+	                              ConfigurableAcrossModuleInfo moduleInfo,
+	                              BootstrapApplicationContextFactory applicationContextFactory,
+	                              AcrossApplicationContextHolder root ) {
+		LOG.debug( "Creating ApplicationContext for module {}", moduleInfo.getName() );
+
+		ModuleBootstrapConfig config = moduleInfo.getBootstrapConfiguration();
+
+		List<ExposedModuleBeanRegistry> previouslyExposedBeans = new ArrayList<>();
+		contextInfo.getModules()
+		           .stream()
+		           .filter( m -> m.getIndex() < moduleInfo.getIndex() && m.isBootstrapped() )
+		           .forEach( m -> previouslyExposedBeans.add( ( (ConfigurableAcrossModuleInfo) m ).getExposedBeanRegistry() ) );
+		config.setPreviouslyExposedBeans( previouslyExposedBeans );
+
+		moduleInfo.setBootstrapStatus( ModuleBootstrapStatus.BootstrapBusy );
+
+		AcrossConfigurableApplicationContext child = applicationContextFactory.createApplicationContext( acrossContext, config, root );
+		AcrossApplicationContextHolder moduleApplicationContext = new AcrossApplicationContextHolder( child, root );
+		AcrossContextUtils.setAcrossApplicationContextHolder( config.getModule(), moduleApplicationContext );
+
+		applicationContextFactory.loadApplicationContext( acrossContext, config, moduleApplicationContext );
+
+		moduleInfo.setBootstrapStatus( ModuleBootstrapStatus.Bootstrapped );
+
+		AcrossConfigurableApplicationContext rootContext = root.getApplicationContext();
+		rootContext.publishEvent( new AcrossModuleBootstrappedEvent( moduleInfo ) );
+
+		AcrossBootstrapper.exposeBeans( moduleInfo, config.getExposeFilter(), config.getExposeTransformer(), rootContext );
+
+		// beans exposed by modules bootstrapped after this one
+		ConfigurableListableBeanFactory moduleBeanFactory = moduleInfo.getBeanFactory();
+		contextInfo.getModules()
+		           .stream()
+		           .filter( m -> m.getIndex() > moduleInfo.getIndex() && m.isBootstrapped() )
+		           .forEach( m -> ( (ConfigurableAcrossModuleInfo) m ).getExposedBeanRegistry().copyTo( moduleBeanFactory, false ) );
+
+		// all other modules have access to the exposed beans, either because they are bootstrapped before or after
+		ExposedModuleBeanRegistry moduleExposedBeans = moduleInfo.getExposedBeanRegistry();
+		contextInfo.getModules()
+		           .stream()
+		           .filter( m -> m != moduleInfo && m.isBootstrapped() )
+		           .map( m -> ( (ConfigurableAcrossModuleInfo) m ).getBeanFactory() )
+		           .forEach( bf -> moduleExposedBeans.copyTo( bf, false ) );
+	}
+
+	private void resetParentExposedBeans( AcrossConfigurableApplicationContext rootContext, String contextId, Set<String> moduleNames ) {
+		BeanFactory parentBeanFactory = rootContext.getBeanFactory().getParentBeanFactory();
+
+		while ( parentBeanFactory != null ) {
+			if ( parentBeanFactory instanceof AcrossListableBeanFactory ) {
+				AcrossListableBeanFactory beanFactory = (AcrossListableBeanFactory) parentBeanFactory;
+				exposedBeanNames( beanFactory, contextId, moduleNames ).forEach( beanFactory::destroySingleton );
+			}
+
+			parentBeanFactory = parentBeanFactory instanceof HierarchicalBeanFactory
+					? ( (HierarchicalBeanFactory) parentBeanFactory ).getParentBeanFactory() : null;
+		}
+	}
+
+	private void removeExposedBeanDefinitions( ConfigurableListableBeanFactory beanFactory, String contextId, Set<String> moduleNames ) {
+		if ( beanFactory instanceof AcrossListableBeanFactory ) {
+			AcrossListableBeanFactory acrossBeanFactory = (AcrossListableBeanFactory) beanFactory;
+			exposedBeanNames( acrossBeanFactory, contextId, moduleNames )
+					.forEach( beanName -> {
+						Stream.of( acrossBeanFactory.getAliases( beanName ) ).forEach( acrossBeanFactory::removeAlias );
+						acrossBeanFactory.removeBeanDefinition( beanName );
+					} );
+		}
+	}
+
+	private List<String> exposedBeanNames( AcrossListableBeanFactory beanFactory, String contextId, Set<String> moduleNames ) {
+		return Stream.of( beanFactory.getBeanDefinitionNames() )
+		             .filter( beanName -> {
+			             BeanDefinition beanDefinition = beanFactory.getBeanDefinition( beanName );
+			             if ( beanDefinition instanceof ExposedBeanDefinition ) {
+				             ExposedBeanDefinition exposed = (ExposedBeanDefinition) beanDefinition;
+				             return contextId.equals( exposed.getContextId() ) && moduleNames.contains( exposed.getModuleName() );
+			             }
+			             return false;
+		             } )
+		             .collect( Collectors.toList() );
+	}
+}
@@ -24,21 +24,29 @@ import com.foreach.across.core.context.info.AcrossContextInfo;
 import com.foreach.across.core.context.info.AcrossModuleInfo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.HierarchicalBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * Responsible for shutting down an {@link com.foreach.across.core.AcrossContext}.
+ * <p/>
+ * By default modules are closed one by one in reverse bootstrap order.  Modules can be closed concurrently
+ * using the reverse dependency graph, and deadlines can be configured for the entire shutdown and per module.
+ * See {@link #PARALLEL_PROPERTY}, {@link #TIMEOUT_PROPERTY} and {@link #MODULE_TIMEOUT_PROPERTY}.
  *
  * @author Arne Vandamme
  * @since 3.0.0
@@ -47,6 +55,22 @@ import java.util.stream.Stream;
 @Slf4j
 public final class AcrossLifecycleShutdownHandler
 {
+	/**
+	 * Should module contexts without dependencies between them be closed concurrently.
+	 */
+	public static final String PARALLEL_PROPERTY = "across.shutdown.parallel";
+
+	/**
+	 * Maximum duration for closing modules concurrently, modules still closing by then are abandoned
+	 * and the remaining modules are closed one by one.
+	 */
+	public static final String TIMEOUT_PROPERTY = "across.shutdown.timeout";
+
+	/**
+	 * Maximum duration for closing a single module, after which it is abandoned and shutdown continues.
+	 */
+	public static final String MODULE_TIMEOUT_PROPERTY = "across.shutdown.module-timeout";
+
 	private final AcrossContext acrossContext;
 
 	public void shutdown() {
@@ -66,23 +90,26 @@ public final class AcrossLifecycleShutdownHandler
 		           .map( AcrossModuleInfo::getApplicationContext )
 		           .forEach( this::removeExposedBeanDefinitions );
 
-		// Shutdown all modules in reverse order - note that it is quite possible that beans might have been destroyed
-		// already by Spring in the meantime
-		List<AcrossModuleInfo> reverseList = new ArrayList<>( contextInfo.getModules() );
-		Collections.reverse( reverseList );
-
-		for ( AcrossModuleInfo moduleInfo : reverseList ) {
-			if ( moduleInfo.isBootstrapped() ) {
-				AcrossModule module = moduleInfo.getModule();
-				AcrossConfigurableApplicationContext applicationContext = AcrossContextUtils.getApplicationContext( module );
+		List<AcrossModuleInfo> bootstrappedModules = contextInfo.getModules()
+		                                                        .stream()
+		                                                        .filter( AcrossModuleInfo::isBootstrapped )
+		                                                        .collect( Collectors.toList() );
 
-				if ( applicationContext != null ) {
-					LOG.debug( "Destroying ApplicationContext for module {}", module.getName() );
+		Environment environment = rootApplicationContext.getEnvironment();
+		boolean parallel = environment.getProperty( PARALLEL_PROPERTY, Boolean.class, false );
+		Duration moduleTimeout = getDuration( environment, MODULE_TIMEOUT_PROPERTY );
+		Duration overallTimeout = getDuration( environment, TIMEOUT_PROPERTY );
 
-					applicationContext.close();
-					AcrossContextUtils.setAcrossApplicationContextHolder( module, null );
-				}
-			}
+		if ( parallel || moduleTimeout != null || overallTimeout != null ) {
+			new ModuleShutdownCoordinator( parallel, moduleTimeout, overallTimeout, this::closeModule )
+					.shutdown( bootstrappedModules )
+					.forEach( this::detachModule );
+		}
+		else {
+			// Shutdown all modules in reverse order - note that it is quite possible that beans might have been destroyed
+			// already by Spring in the meantime
+			Collections.reverse( bootstrappedModules );
+			bootstrappedModules.forEach( this::closeModule );
 		}
 
 		// Destroy the root ApplicationContext
@@ -92,6 +119,42 @@ public final class AcrossLifecycleShutdownHandler
 		LOG.debug( "Destroyed root ApplicationContext: {}", acrossContext.getId() );
 	}
 
+	private void closeModule( AcrossModuleInfo moduleInfo ) {
+		AcrossModule module = moduleInfo.getModule();
+		AcrossConfigurableApplicationContext applicationContext = AcrossContextUtils.getApplicationContext( module );
+
+		if ( applicationContext != null ) {
+			LOG.debug( "Destroying ApplicationContext for module {}", module.getName() );
+
+			applicationContext.close();
+			AcrossContextUtils.setAcrossApplicationContextHolder( module, null );
+		}
+	}
+
+	/**
+	 * Detach the application context of a module that is still closing in an abandoned thread.
+	 * The module no longer references its context, and the context no longer uses the root context
+	 * which is about to be closed.
+	 */
+	private void detachModule( AcrossModuleInfo moduleInfo ) {
+		AcrossModule module = moduleInfo.getModule();
+
+		// the abandoned close might have finished in the meantime
+		if ( module.hasApplicationContext() ) {
+			AcrossConfigurableApplicationContext applicationContext = AcrossContextUtils.getApplicationContext( module );
+			LOG.warn( "Detaching ApplicationContext for module {} - it is still closing", module.getName() );
+
+			AcrossContextUtils.setAcrossApplicationContextHolder( module, null );
+			updateParentBeanFactory( applicationContext.getBeanFactory(), null );
+			updateParentApplicationContext( applicationContext, null );
+		}
+	}
+
+	private Duration getDuration( Environment environment, String propertyName ) {
+		String value = environment.getProperty( propertyName );
+		return StringUtils.isNotBlank( value ) ? DurationStyle.detectAndParse( value ) : null;
+	}
+
 	/**
 	 * Attempt to cleanup automatically introduced application contexts.
 	 * This does some internal "hacking" as default spring behaviour does not allow easy removal of parent contexts.
@@ -35,7 +35,7 @@ import org.springframework.core.env.PropertySources;
 import java.util.Collection;
 import java.util.Collections;
 
-public class AnnotationConfigBootstrapApplicationContextFactory implements BootstrapApplicationContextFactory
+public class AnnotationConfigBootstrapApplicationContextFactory implements PlanningBootstrapApplicationContextFactory
 {
 	@Override
 	public AcrossConfigurableApplicationContext createApplicationContext() {
@@ -125,10 +125,43 @@ public class AnnotationConfigBootstrapApplicationContextFactory implements Boots
 		loadApplicationContext( child, moduleBootstrapConfig.getApplicationContextConfigurers(), moduleBootstrapConfig.getPreviouslyExposedBeans() );
 	}
 
+	/**
+	 * Registers the bean definitions of the module, and invokes all bean factory post processors
+	 * without refreshing the module ApplicationContext.
+	 *
+	 * @param across                AcrossContext being planned.
+	 * @param moduleBootstrapConfig Bootstrap configuration of the AcrossModule.
+	 * @param context               Contains the Spring ApplicationContext for the module.
+	 */
+	@Override
+	public void prepareApplicationContext( AcrossContext across,
+	                                       ModuleBootstrapConfig moduleBootstrapConfig,
+	                                       AcrossApplicationContextHolder context ) {
+		AcrossConfigurableApplicationContext child = context.getApplicationContext();
+
+		if ( !( child instanceof PreparableApplicationContext ) ) {
+			throw new IllegalStateException(
+					"ApplicationContext " + child.getClass().getName() + " does not implement " + PreparableApplicationContext.class.getSimpleName()
+			);
+		}
+
+		child.setModuleIndex( moduleBootstrapConfig.getBootstrapIndex() );
+
+		registerConfigurers( child, moduleBootstrapConfig.getApplicationContextConfigurers() );
+		( (PreparableApplicationContext) child ).prepareBeanDefinitions();
+	}
+
 	@Override
 	public void loadApplicationContext( AcrossConfigurableApplicationContext context,
 	                                    Collection<ApplicationContextConfigurer> configurers,
 	                                    Collection<ExposedModuleBeanRegistry> exposedBeanRegistries ) {
+		registerConfigurers( context, configurers );
+
+		context.refresh();
+		context.start();
+	}
+
+	private void registerConfigurers( AcrossConfigurableApplicationContext context, Collection<ApplicationContextConfigurer> configurers ) {
 		ConfigurableEnvironment environment = context.getEnvironment();
 
 		context.register( CommonModuleConfiguration.class );
@@ -167,8 +200,5 @@ public class AnnotationConfigBootstrapApplicationContextFactory implements Boots
 				context.register( configurer.annotatedClasses() );
 			}
 		}
-
-		context.refresh();
-		context.start();
 	}
 }
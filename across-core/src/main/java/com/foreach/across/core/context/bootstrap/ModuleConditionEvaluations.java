@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.context.bootstrap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps track of the number of module presence conditions evaluated for a single {@link AcrossBootstrapConfig},
+ * and the time spent evaluating them, for the bootstrap report.
+ * <p/>
+ * Outcomes are not cached: a module presence check is a simple lookup in the bootstrap configuration,
+ * which is cheaper than looking up a memoized outcome.
+ *
+ * @author agent
+ * @see com.foreach.across.core.annotations.ConditionalOnAcrossModule
+ * @since 5.3.0
+ */
+public final class ModuleConditionEvaluations
+{
+	private final AtomicLong evaluationCount = new AtomicLong();
+	private final AtomicLong matchCount = new AtomicLong();
+	private final AtomicLong evaluationTimeInNanos = new AtomicLong();
+
+	/**
+	 * Evaluate a condition and register the evaluation.
+	 *
+	 * @param evaluator to compute the outcome
+	 * @return outcome
+	 */
+	public ConditionOutcome evaluate( Supplier<ConditionOutcome> evaluator ) {
+		long start = System.nanoTime();
+
+		try {
+			ConditionOutcome outcome = evaluator.get();
+			if ( outcome.isMatch() ) {
+				matchCount.incrementAndGet();
+			}
+			return outcome;
+		}
+		finally {
+			evaluationCount.incrementAndGet();
+			evaluationTimeInNanos.addAndGet( System.nanoTime() - start );
+		}
+	}
+
+	/**
+	 * @return total number of conditions evaluated
+	 */
+	public long getEvaluationCount() {
+		return evaluationCount.get();
+	}
+
+	/**
+	 * @return number of evaluated conditions that matched
+	 */
+	public long getMatchCount() {
+		return matchCount.get();
+	}
+
+	/**
+	 * @return time spent evaluating conditions
+	 */
+	public long getEvaluationTimeInMillis() {
+		return evaluationTimeInNanos.get() / 1_000_000;
+	}
+
+	@Override
+	public String toString() {
+		return getEvaluationCount() + " evaluations (" + getMatchCount() + " matched) in " + getEvaluationTimeInMillis() + " ms";
+	}
+}
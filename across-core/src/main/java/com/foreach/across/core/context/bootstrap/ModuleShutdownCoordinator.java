@@ -0,0 +1,228 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.context.bootstrap;
+
+import com.foreach.across.core.context.info.AcrossModuleInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Closes module application contexts using the reverse dependency graph, with optional deadlines.
+ * <p/>
+ * A module is closed only once all modules depending on it have been closed, or have been abandoned.
+ * Dependencies are the required and optional dependencies of a module, and all modules of a lower
+ * module role: application modules depend on all infrastructure modules, postprocessor modules on all others.
+ * <p/>
+ * If parallel shutdown is disabled, at most one module is closed at a time, in reverse bootstrap order.
+ * A module that does not close within its deadline is logged and abandoned: its closing thread is interrupted
+ * and the modules it depends upon are closed regardless.  When the overall deadline expires, all modules
+ * that are still closing are abandoned and the modules that have not started closing are closed one by one,
+ * in reverse bootstrap order, without a deadline.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@Slf4j
+final class ModuleShutdownCoordinator
+{
+	private final boolean parallel;
+	private final Duration moduleTimeout;
+	private final Duration overallTimeout;
+	private final Consumer<AcrossModuleInfo> closeAction;
+
+	ModuleShutdownCoordinator( boolean parallel, Duration moduleTimeout, Duration overallTimeout, Consumer<AcrossModuleInfo> closeAction ) {
+		this.parallel = parallel;
+		this.moduleTimeout = moduleTimeout;
+		this.overallTimeout = overallTimeout;
+		this.closeAction = closeAction;
+	}
+
+	/**
+	 * Close all modules, the collection should be in bootstrap order.
+	 *
+	 * @param modules to close
+	 * @return modules that have not been closed within their deadline
+	 */
+	Collection<AcrossModuleInfo> shutdown( List<AcrossModuleInfo> modules ) {
+		Map<AcrossModuleInfo, Set<AcrossModuleInfo>> dependents = buildDependents( modules );
+
+		// highest bootstrap index first
+		PriorityQueue<AcrossModuleInfo> ready = new PriorityQueue<>( Comparator.comparingInt( AcrossModuleInfo::getIndex ).reversed() );
+		Set<AcrossModuleInfo> pending = new LinkedHashSet<>( modules );
+		Map<Future<AcrossModuleInfo>, Long> running = new HashMap<>();
+		Map<Future<AcrossModuleInfo>, AcrossModuleInfo> runningModules = new HashMap<>();
+		Set<AcrossModuleInfo> started = new HashSet<>();
+		List<AcrossModuleInfo> abandoned = new ArrayList<>();
+
+		long overallDeadline = overallTimeout != null ? System.nanoTime() + overallTimeout.toNanos() : Long.MAX_VALUE;
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory( "across-shutdown-" );
+		threadFactory.setDaemon( true );
+		ExecutorService executorService = Executors.newCachedThreadPool( threadFactory );
+		CompletionService<AcrossModuleInfo> completionService = new ExecutorCompletionService<>( executorService );
+
+		try {
+			modules.stream().filter( m -> dependents.get( m ).isEmpty() ).forEach( ready::add );
+
+			while ( !pending.isEmpty() ) {
+				while ( !ready.isEmpty() && ( parallel || running.isEmpty() ) ) {
+					AcrossModuleInfo moduleInfo = ready.poll();
+					if ( !started.add( moduleInfo ) ) {
+						continue;
+					}
+					LOG.trace( "Closing module {}", moduleInfo.getName() );
+					Future<AcrossModuleInfo> future = completionService.submit( () -> {
+						closeAction.accept( moduleInfo );
+						return moduleInfo;
+					} );
+					running.put( future, moduleTimeout != null ? System.nanoTime() + moduleTimeout.toNanos() : Long.MAX_VALUE );
+					runningModules.put( future, moduleInfo );
+				}
+
+				if ( running.isEmpty() ) {
+					// circular dependencies - fall back to reverse bootstrap order
+					pending.stream().filter( m -> !started.contains( m ) ).max( Comparator.comparingInt( AcrossModuleInfo::getIndex ) ).ifPresent( ready::add );
+					continue;
+				}
+
+				long nextDeadline = Math.min( overallDeadline, Collections.min( running.values() ) );
+				Future<AcrossModuleInfo> completed = poll( completionService, nextDeadline );
+
+				if ( completed != null ) {
+					AcrossModuleInfo moduleInfo = runningModules.remove( completed );
+					running.remove( completed );
+
+					// cancelled futures of abandoned modules are also returned
+					if ( moduleInfo != null ) {
+						reportFailure( moduleInfo, completed );
+						release( moduleInfo, pending, dependents, ready );
+					}
+				}
+				else if ( System.nanoTime() - overallDeadline >= 0 ) {
+					List<AcrossModuleInfo> notStarted = pending.stream()
+					                                           .filter( m -> !started.contains( m ) )
+					                                           .sorted( Comparator.comparingInt( AcrossModuleInfo::getIndex ).reversed() )
+					                                           .collect( Collectors.toList() );
+					LOG.warn( "Shutdown deadline of {} expired - abandoning modules still closing: {} - closing remaining modules one by one: {}",
+					          overallTimeout, names( runningModules.values() ), names( notStarted ) );
+					runningModules.keySet().forEach( f -> f.cancel( true ) );
+					abandoned.addAll( runningModules.values() );
+					pending.clear();
+					notStarted.forEach( this::closeDirectly );
+				}
+				else {
+					long now = System.nanoTime();
+					new ArrayList<>( running.entrySet() )
+							.stream()
+							.filter( e -> now - e.getValue() >= 0 )
+							.forEach( e -> {
+								Future<AcrossModuleInfo> future = e.getKey();
+								AcrossModuleInfo moduleInfo = runningModules.remove( future );
+								running.remove( future );
+								LOG.warn( "Module {} did not close within {} - abandoning it and continuing shutdown", moduleInfo.getName(), moduleTimeout );
+								future.cancel( true );
+								abandoned.add( moduleInfo );
+								release( moduleInfo, pending, dependents, ready );
+							} );
+				}
+			}
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+
+		return abandoned;
+	}
+
+	private void closeDirectly( AcrossModuleInfo moduleInfo ) {
+		try {
+			LOG.trace( "Closing module {}", moduleInfo.getName() );
+			closeAction.accept( moduleInfo );
+		}
+		catch ( RuntimeException re ) {
+			LOG.error( "Exception closing module {}", moduleInfo.getName(), re );
+		}
+	}
+
+	private Future<AcrossModuleInfo> poll( CompletionService<AcrossModuleInfo> completionService, long deadline ) {
+		try {
+			if ( deadline == Long.MAX_VALUE ) {
+				return completionService.take();
+			}
+			return completionService.poll( Math.max( 0, deadline - System.nanoTime() ), TimeUnit.NANOSECONDS );
+		}
+		catch ( InterruptedException ie ) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException( "Interrupted while waiting for modules to close", ie );
+		}
+	}
+
+	private void reportFailure( AcrossModuleInfo moduleInfo, Future<AcrossModuleInfo> completed ) {
+		try {
+			completed.get();
+		}
+		catch ( ExecutionException ee ) {
+			LOG.error( "Exception closing module {}", moduleInfo.getName(), ee.getCause() );
+		}
+		catch ( InterruptedException | CancellationException ignore ) {
+			// only on abandoned futures
+		}
+	}
+
+	private void release( AcrossModuleInfo closed,
+	                      Set<AcrossModuleInfo> pending,
+	                      Map<AcrossModuleInfo, Set<AcrossModuleInfo>> dependents,
+	                      Queue<AcrossModuleInfo> ready ) {
+		pending.remove( closed );
+		dependents.forEach( ( moduleInfo, moduleDependents ) -> {
+			if ( moduleDependents.remove( closed ) && moduleDependents.isEmpty() && pending.contains( moduleInfo ) ) {
+				ready.add( moduleInfo );
+			}
+		} );
+	}
+
+	private Map<AcrossModuleInfo, Set<AcrossModuleInfo>> buildDependents( List<AcrossModuleInfo> modules ) {
+		Map<AcrossModuleInfo, Set<AcrossModuleInfo>> dependents = new LinkedHashMap<>();
+		modules.forEach( m -> dependents.put( m, new HashSet<>() ) );
+
+		for ( AcrossModuleInfo moduleInfo : modules ) {
+			for ( AcrossModuleInfo candidate : modules ) {
+				if ( candidate != moduleInfo && dependsOn( moduleInfo, candidate ) ) {
+					dependents.get( candidate ).add( moduleInfo );
+				}
+			}
+		}
+
+		return dependents;
+	}
+
+	private boolean dependsOn( AcrossModuleInfo moduleInfo, AcrossModuleInfo candidate ) {
+		return Stream.concat( moduleInfo.getRequiredDependencies().stream(), moduleInfo.getOptionalDependencies().stream() )
+		             .anyMatch( dependency -> dependency.getName().equals( candidate.getName() ) )
+				|| moduleInfo.getModuleRole().asPriority( 0 ) > candidate.getModuleRole().asPriority( 0 );
+	}
+
+	private String names( Collection<AcrossModuleInfo> modules ) {
+		return modules.stream().map( AcrossModuleInfo::getName ).collect( Collectors.joining( ", " ) );
+	}
+}
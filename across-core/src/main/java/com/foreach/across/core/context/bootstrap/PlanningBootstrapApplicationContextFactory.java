@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.context.bootstrap;
+
+import com.foreach.across.core.AcrossContext;
+import com.foreach.across.core.context.AcrossApplicationContextHolder;
+import com.foreach.across.core.context.PreparableApplicationContext;
+
+/**
+ * Optional interface for a {@link BootstrapApplicationContextFactory} that supports planning a bootstrap.
+ * If the factory does not implement this interface, {@link AcrossBootstrapper#plan()} does not determine
+ * the beans that modules would expose.
+ *
+ * @author agent
+ * @see AcrossBootstrapper#plan()
+ * @since 5.3.0
+ */
+public interface PlanningBootstrapApplicationContextFactory extends BootstrapApplicationContextFactory
+{
+	/**
+	 * Registers the bean definitions of the module in the module ApplicationContext, without
+	 * actually refreshing the ApplicationContext.
+	 *
+	 * @param across                AcrossContext being planned.
+	 * @param moduleBootstrapConfig Bootstrap configuration of the AcrossModule.
+	 * @param context               Contains the Spring ApplicationContext for the module.
+	 * @see PreparableApplicationContext#prepareBeanDefinitions()
+	 */
+	void prepareApplicationContext( AcrossContext across,
+	                                ModuleBootstrapConfig moduleBootstrapConfig,
+	                                AcrossApplicationContextHolder context );
+}
@@ -116,7 +116,8 @@ public abstract class ApplicationContextConfigurerAdapter implements Application
 
 	@Override
 	public int hashCode() {
-		return Objects.hash( annotatedClasses(), componentScanPackages(), postProcessors(), providedBeans(),
-		                     propertySources(), excludedTypeFilters(), isOptional() );
+		return Objects.hash( Arrays.hashCode( annotatedClasses() ), Arrays.hashCode( componentScanPackages() ),
+		                     Arrays.hashCode( postProcessors() ), providedBeans(), propertySources(),
+		                     Arrays.hashCode( excludedTypeFilters() ), isOptional() );
 	}
 }
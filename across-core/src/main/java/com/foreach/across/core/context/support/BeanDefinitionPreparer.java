@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.context.support;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Performs the steps of {@link org.springframework.context.support.AbstractApplicationContext#refresh()}
+ * up to and including invoking the bean factory post processors.  The steps are protected methods of
+ * the ApplicationContext, which passes them in.
+ *
+ * @author agent
+ * @see com.foreach.across.core.context.PreparableApplicationContext#prepareBeanDefinitions()
+ * @since 5.3.0
+ */
+public final class BeanDefinitionPreparer
+{
+	private BeanDefinitionPreparer() {
+	}
+
+	public static void prepare( Runnable prepareRefresh,
+	                            Supplier<ConfigurableListableBeanFactory> obtainFreshBeanFactory,
+	                            Consumer<ConfigurableListableBeanFactory> prepareBeanFactory,
+	                            Consumer<ConfigurableListableBeanFactory> postProcessBeanFactory,
+	                            Consumer<ConfigurableListableBeanFactory> invokeBeanFactoryPostProcessors ) {
+		prepareRefresh.run();
+		ConfigurableListableBeanFactory beanFactory = obtainFreshBeanFactory.get();
+		prepareBeanFactory.accept( beanFactory );
+		postProcessBeanFactory.accept( beanFactory );
+		invokeBeanFactoryPostProcessors.accept( beanFactory );
+	}
+}
@@ -18,10 +18,12 @@ package com.foreach.across.core.context.web;
 
 import com.foreach.across.core.context.AcrossConfigurableApplicationContext;
 import com.foreach.across.core.context.AcrossListableBeanFactory;
+import com.foreach.across.core.context.PreparableApplicationContext;
 import com.foreach.across.core.context.SharedMetadataReaderFactory;
 import com.foreach.across.core.context.annotation.ModuleConfigurationBeanNameGenerator;
 import com.foreach.across.core.context.beans.ProvidedBeansMap;
 import com.foreach.across.core.context.support.ApplicationContextIdNameGenerator;
+import com.foreach.across.core.context.support.BeanDefinitionPreparer;
 import com.foreach.across.core.context.support.MessageSourceBuilder;
 import com.foreach.across.core.events.AcrossContextApplicationEventMulticaster;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -48,7 +50,7 @@ import java.util.Map;
  * loaded, this context requires {@link #refresh()} to be called to load new bean definitions whereas
  * {@link com.foreach.across.core.context.AcrossApplicationContext} adds beans immediately.
  */
-public class AcrossWebApplicationContext extends AnnotationConfigWebApplicationContext implements AcrossConfigurableApplicationContext
+public class AcrossWebApplicationContext extends AnnotationConfigWebApplicationContext implements PreparableApplicationContext
 {
 	private final Map<String[], TypeFilter[]> packagesToScan = new HashMap<>();
 	private Collection<ProvidedBeansMap> providedBeansMaps = new LinkedHashSet<ProvidedBeansMap>();
@@ -96,6 +98,12 @@ public class AcrossWebApplicationContext extends AnnotationConfigWebApplicationC
 		packagesToScan.put( basePackages, excludedTypes );
 	}
 
+	@Override
+	public void prepareBeanDefinitions() {
+		BeanDefinitionPreparer.prepare( this::prepareRefresh, this::obtainFreshBeanFactory, this::prepareBeanFactory,
+		                                this::postProcessBeanFactory, this::invokeBeanFactoryPostProcessors );
+	}
+
 	@Override
 	protected void loadBeanDefinitions( DefaultListableBeanFactory beanFactory ) {
 		for ( ProvidedBeansMap providedBeans : providedBeansMaps ) {
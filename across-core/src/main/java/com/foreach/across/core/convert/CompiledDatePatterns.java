@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.convert;
+
+import org.apache.commons.lang3.time.DateParser;
+import org.apache.commons.lang3.time.FastDateFormat;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-compiled set of {@link Date} patterns for a fixed locale and time zone.  Parses a String exactly like
+ * {@link org.apache.commons.lang3.time.DateUtils#parseDate(String, Locale, String...)}: the first pattern
+ * that is able to parse the entire string is used.
+ * <p>
+ * The pattern that parsed a value is remembered for the shape of that value (length of digit groups, position
+ * of text and separators).  A next value with the same shape will first be parsed with that same pattern,
+ * avoiding having to try all previous patterns.  The number of shapes remembered is bounded.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+final class CompiledDatePatterns
+{
+	static final int MAX_CACHED_SHAPES = 256;
+
+	private final Locale locale;
+	private final TimeZone timeZone;
+	private final DateParser[] parsers;
+	private final Map<String, Integer> parserIndexByShape = new ConcurrentHashMap<>();
+
+	CompiledDatePatterns( String[] patterns, Locale locale, TimeZone timeZone ) {
+		this.locale = locale != null ? locale : Locale.getDefault();
+		this.timeZone = timeZone;
+
+		parsers = new DateParser[patterns.length];
+		for ( int i = 0; i < patterns.length; i++ ) {
+			parsers[i] = FastDateFormat.getInstance( patterns[i], timeZone, this.locale );
+		}
+	}
+
+	/**
+	 * @param timeZone to check
+	 * @return true if the patterns have been compiled for that time zone
+	 */
+	boolean isCompiledFor( TimeZone timeZone ) {
+		return this.timeZone.getID().equals( timeZone.getID() );
+	}
+
+	Date parse( String source ) throws ParseException {
+		Calendar calendar = Calendar.getInstance( timeZone, locale );
+		calendar.setLenient( true );
+
+		String shape = shapeOf( source );
+		Integer cachedIndex = parserIndexByShape.get( shape );
+
+		if ( cachedIndex != null ) {
+			Date date = parse( cachedIndex, source, calendar );
+			if ( date != null ) {
+				return date;
+			}
+		}
+
+		for ( int i = 0; i < parsers.length; i++ ) {
+			if ( cachedIndex == null || cachedIndex != i ) {
+				Date date = parse( i, source, calendar );
+
+				if ( date != null ) {
+					if ( parserIndexByShape.size() >= MAX_CACHED_SHAPES ) {
+						parserIndexByShape.clear();
+					}
+					parserIndexByShape.put( shape, i );
+					return date;
+				}
+			}
+		}
+
+		throw new ParseException( "Unable to parse the date: " + source, -1 );
+	}
+
+	private Date parse( int parserIndex, String source, Calendar calendar ) {
+		ParsePosition position = new ParsePosition( 0 );
+		calendar.clear();
+
+		try {
+			if ( parsers[parserIndex].parse( source, position, calendar ) && position.getIndex() == source.length() ) {
+				return calendar.getTime();
+			}
+		}
+		catch ( IllegalArgumentException ignore ) {
+			// leniency is preventing calendar from being set
+		}
+
+		return null;
+	}
+
+	/**
+	 * Builds the shape of a value: every digit is kept as '9', a sequence of letters is collapsed into
+	 * a single 'a' (text like month names varies in length) and all other characters are kept as is.
+	 */
+	static String shapeOf( String source ) {
+		StringBuilder shape = new StringBuilder( source.length() );
+		boolean inText = false;
+
+		for ( int i = 0; i < source.length(); i++ ) {
+			char c = source.charAt( i );
+
+			if ( Character.isDigit( c ) ) {
+				shape.append( '9' );
+				inText = false;
+			}
+			else if ( Character.isLetter( c ) ) {
+				if ( !inText ) {
+					shape.append( 'a' );
+					inText = true;
+				}
+			}
+			else {
+				shape.append( c );
+				inText = false;
+			}
+		}
+
+		return shape.toString();
+	}
+}
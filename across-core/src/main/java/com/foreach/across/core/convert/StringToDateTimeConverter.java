@@ -18,7 +18,6 @@ package com.foreach.across.core.convert;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.time.DateUtils;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.ConditionalGenericConverter;
@@ -42,6 +41,10 @@ import static java.time.temporal.ChronoField.*;
  * {@link org.springframework.core.convert.ConversionService}.
  * <p>
  * A blank string is considered to be a null date but will not result in a conversion exception.
+ * <p>
+ * The {@link Date} patterns are compiled once, the pattern that successfully parsed a value is remembered
+ * for all values with the same shape (eg. {@code 9999-99-99 99:99}), so subsequent conversions of similar
+ * values go straight to the right pattern.
  *
  * @author Arne Vandamme
  */
@@ -112,6 +115,7 @@ public class StringToDateTimeConverter implements GenericConverter, ConditionalG
 	private Locale locale;
 	private ZoneId zoneId;
 	private DateTimeFormatter dateTimeFormatter;
+	private volatile CompiledDatePatterns compiledPatterns;
 	private final ConversionService conversionService;
 
 	public StringToDateTimeConverter( ConversionService conversionService ) {
@@ -141,10 +145,12 @@ public class StringToDateTimeConverter implements GenericConverter, ConditionalG
 	public void setLocale( Locale locale ) {
 		this.locale = locale;
 		dateTimeFormatter = dateTimeFormatter.withLocale( locale );
+		compiledPatterns = null;
 	}
 
 	public void setPatterns( @NonNull String[] patterns ) {
 		this.patterns = patterns.clone();
+		compiledPatterns = null;
 	}
 
 	public void setZoneId( ZoneId zoneId ) {
@@ -171,7 +177,7 @@ public class StringToDateTimeConverter implements GenericConverter, ConditionalG
 		Class<?> type = targetType.getType();
 		if ( Date.class.isAssignableFrom( type ) ) {
 			try {
-				convertedValue = DateUtils.parseDate( source, locale, patterns );
+				convertedValue = getCompiledPatterns().parse( source );
 			}
 			catch ( ParseException pe ) {
 				throw new RuntimeException( pe );
@@ -186,6 +192,21 @@ public class StringToDateTimeConverter implements GenericConverter, ConditionalG
 		return convertedValue;
 	}
 
+	/**
+	 * Date patterns are always parsed in the default time zone, recompile them if that time zone has changed.
+	 */
+	private CompiledDatePatterns getCompiledPatterns() {
+		TimeZone timeZone = TimeZone.getDefault();
+		CompiledDatePatterns current = compiledPatterns;
+
+		if ( current == null || !current.isCompiledFor( timeZone ) ) {
+			current = new CompiledDatePatterns( patterns, locale, timeZone );
+			compiledPatterns = current;
+		}
+
+		return current;
+	}
+
 	/**
 	 * @return the set of default patterns used to convert {@link Date}s.
 	 */
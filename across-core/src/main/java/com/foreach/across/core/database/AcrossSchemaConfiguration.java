@@ -21,6 +21,7 @@ public final class AcrossSchemaConfiguration
 	public static final String TABLE_SEQUENCES = "across_sequences";
 	public static final String SEQUENCE_NAME = "seq_name";
 	public static final String SEQUENCE_VALUE = "seq_number";
+	public static final String TABLE_SCHEMA_CHECKSUMS = "across_schema_checksums";
 
 	private AcrossSchemaConfiguration() {
 	}
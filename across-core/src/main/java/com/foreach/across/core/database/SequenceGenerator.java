@@ -0,0 +1,33 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.database;
+
+/**
+ * Generates unique numeric values for a named sequence.  Values are guaranteed to be unique
+ * and increasing for a single generator, but are not guaranteed to be without gaps.
+ *
+ * @author agent
+ * @see SqlBasedSequenceGenerator
+ * @since 5.3.0
+ */
+public interface SequenceGenerator
+{
+	/**
+	 * @param sequenceName name of the sequence
+	 * @return next unique value for the sequence
+	 */
+	long nextValue( String sequenceName );
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.database;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.foreach.across.core.database.AcrossSchemaConfiguration.*;
+
+/**
+ * {@link SequenceGenerator} backed by the {@link AcrossSchemaConfiguration#TABLE_SEQUENCES} table,
+ * which is created by the {@link com.foreach.across.core.installers.AcrossSequencesInstaller}.
+ * <p>
+ * Instead of updating the table for every value, a block of values is reserved at once (hi/lo) with a single
+ * atomic update in a separate transaction.  Values are then handed out from memory until the block is exhausted.
+ * The size of the next block is adapted to the rate at which the previous block was consumed, aiming for a block
+ * to last about {@link #setTargetBlockDuration(Duration)}.  When prefetching is enabled, the next block is reserved
+ * in the background once three quarters of the current block have been handed out.
+ * <p>
+ * Values reserved but not handed out before the generator is closed are lost, so sequences will have gaps.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@Slf4j
+public class SqlBasedSequenceGenerator implements SequenceGenerator, AutoCloseable
+{
+	private static final String SQL_INCREMENT = "update {table} set " + SEQUENCE_VALUE + " = " + SEQUENCE_VALUE + " + ? where " + SEQUENCE_NAME + " = ?";
+	private static final String SQL_SELECT = "select " + SEQUENCE_VALUE + " from {table} where " + SEQUENCE_NAME + " = ?";
+	private static final String SQL_INSERT = "insert into {table} (" + SEQUENCE_NAME + ", " + SEQUENCE_VALUE + ") values (?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final String sqlIncrement, sqlSelect, sqlInsert;
+
+	private final ConcurrentMap<String, Sequence> sequences = new ConcurrentHashMap<>();
+	private final ExecutorService prefetchExecutor;
+
+	private int minimumBlockSize = 10;
+	private int maximumBlockSize = 10000;
+	private long targetBlockDurationNanos = Duration.ofSeconds( 30 ).toNanos();
+	private boolean prefetchEnabled = true;
+
+	public SqlBasedSequenceGenerator( DataSource dataSource ) {
+		this( dataSource, TABLE_SEQUENCES );
+	}
+
+	public SqlBasedSequenceGenerator( DataSource dataSource, String tableName ) {
+		Assert.notNull( dataSource, "A DataSource is required" );
+		Assert.isTrue( StringUtils.isNotBlank( tableName ), "A sequences table name is required" );
+
+		jdbcTemplate = new JdbcTemplate( dataSource );
+		transactionTemplate = new TransactionTemplate( new DataSourceTransactionManager( dataSource ) );
+		transactionTemplate.setPropagationBehavior( TransactionDefinition.PROPAGATION_REQUIRES_NEW );
+
+		sqlIncrement = StringUtils.replace( SQL_INCREMENT, "{table}", tableName );
+		sqlSelect = StringUtils.replace( SQL_SELECT, "{table}", tableName );
+		sqlInsert = StringUtils.replace( SQL_INSERT, "{table}", tableName );
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory( "across-sequence-prefetch-" );
+		threadFactory.setDaemon( true );
+		prefetchExecutor = Executors.newSingleThreadExecutor( threadFactory );
+	}
+
+	/**
+	 * Set the minimum number of values that should be reserved at once, this is also the initial block size.
+	 */
+	public void setMinimumBlockSize( int minimumBlockSize ) {
+		Assert.isTrue( minimumBlockSize > 0, "Minimum block size must be at least 1" );
+		this.minimumBlockSize = minimumBlockSize;
+	}
+
+	/**
+	 * Set the maximum number of values that should be reserved at once.
+	 */
+	public void setMaximumBlockSize( int maximumBlockSize ) {
+		Assert.isTrue( maximumBlockSize > 0, "Maximum block size must be at least 1" );
+		this.maximumBlockSize = maximumBlockSize;
+	}
+
+	/**
+	 * Set the time a single block should approximately last: if a block is consumed much faster the next block
+	 * will be larger, if a block lasts much longer the next block will be smaller.
+	 */
+	public void setTargetBlockDuration( Duration targetBlockDuration ) {
+		this.targetBlockDurationNanos = targetBlockDuration.toNanos();
+	}
+
+	/**
+	 * Should the next block be reserved in the background before the current block is exhausted?
+	 */
+	public void setPrefetchEnabled( boolean prefetchEnabled ) {
+		this.prefetchEnabled = prefetchEnabled;
+	}
+
+	@Override
+	public long nextValue( String sequenceName ) {
+		return sequences.computeIfAbsent( sequenceName, Sequence::new ).next();
+	}
+
+	@Override
+	public void close() {
+		prefetchExecutor.shutdownNow();
+	}
+
+	/**
+	 * Atomically reserves a block of values in the database.
+	 *
+	 * @return block of reserved values
+	 */
+	private Block reserveBlock( String sequenceName, int size ) {
+		Long last = transactionTemplate.execute( status -> increment( sequenceName, size ) );
+
+		if ( last == null ) {
+			try {
+				transactionTemplate.execute( status -> jdbcTemplate.update( sqlInsert, sequenceName, size ) );
+				last = (long) size;
+			}
+			catch ( DuplicateKeyException dke ) {
+				// sequence was created concurrently
+				last = transactionTemplate.execute( status -> increment( sequenceName, size ) );
+			}
+		}
+
+		if ( last == null ) {
+			throw new IllegalStateException( "Unable to reserve values for sequence " + sequenceName );
+		}
+
+		LOG.trace( "Reserved block of {} values for sequence {}", size, sequenceName );
+
+		return new Block( last - size + 1, last );
+	}
+
+	private Long increment( String sequenceName, int size ) {
+		if ( jdbcTemplate.update( sqlIncrement, size, sequenceName ) == 0 ) {
+			return null;
+		}
+		return jdbcTemplate.queryForObject( sqlSelect, Long.class, sequenceName );
+	}
+
+	/**
+	 * Range of reserved values.  Values are handed out without locking, a value larger than {@link #last}
+	 * means the block is exhausted.
+	 */
+	private static final class Block
+	{
+		static final Block EMPTY = new Block( 1, 0 );
+
+		private final AtomicLong next;
+		private final long last, prefetchValue, size;
+		private final long created = System.nanoTime();
+
+		Block( long first, long last ) {
+			this.next = new AtomicLong( first );
+			this.last = last;
+			this.size = last - first + 1;
+			this.prefetchValue = first + ( size * 3 ) / 4;
+		}
+	}
+
+	private final class Sequence
+	{
+		private final String name;
+
+		private volatile Block current = Block.EMPTY;
+		private int blockSize = minimumBlockSize;
+		private Future<Block> prefetched;
+
+		Sequence( String name ) {
+			this.name = name;
+		}
+
+		long next() {
+			while ( true ) {
+				Block block = current;
+				long value = block.next.getAndIncrement();
+
+				if ( value <= block.last ) {
+					if ( value == block.prefetchValue && prefetchEnabled ) {
+						prefetch( block );
+					}
+					return value;
+				}
+
+				replace( block );
+			}
+		}
+
+		private synchronized void prefetch( Block block ) {
+			if ( current == block && prefetched == null ) {
+				int size = adaptBlockSize( block, block.prefetchValue - ( block.last - block.size ) );
+				try {
+					prefetched = prefetchExecutor.submit( () -> reserveBlock( name, size ) );
+				}
+				catch ( RejectedExecutionException ree ) {
+					LOG.trace( "Unable to prefetch block for sequence {} - generator has been closed", name );
+				}
+			}
+		}
+
+		private synchronized void replace( Block exhausted ) {
+			if ( current != exhausted ) {
+				// another thread has already replaced the block
+				return;
+			}
+
+			Block next = null;
+
+			if ( prefetched != null ) {
+				try {
+					next = prefetched.get();
+				}
+				catch ( ExecutionException ee ) {
+					LOG.warn( "Prefetching block for sequence {} failed - reserving synchronously", name, ee.getCause() );
+				}
+				catch ( InterruptedException ie ) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException( "Interrupted while waiting for block of sequence " + name, ie );
+				}
+				catch ( CancellationException ce ) {
+					LOG.trace( "Prefetching block for sequence {} was cancelled", name );
+				}
+				prefetched = null;
+			}
+
+			if ( next == null ) {
+				next = reserveBlock( name, exhausted != Block.EMPTY ? adaptBlockSize( exhausted, exhausted.size ) : blockSize );
+			}
+
+			current = next;
+		}
+
+		/**
+		 * Determines the next block size based on the rate at which the given block has been consumed.
+		 */
+		private int adaptBlockSize( Block block, long consumed ) {
+			if ( block != Block.EMPTY && consumed > 0 ) {
+				long projectedDuration = ( ( System.nanoTime() - block.created ) / consumed ) * block.size;
+
+				if ( projectedDuration < targetBlockDurationNanos / 2 ) {
+					blockSize = (int) Math.min( (long) blockSize * 2, maximumBlockSize );
+				}
+				else if ( projectedDuration > targetBlockDurationNanos * 2 ) {
+					blockSize = Math.max( blockSize / 2, minimumBlockSize );
+				}
+			}
+
+			return blockSize;
+		}
+	}
+}
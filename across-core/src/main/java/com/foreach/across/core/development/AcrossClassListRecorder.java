@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.development;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Records the classes that have been loaded during bootstrap of an Across context, in the format expected
+ * for an AppCDS class list ({@code -XX:SharedClassListFile}).  Recording is enabled by setting
+ * {@link #CLASS_LIST_FILE_PROPERTY}: the list is then written once the
+ * {@link com.foreach.across.core.events.AcrossContextBootstrappedEvent} has been handled.
+ * <p/>
+ * Only classes that can be shared are recorded: classes loaded from a jar file on the local file system.
+ * Classes from directories, nested jars and generated classes (proxies, lambdas) are skipped.
+ * Loaded classes are determined by inspecting the class loaders, on JDK 9+ this requires
+ * {@code --add-opens java.base/java.lang=ALL-UNNAMED}.  Alternatively use {@code -XX:DumpLoadedClassList}.
+ * <p/>
+ * Use {@link AppCdsArchiveGenerator} to create the actual archive from the class list.
+ *
+ * @author agent
+ * @see AppCdsArchiveGenerator
+ * @see ClassDataSharingStatus
+ * @since 5.3.0
+ */
+@Slf4j
+public final class AcrossClassListRecorder
+{
+	/**
+	 * File that the class list should be written to, recording is only done if this property is set.
+	 */
+	public static final String CLASS_LIST_FILE_PROPERTY = "across.bootstrap.class-list-file";
+
+	private static final Field CLASSES_FIELD = ReflectionUtils.findField( ClassLoader.class, "classes" );
+
+	private AcrossClassListRecorder() {
+	}
+
+	/**
+	 * Write the shareable classes that have been loaded by the class loader (and its parents) to a file.
+	 *
+	 * @param classLoader that loaded the application classes
+	 * @param classList   file to write
+	 * @return number of classes written, -1 if the loaded classes could not be determined
+	 */
+	public static int record( ClassLoader classLoader, Path classList ) {
+		Collection<Class<?>> loadedClasses = getLoadedClasses( classLoader );
+
+		if ( loadedClasses == null ) {
+			LOG.warn( "Unable to determine the loaded classes - class list {} has not been written. " +
+					          "Use -XX:DumpLoadedClassList instead or open java.lang to the unnamed module.", classList );
+			return -1;
+		}
+
+		List<String> names = loadedClasses.stream()
+		                                  .filter( AcrossClassListRecorder::isShareable )
+		                                  .map( c -> c.getName().replace( '.', '/' ) )
+		                                  .distinct()
+		                                  .sorted()
+		                                  .collect( Collectors.toList() );
+
+		try {
+			if ( classList.getParent() != null ) {
+				Files.createDirectories( classList.getParent() );
+			}
+			Files.write( classList, names, StandardCharsets.UTF_8 );
+		}
+		catch ( IOException ioe ) {
+			LOG.error( "Unable to write class list {}", classList, ioe );
+			return -1;
+		}
+
+		LOG.info( "Recorded {} shareable classes of {} loaded application classes to {}", names.size(), loadedClasses.size(), classList );
+
+		return names.size();
+	}
+
+	/**
+	 * Get all classes currently defined by the class loader and its parents, excluding the bootstrap class loader.
+	 *
+	 * @param classLoader to start from
+	 * @return loaded classes or {@code null} if they cannot be determined
+	 */
+	static Collection<Class<?>> getLoadedClasses( ClassLoader classLoader ) {
+		if ( CLASSES_FIELD == null ) {
+			return null;
+		}
+
+		List<Class<?>> classes = new ArrayList<>();
+
+		try {
+			CLASSES_FIELD.setAccessible( true );
+
+			for ( ClassLoader current = classLoader; current != null; current = current.getParent() ) {
+				@SuppressWarnings("unchecked")
+				Vector<Class<?>> defined = (Vector<Class<?>>) CLASSES_FIELD.get( current );
+				synchronized ( defined ) {
+					classes.addAll( defined );
+				}
+			}
+		}
+		catch ( Exception e ) {
+			LOG.trace( "Unable to access loaded classes", e );
+			return null;
+		}
+
+		return classes;
+	}
+
+	/**
+	 * A class can be shared if it is not generated and has been loaded from a jar file on the file system.
+	 */
+	static boolean isShareable( Class<?> clazz ) {
+		String name = clazz.getName();
+
+		if ( clazz.isArray() || clazz.isSynthetic() || name.contains( "$$" ) || name.contains( "$Proxy" ) ) {
+			return false;
+		}
+
+		CodeSource codeSource = clazz.getProtectionDomain() != null ? clazz.getProtectionDomain().getCodeSource() : null;
+		URL location = codeSource != null ? codeSource.getLocation() : null;
+
+		if ( location == null || !"file".equals( location.getProtocol() ) ) {
+			return false;
+		}
+
+		String path = location.getPath();
+		return path.endsWith( ".jar" ) && new File( path ).isFile();
+	}
+}
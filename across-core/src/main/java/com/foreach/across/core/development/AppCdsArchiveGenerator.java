@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.development;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Creates an AppCDS archive from a class list recorded by {@link AcrossClassListRecorder}.
+ * The archive is created by starting a separate JVM with {@code -Xshare:dump}, using the same java executable
+ * as the current JVM.  The class path must be identical to the class path of the application that will use the archive,
+ * which must be started with {@code -XX:SharedArchiveFile=<archive>}.
+ * <p/>
+ * A copy of the class list is stored next to the archive, so {@link ClassDataSharingStatus} can report on it.
+ * <p/>
+ * Can be run as a main class: {@code AppCdsArchiveGenerator <class list> <archive> [class path] [jvm arguments...]},
+ * the class path defaults to the one of the current JVM.  On JDK 10 {@code -XX:+UseAppCDS} should be passed as
+ * additional jvm argument, on JDK 8 only commercial builds support application class data sharing.
+ *
+ * @author agent
+ * @see AcrossClassListRecorder
+ * @since 5.3.0
+ */
+@Slf4j
+public final class AppCdsArchiveGenerator
+{
+	/**
+	 * Suffix added to the archive file name for the copy of the class list.
+	 */
+	public static final String CLASS_LIST_SUFFIX = ".classlist";
+
+	private AppCdsArchiveGenerator() {
+	}
+
+	public static void main( String[] args ) throws IOException, InterruptedException {
+		if ( args.length < 2 ) {
+			System.err.println( "Usage: AppCdsArchiveGenerator <class list> <archive> [class path] [jvm arguments...]" );
+			System.exit( 1 );
+		}
+
+		String classPath = args.length > 2 ? args[2] : System.getProperty( "java.class.path" );
+		String[] jvmArguments = args.length > 3 ? Arrays.copyOfRange( args, 3, args.length ) : new String[0];
+
+		System.exit( generate( Paths.get( args[0] ), Paths.get( args[1] ), classPath, jvmArguments ) );
+	}
+
+	/**
+	 * Create the archive.
+	 *
+	 * @param classList    class list recorded during bootstrap
+	 * @param archive      archive file to create
+	 * @param classPath    exact class path of the application
+	 * @param jvmArguments additional arguments for the dumping JVM
+	 * @return exit code of the dumping JVM, 0 if the archive has been created
+	 */
+	public static int generate( Path classList, Path archive, String classPath, String... jvmArguments ) throws IOException, InterruptedException {
+		if ( !Files.isRegularFile( classList ) ) {
+			throw new IllegalArgumentException( "Class list does not exist: " + classList );
+		}
+
+		if ( archive.toAbsolutePath().getParent() != null ) {
+			Files.createDirectories( archive.toAbsolutePath().getParent() );
+		}
+
+		List<String> command = buildCommand( classList, archive, classPath, jvmArguments );
+		LOG.info( "Creating class data sharing archive: {}", String.join( " ", command ) );
+
+		int exitCode = new ProcessBuilder( command ).inheritIO().start().waitFor();
+
+		if ( exitCode == 0 ) {
+			Files.copy( classList, Paths.get( archive.toString() + CLASS_LIST_SUFFIX ), StandardCopyOption.REPLACE_EXISTING );
+			LOG.info( "Created class data sharing archive {}", archive );
+		}
+		else {
+			LOG.error( "Unable to create class data sharing archive {} - exit code {}", archive, exitCode );
+		}
+
+		return exitCode;
+	}
+
+	static List<String> buildCommand( Path classList, Path archive, String classPath, String... jvmArguments ) {
+		List<String> command = new ArrayList<>();
+		command.add( Paths.get( System.getProperty( "java.home" ), "bin", "java" ).toString() );
+		Collections.addAll( command, jvmArguments );
+		command.add( "-Xshare:dump" );
+		command.add( "-XX:SharedClassListFile=" + classList.toAbsolutePath() );
+		command.add( "-XX:SharedArchiveFile=" + archive.toAbsolutePath() );
+		command.add( "-cp" );
+		command.add( classPath );
+		return command;
+	}
+}
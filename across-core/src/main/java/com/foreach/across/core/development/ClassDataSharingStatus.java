@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.development;
+
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Describes if the JVM is using a class data sharing archive.  If the archive has been created using
+ * {@link AppCdsArchiveGenerator}, the class list it was created from is stored next to it, and the number
+ * of archived classes that have been loaded is determined as well.  The JVM does not expose which classes
+ * were actually mapped from the archive: as long as the archive is in use, those are the archived classes that
+ * have been loaded.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@Getter
+public final class ClassDataSharingStatus
+{
+	/**
+	 * Is a class data sharing archive mapped.
+	 */
+	private final boolean active;
+
+	/**
+	 * The archive file configured with {@code -XX:SharedArchiveFile}, {@code null} if the default archive is used.
+	 */
+	private final String archiveFile;
+
+	/**
+	 * Number of classes in the archive class list, -1 if unknown.
+	 */
+	private final int archivedClassCount;
+
+	/**
+	 * Number of classes from the archive class list that have been loaded, -1 if unknown.
+	 */
+	private final int loadedArchivedClassCount;
+
+	private ClassDataSharingStatus( boolean active, String archiveFile, int archivedClassCount, int loadedArchivedClassCount ) {
+		this.active = active;
+		this.archiveFile = archiveFile;
+		this.archivedClassCount = archivedClassCount;
+		this.loadedArchivedClassCount = loadedArchivedClassCount;
+	}
+
+	/**
+	 * Determine the current class data sharing status.
+	 *
+	 * @param classLoader that loaded the application classes
+	 * @return status
+	 */
+	public static ClassDataSharingStatus detect( ClassLoader classLoader ) {
+		boolean active = "true".equals( getVMOption( "UseSharedSpaces" ) );
+		String archiveFile = StringUtils.defaultIfBlank( getVMOption( "SharedArchiveFile" ), null );
+
+		int archived = -1;
+		int loaded = -1;
+
+		if ( archiveFile != null ) {
+			Path classList = Paths.get( archiveFile + AppCdsArchiveGenerator.CLASS_LIST_SUFFIX );
+			if ( Files.isRegularFile( classList ) ) {
+				try {
+					Set<String> archivedClasses = new HashSet<>( Files.readAllLines( classList, StandardCharsets.UTF_8 ) );
+					archived = archivedClasses.size();
+
+					Collection<Class<?>> loadedClasses = active ? AcrossClassListRecorder.getLoadedClasses( classLoader ) : null;
+					if ( loadedClasses != null ) {
+						loaded = (int) loadedClasses.stream()
+						                            .map( c -> c.getName().replace( '.', '/' ) )
+						                            .filter( archivedClasses::contains )
+						                            .count();
+					}
+				}
+				catch ( IOException ignore ) {
+					// status without class count
+				}
+			}
+		}
+
+		return new ClassDataSharingStatus( active, archiveFile, archived, loaded );
+	}
+
+	private static String getVMOption( String name ) {
+		try {
+			return ManagementFactory.getPlatformMXBean( com.sun.management.HotSpotDiagnosticMXBean.class ).getVMOption( name ).getValue();
+		}
+		catch ( Throwable ignore ) {
+			// not a HotSpot JVM or option unknown
+			return null;
+		}
+	}
+
+	@Override
+	public String toString() {
+		if ( !active ) {
+			return "not active";
+		}
+
+		StringBuilder description = new StringBuilder( "active" );
+		description.append( archiveFile != null ? " - archive: " + archiveFile : " - default JDK archive" );
+
+		if ( loadedArchivedClassCount >= 0 ) {
+			description.append( " - " ).append( loadedArchivedClassCount ).append( " of " ).append( archivedClassCount )
+			           .append( " archived classes loaded" );
+		}
+
+		return description.toString();
+	}
+}
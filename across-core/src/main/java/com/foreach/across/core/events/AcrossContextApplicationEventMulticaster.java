@@ -111,6 +111,16 @@ public final class AcrossContextApplicationEventMulticaster extends SimpleApplic
 		return moduleApplicationEventMulticaster;
 	}
 
+	/**
+	 * Remove a multicaster created for an Across module, its listeners will no longer receive any events.
+	 * Required when a single module context is closed while the Across context remains active.
+	 *
+	 * @param moduleMulticaster multicaster that was created using {@link #createModuleMulticaster(Integer, BeanFactory)}
+	 */
+	public void removeModuleMulticaster( ApplicationEventMulticaster moduleMulticaster ) {
+		moduleMulticasters.remove( moduleMulticaster );
+	}
+
 	/**
 	 * Adjust a method adapter: apply module ordering.
 	 *
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.events;
+
+import com.foreach.across.core.context.info.AcrossContextInfo;
+import com.foreach.across.core.context.info.AcrossModuleInfo;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+/**
+ * Event published when a module and its dependent modules have been reloaded at runtime.
+ * The new module contexts have been created, their beans exposed and all refreshable beans have been refreshed.
+ * <p/>
+ * Source of this event is the {@link AcrossContextInfo} the module belongs to.
+ *
+ * @author agent
+ * @see AcrossModuleBeforeReloadEvent
+ * @see com.foreach.across.core.AcrossContext#reloadModule(String)
+ * @since 5.3.0
+ */
+public final class AcrossModuleReloadedEvent extends AcrossLifecycleEvent
+{
+	private final AcrossModuleInfo module;
+	private final Collection<AcrossModuleInfo> reloadedModules;
+
+	public AcrossModuleReloadedEvent( AcrossModuleInfo module, Collection<AcrossModuleInfo> reloadedModules ) {
+		super( module.getContextInfo() );
+		this.module = module;
+		this.reloadedModules = Collections.unmodifiableCollection( reloadedModules );
+	}
+
+	public AcrossContextInfo getContext() {
+		return module.getContextInfo();
+	}
+
+	/**
+	 * @return the module that was requested to reload
+	 */
+	public AcrossModuleInfo getModule() {
+		return module;
+	}
+
+	/**
+	 * @return all modules that have been reloaded, in bootstrap order
+	 */
+	public Collection<AcrossModuleInfo> getReloadedModules() {
+		return reloadedModules;
+	}
+
+	/**
+	 * @return the Across context the module belongs to
+	 */
+	@Override
+	public AcrossContextInfo getSource() {
+		return (AcrossContextInfo) super.getSource();
+	}
+
+	@Override
+	public String toString() {
+		return "AcrossModuleReloadedEvent{" +
+				"context=" + getContext().getDisplayName() +
+				", module=" + module.getName() +
+				", reloadedModules=" + reloadedModules.stream().map( AcrossModuleInfo::getName ).collect( Collectors.joining( "," ) ) +
+				'}';
+	}
+}
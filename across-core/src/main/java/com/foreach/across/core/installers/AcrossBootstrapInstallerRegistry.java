@@ -16,6 +16,7 @@
 
 package com.foreach.across.core.installers;
 
+import com.foreach.across.core.AcrossException;
 import com.foreach.across.core.AcrossModule;
 import com.foreach.across.core.annotations.InstallerMethod;
 import com.foreach.across.core.context.AcrossApplicationContextHolder;
@@ -23,12 +24,15 @@ import com.foreach.across.core.context.AcrossConfigurableApplicationContext;
 import com.foreach.across.core.context.AcrossContextUtils;
 import com.foreach.across.core.context.AcrossEntity;
 import com.foreach.across.core.context.bootstrap.AcrossBootstrapConfig;
+import com.foreach.across.core.context.bootstrap.AcrossBootstrapPlan;
 import com.foreach.across.core.context.bootstrap.BootstrapApplicationContextFactory;
 import com.foreach.across.core.context.bootstrap.BootstrapLockManager;
 import com.foreach.across.core.context.bootstrap.ModuleBootstrapConfig;
+import com.foreach.across.core.context.configurer.PropertySourcesConfigurer;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
@@ -41,12 +45,17 @@ import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.core.MethodParameter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Builds the list of all installers in a configured AcrossContext.
@@ -60,13 +69,18 @@ public class AcrossBootstrapInstallerRegistry
 	private final AcrossBootstrapConfig contextConfig;
 	private final BootstrapApplicationContextFactory applicationContextFactory;
 
-	private final Map<AcrossModule, AcrossConfigurableApplicationContext> installerContexts = new HashMap<>();
+	private final Map<AcrossModule, AcrossConfigurableApplicationContext> installerContexts = new ConcurrentHashMap<>();
 
 	@Getter
 	private final Collection<ModuleInstallersTimeReport> installerTimeReports = new ArrayList<>();
 
 	private AcrossInstallerRepository installerRepository;
 
+	/**
+	 * Set if the bootstrap lock is held by the thread coordinating parallel installer execution.
+	 */
+	private volatile boolean bootstrapLockHeldForPhase;
+
 	public AcrossBootstrapInstallerRegistry( AcrossBootstrapConfig contextConfig,
 	                                         BootstrapLockManager bootstrapLockManager,
 	                                         BootstrapApplicationContextFactory applicationContextFactory ) {
@@ -77,12 +91,22 @@ public class AcrossBootstrapInstallerRegistry
 
 	/**
 	 * Runs all installers for all modules in the context.
+	 * If the context installer settings allow more than one installer to run at the same time,
+	 * installers of a different {@link InstallerMetaData#getParallelGroup()} will be executed concurrently.
 	 *
 	 * @param phase Bootstrap phase for installers.
+	 * @see InstallerSettings#setMaximumParallelInstallers(int)
 	 */
 	public void runInstallers( InstallerPhase phase ) {
-		for ( ModuleBootstrapConfig moduleConfig : contextConfig.getModules() ) {
-			runInstallers( moduleConfig, phase );
+		int maximumParallelInstallers = contextConfig.getInstallerSettings().getMaximumParallelInstallers();
+
+		if ( maximumParallelInstallers > 1 ) {
+			runInstallersInParallel( phase, maximumParallelInstallers );
+		}
+		else {
+			for ( ModuleBootstrapConfig moduleConfig : contextConfig.getModules() ) {
+				runInstallers( moduleConfig, phase );
+			}
 		}
 	}
 
@@ -103,68 +127,296 @@ public class AcrossBootstrapInstallerRegistry
 		boolean hasInstallersForPhase = false;
 
 		for ( Object installerOrClass : moduleConfig.getInstallers() ) {
-			Assert.notNull( installerOrClass, "Installer instance should never be null." );
-
-			Class<?> installerClass = determineInstallerClass( installerOrClass );
-			Optional<Object> installerInstance = determineInstallerInstance( installerOrClass );
-
-			InstallerMetaData metadata = InstallerMetaData.forClass( installerClass );
+			InstallerMetaData metadata = determineInstallerMetaData( installerOrClass );
 
 			if ( metadata.getInstallerPhase() == phase ) {
 				hasInstallersForPhase = true;
+				runInstaller( moduleConfig, metadata, installerOrClass );
+			}
+			else {
+				LOG.trace( "Ignoring installer {} because it is defined for phase {}", metadata.getName(),
+				           metadata.getInstallerPhase().name() );
+			}
+		}
+
+		if ( hasInstallersForPhase ) {
+			installerTimeReports.add( new ModuleInstallersTimeReport( moduleConfig.getModuleName(), phase, System.currentTimeMillis() - startTime ) );
+		}
 
-				// Create installer instance if necessary
-				InstallerAction action = determineInstallerAction( metadata, moduleConfig );
-				LOG.trace( "Determined action {} for installer {}.", action, metadata.getName() );
+		LOG.trace( "Finished {} installers for module {}", phase.name(), moduleConfig.getModuleName() );
+	}
 
-				if ( shouldCheckRunCondition( action ) ) {
-					if ( conditionalsMet( moduleConfig.getModule(), installerClass, installerInstance )
-							&& shouldPerformAction( action, moduleConfig.getModule(), metadata ) ) {
-						takeBootstrapLock();
-						try {
-							performInstallerAction( action, moduleConfig.getModule(), metadata, installerInstance );
-						}
-						finally {
-							releaseBootstrapLock();
-						}
+	/**
+	 * Splits the installers for the phase in lanes by parallel group and executes the lanes concurrently.
+	 * Installers without a parallel group share a single lane.  Installers within a lane are executed in the
+	 * same order as they would be in serial execution.
+	 * <p/>
+	 * The bootstrap lock is thread-bound, so it is taken by the calling thread before any lane starts,
+	 * and only if at least one installer requires execution.  The time report of a module contains
+	 * the sum of the execution times of its individual installers.
+	 */
+	private void runInstallersInParallel( InstallerPhase phase, int maximumParallelInstallers ) {
+		Map<String, List<PendingInstaller>> lanes = new LinkedHashMap<>();
+		Map<String, AtomicLong> moduleDurations = new LinkedHashMap<>();
+		boolean executionRequired = false;
+
+		for ( ModuleBootstrapConfig moduleConfig : contextConfig.getModules() ) {
+			for ( Object installerOrClass : moduleConfig.getInstallers() ) {
+				InstallerMetaData metadata = determineInstallerMetaData( installerOrClass );
+
+				if ( metadata.getInstallerPhase() == phase ) {
+					moduleDurations.computeIfAbsent( moduleConfig.getModuleName(), m -> new AtomicLong() );
+					lanes.computeIfAbsent( StringUtils.defaultString( metadata.getParallelGroup() ), g -> new ArrayList<>() )
+					     .add( new PendingInstaller( moduleConfig, metadata, installerOrClass ) );
+					executionRequired |= mightRequireExecution( moduleConfig, metadata );
+				}
+			}
+		}
+
+		if ( !executionRequired || lanes.size() < 2 ) {
+			LOG.trace( "Running {} installers serially - {} lanes, execution required: {}", phase.name(), lanes.size(), executionRequired );
+			for ( ModuleBootstrapConfig moduleConfig : contextConfig.getModules() ) {
+				runInstallers( moduleConfig, phase );
+			}
+			return;
+		}
+
+		int threads = Math.min( maximumParallelInstallers, lanes.size() );
+		LOG.debug( "Running {} installers in {} lanes using {} threads", phase.name(), lanes.size(), threads );
+
+		// resolve the repository on the calling thread, the lock is held for the entire phase
+		getInstallerRepository();
+		takeBootstrapLock();
+		bootstrapLockHeldForPhase = true;
+
+		ExecutorService executorService = Executors.newFixedThreadPool( threads, new CustomizableThreadFactory( "across-installer-" ) );
+		AtomicBoolean failed = new AtomicBoolean( false );
+
+		try {
+			List<Future<?>> futures = new ArrayList<>( lanes.size() );
+			lanes.values().forEach( lane -> futures.add( executorService.submit( () -> {
+				for ( PendingInstaller pending : lane ) {
+					if ( failed.get() ) {
+						return;
 					}
-					else {
-						LOG.debug( "Skipping installer {} because action {} should not be performed due to bean or run conditions not met.",
-						           metadata.getName(), action );
+					long startTime = System.currentTimeMillis();
+					try {
+						runInstaller( pending.moduleConfig, pending.metadata, pending.installerOrClass );
+					}
+					catch ( RuntimeException | Error e ) {
+						failed.set( true );
+						throw e;
+					}
+					finally {
+						moduleDurations.get( pending.moduleConfig.getModuleName() ).addAndGet( System.currentTimeMillis() - startTime );
 					}
 				}
-				else {
-					LOG.debug( "Skipping installer {} because action is {}", metadata.getName(), action );
+			} ) ) );
+
+			Throwable failure = null;
+			for ( Future<?> future : futures ) {
+				try {
+					future.get();
+				}
+				catch ( ExecutionException ee ) {
+					if ( failure == null ) {
+						failure = ee.getCause();
+					}
+				}
+				catch ( InterruptedException ie ) {
+					Thread.currentThread().interrupt();
+					failed.set( true );
+					throw new AcrossException( "Interrupted while waiting for " + phase.name() + " installers", ie );
+				}
+			}
+
+			if ( failure instanceof RuntimeException ) {
+				throw (RuntimeException) failure;
+			}
+			if ( failure instanceof Error ) {
+				throw (Error) failure;
+			}
+		}
+		finally {
+			executorService.shutdownNow();
+			bootstrapLockHeldForPhase = false;
+			releaseBootstrapLock();
+		}
+
+		moduleDurations.forEach(
+				( moduleName, duration ) -> installerTimeReports.add( new ModuleInstallersTimeReport( moduleName, phase, duration.get() ) )
+		);
+	}
+
+	/**
+	 * Determine which installers of a module would be executed, without executing or registering anything.
+	 * Conditions that can only be evaluated in the installer context itself make the execution
+	 * {@link com.foreach.across.core.context.bootstrap.AcrossBootstrapPlan.InstallerExecution#UNDETERMINED}.
+	 * Installed versions are read from the repository if one is available, if the installer table can not
+	 * be read all versions are considered not installed.
+	 *
+	 * @param moduleName Unique name of the module in the context.
+	 * @param repository to read the installed versions from, can be {@code null}
+	 * @return planned installers in registration order
+	 */
+	public List<AcrossBootstrapPlan.InstallerPlan> planInstallersForModule( String moduleName, AcrossInstallerRepository repository ) {
+		ModuleBootstrapConfig moduleConfig = contextConfig.getModule( moduleName );
+		List<AcrossBootstrapPlan.InstallerPlan> installers = new ArrayList<>();
+
+		for ( Object installerOrClass : moduleConfig.getInstallers() ) {
+			InstallerMetaData metadata = determineInstallerMetaData( installerOrClass );
+			InstallerAction action = determineInstallerAction( metadata, moduleConfig );
+			Integer installedVersion = null;
+
+			if ( repository != null ) {
+				try {
+					installedVersion = repository.getInstalledVersion( moduleName, metadata.getName() );
+				}
+				catch ( DataAccessException dae ) {
+					LOG.trace( "Unable to read installed version of installer {}", metadata.getName(), dae );
+					installedVersion = -1;
 				}
 			}
+
+			AcrossBootstrapPlan.InstallerExecution execution;
+			String reason;
+
+			if ( !shouldCheckRunCondition( action ) ) {
+				execution = AcrossBootstrapPlan.InstallerExecution.SKIP;
+				reason = "action is " + action;
+			}
 			else {
-				LOG.trace( "Ignoring installer {} because it is defined for phase {}", metadata.getName(),
-				           metadata.getInstallerPhase().name() );
+				InstallerConditionEvaluator.Result conditions = installerOrClass instanceof Class
+						? InstallerConditionEvaluator.evaluate( (Class<?>) installerOrClass, getInstallerParentContext( moduleConfig.getModule() ), false )
+						: InstallerConditionEvaluator.Result.MATCH;
+
+				if ( conditions == InstallerConditionEvaluator.Result.NO_MATCH ) {
+					execution = AcrossBootstrapPlan.InstallerExecution.SKIP;
+					reason = "conditions not met";
+				}
+				else if ( action == InstallerAction.FORCE || metadata.getRunCondition() == InstallerRunCondition.AlwaysRun ) {
+					execution = AcrossBootstrapPlan.InstallerExecution.EXECUTE;
+					reason = action == InstallerAction.FORCE ? "action is FORCE" : "always run";
+				}
+				else if ( metadata.getRunCondition() != InstallerRunCondition.VersionDifferent ) {
+					execution = AcrossBootstrapPlan.InstallerExecution.SKIP;
+					reason = "run condition is " + metadata.getRunCondition();
+				}
+				else if ( installedVersion == null ) {
+					execution = AcrossBootstrapPlan.InstallerExecution.UNDETERMINED;
+					reason = "installed version unknown";
+				}
+				else if ( metadata.getVersion() > installedVersion ) {
+					execution = AcrossBootstrapPlan.InstallerExecution.EXECUTE;
+					reason = "version " + metadata.getVersion() + " is higher than installed " + installedVersion;
+				}
+				else {
+					execution = AcrossBootstrapPlan.InstallerExecution.SKIP;
+					reason = "version " + metadata.getVersion() + " already installed";
+				}
+
+				if ( execution == AcrossBootstrapPlan.InstallerExecution.EXECUTE && conditions == InstallerConditionEvaluator.Result.REQUIRES_CONTEXT ) {
+					execution = AcrossBootstrapPlan.InstallerExecution.UNDETERMINED;
+					reason = "conditions require the installer context";
+				}
 			}
+
+			installers.add( new AcrossBootstrapPlan.InstallerPlan(
+					metadata.getName(), metadata.getInstallerPhase(), metadata.getRunCondition(), metadata.getVersion(), installedVersion, execution, reason
+			) );
 		}
 
-		if ( hasInstallersForPhase ) {
-			installerTimeReports.add( new ModuleInstallersTimeReport( moduleConfig.getModuleName(), phase, System.currentTimeMillis() - startTime ) );
+		return installers;
+	}
+
+	/**
+	 * Lock-free check if an installer might need to run, conditions are not taken into account.
+	 */
+	private boolean mightRequireExecution( ModuleBootstrapConfig moduleConfig, InstallerMetaData metadata ) {
+		InstallerAction action = determineInstallerAction( metadata, moduleConfig );
+
+		if ( !shouldCheckRunCondition( action ) ) {
+			return false;
 		}
 
-		LOG.trace( "Finished {} installers for module {}", phase.name(), moduleConfig.getModuleName() );
+		switch ( metadata.getRunCondition() ) {
+			case AlwaysRun:
+				return true;
+			case VersionDifferent:
+				return action == InstallerAction.FORCE
+						|| metadata.getVersion() > getInstallerRepository().getInstalledVersion( moduleConfig.getModuleName(), metadata.getName() );
+			default:
+				return action == InstallerAction.FORCE;
+		}
+	}
+
+	private void runInstaller( ModuleBootstrapConfig moduleConfig, InstallerMetaData metadata, Object installerOrClass ) {
+		Class<?> installerClass = determineInstallerClass( installerOrClass );
+		Optional<Object> installerInstance = determineInstallerInstance( installerOrClass );
+
+		// Create installer instance if necessary
+		InstallerAction action = determineInstallerAction( metadata, moduleConfig );
+		LOG.trace( "Determined action {} for installer {}.", action, metadata.getName() );
+
+		if ( shouldCheckRunCondition( action ) ) {
+			// conditions that can be evaluated without installer context are checked first, then the run condition
+			InstallerConditionEvaluator.Result conditions = evaluateConditions( moduleConfig, installerClass, installerInstance );
+
+			if ( conditions != InstallerConditionEvaluator.Result.NO_MATCH
+					&& shouldPerformAction( action, moduleConfig.getModule(), metadata )
+					&& ( conditions == InstallerConditionEvaluator.Result.MATCH || conditionalsMet( moduleConfig.getModule(), installerClass ) ) ) {
+				takeBootstrapLock();
+				try {
+					performInstallerAction( action, moduleConfig.getModule(), metadata, installerInstance );
+				}
+				finally {
+					releaseBootstrapLock();
+				}
+			}
+			else {
+				LOG.debug( "Skipping installer {} because action {} should not be performed due to bean or run conditions not met.",
+				           metadata.getName(), action );
+				releaseBootstrapLock();
+			}
+		}
+		else {
+			LOG.debug( "Skipping installer {} because action is {}", metadata.getName(), action );
+		}
 	}
 
 	/**
-	 * Registers the installer bean and checks if the bean definition has been created.
+	 * Evaluates the installer conditions against the metadata, without creating the installer context.
+	 * If the installer context already exists or the module defines additional installer property sources,
+	 * conditions are always evaluated against the installer context.
 	 */
-	private boolean conditionalsMet( AcrossModule module, Class<?> installerClass, Optional<Object> installerInstance ) {
+	private InstallerConditionEvaluator.Result evaluateConditions( ModuleBootstrapConfig moduleConfig,
+	                                                              Class<?> installerClass,
+	                                                              Optional<Object> installerInstance ) {
 		if ( installerInstance.isPresent() ) {
 			// if an instance is passed, regular conditionals do not exist
-			return true;
+			return InstallerConditionEvaluator.Result.MATCH;
 		}
 
+		AcrossModule module = moduleConfig.getModule();
+		boolean forceFullContext = installerContexts.containsKey( module )
+				|| moduleConfig.getInstallerContextConfigurers().stream().anyMatch( PropertySourcesConfigurer.class::isInstance );
+
+		return InstallerConditionEvaluator.evaluate( installerClass, getInstallerParentContext( module ), forceFullContext );
+	}
+
+	/**
+	 * Registers the installer bean and checks if the bean definition has been created.
+	 */
+	private boolean conditionalsMet( AcrossModule module, Class<?> installerClass ) {
 		AcrossConfigurableApplicationContext installerContext = getInstallerContext( module );
-		installerContext.register( installerClass );
 
-		// if bean definition is present - conditions have been met
-		if ( installerContext.getBeanNamesForType( installerClass, true, false ).length > 0 ) {
-			return true;
+		synchronized ( installerContext ) {
+			installerContext.register( installerClass );
+
+			// if bean definition is present - conditions have been met
+			if ( installerContext.getBeanNamesForType( installerClass, true, false ).length > 0 ) {
+				return true;
+			}
 		}
 
 		LOG.trace( "Skipping installer {} as one or more conditionals have not been met", installerClass );
@@ -283,6 +535,12 @@ public class AcrossBootstrapInstallerRegistry
 		AcrossConfigurableApplicationContext installerContext = getInstallerContext( module );
 
 		if ( !installerInstance.isPresent() ) {
+			synchronized ( installerContext ) {
+				if ( installerContext.getBeanNamesForType( installerClass, true, false ).length == 0 ) {
+					installerContext.register( installerClass );
+				}
+			}
+
 			try {
 				return Optional.ofNullable( BeanFactoryUtils.beanOfType( installerContext, installerClass ) );
 			}
@@ -361,18 +619,18 @@ public class AcrossBootstrapInstallerRegistry
 	}
 
 	private void releaseBootstrapLock() {
-		if ( bootstrapLockManager != null ) {
+		if ( bootstrapLockManager != null && !bootstrapLockHeldForPhase ) {
 			bootstrapLockManager.ensureUnlocked();
 		}
 	}
 
 	private void takeBootstrapLock() {
-		if ( bootstrapLockManager != null ) {
+		if ( bootstrapLockManager != null && !bootstrapLockHeldForPhase ) {
 			bootstrapLockManager.ensureLocked();
 		}
 	}
 
-	private AcrossInstallerRepository getInstallerRepository() {
+	private synchronized AcrossInstallerRepository getInstallerRepository() {
 		if ( installerRepository == null ) {
 			installerRepository = AcrossContextUtils
 					.getBeanRegistry( contextConfig.getContext() )
@@ -398,6 +656,11 @@ public class AcrossBootstrapInstallerRegistry
 		return action;
 	}
 
+	private InstallerMetaData determineInstallerMetaData( Object installerOrClass ) {
+		Assert.notNull( installerOrClass, "Installer instance should never be null." );
+		return InstallerMetaData.forClass( determineInstallerClass( installerOrClass ) );
+	}
+
 	private Class determineInstallerClass( Object installerOrClass ) {
 		return installerOrClass instanceof Class ? (Class) installerOrClass : installerOrClass.getClass();
 	}
@@ -406,7 +669,7 @@ public class AcrossBootstrapInstallerRegistry
 		return installerOrClass instanceof Class ? Optional.empty() : Optional.of( installerOrClass );
 	}
 
-	private AcrossConfigurableApplicationContext getInstallerContext( AcrossModule module ) {
+	private synchronized AcrossConfigurableApplicationContext getInstallerContext( AcrossModule module ) {
 		boolean created = false;
 
 		if ( !installerContexts.containsKey( module ) ) {
@@ -420,16 +683,8 @@ public class AcrossBootstrapInstallerRegistry
 
 		AcrossConfigurableApplicationContext installerContext = installerContexts.get( module );
 
-		AcrossApplicationContextHolder moduleContext
-				= AcrossContextUtils.getAcrossApplicationContextHolder( module );
-
 		// Ensure the installer ApplicationContext has the right parent
-		if ( moduleContext == null ) {
-			installerContext.setParent( AcrossContextUtils.getApplicationContext( contextConfig.getContext() ) );
-		}
-		else {
-			installerContext.setParent( AcrossContextUtils.getApplicationContext( module ) );
-		}
+		installerContext.setParent( getInstallerParentContext( module ) );
 
 		if ( created ) {
 			applicationContextFactory.loadApplicationContext(
@@ -440,6 +695,20 @@ public class AcrossBootstrapInstallerRegistry
 		return installerContext;
 	}
 
+	/**
+	 * The parent of the installer context is the module context if it has been created, else the Across context.
+	 */
+	private AcrossConfigurableApplicationContext getInstallerParentContext( AcrossModule module ) {
+		AcrossApplicationContextHolder moduleContext
+				= AcrossContextUtils.getAcrossApplicationContextHolder( module );
+
+		if ( moduleContext == null ) {
+			return AcrossContextUtils.getApplicationContext( contextConfig.getContext() );
+		}
+
+		return AcrossContextUtils.getApplicationContext( module );
+	}
+
 	/**
 	 * Destroy the installer registry, this will destroy all created installer application context instances.
 	 */
@@ -452,6 +721,14 @@ public class AcrossBootstrapInstallerRegistry
 		installerContexts.clear();
 	}
 
+	@RequiredArgsConstructor
+	private static class PendingInstaller
+	{
+		private final ModuleBootstrapConfig moduleConfig;
+		private final InstallerMetaData metadata;
+		private final Object installerOrClass;
+	}
+
 	@Getter
 	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 	public static class ModuleInstallersTimeReport
@@ -35,7 +35,7 @@ public class AcrossCoreSchemaInstaller
 {
 	private static final Logger LOG = LoggerFactory.getLogger( AcrossCoreSchemaInstaller.class );
 
-	private static final int EXPECTED_VERSION = 1;
+	private static final int EXPECTED_VERSION = 2;
 	private static final String MODULE_NAME = "Across";
 	private static final String INSTALLER_NAME = "AcrossCoreSchemaInstaller";
 
@@ -71,7 +71,7 @@ public class AcrossCoreSchemaInstaller
 				liquibase.setDefaultSchema( defaultSchema );
 			}
 
-			liquibase.afterPropertiesSet();
+			ThreadLocalLiquibaseScopeManager.execute( liquibase::afterPropertiesSet );
 
 			updateInstalledVersion( EXPECTED_VERSION );
 		}
@@ -136,7 +136,7 @@ public class AcrossInstallerRepositoryImpl implements AcrossInstallerRepository
 		return determineId( installerName );
 	}
 
-	private String determineId( String name ) {
+	static String determineId( String name ) {
 		if ( StringUtils.length( name ) > 120 ) {
 			return DigestUtils.md5DigestAsHex( name.getBytes( Charset.forName( "UTF-8" ) ) );
 		}
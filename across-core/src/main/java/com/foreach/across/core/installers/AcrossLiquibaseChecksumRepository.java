@@ -0,0 +1,169 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.installers;
+
+import com.foreach.across.core.database.AcrossSchemaConfiguration;
+import liquibase.changelog.ChangeSet;
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps track of the combined checksum of the changelog that an {@link AcrossLiquibaseInstaller} has last applied.
+ * If the checksum and target schema have not changed, and the Liquibase changelog table still contains the same
+ * number of its changesets, the installer can skip the actual Liquibase update.  The changelog table is only
+ * queried for the changesets of the changelog, and only if the checksum matches.
+ * Records are stored in the {@link AcrossSchemaConfiguration#TABLE_SCHEMA_CHECKSUMS} table of the core schema.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+public class AcrossLiquibaseChecksumRepository
+{
+	private static final String SQL_SELECT_CHECKSUM =
+			"select target_schema, checksum, applied_changesets from {table} where module_id = ? and installer_id = ?";
+	private static final String SQL_UPDATE_CHECKSUM =
+			"update {table} set target_schema = ?, checksum = ?, applied_changesets = ?, updated = ? where module_id = ? and installer_id = ?";
+	private static final String SQL_INSERT_CHECKSUM =
+			"insert into {table} (module_id, installer_id, target_schema, checksum, applied_changesets, updated) VALUES (?, ?, ?, ?, ?, ?)";
+	private static final String SQL_SELECT_CHANGESETS = "select id, author from {table} where id in ({ids})";
+
+	/**
+	 * Maximum number of changeset ids in a single changelog table query.
+	 */
+	private static final int CHANGESET_BATCH_SIZE = 250;
+
+	/**
+	 * DataSource in which the checksums are stored.
+	 */
+	@Getter
+	private final DataSource dataSource;
+
+	private final JdbcTemplate jdbcTemplate;
+	private String tableName = AcrossSchemaConfiguration.TABLE_SCHEMA_CHECKSUMS;
+
+	public AcrossLiquibaseChecksumRepository( DataSource dataSource ) {
+		this.dataSource = dataSource;
+		this.jdbcTemplate = new JdbcTemplate( dataSource );
+	}
+
+	public void setSchema( String schema ) {
+		tableName = StringUtils.isBlank( schema )
+				? AcrossSchemaConfiguration.TABLE_SCHEMA_CHECKSUMS
+				: schema + "." + AcrossSchemaConfiguration.TABLE_SCHEMA_CHECKSUMS;
+	}
+
+	/**
+	 * Count the changesets of a changelog that are registered in the Liquibase changelog table.
+	 * Only the rows having the id of one of the changesets are read, in batches of changeset ids.
+	 *
+	 * @param changeLogTable name of the Liquibase changelog table, optionally prefixed with the schema
+	 * @param changeSets     changesets of the changelog
+	 * @return number of changesets registered, {@code null} if the changelog table does not exist
+	 */
+	public Integer countAppliedChangeSets( String changeLogTable, Collection<ChangeSet> changeSets ) {
+		Set<String> changeSetIds = changeSets.stream()
+		                                     .map( changeSet -> changeSetId( changeSet.getId(), changeSet.getAuthor() ) )
+		                                     .collect( Collectors.toSet() );
+		List<String> ids = changeSets.stream().map( ChangeSet::getId ).distinct().collect( Collectors.toList() );
+
+		try {
+			int count = 0;
+
+			for ( int start = 0; start < ids.size(); start += CHANGESET_BATCH_SIZE ) {
+				List<String> batch = ids.subList( start, Math.min( ids.size(), start + CHANGESET_BATCH_SIZE ) );
+				String sql = StringUtils.replaceEach(
+						SQL_SELECT_CHANGESETS,
+						new String[] { "{table}", "{ids}" },
+						new String[] { changeLogTable, StringUtils.repeat( "?", ", ", batch.size() ) }
+				);
+				count += jdbcTemplate.query( sql, ( rs, rowNum ) -> changeSetId( rs.getString( 1 ), rs.getString( 2 ) ), batch.toArray() )
+				                     .stream()
+				                     .filter( changeSetIds::contains )
+				                     .count();
+			}
+
+			return count;
+		}
+		catch ( DataAccessException dae ) {
+			return null;
+		}
+	}
+
+	/**
+	 * Get the number of changesets that were registered in the Liquibase changelog table when the installer
+	 * last applied the same changelog checksum to the same schema.
+	 *
+	 * @param moduleName    name of the module
+	 * @param installerName name of the installer
+	 * @param targetSchema  schema the changelog was applied to
+	 * @param checksum      checksum of the changelog
+	 * @return number of changesets or {@code null} if the changelog has not yet been applied with that checksum
+	 */
+	public Integer getAppliedChangeSets( String moduleName, String installerName, String targetSchema, String checksum ) {
+		List<Integer> matches = jdbcTemplate.query(
+				applyTable( SQL_SELECT_CHECKSUM ),
+				( rs, rowNum ) -> Objects.equals( StringUtils.defaultString( targetSchema ), StringUtils.defaultString( rs.getString( 1 ) ) )
+						&& Objects.equals( checksum, rs.getString( 2 ) ) ? rs.getInt( 3 ) : null,
+				AcrossInstallerRepositoryImpl.determineId( moduleName ),
+				AcrossInstallerRepositoryImpl.determineId( installerName )
+		);
+
+		return matches.isEmpty() ? null : matches.get( 0 );
+	}
+
+	/**
+	 * Register the checksum of the changelog that has been applied by an installer.
+	 *
+	 * @param moduleName        name of the module
+	 * @param installerName     name of the installer
+	 * @param targetSchema      schema the changelog was applied to
+	 * @param checksum          checksum of the changelog
+	 * @param appliedChangeSets number of changesets registered in the changelog table after the update
+	 */
+	public void setApplied( String moduleName, String installerName, String targetSchema, String checksum, int appliedChangeSets ) {
+		String moduleId = AcrossInstallerRepositoryImpl.determineId( moduleName );
+		String installerId = AcrossInstallerRepositoryImpl.determineId( installerName );
+
+		if ( jdbcTemplate.update( applyTable( SQL_UPDATE_CHECKSUM ), targetSchema, checksum, appliedChangeSets, new Date(), moduleId, installerId ) == 0 ) {
+			try {
+				jdbcTemplate.update( applyTable( SQL_INSERT_CHECKSUM ), moduleId, installerId, targetSchema, checksum, appliedChangeSets, new Date() );
+			}
+			catch ( DuplicateKeyException dke ) {
+				// concurrent registration
+				jdbcTemplate.update( applyTable( SQL_UPDATE_CHECKSUM ), targetSchema, checksum, appliedChangeSets, new Date(), moduleId, installerId );
+			}
+		}
+	}
+
+	private String changeSetId( String id, String author ) {
+		return id + "::" + author;
+	}
+
+	private String applyTable( String sql ) {
+		return StringUtils.replace( sql, "{table}", tableName );
+	}
+}
@@ -25,24 +25,42 @@ import com.foreach.across.core.context.info.AcrossModuleInfo;
 import com.foreach.across.core.context.support.ModuleBeanSelectorUtils;
 import com.foreach.across.core.database.SchemaConfiguration;
 import com.foreach.across.core.database.SchemaObject;
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
 import liquibase.exception.LiquibaseException;
 import liquibase.integration.spring.SpringLiquibase;
+import liquibase.integration.spring.SpringResourceAccessor;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.resource.ResourceAccessor;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.util.DigestUtils;
 
 import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 /**
  * This class is the base for Installers which run liquibase update on installation
+ * <p/>
+ * The combined checksum of the changelog (including all included changelogs) is registered after a successful update.
+ * If the same changelog has already been applied to the same target schema, and the changelog table still contains
+ * the same number of its changesets, the Liquibase update is skipped entirely, avoiding the changelog lock.  Set the property {@link #VALIDATE_PROPERTY} to
+ * {@code true} to always perform a full Liquibase update.
  *
  * @author Arne Vandamme
  * @author Andy Debrouwer
@@ -50,7 +68,13 @@ import java.util.Optional;
 @InstallerGroup(InstallerGroup.SCHEMA)
 public abstract class AcrossLiquibaseInstaller
 {
+	/**
+	 * Set to {@code true} to force a full Liquibase update, even if the changelog checksum has not changed.
+	 */
+	public static final String VALIDATE_PROPERTY = "across.installers.liquibase.validate";
+
 	private static final Logger LOG = LoggerFactory.getLogger( AcrossLiquibaseInstaller.class );
+	private static final String DEFAULT_CHANGELOG_TABLE = "DATABASECHANGELOG";
 
 	@Autowired
 	private ApplicationContext applicationContext;
@@ -63,6 +87,12 @@ public abstract class AcrossLiquibaseInstaller
 	@Qualifier(AcrossContext.INSTALLER_DATASOURCE)
 	private DataSource dataSource;
 
+	@Autowired
+	private Environment environment;
+
+	@Autowired
+	private ObjectProvider<AcrossLiquibaseChecksumRepository> checksumRepository;
+
 	private SchemaConfiguration schemaConfiguration;
 	private String defaultSchema;
 	private String changeLog;
@@ -196,13 +226,111 @@ public abstract class AcrossLiquibaseInstaller
 	 */
 	@InstallerMethod
 	public void install() throws LiquibaseException {
+		ThreadLocalLiquibaseScopeManager.register();
 		SpringLiquibase liquibase = createSpringLiquibase();
 
 		if ( liquibase.getResourceLoader() == null ) {
 			liquibase.setResourceLoader( applicationContext );
 		}
 
-		liquibase.afterPropertiesSet();
+		AcrossLiquibaseChecksumRepository repository = resolveChecksumRepository( liquibase );
+		String installerName = InstallerMetaData.forClass( getClass() ).getName();
+		DatabaseChangeLog databaseChangeLog = repository != null ? parseChangeLog( liquibase ) : null;
+		String checksum = databaseChangeLog != null ? calculateChangeLogChecksum( liquibase, databaseChangeLog ) : null;
+
+		if ( checksum != null ) {
+			Integer expectedChangeSets = repository.getAppliedChangeSets( moduleInfo.getName(), installerName, liquibase.getDefaultSchema(), checksum );
+
+			if ( expectedChangeSets != null
+					&& expectedChangeSets.equals( repository.countAppliedChangeSets( getChangeLogTable( liquibase ), databaseChangeLog.getChangeSets() ) ) ) {
+				LOG.debug( "Skipping liquibase update for {} - changelog {} has already been applied", installerName, liquibase.getChangeLog() );
+				return;
+			}
+		}
+
+		ThreadLocalLiquibaseScopeManager.execute( liquibase::afterPropertiesSet );
+
+		if ( checksum != null ) {
+			Integer appliedChangeSets = repository.countAppliedChangeSets( getChangeLogTable( liquibase ), databaseChangeLog.getChangeSets() );
+
+			if ( appliedChangeSets != null ) {
+				repository.setApplied( moduleInfo.getName(), installerName, liquibase.getDefaultSchema(), checksum, appliedChangeSets );
+			}
+		}
+	}
+
+	/**
+	 * Checksums are only used if validation is not forced, and if the changelog is applied to the datasource
+	 * containing the core schema, else the checksum might not reflect the actual state of the target database.
+	 */
+	private AcrossLiquibaseChecksumRepository resolveChecksumRepository( SpringLiquibase liquibase ) {
+		if ( checksumRepository == null || environment == null || environment.getProperty( VALIDATE_PROPERTY, Boolean.class, false ) ) {
+			return null;
+		}
+
+		AcrossLiquibaseChecksumRepository repository = checksumRepository.getIfAvailable();
+		return repository != null && repository.getDataSource() == liquibase.getDataSource() ? repository : null;
+	}
+
+	/**
+	 * Parses the changelog, including all includes, using the same changelog parameters, contexts and labels
+	 * as the actual update.  Parsing the changelog does not require a database connection.
+	 *
+	 * @param liquibase configured instance
+	 * @return parsed changelog or {@code null} if it could not be parsed
+	 */
+	private DatabaseChangeLog parseChangeLog( SpringLiquibase liquibase ) {
+		try {
+			ChangeLogParameters changeLogParameters = new ChangeLogParameters();
+			buildParameters( getSchemaConfiguration() ).forEach( changeLogParameters::set );
+			changeLogParameters.setContexts( new Contexts( liquibase.getContexts() ) );
+			changeLogParameters.setLabels( new LabelExpression( liquibase.getLabels() ) );
+
+			ResourceAccessor resourceAccessor = new SpringResourceAccessor( liquibase.getResourceLoader() );
+			return ChangeLogParserFactory.getInstance()
+			                             .getParser( liquibase.getChangeLog(), resourceAccessor )
+			                             .parse( liquibase.getChangeLog(), changeLogParameters, resourceAccessor );
+		}
+		catch ( LiquibaseException le ) {
+			LOG.debug( "Unable to parse changelog {} - performing full update", liquibase.getChangeLog(), le );
+			return null;
+		}
+	}
+
+	private String getChangeLogTable( SpringLiquibase liquibase ) {
+		String schema = StringUtils.defaultIfBlank( liquibase.getLiquibaseSchema(), liquibase.getDefaultSchema() );
+		String table = StringUtils.defaultIfBlank( liquibase.getDatabaseChangeLogTable(), DEFAULT_CHANGELOG_TABLE );
+		return StringUtils.isBlank( schema ) ? table : schema + "." + table;
+	}
+
+	/**
+	 * Calculates a combined checksum of the parsed changelog, the changelog parameters and the target schema.
+	 * If the changelog contains changesets that should always run, no checksum is returned as the update can
+	 * never be skipped.
+	 *
+	 * @param liquibase         configured instance
+	 * @param databaseChangeLog parsed changelog
+	 * @return checksum or {@code null} if the changelog should always be executed
+	 */
+	protected String calculateChangeLogChecksum( SpringLiquibase liquibase, DatabaseChangeLog databaseChangeLog ) {
+		StringBuilder checksumSource = new StringBuilder()
+				.append( liquibase.getChangeLog() ).append( '\n' )
+				.append( liquibase.getDefaultSchema() ).append( '\n' )
+				.append( liquibase.getContexts() ).append( '\n' )
+				.append( liquibase.getLabels() ).append( '\n' )
+				.append( new TreeMap<>( buildParameters( getSchemaConfiguration() ) ) ).append( '\n' );
+
+		for ( ChangeSet changeSet : databaseChangeLog.getChangeSets() ) {
+			if ( changeSet.isAlwaysRun() ) {
+				return null;
+			}
+			checksumSource.append( changeSet.getFilePath() ).append( "::" )
+			              .append( changeSet.getId() ).append( "::" )
+			              .append( changeSet.getAuthor() ).append( "::" )
+			              .append( changeSet.generateCheckSum() ).append( '\n' );
+		}
+
+		return DigestUtils.md5DigestAsHex( checksumSource.toString().getBytes( StandardCharsets.UTF_8 ) );
 	}
 
 	/**
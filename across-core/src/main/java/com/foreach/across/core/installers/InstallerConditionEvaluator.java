@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.installers;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.ConfigurationCondition;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.MultiValueMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluates the {@link Conditional} annotations of an installer class directly against the metadata,
+ * using the {@link ConfigurableApplicationContext} that would be the parent of the installer context.
+ * This avoids having to create the installer context and register the installer class as a bean
+ * only to determine if the installer is applicable.
+ * <p>
+ * Conditions that must be evaluated when registering a bean (eg. {@code @ConditionalOnBean}) can depend on the
+ * beans present in the installer context itself, for those {@link Result#REQUIRES_CONTEXT} is returned.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+final class InstallerConditionEvaluator
+{
+	enum Result
+	{
+		MATCH,
+		NO_MATCH,
+		REQUIRES_CONTEXT
+	}
+
+	private InstallerConditionEvaluator() {
+	}
+
+	/**
+	 * @param installerClass  installer class with condition annotations
+	 * @param parentContext   context that would be the parent of the installer context
+	 * @param forceFullContext true if conditions should only be evaluated against the installer context
+	 * @return result of the condition evaluation
+	 */
+	static Result evaluate( Class<?> installerClass, ConfigurableApplicationContext parentContext, boolean forceFullContext ) {
+		AnnotationMetadata metadata = AnnotationMetadata.introspect( installerClass );
+
+		if ( !metadata.isAnnotated( Conditional.class.getName() ) ) {
+			return Result.MATCH;
+		}
+
+		if ( forceFullContext ) {
+			return Result.REQUIRES_CONTEXT;
+		}
+
+		ConditionContext conditionContext = new InstallerConditionContext( parentContext );
+		boolean requiresContext = false;
+
+		for ( Condition condition : getConditions( metadata, conditionContext.getClassLoader() ) ) {
+			if ( condition instanceof ConfigurationCondition
+					&& ( (ConfigurationCondition) condition ).getConfigurationPhase() == ConfigurationCondition.ConfigurationPhase.REGISTER_BEAN ) {
+				requiresContext = true;
+			}
+			else if ( !condition.matches( conditionContext, metadata ) ) {
+				return Result.NO_MATCH;
+			}
+		}
+
+		return requiresContext ? Result.REQUIRES_CONTEXT : Result.MATCH;
+	}
+
+	private static List<Condition> getConditions( AnnotationMetadata metadata, ClassLoader classLoader ) {
+		List<Condition> conditions = new ArrayList<>();
+		MultiValueMap<String, Object> attributes = metadata.getAllAnnotationAttributes( Conditional.class.getName(), true );
+
+		if ( attributes != null ) {
+			for ( Object conditionClassNames : attributes.get( "value" ) ) {
+				for ( String conditionClassName : (String[]) conditionClassNames ) {
+					Class<?> conditionClass = ClassUtils.resolveClassName( conditionClassName, classLoader );
+					conditions.add( (Condition) BeanUtils.instantiateClass( conditionClass ) );
+				}
+			}
+		}
+
+		return conditions;
+	}
+
+	private static final class InstallerConditionContext implements ConditionContext
+	{
+		private final ConfigurableApplicationContext applicationContext;
+
+		InstallerConditionContext( ConfigurableApplicationContext applicationContext ) {
+			this.applicationContext = applicationContext;
+		}
+
+		@Override
+		public BeanDefinitionRegistry getRegistry() {
+			ConfigurableListableBeanFactory beanFactory = applicationContext.getBeanFactory();
+			return beanFactory instanceof BeanDefinitionRegistry
+					? (BeanDefinitionRegistry) beanFactory : (BeanDefinitionRegistry) applicationContext;
+		}
+
+		@Override
+		public ConfigurableListableBeanFactory getBeanFactory() {
+			return applicationContext.getBeanFactory();
+		}
+
+		@Override
+		public Environment getEnvironment() {
+			return applicationContext.getEnvironment();
+		}
+
+		@Override
+		public ResourceLoader getResourceLoader() {
+			return applicationContext;
+		}
+
+		@Override
+		public ClassLoader getClassLoader() {
+			ClassLoader classLoader = applicationContext.getClassLoader();
+			return classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader();
+		}
+	}
+}
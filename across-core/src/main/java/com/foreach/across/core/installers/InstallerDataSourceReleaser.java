@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.installers;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Releases the connections held by a separate installer datasource once the Across context has bootstrapped.
+ * The datasource itself remains usable: connections are opened again on demand, for example by installers
+ * that are executed at runtime.
+ * <p/>
+ * Only a HikariCP pool is supported: its minimum idle setting is changed to zero for the remaining lifetime
+ * of the pool and its idle connections are evicted.  Other datasources are left untouched.
+ * <p/>
+ * Releasing is opt-in by setting the property {@code across.installers.datasource.release} to {@code true}.
+ * Across cannot determine which other beans use the installer datasource, so it should only be enabled
+ * if the pool is used exclusively by installers.
+ *
+ * @author agent
+ * @see com.foreach.across.core.AcrossContext#setInstallerDataSource(DataSource)
+ * @since 5.3.0
+ */
+@Slf4j
+public final class InstallerDataSourceReleaser
+{
+	/**
+	 * Property to enable releasing the installer datasource after bootstrap.
+	 */
+	public static final String RELEASE_PROPERTY = "across.installers.datasource.release";
+
+	private static final boolean HIKARI_PRESENT = ClassUtils.isPresent(
+			"com.zaxxer.hikari.HikariDataSource", InstallerDataSourceReleaser.class.getClassLoader()
+	);
+
+	private InstallerDataSourceReleaser() {
+	}
+
+	/**
+	 * Release the connections of the installer datasource, if it is not the same as the application datasource.
+	 *
+	 * @param installerDataSource   datasource used for installers
+	 * @param applicationDataSource datasource used by the application
+	 * @return true if connections have been released
+	 */
+	public static boolean release( DataSource installerDataSource, DataSource applicationDataSource ) {
+		if ( installerDataSource == null || installerDataSource == applicationDataSource ) {
+			return false;
+		}
+
+		if ( HIKARI_PRESENT && HikariPool.release( installerDataSource, applicationDataSource ) ) {
+			return true;
+		}
+
+		LOG.trace( "Installer datasource {} does not support releasing its connections", installerDataSource );
+		return false;
+	}
+
+	private static class HikariPool
+	{
+		static boolean release( DataSource installerDataSource, DataSource applicationDataSource ) {
+			HikariDataSource hikariDataSource = DataSourceUnwrapper.unwrap( installerDataSource, HikariDataSource.class );
+
+			if ( hikariDataSource == null || hikariDataSource == applicationDataSource || hikariDataSource.isClosed() ) {
+				return false;
+			}
+
+			hikariDataSource.getHikariConfigMXBean().setMinimumIdle( 0 );
+
+			if ( hikariDataSource.getHikariPoolMXBean() != null ) {
+				hikariDataSource.getHikariPoolMXBean().softEvictConnections();
+			}
+
+			LOG.debug( "Released the idle connections of installer datasource {}", hikariDataSource.getPoolName() );
+			return true;
+		}
+	}
+}
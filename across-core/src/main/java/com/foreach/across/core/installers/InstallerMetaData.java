@@ -37,7 +37,7 @@ import java.util.Objects;
  */
 public class InstallerMetaData
 {
-	private String name, description, group;
+	private String name, description, group, parallelGroup;
 	private int version;
 	private InstallerPhase installerPhase;
 	private InstallerRunCondition runCondition;
@@ -70,6 +70,18 @@ public class InstallerMetaData
 		this.group = group;
 	}
 
+	/**
+	 * @return the parallel group of the installer (can be {@code null})
+	 * @see com.foreach.across.core.annotations.Installer#parallelGroup()
+	 */
+	public String getParallelGroup() {
+		return parallelGroup;
+	}
+
+	protected void setParallelGroup( String parallelGroup ) {
+		this.parallelGroup = parallelGroup;
+	}
+
 	public int getVersion() {
 		return version;
 	}
@@ -135,6 +147,7 @@ public class InstallerMetaData
 				Objects.equals( getName(), metaData.getName() ) &&
 				Objects.equals( getDescription(), metaData.getDescription() ) &&
 				Objects.equals( getGroup(), metaData.getGroup() ) &&
+				Objects.equals( getParallelGroup(), metaData.getParallelGroup() ) &&
 				Objects.equals( getInstallerPhase(), metaData.getInstallerPhase() ) &&
 				Objects.equals( getRunCondition(), metaData.getRunCondition() ) &&
 				Objects.equals( getInstallerClass(), metaData.getInstallerClass() );
@@ -142,7 +155,7 @@ public class InstallerMetaData
 
 	@Override
 	public int hashCode() {
-		return Objects.hash( getName(), getDescription(), getGroup(), getVersion(), getInstallerPhase(),
+		return Objects.hash( getName(), getDescription(), getGroup(), getParallelGroup(), getVersion(), getInstallerPhase(),
 		                     getRunCondition(),
 		                     getInstallerClass() );
 	}
@@ -184,6 +197,10 @@ public class InstallerMetaData
 		profile.setInstallerPhase( metadata.phase() );
 		profile.setVersion( metadata.version() );
 
+		if ( StringUtils.hasLength( metadata.parallelGroup() ) ) {
+			profile.setParallelGroup( metadata.parallelGroup() );
+		}
+
 		InstallerGroup groupAnnotation = AnnotationUtils.findAnnotation( actual, InstallerGroup.class );
 
 		if ( groupAnnotation != null ) {
@@ -29,6 +29,8 @@ public class InstallerSettings
 
 	private InstallerActionResolver priorityActionResolver;
 
+	private int maximumParallelInstallers = 1;
+
 	private Map<String, InstallerAction> groupActions = new HashMap<>();
 	private Map<String, InstallerAction> installerActions = new HashMap<>();
 
@@ -84,6 +86,29 @@ public class InstallerSettings
 		this.priorityActionResolver = priorityActionResolver;
 	}
 
+	/**
+	 * @return maximum number of installers that can be executed at the same time (default is 1)
+	 */
+	public int getMaximumParallelInstallers() {
+		return maximumParallelInstallers;
+	}
+
+	/**
+	 * Set the maximum number of installers that can be executed at the same time.  Defaults to 1, which means
+	 * all installers are executed one after the other.  With a value higher than 1, installers of the context-wide
+	 * phases ({@link InstallerPhase#BeforeContextBootstrap} and {@link InstallerPhase#AfterContextBootstrap}) that
+	 * have a different {@link com.foreach.across.core.annotations.Installer#parallelGroup()} will be executed concurrently.
+	 * <p/>
+	 * Only the value on the context installer settings is used, module installer settings are ignored.
+	 *
+	 * @param maximumParallelInstallers number of threads, at least 1
+	 * @since 5.3.0
+	 */
+	public void setMaximumParallelInstallers( int maximumParallelInstallers ) {
+		Assert.isTrue( maximumParallelInstallers > 0, "At least 1 installer should be allowed to execute." );
+		this.maximumParallelInstallers = maximumParallelInstallers;
+	}
+
 	public void setActionForInstallerGroups( InstallerAction action, String... groups ) {
 		setActionForInstallerGroups( action, Arrays.asList( groups ) );
 	}
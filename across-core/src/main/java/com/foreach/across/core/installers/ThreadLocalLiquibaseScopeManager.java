@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.installers;
+
+import liquibase.Scope;
+import liquibase.ScopeManager;
+import liquibase.exception.LiquibaseException;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Liquibase {@link ScopeManager} that keeps track of the current scope per thread.
+ * The default Liquibase scope manager shares a single current scope across all threads,
+ * causing Liquibase updates that run concurrently (eg. installers of different parallel groups) to fail.
+ * <p/>
+ * Threads that have not entered a scope use the shared root scope.
+ * Registered by Across before any Liquibase update is run, see {@link #register()}.
+ * <p/>
+ * Some Liquibase operations (eg. drop all) reset the JVM-wide lock and history services,
+ * breaking operations running concurrently in other threads.  Those operations should be executed
+ * using {@link #executeExclusively(LiquibaseOperation)}, regular updates using {@link #execute(LiquibaseOperation)}.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+public final class ThreadLocalLiquibaseScopeManager extends ScopeManager
+{
+	private static final ReadWriteLock SERVICES_LOCK = new ReentrantReadWriteLock();
+
+	private static boolean registered;
+
+	private final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+	private volatile Scope rootScope;
+
+	private ThreadLocalLiquibaseScopeManager() {
+	}
+
+	/**
+	 * Register the thread local scope manager with Liquibase, only the first call has any effect.
+	 */
+	public static synchronized void register() {
+		if ( !registered ) {
+			Scope.setScopeManager( new ThreadLocalLiquibaseScopeManager() );
+			registered = true;
+		}
+	}
+
+	/**
+	 * Execute an operation that uses the shared Liquibase services, can run concurrently with other
+	 * operations executed this way.  Registers the scope manager if necessary.
+	 *
+	 * @param operation to execute
+	 * @throws LiquibaseException thrown by the operation
+	 */
+	public static void execute( LiquibaseOperation operation ) throws LiquibaseException {
+		execute( SERVICES_LOCK.readLock(), operation );
+	}
+
+	/**
+	 * Execute an operation that resets the shared Liquibase services, no other operations will be running.
+	 * Registers the scope manager if necessary.
+	 *
+	 * @param operation to execute
+	 * @throws LiquibaseException thrown by the operation
+	 */
+	public static void executeExclusively( LiquibaseOperation operation ) throws LiquibaseException {
+		execute( SERVICES_LOCK.writeLock(), operation );
+	}
+
+	private static void execute( Lock lock, LiquibaseOperation operation ) throws LiquibaseException {
+		register();
+		lock.lock();
+		try {
+			operation.execute();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public Scope getCurrentScope() {
+		Scope scope = currentScope.get();
+		return scope != null ? scope : rootScope;
+	}
+
+	@Override
+	protected void setCurrentScope( Scope scope ) {
+		if ( rootScope == null ) {
+			rootScope = scope;
+		}
+
+		if ( scope == rootScope ) {
+			currentScope.remove();
+		}
+		else {
+			currentScope.set( scope );
+		}
+	}
+
+	@Override
+	protected Scope init( Scope scope ) {
+		return scope;
+	}
+
+	@FunctionalInterface
+	public interface LiquibaseOperation
+	{
+		void execute() throws LiquibaseException;
+	}
+}
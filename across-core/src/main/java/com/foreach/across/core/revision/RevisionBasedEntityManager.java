@@ -19,21 +19,42 @@ package com.foreach.across.core.revision;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Base class for revision based interaction of entities.  Supports creating and updating drafts,
  * making drafts final (checkin) and creating draft records based on an existing version (checkout).
+ * <p>
+ * By default all entities of a revision are loaded in memory and matched by identifier.  For very large
+ * revisions, streaming can be enabled using {@link #setStreamingEnabled(boolean)}: entities will then be
+ * retrieved using {@link #loadOrderedEntitiesForRevision(Object, int)} and all draft/non-draft matching is
+ * done as a sorted merge, keeping only the entities of a single identifier in memory.</p>
  *
  * @author Arne Vandamme
  */
 public abstract class RevisionBasedEntityManager<T extends RevisionBasedEntity<T>, U, R extends Revision<U>>
 {
-	protected static final class RevisionPair<T>
+	protected static final class RevisionPair<T extends RevisionBasedEntity<T>>
 	{
 		private T draft, nonDraft;
+
+		private void add( T item ) {
+			if ( item.isDraft() ) {
+				draft = item;
+			}
+			else {
+				nonDraft = item;
+			}
+		}
+
+		private Object getEntityIdentifier() {
+			return draft != null ? draft.getEntityIdentifier() : nonDraft.getEntityIdentifier();
+		}
 	}
 
 	private boolean allowRevisionModification;
+	private boolean streamingEnabled;
 
 	protected RevisionBasedEntityManager() {
 		this( false );
@@ -60,6 +81,22 @@ public abstract class RevisionBasedEntityManager<T extends RevisionBasedEntity<T
 		this.allowRevisionModification = allowRevisionModification;
 	}
 
+	public boolean isStreamingEnabled() {
+		return streamingEnabled;
+	}
+
+	/**
+	 * If streaming is enabled, {@link #checkin(Object, int, int)}, {@link #checkout(Object, int)} and
+	 * {@link #deleteEntities(Object, int)} will iterate over {@link #loadOrderedEntitiesForRevision(Object, int)}
+	 * instead of loading the entire revision in memory.  Only makes sense if the implementation returns a
+	 * cursor based stream, the default implementation sorts the entire revision in memory.
+	 *
+	 * @param streamingEnabled True if revision entities should be processed as an ordered stream.
+	 */
+	protected void setStreamingEnabled( boolean streamingEnabled ) {
+		this.streamingEnabled = streamingEnabled;
+	}
+
 	/**
 	 * Returns the single entity for that revision.
 	 */
@@ -100,6 +137,34 @@ public abstract class RevisionBasedEntityManager<T extends RevisionBasedEntity<T
 		return revisionNumber == Revision.DRAFT ? filterObsoleteEntities( candidates ) : candidates;
 	}
 
+	/**
+	 * Streams the most applicable entities for a particular revision, ordered by entity identifier.
+	 * In case the requested revision is a draft, either draft or latest checked in version might be returned,
+	 * but only one of both.
+	 * <p>
+	 * If {@link #loadOrderedEntitiesForRevision(Object, int)} returns a cursor, the stream should be consumed
+	 * and closed within the transaction of the caller.</p>
+	 */
+	@Transactional(readOnly = true)
+	public Stream<T> streamEntitiesForRevision( R revision ) {
+		return streamEntitiesForRevision( revision.getRevisionOwner(), revision.getRevisionNumber() );
+	}
+
+	/**
+	 * Streams the most applicable entities for a particular revision, ordered by entity identifier.
+	 * In case the requested revision is a draft, either draft or latest checked in version might be returned,
+	 * but only one of both.
+	 * <p>
+	 * If {@link #loadOrderedEntitiesForRevision(Object, int)} returns a cursor, the stream should be consumed
+	 * and closed within the transaction of the caller.</p>
+	 */
+	@Transactional(readOnly = true)
+	public Stream<T> streamEntitiesForRevision( U owner, int revisionNumber ) {
+		Stream<T> candidates = loadOrderedEntitiesForRevision( owner, revisionNumber );
+
+		return revisionNumber == Revision.DRAFT ? filterObsoleteEntities( candidates ) : candidates;
+	}
+
 	/**
 	 * Filters all entities from the collection that have been removed or updated by a corresponding
 	 * draft record.  Only the applicable draft records will be kept in that case.
@@ -119,6 +184,16 @@ public abstract class RevisionBasedEntityManager<T extends RevisionBasedEntity<T
 		return filtered;
 	}
 
+	/**
+	 * Filters all entities from a stream ordered by entity identifier that have been removed or updated
+	 * by a corresponding draft record.  Only the applicable draft records will be kept in that case.
+	 */
+	protected Stream<T> filterObsoleteEntities( Stream<T> orderedCandidates ) {
+		return pairRevisions( orderedCandidates )
+				.map( pair -> pair.draft != null ? pair.draft : pair.nonDraft )
+				.filter( use -> !use.isDeleteForRevision() );
+	}
+
 	@Transactional
 	public void saveEntityForRevision( T entity, R revision ) {
 		saveEntityForRevision( entity, revision.getRevisionOwner(), revision.getRevisionNumber() );
@@ -142,78 +217,144 @@ public abstract class RevisionBasedEntityManager<T extends RevisionBasedEntity<T
 		boolean useDraft = revisionNumber == Revision.DRAFT;
 
 		for ( T entity : entities ) {
-			entity.setFirstRevision( revisionNumber );
+			prepareForRevision( entity, revisionNumber );
+			saveEntity( entity, pairs.get( entity.getEntityIdentifier() ), useDraft );
+
+			pairs.remove( entity.getEntityIdentifier() );
+		}
+
+		// All pairs left should be removed
+		for ( RevisionPair<T> remaining : pairs.values() ) {
+			removeEntity( remaining, useDraft );
+		}
+	}
+
+	/**
+	 * Saves all entities from a stream ordered by entity identifier as the new set of entities for
+	 * the revision.  Equivalent to {@link #saveEntitiesForRevision(Collection, Object, int)} but the
+	 * existing entities are matched using a sorted merge with {@link #loadOrderedEntitiesForRevision(Object, int)}.
+	 *
+	 * @param orderedEntities Entities ordered by identifier, an identifier may only occur once.
+	 * @param owner           Owner of the revision series.
+	 * @param revisionNumber  Revision the entities should be saved for.
+	 */
+	@Transactional
+	public void saveOrderedEntitiesForRevision( Stream<T> orderedEntities, U owner, int revisionNumber ) {
+		Comparator<Object> comparator = getEntityIdentifierComparator();
+		boolean useDraft = revisionNumber == Revision.DRAFT;
+
+		try (Stream<T> currentEntities = loadOrderedEntitiesForRevision( owner, revisionNumber )) {
+			Iterator<RevisionPair<T>> pairs = pairRevisions( currentEntities ).iterator();
+			RevisionPair<T> pair = pairs.hasNext() ? pairs.next() : null;
 
-			if ( revisionNumber != Revision.DRAFT && revisionNumber != Revision.LATEST ) {
-				if ( !allowRevisionModification ) {
-					throw new RevisionModificationException(
-							"Attempt to modify specific revision " + revisionNumber +
-									" but this is not allowed by the revision manager" );
+			Iterator<T> entities = orderedEntities.iterator();
+			Object previousIdentifier = null;
+
+			while ( entities.hasNext() ) {
+				T entity = entities.next();
+				Object identifier = entity.getEntityIdentifier();
+
+				if ( previousIdentifier != null && comparator.compare( previousIdentifier, identifier ) >= 0 ) {
+					throw new IllegalArgumentException(
+							"Entities are not strictly ordered by identifier: " + identifier + " after " + previousIdentifier );
 				}
-				entity.setRemovalRevision( revisionNumber + 1 );
-			}
-			else {
-				entity.setRemovalRevision( revisionNumber );
-			}
+				previousIdentifier = identifier;
+
+				prepareForRevision( entity, revisionNumber );
 
-			RevisionPair<T> pair = pairs.get( entity.getEntityIdentifier() );
-			T current = pair != null ? pair.nonDraft : null;
-			T draft = pair != null ? pair.draft : null;
-
-			if ( current == null || entity.isDifferentVersionOf( current ) ) {
-				if ( useDraft ) {
-					if ( draft == null ) {
-						// insert this item as a new draft
-						insert( entity );
-					}
-					else if ( entity.isDifferentVersionOf( draft ) ) {
-						// update the draft item if different
-						update( entity, entity.getFirstRevision(), entity.getRemovalRevision() );
-					}
+				// All pairs before the current entity should be removed
+				while ( pair != null && comparator.compare( pair.getEntityIdentifier(), identifier ) < 0 ) {
+					removeEntity( pair, useDraft );
+					pair = pairs.hasNext() ? pairs.next() : null;
 				}
-				else if ( current == null ) {
-					insert( entity );
+
+				if ( pair != null && comparator.compare( pair.getEntityIdentifier(), identifier ) == 0 ) {
+					saveEntity( entity, pair, useDraft );
+					pair = pairs.hasNext() ? pairs.next() : null;
 				}
 				else {
-					copyEntityValuesFromExisting( current, entity );
-					update( current, current.getFirstRevision(), current.getRemovalRevision() );
+					saveEntity( entity, null, useDraft );
 				}
 			}
-			else if ( draft != null ) {
-				// remove this draft as the new version is the same as the previous
-				delete( draft );
+
+			// All pairs left should be removed
+			while ( pair != null ) {
+				removeEntity( pair, useDraft );
+				pair = pairs.hasNext() ? pairs.next() : null;
 			}
+		}
+	}
 
-			pairs.remove( entity.getEntityIdentifier() );
+	private void prepareForRevision( T entity, int revisionNumber ) {
+		entity.setFirstRevision( revisionNumber );
+
+		if ( revisionNumber != Revision.DRAFT && revisionNumber != Revision.LATEST ) {
+			if ( !allowRevisionModification ) {
+				throw new RevisionModificationException(
+						"Attempt to modify specific revision " + revisionNumber +
+								" but this is not allowed by the revision manager" );
+			}
+			entity.setRemovalRevision( revisionNumber + 1 );
 		}
+		else {
+			entity.setRemovalRevision( revisionNumber );
+		}
+	}
 
-		// All pairs left should be removed
-		for ( RevisionPair<T> remaining : pairs.values() ) {
-			if ( remaining.draft == null ) {
-				if ( useDraft ) {
-					// new draft that needs to delete the item
-					T candidate = createEntityFromExisting( remaining.nonDraft );
-					candidate.setFirstRevision( Revision.DRAFT );
-					candidate.setRemovalRevision( Revision.DRAFT );
-					candidate.setDeleteForRevision( true );
-
-					insert( candidate );
+	private void saveEntity( T entity, RevisionPair<T> pair, boolean useDraft ) {
+		T current = pair != null ? pair.nonDraft : null;
+		T draft = pair != null ? pair.draft : null;
+
+		if ( current == null || entity.isDifferentVersionOf( current ) ) {
+			if ( useDraft ) {
+				if ( draft == null ) {
+					// insert this item as a new draft
+					insert( entity );
 				}
-				else {
-					// delete the actual property
-					delete( remaining.nonDraft );
+				else if ( entity.isDifferentVersionOf( draft ) ) {
+					// update the draft item if different
+					update( entity, entity.getFirstRevision(), entity.getRemovalRevision() );
 				}
 			}
-			else if ( remaining.nonDraft == null ) {
-				// draft should be removed
-				delete( remaining.draft );
+			else if ( current == null ) {
+				insert( entity );
+			}
+			else {
+				copyEntityValuesFromExisting( current, entity );
+				update( current, current.getFirstRevision(), current.getRemovalRevision() );
+			}
+		}
+		else if ( draft != null ) {
+			// remove this draft as the new version is the same as the previous
+			delete( draft );
+		}
+	}
+
+	private void removeEntity( RevisionPair<T> remaining, boolean useDraft ) {
+		if ( remaining.draft == null ) {
+			if ( useDraft ) {
+				// new draft that needs to delete the item
+				T candidate = createEntityFromExisting( remaining.nonDraft );
+				candidate.setFirstRevision( Revision.DRAFT );
+				candidate.setRemovalRevision( Revision.DRAFT );
+				candidate.setDeleteForRevision( true );
+
+				insert( candidate );
 			}
-			else if ( !remaining.draft.isDeleteForRevision() ) {
-				// update draft for deletion
-				remaining.draft.setDeleteForRevision( true );
-				update( remaining.draft, remaining.draft.getFirstRevision(), remaining.draft.getRemovalRevision() );
+			else {
+				// delete the actual property
+				delete( remaining.nonDraft );
 			}
 		}
+		else if ( remaining.nonDraft == null ) {
+			// draft should be removed
+			delete( remaining.draft );
+		}
+		else if ( !remaining.draft.isDeleteForRevision() ) {
+			// update draft for deletion
+			remaining.draft.setDeleteForRevision( true );
+			update( remaining.draft, remaining.draft.getFirstRevision(), remaining.draft.getRemovalRevision() );
+		}
 	}
 
 	/**
@@ -231,7 +372,14 @@ public abstract class RevisionBasedEntityManager<T extends RevisionBasedEntity<T
 	 */
 	@Transactional
 	public void checkin( U owner, int revisionNumberToCheckin, int newRevisionNumber ) {
-		checkinEntities( loadEntitiesForRevision( owner, revisionNumberToCheckin ), newRevisionNumber );
+		if ( streamingEnabled ) {
+			try (Stream<T> items = loadOrderedEntitiesForRevision( owner, revisionNumberToCheckin )) {
+				checkinEntities( items, newRevisionNumber );
+			}
+		}
+		else {
+			checkinEntities( loadEntitiesForRevision( owner, revisionNumberToCheckin ), newRevisionNumber );
+		}
 	}
 
 	/**
@@ -259,13 +407,59 @@ public abstract class RevisionBasedEntityManager<T extends RevisionBasedEntity<T
 	public Collection<T> checkout( U owner, int revisionNumber ) {
 		if ( revisionNumber != Revision.DRAFT && revisionNumber != Revision.LATEST ) {
 			// A specific base revision was passed in for checkout, let's update the draft first with its values
-			Collection<T> revisionEntities = convertToNewDtos( getEntitiesForRevision( owner, revisionNumber ) );
-			saveEntitiesForRevision( revisionEntities, owner, Revision.DRAFT );
+			if ( streamingEnabled ) {
+				checkoutToDraft( owner, revisionNumber );
+			}
+			else {
+				Collection<T> revisionEntities = convertToNewDtos( getEntitiesForRevision( owner, revisionNumber ) );
+				saveEntitiesForRevision( revisionEntities, owner, Revision.DRAFT );
+			}
 		}
 
 		return getEntitiesForRevision( owner, Revision.DRAFT );
 	}
 
+	/**
+	 * Creates new draft records based on the revision specified, without loading either revision in memory.
+	 * Any existing draft records will be removed or updated with the values from the specified revision.
+	 * <p>
+	 * If {@link #loadOrderedEntitiesForRevision(Object, int)} returns a cursor, the stream should be consumed
+	 * and closed within the transaction of the caller.</p>
+	 *
+	 * @param revision Revision that should serve as the base for the new draft.
+	 * @return Stream of entities for the new draft revision, ordered by identifier.
+	 */
+	@Transactional
+	public Stream<T> streamCheckout( R revision ) {
+		return streamCheckout( revision.getRevisionOwner(), revision.getRevisionNumber() );
+	}
+
+	/**
+	 * Creates new draft records based on the revision specified, without loading either revision in memory.
+	 * Any existing draft records will be removed or updated with the values from the specified revision.
+	 * <p>
+	 * If {@link #loadOrderedEntitiesForRevision(Object, int)} returns a cursor, the stream should be consumed
+	 * and closed within the transaction of the caller.</p>
+	 *
+	 * @param owner          Owner of the revision series.
+	 * @param revisionNumber Revision that should serve as the base for the new draft.
+	 * @return Stream of entities for the new draft revision, ordered by identifier.
+	 */
+	@Transactional
+	public Stream<T> streamCheckout( U owner, int revisionNumber ) {
+		if ( revisionNumber != Revision.DRAFT && revisionNumber != Revision.LATEST ) {
+			checkoutToDraft( owner, revisionNumber );
+		}
+
+		return streamEntitiesForRevision( owner, Revision.DRAFT );
+	}
+
+	private void checkoutToDraft( U owner, int revisionNumber ) {
+		try (Stream<T> revisionEntities = convertToNewDtos( streamEntitiesForRevision( owner, revisionNumber ) )) {
+			saveOrderedEntitiesForRevision( revisionEntities, owner, Revision.DRAFT );
+		}
+	}
+
 	/**
 	 * Deletes all entities (all revisions) for the owner.
 	 */
@@ -297,17 +491,27 @@ public abstract class RevisionBasedEntityManager<T extends RevisionBasedEntity<T
 	 */
 	@Transactional
 	public void deleteEntities( U owner, int revisionNumber ) {
-		Collection<T> entities = loadEntitiesForRevision( owner, revisionNumber );
+		if ( streamingEnabled ) {
+			try (Stream<T> entities = loadOrderedEntitiesForRevision( owner, revisionNumber )) {
+				entities.filter( entity -> isOnlyInRevision( entity, revisionNumber ) ).forEach( this::delete );
+			}
+		}
+		else {
+			Collection<T> entities = loadEntitiesForRevision( owner, revisionNumber );
 
-		for ( T entity : entities ) {
-			if ( entity.getFirstRevision() == revisionNumber
-					&& ( entity.getRemovalRevision() == Revision.DRAFT
-					|| entity.getRemovalRevision() == revisionNumber + 1 ) ) {
-				delete( entity );
+			for ( T entity : entities ) {
+				if ( isOnlyInRevision( entity, revisionNumber ) ) {
+					delete( entity );
+				}
 			}
 		}
 	}
 
+	private boolean isOnlyInRevision( T entity, int revisionNumber ) {
+		return entity.getFirstRevision() == revisionNumber
+				&& ( entity.getRemovalRevision() == Revision.DRAFT || entity.getRemovalRevision() == revisionNumber + 1 );
+	}
+
 	/**
 	 * This checks in all items in the collection: making all drafts existing in the revision
 	 * specified, and all active ones stop existing in that revision.
@@ -316,37 +520,49 @@ public abstract class RevisionBasedEntityManager<T extends RevisionBasedEntity<T
 		Map<Object, RevisionPair<T>> pairs = buildRevisionPairs( items );
 
 		for ( RevisionPair<T> pair : pairs.values() ) {
-			if ( pair.nonDraft != null ) {
-				// Existing record being updated
-				if ( pair.draft != null ) {
-					if ( pair.draft.isDeleteForRevision() ) {
-						// Expire the non-draft and remove the draft
-						expire( pair.nonDraft, revisionNumber );
-						delete( pair.draft );
-					}
-					else if ( pair.draft.isDifferentVersionOf( pair.nonDraft ) ) {
-						// If draft and non-draft are different, draft should replace non-draft
-						expire( pair.nonDraft, revisionNumber );
-						activate( pair.draft, revisionNumber );
-					}
-					else {
-						// There's no point for this draft record
-						delete( pair.draft );
-					}
-				}
-				else if ( pair.nonDraft.isDeleteForRevision() ) {
-					// If the existing record is deleted, put it on update list for expiring
-					expire( pair.nonDraft, revisionNumber );
-				}
-			}
-			else if ( pair.draft != null ) { // New record
-				// If it's already deleted again, the record is pointless
+			checkinPair( pair, revisionNumber );
+		}
+	}
+
+	/**
+	 * This checks in all items in a stream ordered by entity identifier: making all drafts existing
+	 * in the revision specified, and all active ones stop existing in that revision.
+	 */
+	protected void checkinEntities( Stream<T> orderedItems, int revisionNumber ) {
+		pairRevisions( orderedItems ).forEach( pair -> checkinPair( pair, revisionNumber ) );
+	}
+
+	private void checkinPair( RevisionPair<T> pair, int revisionNumber ) {
+		if ( pair.nonDraft != null ) {
+			// Existing record being updated
+			if ( pair.draft != null ) {
 				if ( pair.draft.isDeleteForRevision() ) {
+					// Expire the non-draft and remove the draft
+					expire( pair.nonDraft, revisionNumber );
 					delete( pair.draft );
 				}
-				else {
+				else if ( pair.draft.isDifferentVersionOf( pair.nonDraft ) ) {
+					// If draft and non-draft are different, draft should replace non-draft
+					expire( pair.nonDraft, revisionNumber );
 					activate( pair.draft, revisionNumber );
 				}
+				else {
+					// There's no point for this draft record
+					delete( pair.draft );
+				}
+			}
+			else if ( pair.nonDraft.isDeleteForRevision() ) {
+				// If the existing record is deleted, put it on update list for expiring
+				expire( pair.nonDraft, revisionNumber );
+			}
+		}
+		else if ( pair.draft != null ) { // New record
+			// If it's already deleted again, the record is pointless
+			if ( pair.draft.isDeleteForRevision() ) {
+				delete( pair.draft );
+			}
+			else {
+				activate( pair.draft, revisionNumber );
 			}
 		}
 	}
@@ -362,6 +578,43 @@ public abstract class RevisionBasedEntityManager<T extends RevisionBasedEntity<T
 		}
 	}
 
+	/**
+	 * Loads the entities for a revision as a stream ordered by entity identifier, according to
+	 * {@link #getEntityIdentifierComparator()}.  Draft and non-draft versions of the same entity must be
+	 * adjacent in the stream.  The default implementation sorts the result of
+	 * {@link #loadEntitiesForRevision(Object, int)} in memory, override to return a database cursor instead.
+	 * <p>
+	 * Note that entities will be inserted, updated or deleted while the stream is being consumed.</p>
+	 */
+	protected Stream<T> loadOrderedEntitiesForRevision( U owner, int revisionNumber ) {
+		Comparator<Object> comparator = getEntityIdentifierComparator();
+
+		return loadEntitiesForRevision( owner, revisionNumber )
+				.stream()
+				.sorted( ( left, right ) -> comparator.compare( left.getEntityIdentifier(), right.getEntityIdentifier() ) );
+	}
+
+	/**
+	 * @return Comparator determining the order of the entity identifiers in ordered streams, defaults to natural order.
+	 */
+	@SuppressWarnings("unchecked")
+	protected Comparator<Object> getEntityIdentifierComparator() {
+		return ( left, right ) -> ( (Comparable<Object>) left ).compareTo( right );
+	}
+
+	/**
+	 * Lines up draft and non-draft items in a stream ordered by entity identifier.
+	 * Only the items for the current identifier are kept in memory.
+	 */
+	protected Stream<RevisionPair<T>> pairRevisions( Stream<T> orderedItems ) {
+		Iterator<RevisionPair<T>> pairs = new OrderedRevisionPairIterator<>( orderedItems.iterator(),
+		                                                                     getEntityIdentifierComparator() );
+
+		return StreamSupport.stream( Spliterators.spliteratorUnknownSize( pairs, Spliterator.ORDERED | Spliterator.NONNULL ),
+		                             false )
+		                    .onClose( orderedItems::close );
+	}
+
 	/**
 	 * Lines up draft and non-draft items in a collection.
 	 */
@@ -373,21 +626,8 @@ public abstract class RevisionBasedEntityManager<T extends RevisionBasedEntity<T
 			// Get the key of the item
 			Object id = item.getEntityIdentifier();
 
-			// Get the revision pair
-			RevisionPair<T> pair = map.get( id );
-
-			if ( pair == null ) {
-				pair = new RevisionPair<>();
-				map.put( id, pair );
-			}
-
-			// Assign to the correct element
-			if ( item.isDraft() ) {
-				pair.draft = item;
-			}
-			else {
-				pair.nonDraft = item;
-			}
+			// Get the revision pair and assign to the correct element
+			map.computeIfAbsent( id, key -> new RevisionPair<>() ).add( item );
 		}
 
 		return map;
@@ -431,6 +671,18 @@ public abstract class RevisionBasedEntityManager<T extends RevisionBasedEntity<T
 				"You must implement RevisionBasedEntityManager.convertToNewDtos() to support revision based checkouts." );
 	}
 
+	/**
+	 * Convert a stream of existing/attached instances to "create" dtos as if they are entirely new values.
+	 * Used for checkouts when streaming is enabled, the order of the entities must be kept.  The default
+	 * implementation delegates to {@link #convertToNewDtos(Collection)} for every single entity.
+	 *
+	 * @param entitiesForRevision Stream of entities for a revision, ordered by identifier.
+	 * @return Stream of dtos.
+	 */
+	protected Stream<T> convertToNewDtos( Stream<T> entitiesForRevision ) {
+		return entitiesForRevision.flatMap( entity -> convertToNewDtos( Collections.singletonList( entity ) ).stream() );
+	}
+
 	/**
 	 * Inserts a new entity in the data store.
 	 *
@@ -484,4 +736,59 @@ public abstract class RevisionBasedEntityManager<T extends RevisionBasedEntity<T
 	 * Delete all entities across all revisions for the owner.
 	 */
 	protected abstract void deleteAllForOwner( U owner );
+
+	/**
+	 * Groups adjacent items with the same identifier of an ordered iterator into a single {@link RevisionPair}.
+	 */
+	private static final class OrderedRevisionPairIterator<T extends RevisionBasedEntity<T>> implements Iterator<RevisionPair<T>>
+	{
+		private final Iterator<T> items;
+		private final Comparator<Object> comparator;
+
+		private T next;
+
+		OrderedRevisionPairIterator( Iterator<T> items, Comparator<Object> comparator ) {
+			this.items = items;
+			this.comparator = comparator;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null || items.hasNext();
+		}
+
+		@Override
+		public RevisionPair<T> next() {
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+
+			T first = next != null ? next : items.next();
+			next = null;
+
+			RevisionPair<T> pair = new RevisionPair<>();
+			pair.add( first );
+
+			Object identifier = first.getEntityIdentifier();
+
+			while ( items.hasNext() ) {
+				T item = items.next();
+				int comparison = comparator.compare( identifier, item.getEntityIdentifier() );
+
+				if ( comparison == 0 ) {
+					pair.add( item );
+				}
+				else if ( comparison < 0 ) {
+					next = item;
+					break;
+				}
+				else {
+					throw new IllegalStateException(
+							"Entities are not ordered by identifier: " + item.getEntityIdentifier() + " after " + identifier );
+				}
+			}
+
+			return pair;
+		}
+	}
 }
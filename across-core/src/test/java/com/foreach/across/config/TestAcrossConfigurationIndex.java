@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.config;
+
+import com.foreach.across.config.AcrossConfiguration.Group;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+class TestAcrossConfigurationIndex
+{
+	private static final String YAML = "indexed:\n  priority: 5\n  exposed:\n    - my.class\n";
+
+	@Test
+	void indexContainsTheSameGroupsAsTheConfigurationFiles() throws Exception {
+		List<byte[]> sources = AcrossConfiguration.readConfigurationResources( getClass().getClassLoader() );
+		List<Group> groups = AcrossConfiguration.parseConfigurationResources( sources );
+		List<Long> checksums = AcrossConfigurationIndex.checksums( sources );
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		AcrossConfigurationIndex.write( checksums, groups, bytes );
+
+		assertThat( AcrossConfigurationIndex.read( checksums, new ByteArrayInputStream( bytes.toByteArray() ) ) )
+				.isNotEmpty()
+				.isEqualTo( groups );
+		assertThat( AcrossConfigurationIndex.read( Collections.singletonList( 1L ), new ByteArrayInputStream( bytes.toByteArray() ) ) )
+				.isNull();
+	}
+
+	@Test
+	void matchingIndexIsUsedInsteadOfConfigurationFiles( @TempDir Path classPath ) throws Exception {
+		Path configurationFile = classPath.resolve( AcrossConfiguration.CONFIGURATION_RESOURCE_LOCATION );
+		Files.createDirectories( configurationFile.getParent() );
+		Files.write( configurationFile, YAML.getBytes( StandardCharsets.UTF_8 ) );
+
+		try (URLClassLoader classLoader = new URLClassLoader( new URL[] { classPath.toUri().toURL() }, null )) {
+			AcrossConfigurationIndex.generate( classLoader, classPath );
+
+			// overwrite with a different group but the checksums of the configuration file
+			List<byte[]> sources = AcrossConfiguration.readConfigurationResources( classLoader );
+			List<Group> groups = new ArrayList<>( AcrossConfiguration.parseConfigurationResources( sources ) );
+			groups.add( new Group( 1, "from-index", Collections.emptySet(), Collections.emptyList(), Collections.emptyList() ) );
+
+			try (OutputStream os = Files.newOutputStream( classPath.resolve( AcrossConfigurationIndex.INDEX_RESOURCE_LOCATION ) )) {
+				AcrossConfigurationIndex.write( AcrossConfigurationIndex.checksums( sources ), groups, os );
+			}
+
+			assertThat( AcrossConfiguration.get( classLoader ).getGroup( "from-index" ) ).isNotNull();
+			assertThat( AcrossConfiguration.get( classLoader ).getExposeRules() ).containsExactly( "my.class" );
+			AcrossConfiguration.remove( classLoader );
+
+			// stale index is ignored
+			Files.write( configurationFile, YAML.replace( "my.class", "other.class" ).getBytes( StandardCharsets.UTF_8 ) );
+			assertThat( AcrossConfiguration.get( classLoader ).getGroup( "from-index" ) ).isNull();
+			assertThat( AcrossConfiguration.get( classLoader ).getExposeRules() ).containsExactly( "other.class" );
+			AcrossConfiguration.remove( classLoader );
+		}
+	}
+}
@@ -16,15 +16,27 @@
 package com.foreach.across.config;
 
 import com.foreach.across.config.IllegalConfigurationValidator.ModuleMatcher;
+import com.foreach.across.core.context.info.AcrossContextInfo;
 import com.foreach.across.core.context.info.AcrossModuleInfo;
+import com.foreach.across.core.events.AcrossContextBootstrappedEvent;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 /**
@@ -38,6 +50,8 @@ public class TestIllegalConfigurationValidator
 	@Mock
 	private AcrossModuleInfo moduleInfo;
 
+	private List<String> classPath = Collections.emptyList();
+
 	@Test
 	public void illegalOnApplicationButNotOnModule() {
 		ModuleMatcher moduleMatcher = new ModuleMatcher( null, null );
@@ -98,5 +112,68 @@ public class TestIllegalConfigurationValidator
 		when( moduleInfo.matchesModuleName( "OtherModule" ) ).thenReturn( true );
 		assertThat( moduleMatcher.test( moduleInfo ) ).isFalse();
 	}
-}
 
+	@Test
+	public void illegalUseIsDetectedOnClassName() {
+		IllegalConfigurationValidator validator = validator( null );
+		when( moduleInfo.getName() ).thenReturn( "OtherModule" );
+		when( moduleInfo.matchesModuleName( "OtherModule" ) ).thenReturn( true );
+
+		assertThat( validator.isIllegalUse( "my.class", null ) ).isNull();
+		assertThat( validator.isIllegalUse( "my.class", moduleInfo ) ).isNotNull();
+		assertThat( validator.isIllegalUse( "other.class", null ) ).isNotNull();
+		assertThat( validator.isIllegalUse( "other.class", moduleInfo ) ).isNull();
+		assertThat( validator.isIllegalUse( String.class.getName(), null ) ).isNull();
+	}
+
+	@Test
+	public void validatedTypesAreStoredAndSkippedOnNextRun( @TempDir Path tempDir ) throws Exception {
+		Path cacheFile = tempDir.resolve( "validated.txt" );
+		classPath = Collections.singletonList( Files.write( tempDir.resolve( "application.jar" ), new byte[] { 1 } ).toString() );
+
+		IllegalConfigurationValidator validator = validator( cacheFile );
+		assertThat( validator.isIllegalUse( "my.class", null ) ).isNull();
+		assertThat( validator.isIllegalUse( "other.class", null ) ).isNotNull();
+		AcrossContextInfo contextInfo = mock( AcrossContextInfo.class );
+		when( contextInfo.getApplicationContext() ).thenReturn( mock( ApplicationContext.class ) );
+		validator.onApplicationEvent( new AcrossContextBootstrappedEvent( contextInfo ) );
+
+		List<String> lines = Files.readAllLines( cacheFile );
+		assertThat( lines ).hasSize( 2 );
+		assertThat( lines.get( 1 ) ).isEqualTo( "AcrossContext:my.class" );
+
+		// previously validated bean types are not checked again
+		Files.write( cacheFile, Arrays.asList( lines.get( 0 ), "AcrossContext:other.class" ) );
+		assertThat( validator( cacheFile ).isIllegalUse( "other.class", null ) ).isNull();
+
+		// different class path or rules
+		Files.write( cacheFile, Arrays.asList( "other-fingerprint", "AcrossContext:other.class" ) );
+		assertThat( validator( cacheFile ).isIllegalUse( "other.class", null ) ).isNotNull();
+	}
+
+	@Test
+	public void cacheFileIsIgnoredIfClassPathContainsDirectories( @TempDir Path tempDir ) throws Exception {
+		Path cacheFile = tempDir.resolve( "validated.txt" );
+		Path classesDirectory = Files.createDirectory( tempDir.resolve( "classes" ) );
+		classPath = Arrays.asList( Files.write( tempDir.resolve( "library.jar" ), new byte[] { 1 } ).toString(), classesDirectory.toUri().toString() );
+
+		IllegalConfigurationValidator validator = validator( cacheFile );
+		assertThat( validator.isIllegalUse( "my.class", null ) ).isNull();
+		AcrossContextInfo contextInfo = mock( AcrossContextInfo.class );
+		when( contextInfo.getApplicationContext() ).thenReturn( mock( ApplicationContext.class ) );
+		validator.onApplicationEvent( new AcrossContextBootstrappedEvent( contextInfo ) );
+
+		assertThat( cacheFile ).doesNotExist();
+	}
+
+	private IllegalConfigurationValidator validator( Path cacheFile ) {
+		IllegalConfigurationValidator validator = new IllegalConfigurationValidator( classLoader -> classPath );
+		validator.setBeanClassLoader( getClass().getClassLoader() );
+		MockEnvironment environment = new MockEnvironment();
+		if ( cacheFile != null ) {
+			environment.setProperty( IllegalConfigurationValidator.CACHE_FILE_PROPERTY, cacheFile.toString() );
+		}
+		validator.setEnvironment( environment );
+		return validator;
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.context;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+class TestAcrossMetadataRepository
+{
+	private final ClassLoader classLoader = new URLClassLoader( new URL[0], getClass().getClassLoader() );
+
+	@Test
+	void repositoryIsSharedUntilLastReferenceIsReleased() {
+		AcrossMetadataRepository first = AcrossMetadataRepository.acquire( classLoader );
+		AcrossMetadataRepository second = AcrossMetadataRepository.acquire( classLoader );
+
+		assertThat( second ).isSameAs( first );
+		assertThat( first.getReferenceCount() ).isEqualTo( 2 );
+		assertThat( AcrossMetadataRepository.isManaged( first.getMetadataReaderFactory() ) ).isTrue();
+		assertThat( AcrossMetadataRepository.find( classLoader ) ).contains( first );
+
+		first.release();
+		assertThat( AcrossMetadataRepository.isManaged( first.getMetadataReaderFactory() ) ).isTrue();
+		assertThat( AcrossMetadataRepository.find( classLoader ) ).contains( first );
+
+		second.release();
+		assertThat( first.getReferenceCount() ).isEqualTo( 0 );
+		assertThat( AcrossMetadataRepository.isManaged( first.getMetadataReaderFactory() ) ).isFalse();
+		assertThat( AcrossMetadataRepository.find( classLoader ) ).isEmpty();
+
+		AcrossMetadataRepository third = AcrossMetadataRepository.acquire( classLoader );
+		assertThat( third ).isNotSameAs( first );
+		third.release();
+	}
+
+	@Test
+	void unreleasedRepositoryDoesNotKeepClassLoaderReachable() throws Exception {
+		WeakReference<ClassLoader> classLoaderReference = acquireWithTemporaryClassLoader();
+
+		for ( int i = 0; i < 20 && classLoaderReference.get() != null; i++ ) {
+			System.gc();
+			Thread.sleep( 50 );
+		}
+
+		assertThat( classLoaderReference.get() ).isNull();
+	}
+
+	private WeakReference<ClassLoader> acquireWithTemporaryClassLoader() {
+		ClassLoader temporary = new URLClassLoader( new URL[0], getClass().getClassLoader() );
+		AcrossMetadataRepository.acquire( temporary );
+		return new WeakReference<>( temporary );
+	}
+
+	@Test
+	void classPathResourcesAreCached() throws Exception {
+		AcrossMetadataRepository repository = AcrossMetadataRepository.acquire( classLoader );
+
+		try {
+			Resource resource = mock( Resource.class );
+			ResourcePatternResolver resolver = mock( ResourcePatternResolver.class );
+			when( resolver.getClassLoader() ).thenReturn( classLoader );
+			when( resolver.getResources( anyString() ) ).thenReturn( new Resource[] { resource } );
+
+			ResourcePatternResolver first = repository.cachingResourcePatternResolver( resolver );
+			ResourcePatternResolver second = repository.cachingResourcePatternResolver( resolver );
+
+			assertThat( first.getResources( "classpath*:com/foreach/**/*.class" ) ).containsExactly( resource );
+			assertThat( second.getResources( "classpath*:com/foreach/**/*.class" ) ).containsExactly( resource );
+			verify( resolver, times( 1 ) ).getResources( "classpath*:com/foreach/**/*.class" );
+
+			first.getResources( "file:/tmp/*.class" );
+			second.getResources( "file:/tmp/*.class" );
+			verify( resolver, times( 2 ) ).getResources( "file:/tmp/*.class" );
+		}
+		finally {
+			repository.release();
+		}
+	}
+
+	@Test
+	void resolverForOtherClassLoaderIsNotCached() {
+		AcrossMetadataRepository repository = AcrossMetadataRepository.acquire( classLoader );
+
+		try {
+			ResourcePatternResolver resolver = mock( ResourcePatternResolver.class );
+			when( resolver.getClassLoader() ).thenReturn( getClass().getClassLoader() );
+
+			assertThat( repository.cachingResourcePatternResolver( resolver ) ).isSameAs( resolver );
+		}
+		finally {
+			repository.release();
+		}
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.context.bootstrap;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+class TestModuleConditionEvaluations
+{
+	private final ModuleConditionEvaluations evaluations = new ModuleConditionEvaluations();
+	private final AtomicInteger computed = new AtomicInteger();
+
+	@Test
+	void everyEvaluationIsComputed() {
+		ConditionOutcome first = evaluations.evaluate( () -> outcome( true ) );
+		ConditionOutcome second = evaluations.evaluate( () -> outcome( true ) );
+
+		assertThat( second ).isNotSameAs( first );
+		assertThat( computed.get() ).isEqualTo( 2 );
+	}
+
+	@Test
+	void evaluationsAndMatchesAreCounted() {
+		evaluations.evaluate( () -> outcome( true ) );
+		evaluations.evaluate( () -> outcome( false ) );
+		evaluations.evaluate( () -> outcome( true ) );
+
+		assertThat( evaluations.getEvaluationCount() ).isEqualTo( 3 );
+		assertThat( evaluations.getMatchCount() ).isEqualTo( 2 );
+		assertThat( evaluations.toString() ).startsWith( "3 evaluations (2 matched) in " );
+	}
+
+	private ConditionOutcome outcome( boolean match ) {
+		computed.incrementAndGet();
+		return match ? ConditionOutcome.match() : ConditionOutcome.noMatch( "no match" );
+	}
+}
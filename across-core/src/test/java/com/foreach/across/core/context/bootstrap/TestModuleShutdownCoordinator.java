@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.context.bootstrap;
+
+import com.foreach.across.core.context.AcrossModuleRole;
+import com.foreach.across.core.context.info.AcrossModuleInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+class TestModuleShutdownCoordinator
+{
+	private final List<String> closed = new CopyOnWriteArrayList<>();
+
+	private final AcrossModuleInfo core = module( "core", 1, AcrossModuleRole.INFRASTRUCTURE );
+	private final AcrossModuleInfo one = module( "one", 2, AcrossModuleRole.APPLICATION, core );
+	private final AcrossModuleInfo two = module( "two", 3, AcrossModuleRole.APPLICATION, core );
+	private final List<AcrossModuleInfo> modules = Arrays.asList( core, one, two );
+
+	@Test
+	void serialShutdownIsInReverseBootstrapOrder() {
+		Collection<AcrossModuleInfo> abandoned = coordinator( false, null, null, this::close ).shutdown( modules );
+
+		assertThat( abandoned ).isEmpty();
+		assertThat( closed ).containsExactly( "two", "one", "core" );
+	}
+
+	@Test
+	void independentModulesAreClosedConcurrently() {
+		CountDownLatch bothClosing = new CountDownLatch( 2 );
+
+		Collection<AcrossModuleInfo> abandoned = coordinator( true, null, Duration.ofSeconds( 10 ), moduleInfo -> {
+			if ( moduleInfo != core ) {
+				bothClosing.countDown();
+				await( bothClosing );
+			}
+			close( moduleInfo );
+		} ).shutdown( modules );
+
+		assertThat( abandoned ).isEmpty();
+		assertThat( bothClosing.getCount() ).isEqualTo( 0 );
+		assertThat( closed ).containsExactlyInAnyOrder( "one", "two", "core" );
+		assertThat( closed.get( 2 ) ).isEqualTo( "core" );
+	}
+
+	@Test
+	void moduleExceedingDeadlineIsAbandoned() {
+		CountDownLatch never = new CountDownLatch( 1 );
+
+		Collection<AcrossModuleInfo> abandoned = coordinator( true, Duration.ofMillis( 200 ), null, moduleInfo -> {
+			if ( moduleInfo == two ) {
+				await( never );
+			}
+			close( moduleInfo );
+		} ).shutdown( modules );
+
+		assertThat( abandoned ).containsExactly( two );
+		assertThat( closed ).containsExactly( "one", "core" );
+	}
+
+	@Test
+	void overallDeadlineAbandonsClosingModulesAndClosesRemainingModules() {
+		CountDownLatch never = new CountDownLatch( 1 );
+
+		Collection<AcrossModuleInfo> abandoned = coordinator( false, null, Duration.ofMillis( 200 ), moduleInfo -> {
+			if ( moduleInfo == two ) {
+				await( never );
+			}
+			close( moduleInfo );
+		} ).shutdown( modules );
+
+		assertThat( abandoned ).containsExactly( two );
+		assertThat( closed ).containsExactly( "one", "core" );
+	}
+
+	private ModuleShutdownCoordinator coordinator( boolean parallel, Duration moduleTimeout, Duration overallTimeout, Consumer<AcrossModuleInfo> action ) {
+		return new ModuleShutdownCoordinator( parallel, moduleTimeout, overallTimeout, action );
+	}
+
+	private void close( AcrossModuleInfo moduleInfo ) {
+		closed.add( moduleInfo.getName() );
+	}
+
+	private void await( CountDownLatch latch ) {
+		try {
+			latch.await( 5, TimeUnit.SECONDS );
+		}
+		catch ( InterruptedException ie ) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException( ie );
+		}
+	}
+
+	private AcrossModuleInfo module( String name, int index, AcrossModuleRole role, AcrossModuleInfo... dependencies ) {
+		AcrossModuleInfo moduleInfo = mock( AcrossModuleInfo.class );
+		when( moduleInfo.getName() ).thenReturn( name );
+		when( moduleInfo.getIndex() ).thenReturn( index );
+		when( moduleInfo.getModuleRole() ).thenReturn( role );
+		when( moduleInfo.getRequiredDependencies() ).thenReturn( Arrays.asList( dependencies ) );
+		when( moduleInfo.getOptionalDependencies() ).thenReturn( Collections.emptyList() );
+		return moduleInfo;
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.context.configurer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+class TestApplicationContextConfigurerAdapter
+{
+	@Test
+	void configurersWithSameContentAreEqualAndHaveSameHashCode() {
+		AnnotatedClassConfigurer one = new AnnotatedClassConfigurer( String.class, Integer.class );
+		AnnotatedClassConfigurer two = new AnnotatedClassConfigurer( String.class, Integer.class );
+
+		assertThat( one ).isEqualTo( two );
+		assertThat( one.hashCode() ).isEqualTo( two.hashCode() );
+
+		assertThat( new ComponentScanConfigurer( "com.foreach" ) )
+				.isEqualTo( new ComponentScanConfigurer( "com.foreach" ) )
+				.hasSameHashCodeAs( new ComponentScanConfigurer( "com.foreach" ) )
+				.isNotEqualTo( new ComponentScanConfigurer( "com.foreach.other" ) );
+	}
+}
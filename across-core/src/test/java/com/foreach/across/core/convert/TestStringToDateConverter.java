@@ -92,6 +92,29 @@ public class TestStringToDateConverter
 		assertThat( converter.matches( STRING_DESCRIPTOR, OFFSETTIME_DESCRIPTOR ) ).isTrue();
 	}
 
+	@Test
+	public void sameShapeIsParsedWithRememberedPattern() throws ParseException {
+		assertThat( CompiledDatePatterns.shapeOf( "2017-01-07 12:01" ) ).isEqualTo( "9999-99-99 99:99" );
+		assertThat( CompiledDatePatterns.shapeOf( "Tuesday, May 23, 2017" ) ).isEqualTo( "a, a 99, 9999" );
+
+		assertThat( convert( "2017-01-07 12:01", DATE_DESCRIPTOR ) )
+				.isEqualTo( DateUtils.parseDate( "2017-01-07 12:01", "yyyy-MM-dd HH:mm" ) );
+		assertThat( convert( "2018-12-31 23:59", DATE_DESCRIPTOR ) )
+				.isEqualTo( DateUtils.parseDate( "2018-12-31 23:59", "yyyy-MM-dd HH:mm" ) );
+		assertThat( convert( "Sunday, Jan 07, 2018", DATE_DESCRIPTOR ) )
+				.isEqualTo( DateUtils.parseDate( "2018-01-07", "yyyy-MM-dd" ) );
+		assertThat( convert( "Tuesday, May 23, 2017", DATE_DESCRIPTOR ) )
+				.isEqualTo( DateUtils.parseDate( "2017-05-23", "yyyy-MM-dd" ) );
+	}
+
+	@Test
+	public void customPatternsReplaceRememberedPatterns() throws ParseException {
+		assertThat( convert( "2017-01-07", DATE_DESCRIPTOR ) ).isEqualTo( DateUtils.parseDate( "2017-01-07", "yyyy-MM-dd" ) );
+
+		converter.setPatterns( new String[] { "yyyy-dd-MM" } );
+		assertThat( convert( "2017-07-01", DATE_DESCRIPTOR ) ).isEqualTo( DateUtils.parseDate( "2017-01-07", "yyyy-MM-dd" ) );
+	}
+
 	@Test
 	public void dateLocalized() throws ParseException {
 		converter.setLocale( Locale.GERMANY );
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+class TestSqlBasedSequenceGenerator
+{
+	private EmbeddedDatabase dataSource;
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void createTable() {
+		dataSource = new EmbeddedDatabaseBuilder().setType( EmbeddedDatabaseType.HSQL ).setName( "sequences" ).build();
+		jdbcTemplate = new JdbcTemplate( dataSource );
+		jdbcTemplate.execute( "create table across_sequences (seq_name varchar(50) primary key, seq_number bigint)" );
+	}
+
+	@AfterEach
+	void shutdown() {
+		dataSource.shutdown();
+	}
+
+	@Test
+	void valuesAreHandedOutFromReservedBlock() {
+		try (SqlBasedSequenceGenerator generator = new SqlBasedSequenceGenerator( dataSource )) {
+			generator.setPrefetchEnabled( false );
+			generator.setMinimumBlockSize( 5 );
+
+			assertThat( generator.nextValue( "one" ) ).isEqualTo( 1 );
+			assertThat( generator.nextValue( "two" ) ).isEqualTo( 1 );
+			assertThat( generator.nextValue( "one" ) ).isEqualTo( 2 );
+			assertThat( storedValue( "one" ) ).isEqualTo( 5 );
+
+			for ( int i = 3; i <= 5; i++ ) {
+				assertThat( generator.nextValue( "one" ) ).isEqualTo( i );
+			}
+			assertThat( storedValue( "one" ) ).isEqualTo( 5 );
+
+			assertThat( generator.nextValue( "one" ) ).isEqualTo( 6 );
+			assertThat( storedValue( "one" ) ).isGreaterThanOrEqualTo( 10 );
+		}
+	}
+
+	@Test
+	void existingSequenceValueIsRespected() {
+		jdbcTemplate.update( "insert into across_sequences (seq_name, seq_number) values (?, ?)", "existing", 100 );
+
+		try (SqlBasedSequenceGenerator generator = new SqlBasedSequenceGenerator( dataSource )) {
+			assertThat( generator.nextValue( "existing" ) ).isEqualTo( 101 );
+		}
+	}
+
+	@Test
+	void blockSizeGrowsWhenConsumedQuickly() {
+		try (SqlBasedSequenceGenerator generator = new SqlBasedSequenceGenerator( dataSource )) {
+			generator.setPrefetchEnabled( false );
+			generator.setMinimumBlockSize( 10 );
+			generator.setMaximumBlockSize( 40 );
+
+			for ( int i = 0; i < 11; i++ ) {
+				generator.nextValue( "fast" );
+			}
+			assertThat( storedValue( "fast" ) ).isEqualTo( 30 );
+		}
+	}
+
+	@Test
+	void concurrentGeneratorsNeverHandOutTheSameValue() throws Exception {
+		ExecutorService executorService = Executors.newFixedThreadPool( 4 );
+
+		try (SqlBasedSequenceGenerator one = new SqlBasedSequenceGenerator( dataSource );
+		     SqlBasedSequenceGenerator two = new SqlBasedSequenceGenerator( dataSource )) {
+			one.setMinimumBlockSize( 3 );
+			two.setMinimumBlockSize( 7 );
+
+			List<Future<List<Long>>> futures = new ArrayList<>();
+			for ( int i = 0; i < 4; i++ ) {
+				SequenceGenerator generator = i % 2 == 0 ? one : two;
+				futures.add( executorService.submit( () -> {
+					List<Long> values = new ArrayList<>();
+					for ( int j = 0; j < 500; j++ ) {
+						values.add( generator.nextValue( "shared" ) );
+					}
+					return values;
+				} ) );
+			}
+
+			Set<Long> allValues = new HashSet<>();
+			for ( Future<List<Long>> future : futures ) {
+				allValues.addAll( future.get( 30, TimeUnit.SECONDS ) );
+			}
+
+			assertThat( allValues ).hasSize( 2000 );
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private long storedValue( String sequenceName ) {
+		return jdbcTemplate.queryForObject( "select seq_number from across_sequences where seq_name = ?", Long.class, sequenceName );
+	}
+}
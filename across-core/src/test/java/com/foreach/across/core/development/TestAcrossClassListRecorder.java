@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.development;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+class TestAcrossClassListRecorder
+{
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void onlyClassesFromJarFilesAreShareable() {
+		Runnable lambda = () -> {
+		};
+
+		assertThat( AcrossClassListRecorder.isShareable( StringUtils.class ) ).isTrue();
+		assertThat( AcrossClassListRecorder.isShareable( String.class ) ).isFalse();
+		assertThat( AcrossClassListRecorder.isShareable( getClass() ) ).isFalse();
+		assertThat( AcrossClassListRecorder.isShareable( lambda.getClass() ) ).isFalse();
+		assertThat( AcrossClassListRecorder.isShareable( String[].class ) ).isFalse();
+	}
+
+	@Test
+	void shareableLoadedClassesAreWrittenInClassListFormat() throws Exception {
+		Path classList = tempDir.resolve( "cds/app.classlist" );
+
+		int count = AcrossClassListRecorder.record( getClass().getClassLoader(), classList );
+
+		List<String> lines = Files.readAllLines( classList, StandardCharsets.UTF_8 );
+		assertThat( count ).isEqualTo( lines.size() ).isPositive();
+		assertThat( lines ).contains( "org/springframework/util/ReflectionUtils" )
+		                   .doesNotContain( "com/foreach/across/core/development/TestAcrossClassListRecorder" )
+		                   .isSorted();
+	}
+
+	@Test
+	void archiveIsDumpedWithTheClassListAndClassPath() {
+		List<String> command = AppCdsArchiveGenerator.buildCommand(
+				Paths.get( "app.classlist" ), Paths.get( "app.jsa" ), "app.jar", "-XX:+UseAppCDS"
+		);
+
+		assertThat( command.get( 0 ) ).endsWith( "java" );
+		assertThat( command.subList( 1, command.size() ) ).containsExactly(
+				"-XX:+UseAppCDS",
+				"-Xshare:dump",
+				"-XX:SharedClassListFile=" + Paths.get( "app.classlist" ).toAbsolutePath(),
+				"-XX:SharedArchiveFile=" + Paths.get( "app.jsa" ).toAbsolutePath(),
+				"-cp",
+				"app.jar"
+		);
+	}
+
+	@Test
+	void sharingStatusIsReported() {
+		ClassDataSharingStatus status = ClassDataSharingStatus.detect( getClass().getClassLoader() );
+
+		assertThat( status.getArchivedClassCount() ).isEqualTo( -1 );
+		assertThat( status.toString() ).startsWith( status.isActive() ? "active" : "not active" );
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.installers;
+
+import com.foreach.across.core.annotations.Installer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Collections;
+
+import static com.foreach.across.core.installers.InstallerConditionEvaluator.Result.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+class TestInstallerConditionEvaluator
+{
+	private GenericApplicationContext parent;
+
+	@BeforeEach
+	void createParent() {
+		parent = new GenericApplicationContext();
+		parent.getEnvironment().setActiveProfiles( "dev" );
+		parent.getEnvironment().getPropertySources()
+		      .addFirst( new MapPropertySource( "test", Collections.singletonMap( "installer.enabled", "true" ) ) );
+		parent.refresh();
+	}
+
+	@AfterEach
+	void closeParent() {
+		parent.close();
+	}
+
+	@Test
+	void installerWithoutConditionsAlwaysMatches() {
+		assertThat( InstallerConditionEvaluator.evaluate( NoConditions.class, parent, false ) ).isEqualTo( MATCH );
+		assertThat( InstallerConditionEvaluator.evaluate( NoConditions.class, parent, true ) ).isEqualTo( MATCH );
+	}
+
+	@Test
+	void environmentConditionsAreEvaluatedAgainstParent() {
+		assertThat( InstallerConditionEvaluator.evaluate( ActiveProfile.class, parent, false ) ).isEqualTo( MATCH );
+		assertThat( InstallerConditionEvaluator.evaluate( InactiveProfile.class, parent, false ) ).isEqualTo( NO_MATCH );
+		assertThat( InstallerConditionEvaluator.evaluate( PropertyEnabled.class, parent, false ) ).isEqualTo( MATCH );
+		assertThat( InstallerConditionEvaluator.evaluate( PropertyDisabled.class, parent, false ) ).isEqualTo( NO_MATCH );
+	}
+
+	@Test
+	void beanConditionsRequireInstallerContext() {
+		assertThat( InstallerConditionEvaluator.evaluate( BeanCondition.class, parent, false ) ).isEqualTo( REQUIRES_CONTEXT );
+		assertThat( InstallerConditionEvaluator.evaluate( InactiveProfileAndBeanCondition.class, parent, false ) ).isEqualTo( NO_MATCH );
+	}
+
+	@Test
+	void forcingFullContextSkipsEvaluation() {
+		assertThat( InstallerConditionEvaluator.evaluate( InactiveProfile.class, parent, true ) ).isEqualTo( REQUIRES_CONTEXT );
+	}
+
+	@Installer(description = "no conditions")
+	static class NoConditions
+	{
+	}
+
+	@Profile("dev")
+	@Installer(description = "active profile")
+	static class ActiveProfile
+	{
+	}
+
+	@Profile("prod")
+	@Installer(description = "inactive profile")
+	static class InactiveProfile
+	{
+	}
+
+	@ConditionalOnProperty("installer.enabled")
+	@Installer(description = "property enabled")
+	static class PropertyEnabled
+	{
+	}
+
+	@ConditionalOnProperty("installer.disabled")
+	@Installer(description = "property disabled")
+	static class PropertyDisabled
+	{
+	}
+
+	@ConditionalOnBean(name = "someBean")
+	@Installer(description = "bean condition")
+	static class BeanCondition
+	{
+	}
+
+	@Profile("prod")
+	@ConditionalOnBean(name = "someBean")
+	@Installer(description = "inactive profile and bean condition")
+	static class InactiveProfileAndBeanCondition
+	{
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.installers;
+
+import liquibase.Scope;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+class TestThreadLocalLiquibaseScopeManager
+{
+	@Test
+	void scopesAreTrackedPerThread() throws Exception {
+		ThreadLocalLiquibaseScopeManager.register();
+		Scope root = Scope.getCurrentScope();
+
+		int threads = 4;
+		CyclicBarrier entered = new CyclicBarrier( threads );
+		CyclicBarrier verified = new CyclicBarrier( threads );
+		ExecutorService executorService = Executors.newFixedThreadPool( threads );
+
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for ( int i = 0; i < threads; i++ ) {
+				String value = "thread-" + i;
+				results.add( executorService.submit( () -> {
+					String scopeId = Scope.enter( Collections.singletonMap( "value", value ) );
+					entered.await( 10, TimeUnit.SECONDS );
+
+					String current = Scope.getCurrentScope().get( "value", String.class );
+					verified.await( 10, TimeUnit.SECONDS );
+
+					Scope.exit( scopeId );
+					assertThat( Scope.getCurrentScope() ).isSameAs( root );
+					return current;
+				} ) );
+			}
+
+			for ( int i = 0; i < threads; i++ ) {
+				assertThat( results.get( i ).get( 30, TimeUnit.SECONDS ) ).isEqualTo( "thread-" + i );
+			}
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+
+		assertThat( Scope.getCurrentScope() ).isSameAs( root );
+	}
+
+	@Test
+	void exclusiveOperationWaitsForSharedOperations() throws Exception {
+		CountDownLatch sharedRunning = new CountDownLatch( 2 );
+		CountDownLatch releaseShared = new CountDownLatch( 1 );
+		List<String> executed = new CopyOnWriteArrayList<>();
+		ExecutorService executorService = Executors.newFixedThreadPool( 3 );
+
+		try {
+			List<Future<?>> shared = new ArrayList<>();
+			for ( int i = 0; i < 2; i++ ) {
+				shared.add( executorService.submit( () -> {
+					ThreadLocalLiquibaseScopeManager.execute( () -> {
+						sharedRunning.countDown();
+						await( releaseShared );
+						executed.add( "shared" );
+					} );
+					return null;
+				} ) );
+			}
+
+			// both shared operations are running at the same time
+			assertThat( sharedRunning.await( 10, TimeUnit.SECONDS ) ).isTrue();
+
+			Future<?> exclusive = executorService.submit( () -> {
+				ThreadLocalLiquibaseScopeManager.executeExclusively( () -> executed.add( "exclusive" ) );
+				return null;
+			} );
+
+			Thread.sleep( 100 );
+			assertThat( executed ).isEmpty();
+
+			releaseShared.countDown();
+			exclusive.get( 10, TimeUnit.SECONDS );
+			for ( Future<?> future : shared ) {
+				future.get( 10, TimeUnit.SECONDS );
+			}
+
+			assertThat( executed ).containsExactly( "shared", "shared", "exclusive" );
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private void await( CountDownLatch latch ) {
+		try {
+			latch.await( 10, TimeUnit.SECONDS );
+		}
+		catch ( InterruptedException ie ) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
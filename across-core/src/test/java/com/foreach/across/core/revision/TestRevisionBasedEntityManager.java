@@ -0,0 +1,229 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.core.revision;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+class TestRevisionBasedEntityManager
+{
+	@Test
+	void checkinAndCheckoutInMemory() {
+		checkinAndCheckout( false );
+	}
+
+	@Test
+	void checkinAndCheckoutStreaming() {
+		checkinAndCheckout( true );
+	}
+
+	private void checkinAndCheckout( boolean streaming ) {
+		InMemoryManager manager = new InMemoryManager( streaming );
+
+		manager.saveEntitiesForRevision( Arrays.asList( item( 3, "c" ), item( 1, "a" ), item( 2, "b" ) ), "owner", Revision.DRAFT );
+		assertThat( values( manager.getEntitiesForRevision( "owner", Revision.DRAFT ) ) ).containsExactlyInAnyOrder( "1a", "2b", "3c" );
+		manager.checkin( "owner", Revision.DRAFT, 1 );
+
+		manager.saveEntitiesForRevision( Arrays.asList( item( 1, "a" ), item( 2, "b2" ), item( 4, "d" ) ), "owner", Revision.DRAFT );
+		assertThat( values( manager.streamEntitiesForRevision( "owner", Revision.DRAFT ) ) ).containsExactly( "1a", "2b2", "4d" );
+		manager.checkin( "owner", Revision.DRAFT, 2 );
+
+		assertThat( values( manager.getEntitiesForRevision( "owner", 1 ) ) ).containsExactlyInAnyOrder( "1a", "2b", "3c" );
+		assertThat( values( manager.getEntitiesForRevision( "owner", Revision.LATEST ) ) ).containsExactlyInAnyOrder( "1a", "2b2", "4d" );
+
+		assertThat( values( manager.checkout( "owner", 1 ) ) ).containsExactlyInAnyOrder( "1a", "2b", "3c" );
+		manager.checkin( "owner", Revision.DRAFT, 3 );
+
+		assertThat( values( manager.getEntitiesForRevision( "owner", Revision.LATEST ) ) ).containsExactlyInAnyOrder( "1a", "2b", "3c" );
+		assertThat( values( manager.getEntitiesForRevision( "owner", 2 ) ) ).containsExactlyInAnyOrder( "1a", "2b2", "4d" );
+		assertThat( manager.store.stream().filter( Item::isDraft ) ).isEmpty();
+	}
+
+	@Test
+	void streamCheckoutReturnsOrderedDraft() {
+		InMemoryManager manager = new InMemoryManager( true );
+		manager.saveEntitiesForRevision( Arrays.asList( item( 2, "b" ), item( 1, "a" ) ), "owner", Revision.DRAFT );
+		manager.checkin( "owner", Revision.DRAFT, 1 );
+		manager.saveEntitiesForRevision( Collections.singletonList( item( 3, "c" ) ), "owner", Revision.DRAFT );
+
+		assertThat( values( manager.streamCheckout( "owner", 1 ) ) ).containsExactly( "1a", "2b" );
+	}
+
+	@Test
+	void unorderedEntitiesAreRejected() {
+		InMemoryManager manager = new InMemoryManager( true );
+
+		assertThatThrownBy( () -> manager.saveOrderedEntitiesForRevision( Stream.of( item( 2, "b" ), item( 1, "a" ) ), "owner", Revision.DRAFT ) )
+				.isInstanceOf( IllegalArgumentException.class );
+	}
+
+	private static List<String> values( Collection<Item> items ) {
+		return values( items.stream() );
+	}
+
+	private static List<String> values( Stream<Item> items ) {
+		try (Stream<Item> stream = items) {
+			return stream.map( i -> i.id + i.value ).collect( Collectors.toList() );
+		}
+	}
+
+	private static Item item( int id, String value ) {
+		Item item = new Item();
+		item.id = id;
+		item.value = value;
+		return item;
+	}
+
+	private static class Item implements RevisionBasedEntity<Item>
+	{
+		private int id, firstRevision, removalRevision;
+		private String value;
+		private boolean deleteForRevision;
+
+		@Override
+		public Object getEntityIdentifier() {
+			return id;
+		}
+
+		@Override
+		public int getFirstRevision() {
+			return firstRevision;
+		}
+
+		@Override
+		public void setFirstRevision( int revision ) {
+			firstRevision = revision;
+		}
+
+		@Override
+		public int getRemovalRevision() {
+			return removalRevision;
+		}
+
+		@Override
+		public void setRemovalRevision( int revision ) {
+			removalRevision = revision;
+		}
+
+		@Override
+		public boolean isDeleteForRevision() {
+			return deleteForRevision;
+		}
+
+		@Override
+		public void setDeleteForRevision( boolean deleted ) {
+			deleteForRevision = deleted;
+		}
+
+		@Override
+		public boolean isDraft() {
+			return firstRevision == Revision.DRAFT;
+		}
+
+		@Override
+		public boolean isDifferentVersionOf( Item other ) {
+			return !value.equals( other.value );
+		}
+
+		Item copy() {
+			Item copy = item( id, value );
+			copy.firstRevision = firstRevision;
+			copy.removalRevision = removalRevision;
+			copy.deleteForRevision = deleteForRevision;
+			return copy;
+		}
+
+		boolean is( int id, int firstRevision, int removalRevision ) {
+			return this.id == id && this.firstRevision == firstRevision && this.removalRevision == removalRevision;
+		}
+	}
+
+	private static class InMemoryManager extends RevisionBasedEntityManager<Item, String, Revision<String>>
+	{
+		private final List<Item> store = new ArrayList<>();
+
+		InMemoryManager( boolean streaming ) {
+			setStreamingEnabled( streaming );
+		}
+
+		@Override
+		protected void insert( Item entity ) {
+			store.add( entity.copy() );
+		}
+
+		@Override
+		protected void update( Item entity, int currentFirstRevision, int currentLastRevision ) {
+			store.removeIf( i -> i.is( entity.id, currentFirstRevision, currentLastRevision ) );
+			store.add( entity.copy() );
+		}
+
+		@Override
+		protected void delete( Item entity ) {
+			store.removeIf( i -> i.is( entity.id, entity.firstRevision, entity.removalRevision ) );
+		}
+
+		@Override
+		protected Collection<Item> getAllForLatestRevision( String owner ) {
+			return find( i -> !i.isDraft() && i.removalRevision == 0 );
+		}
+
+		@Override
+		protected Collection<Item> getAllForSpecificRevision( String owner, int revisionNumber ) {
+			return find( i -> !i.isDraft() && i.firstRevision <= revisionNumber
+					&& ( i.removalRevision == 0 || i.removalRevision > revisionNumber ) );
+		}
+
+		@Override
+		protected Collection<Item> getAllForDraftRevision( String owner ) {
+			return find( i -> i.isDraft() || i.removalRevision == 0 );
+		}
+
+		@Override
+		protected Item createEntityFromExisting( Item existing ) {
+			return item( existing.id, existing.value );
+		}
+
+		@Override
+		protected void copyEntityValuesFromExisting( Item entity, Item existing ) {
+			entity.value = existing.value;
+		}
+
+		@Override
+		protected void deleteAllForOwner( String owner ) {
+			store.clear();
+		}
+
+		@Override
+		protected Collection<Item> convertToNewDtos( Collection<Item> entitiesForRevision ) {
+			return entitiesForRevision.stream().map( this::createEntityFromExisting ).collect( Collectors.toList() );
+		}
+
+		private Collection<Item> find( Predicate<Item> predicate ) {
+			return store.stream().filter( predicate ).map( Item::copy ).collect( Collectors.toList() );
+		}
+	}
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test.bootstrap;
+
+import com.foreach.across.core.AcrossContext;
+import com.foreach.across.core.annotations.Exposed;
+import com.foreach.across.core.annotations.Installer;
+import com.foreach.across.core.annotations.InstallerMethod;
+import com.foreach.across.core.context.AcrossContextUtils;
+import com.foreach.across.core.context.bootstrap.AcrossBootstrapPlan;
+import com.foreach.across.core.context.bootstrap.AcrossBootstrapPlan.ExposedBeanPlan;
+import com.foreach.across.core.context.bootstrap.AcrossBootstrapPlan.InstallerExecution;
+import com.foreach.across.core.context.bootstrap.AcrossBootstrapPlan.ModulePlan;
+import com.foreach.across.core.context.bootstrap.AcrossBootstrapPlan.Severity;
+import com.foreach.across.core.context.bootstrap.AcrossBootstrapper;
+import com.foreach.across.core.context.bootstrap.AnnotationConfigBootstrapApplicationContextFactory;
+import com.foreach.across.core.context.bootstrap.BootstrapApplicationContextFactory;
+import com.foreach.across.core.context.info.ModuleBootstrapStatus;
+import com.foreach.across.core.installers.InstallerAction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import test.AbstractInlineModule;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+public class TestBootstrapPlan
+{
+	private static final AtomicInteger greetersCreated = new AtomicInteger();
+	private static final AtomicInteger installerExecutions = new AtomicInteger();
+
+	private EmbeddedDatabase dataSource;
+	private AcrossContext context;
+
+	@BeforeEach
+	public void before() {
+		greetersCreated.set( 0 );
+		installerExecutions.set( 0 );
+		dataSource = new EmbeddedDatabaseBuilder().setType( EmbeddedDatabaseType.HSQL ).generateUniqueName( true ).build();
+
+		context = new AcrossContext();
+		context.setDataSource( dataSource );
+		context.setInstallerAction( InstallerAction.EXECUTE );
+	}
+
+	@AfterEach
+	public void after() {
+		context.shutdown();
+		dataSource.shutdown();
+	}
+
+	@Test
+	public void planContainsModulesInstallersAndExposedBeans() {
+		context.addModule( new InlineModule( "provider", ProviderConfig.class, DisabledConfig.class ) );
+		InlineModule consumer = new InlineModule( "consumer", ConsumerConfig.class );
+		consumer.addRuntimeDependency( "provider" );
+		context.addModule( consumer );
+
+		AcrossBootstrapPlan plan = context.plan();
+
+		assertThat( plan.isValid() ).isTrue();
+		assertThat( plan.getModules() )
+				.extracting( ModulePlan::getName )
+				.containsSubsequence( "provider", "consumer" );
+
+		ModulePlan provider = plan.getModule( "provider" ).orElseThrow( AssertionError::new );
+		assertThat( provider.getStatus() ).isEqualTo( ModuleBootstrapStatus.AwaitingBootstrap );
+		assertThat( provider.getExposedBeans() ).extracting( ExposedBeanPlan::getBeanName ).containsExactly( "greeter" );
+		assertThat( provider.getInstallers() ).hasSize( 1 );
+		assertThat( provider.getInstallers().get( 0 ).getExecution() ).isEqualTo( InstallerExecution.EXECUTE );
+		assertThat( provider.getInstallers().get( 0 ).getInstalledVersion() ).isEqualTo( -1 );
+
+		ModulePlan consumerPlan = plan.getModule( "consumer" ).orElseThrow( AssertionError::new );
+		assertThat( consumerPlan.getRequiredDependencies() ).containsExactly( "provider" );
+		assertThat( consumerPlan.getExposedBeans() ).extracting( ExposedBeanPlan::getBeanName ).containsExactly( "consumer" );
+
+		assertThat( plan.toYaml() ).contains( "name: provider" ).contains( "execution: EXECUTE" );
+
+		// nothing has been created or executed
+		assertThat( greetersCreated.get() ).isEqualTo( 0 );
+		assertThat( installerExecutions.get() ).isEqualTo( 0 );
+		assertThat( AcrossContextUtils.getAcrossApplicationContextHolder( context ) ).isNull();
+
+		context.bootstrap();
+		assertThat( greetersCreated.get() ).isEqualTo( 1 );
+		assertThat( installerExecutions.get() ).isEqualTo( 1 );
+
+		context.shutdown();
+	}
+
+	@Test
+	public void installerThatHasBeenExecutedIsSkipped() {
+		context.addModule( new InlineModule( "provider", ProviderConfig.class ) );
+		context.bootstrap();
+		context.shutdown();
+
+		AcrossBootstrapPlan plan = context.plan();
+		assertThat( plan.getModule( "provider" ).orElseThrow( AssertionError::new ).getInstallers().get( 0 ) )
+				.satisfies( installer -> {
+					assertThat( installer.getExecution() ).isEqualTo( InstallerExecution.SKIP );
+					assertThat( installer.getInstalledVersion() ).isEqualTo( 1 );
+				} );
+	}
+
+	@Test
+	public void missingRequiredModuleIsAnError() {
+		InlineModule consumer = new InlineModule( "consumer", ConsumerConfig.class );
+		consumer.addRuntimeDependency( "provider" );
+		context.addModule( consumer );
+
+		AcrossBootstrapPlan plan = context.plan();
+
+		assertThat( plan.isValid() ).isFalse();
+		assertThat( plan.getDiagnostics( Severity.ERROR ) ).hasSize( 1 );
+		assertThat( plan.getModules() ).isEmpty();
+	}
+
+	@Test
+	public void sameExposedBeanNameFromMultipleModulesIsAWarning() {
+		context.addModule( new InlineModule( "provider", ProviderConfig.class ) );
+		context.addModule( new InlineModule( "otherProvider", ProviderConfig.class ) );
+
+		AcrossBootstrapPlan plan = context.plan();
+
+		assertThat( plan.isValid() ).isTrue();
+		assertThat( plan.getDiagnostics( Severity.WARNING ) )
+				.anyMatch( diagnostic -> diagnostic.getMessage().contains( "'greeter'" ) );
+	}
+
+	@Test
+	public void exposedBeansAreNotDeterminedIfFactoryDoesNotSupportPlanning() {
+		context.addModule( new InlineModule( "provider", ProviderConfig.class ) );
+
+		AcrossBootstrapper bootstrapper = new AcrossBootstrapper( context );
+		bootstrapper.setApplicationContextFactory(
+				mock( BootstrapApplicationContextFactory.class, delegatesTo( new AnnotationConfigBootstrapApplicationContextFactory() ) )
+		);
+		AcrossBootstrapPlan plan = bootstrapper.plan();
+
+		assertThat( plan.isValid() ).isTrue();
+		assertThat( plan.getModule( "provider" ).orElseThrow( AssertionError::new ).getExposedBeans() ).isEmpty();
+		assertThat( plan.getDiagnostics( Severity.WARNING ) )
+				.anyMatch( diagnostic -> diagnostic.getMessage().contains( "does not support planning" ) );
+		assertThat( greetersCreated.get() ).isEqualTo( 0 );
+	}
+
+	static class InlineModule extends AbstractInlineModule
+	{
+		InlineModule( String name, Class... annotatedClasses ) {
+			super( name, annotatedClasses );
+		}
+
+		@Override
+		public Object[] getInstallers() {
+			return getName().equals( "provider" ) ? new Object[] { GreeterInstaller.class } : new Object[0];
+		}
+	}
+
+	@Exposed
+	public static class Greeter
+	{
+		Greeter() {
+			greetersCreated.incrementAndGet();
+		}
+	}
+
+	@Exposed
+	public static class Consumer
+	{
+	}
+
+	@Installer(description = "Installs greetings", version = 1)
+	public static class GreeterInstaller
+	{
+		@InstallerMethod
+		public void install() {
+			installerExecutions.incrementAndGet();
+		}
+	}
+
+	@Configuration
+	static class ProviderConfig
+	{
+		@Bean
+		public Greeter greeter() {
+			return new Greeter();
+		}
+	}
+
+	@Configuration
+	@ConditionalOnProperty("planning.disabled")
+	static class DisabledConfig
+	{
+		@Bean
+		public Consumer disabledConsumer() {
+			return new Consumer();
+		}
+	}
+
+	@Configuration
+	@ConditionalOnBean(Greeter.class)
+	static class ConsumerConfig
+	{
+		@Bean
+		public Consumer consumer() {
+			return new Consumer();
+		}
+	}
+}
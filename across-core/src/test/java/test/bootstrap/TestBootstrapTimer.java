@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test.bootstrap;
+
+import com.foreach.across.core.AcrossContext;
+import com.foreach.across.core.AcrossModule;
+import com.foreach.across.core.EmptyAcrossModule;
+import com.foreach.across.core.context.AcrossContextUtils;
+import com.foreach.across.core.context.bootstrap.AcrossBootstrapTimer;
+import com.foreach.across.core.context.bootstrap.AcrossBootstrapper;
+import com.foreach.across.core.context.bootstrap.BootstrapAdapter;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+public class TestBootstrapTimer
+{
+	@Test
+	public void bootstrapTimerIsPassedToListenersAndNotRegisteredInTheAcrossContext() {
+		AtomicReference<AcrossBootstrapTimer> timerReference = new AtomicReference<>();
+
+		AcrossContext context = new AcrossContext();
+		context.addModule( new TimerListeningModule( timerReference ) );
+		context.addModule( new EmptyAcrossModule( "one" ) );
+		context.addModule( new EmptyAcrossModule( "two" ) );
+
+		try {
+			context.bootstrap();
+
+			AcrossBootstrapTimer timer = timerReference.get();
+			assertThat( timer ).isNotNull();
+			assertThat( timer.getModuleTimeReports() ).containsKeys( "one", "two" );
+			assertThat( timer.getTotalTimeInMillis() )
+					.isGreaterThan( 0 )
+					.isGreaterThanOrEqualTo( timer.getConfigurationPhaseInMillis() + timer.getTotalModuleApplicationContextTimeInMillis() );
+
+			assertThat( AcrossContextUtils.getApplicationContext( context ).getBeansOfType( AcrossBootstrapTimer.class ) ).isEmpty();
+		}
+		finally {
+			context.shutdown();
+		}
+	}
+
+	static class TimerListeningModule extends AcrossModule implements BootstrapAdapter
+	{
+		private final AtomicReference<AcrossBootstrapTimer> timerReference;
+
+		TimerListeningModule( AtomicReference<AcrossBootstrapTimer> timerReference ) {
+			this.timerReference = timerReference;
+		}
+
+		@Override
+		public String getName() {
+			return "timerListeningModule";
+		}
+
+		@Override
+		public void customizeBootstrapper( AcrossBootstrapper bootstrapper ) {
+			bootstrapper.addBootstrapTimerListener( timerReference::set );
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test.context;
+
+import com.foreach.across.core.AcrossContext;
+import com.foreach.across.core.context.AcrossContextUtils;
+import com.foreach.across.core.context.SharedMetadataReaderFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import test.AbstractInlineModule;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Class path metadata read while bootstrapping a context is kept for other contexts bootstrapping afterwards.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+public class TestSharedClassPathMetadata
+{
+	@Test
+	public void secondContextReusesMetadataOfFirstContext() {
+		AcrossContext first = bootstrap();
+
+		try {
+			MetadataReader firstReader = capturedMetadataReader( first );
+
+			AcrossContext second = bootstrap();
+
+			try {
+				assertThat( metadataReaderFactory( second ) ).isSameAs( metadataReaderFactory( first ) );
+				assertThat( capturedMetadataReader( second ) ).isSameAs( firstReader );
+			}
+			finally {
+				second.shutdown();
+			}
+		}
+		finally {
+			first.shutdown();
+		}
+	}
+
+	private AcrossContext bootstrap() {
+		AcrossContext context = new AcrossContext();
+		context.addModule( new AbstractInlineModule( "MetadataModule", MetadataCapturingConfiguration.class )
+		{
+		} );
+		context.bootstrap();
+		return context;
+	}
+
+	private MetadataReaderFactory metadataReaderFactory( AcrossContext context ) {
+		return AcrossContextUtils.getApplicationContext( context ).getBean( SharedMetadataReaderFactory.BEAN_NAME, MetadataReaderFactory.class );
+	}
+
+	private MetadataReader capturedMetadataReader( AcrossContext context ) {
+		return AcrossContextUtils.getBeanRegistry( context ).getBeanOfTypeFromModule( "MetadataModule", MetadataReader.class );
+	}
+
+	@Configuration
+	protected static class MetadataCapturingConfiguration
+	{
+		@Bean
+		public MetadataReader capturedMetadataReader( ApplicationContext applicationContext ) throws IOException {
+			return applicationContext.getBean( SharedMetadataReaderFactory.BEAN_NAME, MetadataReaderFactory.class )
+			                         .getMetadataReader( MetadataCapturingConfiguration.class.getName() );
+		}
+	}
+}
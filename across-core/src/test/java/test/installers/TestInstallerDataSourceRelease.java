@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test.installers;
+
+import com.foreach.across.core.AcrossContext;
+import com.foreach.across.core.installers.InstallerAction;
+import com.foreach.across.core.installers.InstallerDataSourceReleaser;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import test.modules.installer.InstallerModule;
+
+import java.sql.Connection;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+public class TestInstallerDataSourceRelease
+{
+	private EmbeddedDatabase dataSource;
+	private HikariDataSource installerDataSource;
+
+	@BeforeEach
+	public void createDataSources() {
+		// separate pool on the same database
+		dataSource = new EmbeddedDatabaseBuilder().setType( EmbeddedDatabaseType.HSQL ).setName( "installer-release" ).build();
+
+		installerDataSource = new HikariDataSource();
+		installerDataSource.setJdbcUrl( "jdbc:hsqldb:mem:installer-release" );
+		installerDataSource.setUsername( "sa" );
+		installerDataSource.setMinimumIdle( 2 );
+		installerDataSource.setMaximumPoolSize( 2 );
+	}
+
+	@AfterEach
+	public void shutdownDataSources() {
+		installerDataSource.close();
+		dataSource.shutdown();
+	}
+
+	@Test
+	public void installerConnectionsAreReleasedAfterBootstrapAndReopenedOnDemand() {
+		bootstrap( true );
+
+		assertThat( installerDataSource.isClosed() ).isFalse();
+		assertThat( installerDataSource.getHikariConfigMXBean().getMinimumIdle() ).isEqualTo( 0 );
+		assertThat( installerDataSource.getHikariPoolMXBean().getIdleConnections() ).isEqualTo( 0 );
+
+		assertThat( new JdbcTemplate( installerDataSource ).queryForObject( "SELECT count(*) FROM acrossmodules", Integer.class ) )
+				.isGreaterThan( 0 );
+	}
+
+	@Test
+	public void connectionsAreNotReleasedByDefault() {
+		bootstrap( null );
+
+		assertThat( installerDataSource.getHikariConfigMXBean().getMinimumIdle() ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void singleConnectionDataSourceIsNotReleased() {
+		SingleConnectionDataSource singleConnectionDataSource = new SingleConnectionDataSource( "jdbc:hsqldb:mem:installer-release", "sa", "", true );
+		Connection connection = DataSourceUtils.getConnection( singleConnectionDataSource );
+
+		try {
+			assertThat( InstallerDataSourceReleaser.release( singleConnectionDataSource, dataSource ) ).isFalse();
+			assertThat( DataSourceUtils.getConnection( singleConnectionDataSource ) ).isSameAs( connection );
+		}
+		finally {
+			singleConnectionDataSource.destroy();
+		}
+	}
+
+	@Test
+	public void applicationDataSourceIsNeverReleased() {
+		assertThat( InstallerDataSourceReleaser.release( installerDataSource, installerDataSource ) ).isFalse();
+		assertThat( InstallerDataSourceReleaser.release( dataSource, null ) ).isFalse();
+	}
+
+	private void bootstrap( Boolean release ) {
+		AnnotationConfigApplicationContext parent = new AnnotationConfigApplicationContext();
+		if ( release != null ) {
+			parent.getEnvironment().getPropertySources().addFirst(
+					new MapPropertySource( "test", Collections.singletonMap( InstallerDataSourceReleaser.RELEASE_PROPERTY, release ) )
+			);
+		}
+		parent.refresh();
+
+		AcrossContext ctx = new AcrossContext();
+		ctx.setParentApplicationContext( parent );
+		ctx.setInstallerAction( InstallerAction.EXECUTE );
+		ctx.setDataSource( dataSource );
+		ctx.setInstallerDataSource( installerDataSource );
+		ctx.addModule( new InstallerModule() );
+
+		try {
+			ctx.bootstrap();
+		}
+		finally {
+			ctx.shutdown();
+			parent.close();
+		}
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test.installers;
+
+import com.foreach.across.core.AcrossContext;
+import com.foreach.across.core.AcrossModule;
+import com.foreach.across.core.annotations.Installer;
+import com.foreach.across.core.installers.AcrossLiquibaseInstaller;
+import com.foreach.across.core.installers.InstallerAction;
+import com.foreach.across.core.installers.InstallerRunCondition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+public class TestLiquibaseInstallerChecksums
+{
+	private EmbeddedDatabase dataSource;
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	public void createDataSource() {
+		dataSource = new EmbeddedDatabaseBuilder().setType( EmbeddedDatabaseType.HSQL ).generateUniqueName( true ).build();
+		jdbcTemplate = new JdbcTemplate( dataSource );
+	}
+
+	@AfterEach
+	public void shutdownDataSource() {
+		dataSource.shutdown();
+	}
+
+	@Test
+	public void unchangedChangeLogIsNotAppliedAgain() {
+		bootstrap( false );
+		assertEquals( Integer.valueOf( 1 ), count( "my_installer" ) );
+		assertEquals( Integer.valueOf( 1 ), count( "across_schema_checksums" ) );
+
+		// liquibase would fail validating the modified changeset checksum if it were to run again
+		jdbcTemplate.update( "UPDATE databasechangelog SET md5sum = '8:invalid' WHERE id = 'insert-record'" );
+
+		bootstrap( false );
+		assertEquals( Integer.valueOf( 1 ), count( "my_installer" ) );
+	}
+
+	@Test
+	public void changeLogIsAppliedAgainIfChangeLogTableIsMissing() {
+		bootstrap( false );
+		jdbcTemplate.update( "DROP TABLE my_installer" );
+		jdbcTemplate.update( "DROP TABLE databasechangelog" );
+
+		bootstrap( false );
+		assertEquals( Integer.valueOf( 1 ), count( "my_installer" ) );
+	}
+
+	@Test
+	public void changeLogIsAppliedAgainIfChangeSetsAreMissingFromChangeLogTable() {
+		bootstrap( false );
+		jdbcTemplate.update( "DELETE FROM my_installer" );
+		jdbcTemplate.update( "DELETE FROM databasechangelog WHERE id = 'insert-record'" );
+
+		bootstrap( false );
+		assertEquals( Integer.valueOf( 1 ), count( "my_installer" ) );
+	}
+
+	@Test
+	public void fullUpdateCanBeForcedByProperty() {
+		bootstrap( false );
+		jdbcTemplate.update( "DROP TABLE my_installer" );
+		jdbcTemplate.update( "DELETE FROM databasechangelog" );
+
+		bootstrap( true );
+		assertEquals( Integer.valueOf( 1 ), count( "my_installer" ) );
+	}
+
+	private Integer count( String table ) {
+		return jdbcTemplate.queryForObject( "SELECT count(*) FROM " + table, Integer.class );
+	}
+
+	private void bootstrap( boolean validate ) {
+		AnnotationConfigApplicationContext parent = new AnnotationConfigApplicationContext();
+		parent.getEnvironment().getPropertySources().addFirst(
+				new MapPropertySource( "test", Collections.singletonMap( AcrossLiquibaseInstaller.VALIDATE_PROPERTY, validate ) )
+		);
+		parent.refresh();
+
+		AcrossContext ctx = new AcrossContext();
+		ctx.setParentApplicationContext( parent );
+		ctx.setInstallerAction( InstallerAction.EXECUTE );
+		ctx.setDataSource( dataSource );
+		ctx.addModule( new MyModule() );
+
+		try {
+			ctx.bootstrap();
+		}
+		finally {
+			ctx.shutdown();
+			parent.close();
+		}
+	}
+
+	protected static class MyModule extends AcrossModule
+	{
+		@Override
+		public String getName() {
+			return "MyModule";
+		}
+
+		@Override
+		public String getDescription() {
+			return "Liquibase installer that always runs";
+		}
+
+		@Override
+		public Object[] getInstallers() {
+			return new Object[] { MyInstaller.class };
+		}
+	}
+
+	@Installer(description = "Creates a simple table in the datasource.", runCondition = InstallerRunCondition.AlwaysRun)
+	protected static class MyInstaller extends AcrossLiquibaseInstaller
+	{
+		public MyInstaller() {
+			super( "classpath:/liquibase/my-installer.xml" );
+		}
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test.installers;
+
+import com.foreach.across.core.AcrossContext;
+import com.foreach.across.core.AcrossModule;
+import com.foreach.across.core.annotations.Installer;
+import com.foreach.across.core.annotations.InstallerMethod;
+import com.foreach.across.core.installers.InstallerAction;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+public class TestParallelInstallers
+{
+	private static CountDownLatch groupsStarted;
+	private static List<String> executed;
+	private static Map<String, String> threadNames;
+	private static boolean failGroupTwo;
+
+	private EmbeddedDatabase dataSource;
+
+	@BeforeEach
+	public void before() {
+		groupsStarted = new CountDownLatch( 2 );
+		executed = new CopyOnWriteArrayList<>();
+		threadNames = Collections.synchronizedMap( new HashMap<>() );
+		failGroupTwo = false;
+		dataSource = new EmbeddedDatabaseBuilder().setType( EmbeddedDatabaseType.HSQL ).generateUniqueName( true ).build();
+	}
+
+	@AfterEach
+	public void after() {
+		dataSource.shutdown();
+	}
+
+	@Test
+	public void installersOfDifferentGroupsAreExecutedConcurrently() {
+		bootstrap( 4 );
+
+		assertThat( groupsStarted.getCount() ).isEqualTo( 0 );
+		assertThat( executed ).containsExactlyInAnyOrder( "one", "two", "first", "second" );
+		assertThat( executed.indexOf( "first" ) ).isLessThan( executed.indexOf( "second" ) );
+		assertThat( threadNames.get( "one" ) ).isNotEqualTo( threadNames.get( "two" ) );
+		assertThat( threadNames.get( "first" ) ).isEqualTo( threadNames.get( "second" ) );
+
+		assertThat( new JdbcTemplate( dataSource ).queryForObject(
+				"SELECT count(*) FROM acrossmodules WHERE module_id IN ( 'ModuleOne', 'ModuleTwo' )", Integer.class
+		) ).isEqualTo( 4 );
+
+		// installers have been registered, nothing should execute on a second run
+		executed.clear();
+		bootstrap( 4 );
+		assertThat( executed ).isEmpty();
+	}
+
+	@Test
+	public void installersAreExecutedSeriallyByDefault() {
+		groupsStarted = new CountDownLatch( 0 );
+		bootstrap( 1 );
+
+		assertThat( executed ).containsExactly( "one", "first", "two", "second" );
+		assertThat( new HashSet<>( threadNames.values() ) ).containsExactly( Thread.currentThread().getName() );
+	}
+
+	@Test
+	public void exceptionInParallelInstallerFailsTheBootstrap() {
+		failGroupTwo = true;
+
+		RuntimeException exception = assertThrows( RuntimeException.class, () -> bootstrap( 4 ) );
+		assertThat( ExceptionUtils.getThrowableList( exception ) )
+				.anyMatch( e -> "group two failed".equals( e.getMessage() ) );
+		assertThat( executed ).doesNotContain( "two" );
+	}
+
+	private void bootstrap( int maximumParallelInstallers ) {
+		AcrossContext ctx = new AcrossContext();
+		ctx.setDataSource( dataSource );
+		ctx.setInstallerAction( InstallerAction.EXECUTE );
+		ctx.getInstallerSettings().setMaximumParallelInstallers( maximumParallelInstallers );
+		ctx.addModule( new ModuleOne() );
+		ctx.addModule( new ModuleTwo() );
+
+		try {
+			ctx.bootstrap();
+		}
+		finally {
+			ctx.shutdown();
+		}
+	}
+
+	private static void execute( String name ) {
+		threadNames.put( name, Thread.currentThread().getName() );
+		executed.add( name );
+	}
+
+	private static void awaitOtherGroup() throws InterruptedException {
+		groupsStarted.countDown();
+		groupsStarted.await( 10, TimeUnit.SECONDS );
+	}
+
+	protected static class ModuleOne extends AcrossModule
+	{
+		@Override
+		public String getName() {
+			return "ModuleOne";
+		}
+
+		@Override
+		public String getDescription() {
+			return "Installers for parallel execution";
+		}
+
+		@Override
+		public Object[] getInstallers() {
+			return new Object[] { GroupOneInstaller.class, FirstInstaller.class };
+		}
+	}
+
+	protected static class ModuleTwo extends AcrossModule
+	{
+		@Override
+		public String getName() {
+			return "ModuleTwo";
+		}
+
+		@Override
+		public String getDescription() {
+			return "Installers for parallel execution";
+		}
+
+		@Override
+		public Object[] getInstallers() {
+			return new Object[] { GroupTwoInstaller.class, SecondInstaller.class };
+		}
+	}
+
+	@Installer(description = "group one", parallelGroup = "one")
+	protected static class GroupOneInstaller
+	{
+		@InstallerMethod
+		public void install() throws InterruptedException {
+			awaitOtherGroup();
+			execute( "one" );
+		}
+	}
+
+	@Installer(description = "group two", parallelGroup = "two")
+	protected static class GroupTwoInstaller
+	{
+		@InstallerMethod
+		public void install() throws InterruptedException {
+			if ( failGroupTwo ) {
+				throw new IllegalStateException( "group two failed" );
+			}
+			awaitOtherGroup();
+			execute( "two" );
+		}
+	}
+
+	@Installer(description = "no group")
+	protected static class FirstInstaller
+	{
+		@InstallerMethod
+		public void install() {
+			execute( "first" );
+		}
+	}
+
+	@Installer(description = "no group")
+	protected static class SecondInstaller
+	{
+		@InstallerMethod
+		public void install() {
+			execute( "second" );
+		}
+	}
+}
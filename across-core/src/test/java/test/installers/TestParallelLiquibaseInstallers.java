@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test.installers;
+
+import com.foreach.across.core.AcrossContext;
+import com.foreach.across.core.AcrossModule;
+import com.foreach.across.core.annotations.Installer;
+import com.foreach.across.core.installers.AcrossLiquibaseInstaller;
+import com.foreach.across.core.installers.InstallerAction;
+import liquibase.exception.LiquibaseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Liquibase installers of different parallel groups updating the same database at the same time.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+public class TestParallelLiquibaseInstallers
+{
+	private static CountDownLatch groupsStarted;
+	private static Map<String, String> threadNames;
+
+	private EmbeddedDatabase dataSource;
+
+	@BeforeEach
+	public void before() {
+		groupsStarted = new CountDownLatch( 2 );
+		threadNames = Collections.synchronizedMap( new HashMap<>() );
+		dataSource = new EmbeddedDatabaseBuilder().setType( EmbeddedDatabaseType.HSQL ).generateUniqueName( true ).build();
+	}
+
+	@AfterEach
+	public void after() {
+		dataSource.shutdown();
+	}
+
+	@Test
+	public void liquibaseInstallersOfDifferentGroupsAreExecutedConcurrently() {
+		AcrossContext ctx = new AcrossContext();
+		ctx.setDataSource( dataSource );
+		ctx.setInstallerAction( InstallerAction.EXECUTE );
+		ctx.getInstallerSettings().setMaximumParallelInstallers( 2 );
+		ctx.addModule( new LiquibaseModule( "ModuleOne", GroupOneInstaller.class ) );
+		ctx.addModule( new LiquibaseModule( "ModuleTwo", GroupTwoInstaller.class ) );
+
+		try {
+			ctx.bootstrap();
+		}
+		finally {
+			ctx.shutdown();
+		}
+
+		assertThat( groupsStarted.getCount() ).isEqualTo( 0 );
+		assertThat( threadNames.get( "one" ) ).isNotEqualTo( threadNames.get( "two" ) );
+
+		JdbcTemplate jdbcTemplate = new JdbcTemplate( dataSource );
+		assertThat( jdbcTemplate.queryForObject( "SELECT name FROM parallel_installer_one", String.class ) ).isEqualTo( "one" );
+		assertThat( jdbcTemplate.queryForObject( "SELECT name FROM parallel_installer_two", String.class ) ).isEqualTo( "two" );
+	}
+
+	private static void awaitOtherGroup( String name ) throws InterruptedException {
+		threadNames.put( name, Thread.currentThread().getName() );
+		groupsStarted.countDown();
+		groupsStarted.await( 10, TimeUnit.SECONDS );
+	}
+
+	protected static class LiquibaseModule extends AcrossModule
+	{
+		private final String name;
+		private final Class<?> installer;
+
+		LiquibaseModule( String name, Class<?> installer ) {
+			this.name = name;
+			this.installer = installer;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public String getDescription() {
+			return "Liquibase installer for parallel execution";
+		}
+
+		@Override
+		public Object[] getInstallers() {
+			return new Object[] { installer };
+		}
+	}
+
+	@Installer(description = "group one", parallelGroup = "one")
+	protected static class GroupOneInstaller extends AcrossLiquibaseInstaller
+	{
+		public GroupOneInstaller() {
+			super( "classpath:/liquibase/parallel-installer-one.xml" );
+		}
+
+		@Override
+		public void install() throws LiquibaseException {
+			try {
+				awaitOtherGroup( "one" );
+			}
+			catch ( InterruptedException ie ) {
+				Thread.currentThread().interrupt();
+			}
+			super.install();
+		}
+	}
+
+	@Installer(description = "group two", parallelGroup = "two")
+	protected static class GroupTwoInstaller extends AcrossLiquibaseInstaller
+	{
+		public GroupTwoInstaller() {
+			super( "classpath:/liquibase/parallel-installer-two.xml" );
+		}
+
+		@Override
+		public void install() throws LiquibaseException {
+			try {
+				awaitOtherGroup( "two" );
+			}
+			catch ( InterruptedException ie ) {
+				Thread.currentThread().interrupt();
+			}
+			super.install();
+		}
+	}
+}
@@ -21,6 +21,7 @@ import com.foreach.across.core.AcrossModule;
 import com.foreach.across.core.annotations.Exposed;
 import com.foreach.across.core.annotations.Module;
 import com.foreach.across.core.context.AcrossApplicationContext;
+import com.foreach.across.core.context.AcrossConfigurableApplicationContext;
 import com.foreach.across.core.context.AcrossContextUtils;
 import com.foreach.across.core.context.AcrossListableBeanFactory;
 import com.foreach.across.core.context.configurer.AnnotatedClassConfigurer;
@@ -30,16 +31,22 @@ import com.foreach.across.core.context.info.AcrossModuleInfo;
 import com.foreach.across.core.context.registry.AcrossContextBeanRegistry;
 import com.foreach.across.core.transformers.BeanPrefixingTransformer;
 import org.junit.jupiter.api.Test;
+import test.AbstractInlineModule;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.MapPropertySource;
 
+import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -135,6 +142,37 @@ public class TestAcrossContextShutdown
 		assertNull( parent.getBeanFactory().getParentBeanFactory() );
 	}
 
+	@Test
+	public void modulesStillClosingAfterDeadlineAreDetachedAndRemainingModulesClosed() {
+		SlowClosingBean.release = new CountDownLatch( 1 );
+
+		AcrossContext context = new AcrossContext();
+		context.addPropertySources( new MapPropertySource( "shutdown", Collections.singletonMap( "across.shutdown.timeout", "300ms" ) ) );
+		TestModule one = new TestModule( "one" );
+		AcrossModule slow = new AbstractInlineModule( "slow", SlowClosingBean.class )
+		{
+		};
+		context.addModule( one );
+		context.addModule( slow );
+		context.bootstrap();
+
+		AcrossConfigurableApplicationContext slowContext = AcrossContextUtils.getApplicationContext( slow );
+		AcrossConfigurableApplicationContext oneContext = AcrossContextUtils.getApplicationContext( one );
+
+		try {
+			context.shutdown();
+
+			assertFalse( oneContext.isActive() );
+			assertFalse( one.hasApplicationContext() );
+			assertFalse( slow.hasApplicationContext() );
+			assertNull( slowContext.getParent() );
+			assertNull( slowContext.getBeanFactory().getParentBeanFactory() );
+		}
+		finally {
+			SlowClosingBean.release.countDown();
+		}
+	}
+
 	private String fetch( ApplicationContext context, String moduleName ) {
 		try {
 			return context.getBean( moduleName + "ExposedBean" ).toString();
@@ -221,6 +259,25 @@ public class TestAcrossContextShutdown
 		}
 	}
 
+	protected static class SlowClosingBean implements DisposableBean
+	{
+		static CountDownLatch release;
+
+		@Override
+		public void destroy() {
+			// ignore interrupts to simulate a module that does not stop
+			boolean released = false;
+			while ( !released ) {
+				try {
+					release.await( 10, TimeUnit.SECONDS );
+					released = true;
+				}
+				catch ( InterruptedException ignore ) {
+				}
+			}
+		}
+	}
+
 	protected static class BeanFromModule
 	{
 		@Autowired
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test.lifecycle;
+
+import com.foreach.across.core.AcrossContext;
+import com.foreach.across.core.annotations.Exposed;
+import com.foreach.across.core.annotations.Refreshable;
+import com.foreach.across.core.context.AcrossContextUtils;
+import com.foreach.across.core.context.info.AcrossModuleInfo;
+import com.foreach.across.core.context.registry.AcrossContextBeanRegistry;
+import com.foreach.across.core.events.AcrossModuleBeforeReloadEvent;
+import com.foreach.across.core.events.AcrossModuleReloadedEvent;
+import com.foreach.across.core.registry.RefreshableRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import test.AbstractInlineModule;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+public class TestModuleReload
+{
+	private static final List<String> events = new CopyOnWriteArrayList<>();
+
+	private AcrossContext context;
+	private AcrossContextBeanRegistry beanRegistry;
+
+	@BeforeEach
+	public void bootstrap() {
+		events.clear();
+
+		context = new AcrossContext();
+		context.addModule( new InlineModule( "provider", ProviderConfig.class ) );
+		InlineModule consumer = new InlineModule( "consumer", ConsumerConfig.class );
+		consumer.addRuntimeDependency( "provider" );
+		context.addModule( consumer );
+		context.addModule( new InlineModule( "independent", IndependentConfig.class ) );
+		context.bootstrap();
+
+		beanRegistry = AcrossContextUtils.getBeanRegistry( context );
+	}
+
+	@AfterEach
+	public void shutdown() {
+		context.shutdown();
+	}
+
+	@Test
+	public void moduleAndDependentModulesAreReplaced() {
+		Greeter original = beanRegistry.getBeanOfTypeFromModule( "provider", Greeter.class );
+		ConfigurableApplicationContext originalProviderContext = providerContext();
+		ConfigurableApplicationContext originalIndependentContext = moduleContext( "independent" );
+
+		assertThat( context.reloadModule( "provider" ) )
+				.extracting( AcrossModuleInfo::getName )
+				.containsExactly( "provider", "consumer" );
+
+		Greeter reloaded = beanRegistry.getBeanOfTypeFromModule( "provider", Greeter.class );
+		assertThat( reloaded ).isNotSameAs( original );
+		assertThat( original.destroyed.get() ).isEqualTo( 1 );
+		assertThat( reloaded.destroyed.get() ).isEqualTo( 0 );
+
+		assertThat( originalProviderContext.isActive() ).isFalse();
+		assertThat( providerContext().isActive() ).isTrue();
+		assertThat( moduleContext( "independent" ) ).isSameAs( originalIndependentContext );
+
+		assertThat( beanRegistry.getBeanOfTypeFromModule( "consumer", Consumer.class ).greeter ).isSameAs( reloaded );
+		assertThat( AcrossContextUtils.getApplicationContext( context ).getBean( Greeter.class ) ).isSameAs( reloaded );
+
+		IndependentHolder holder = beanRegistry.getBeanOfTypeFromModule( "independent", IndependentHolder.class );
+		assertThat( holder.greeter ).isSameAs( reloaded );
+		assertThat( holder.greeters.getMembers() ).containsExactly( reloaded );
+	}
+
+	@Test
+	public void eventsMarkTheReload() {
+		context.reloadModule( "provider" );
+
+		assertThat( events ).containsExactly( "before:provider,consumer", "reloaded:provider,consumer" );
+	}
+
+	@Test
+	public void moduleWithoutDependentsIsReloadedOnItsOwn() {
+		assertThat( context.reloadModule( "consumer" ) )
+				.extracting( AcrossModuleInfo::getName )
+				.containsExactly( "consumer" );
+		assertThat( beanRegistry.getBeanOfTypeFromModule( "consumer", Consumer.class ).greeter )
+				.isSameAs( beanRegistry.getBeanOfTypeFromModule( "provider", Greeter.class ) );
+	}
+
+	@Test
+	public void unknownModuleCannotBeReloaded() {
+		assertThrows( IllegalArgumentException.class, () -> context.reloadModule( "unknown" ) );
+	}
+
+	private ConfigurableApplicationContext providerContext() {
+		return moduleContext( "provider" );
+	}
+
+	private ConfigurableApplicationContext moduleContext( String moduleName ) {
+		return (ConfigurableApplicationContext) AcrossContextUtils.getContextInfo( context ).getModuleInfo( moduleName ).getApplicationContext();
+	}
+
+	private static String names( Collection<AcrossModuleInfo> modules ) {
+		return modules.stream().map( AcrossModuleInfo::getName ).collect( Collectors.joining( "," ) );
+	}
+
+	static class InlineModule extends AbstractInlineModule
+	{
+		InlineModule( String name, Class... annotatedClasses ) {
+			super( name, annotatedClasses );
+		}
+	}
+
+	@Exposed
+	public static class Greeter implements DisposableBean
+	{
+		final AtomicInteger destroyed = new AtomicInteger();
+
+		@Override
+		public void destroy() {
+			destroyed.incrementAndGet();
+		}
+	}
+
+	public static class Consumer
+	{
+		@Autowired
+		Greeter greeter;
+	}
+
+	@Refreshable
+	public static class IndependentHolder
+	{
+		@Autowired(required = false)
+		Greeter greeter;
+
+		@Autowired
+		RefreshableRegistry<Greeter> greeters;
+
+		@EventListener
+		public void beforeReload( AcrossModuleBeforeReloadEvent event ) {
+			events.add( "before:" + names( event.getModulesToReload() ) );
+		}
+
+		@EventListener
+		public void reloaded( AcrossModuleReloadedEvent event ) {
+			events.add( "reloaded:" + names( event.getReloadedModules() ) );
+		}
+	}
+
+	@Configuration
+	static class ProviderConfig
+	{
+		@Bean
+		public Greeter greeter() {
+			return new Greeter();
+		}
+	}
+
+	@Configuration
+	static class ConsumerConfig
+	{
+		@Bean
+		public Consumer consumer() {
+			return new Consumer();
+		}
+	}
+
+	@Configuration
+	static class IndependentConfig
+	{
+		@Bean
+		public IndependentHolder independentHolder() {
+			return new IndependentHolder();
+		}
+
+		@Bean
+		public RefreshableRegistry<Greeter> greeterRegistry() {
+			return new RefreshableRegistry<>( Greeter.class );
+		}
+	}
+}
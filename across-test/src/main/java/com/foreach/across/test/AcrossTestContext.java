@@ -46,6 +46,7 @@ public class AcrossTestContext extends DefaultAcrossContextBeanRegistry implemen
 	private ConfigurableApplicationContext applicationContext;
 	private AcrossContext acrossContext;
 	private AcrossContextInfo contextInfo;
+	private AcrossTestContextCache.Entry cacheEntry;
 
 	protected AcrossTestContext() {
 	}
@@ -61,8 +62,35 @@ public class AcrossTestContext extends DefaultAcrossContextBeanRegistry implemen
 		setContextInfo( (ConfigurableAcrossContextInfo) contextInfo );
 	}
 
+	/**
+	 * Closes the contexts.  If this context is shared through an {@link AcrossTestContextCache},
+	 * only the lease on the context is released and the contexts are kept running.
+	 */
 	@Override
 	public void close() {
+		if ( cacheEntry != null ) {
+			cacheEntry.release();
+		}
+		else {
+			shutdown();
+		}
+	}
+
+	/**
+	 * Mark this context as dirty: if it is shared through an {@link AcrossTestContextCache} it will no longer
+	 * be reused and will be closed once all leases on it have been released.  Has no effect otherwise.
+	 */
+	public void markDirty() {
+		if ( cacheEntry != null ) {
+			cacheEntry.markDirty();
+		}
+	}
+
+	void setCacheEntry( AcrossTestContextCache.Entry cacheEntry ) {
+		this.cacheEntry = cacheEntry;
+	}
+
+	void shutdown() {
 		acrossContext.shutdown();
 		if ( applicationContext != null ) {
 			applicationContext.close();
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Cache of bootstrapped {@link AcrossTestContext} instances that can be shared between tests having the same
+ * configuration, similar to the Spring TestContext framework caching but for contexts created through
+ * an {@link com.foreach.across.test.support.AcrossTestContextBuilder}.
+ * Caching is opt-in, see {@link com.foreach.across.test.support.AcrossTestContextBuilder#contextCache(AcrossTestContextCache)}.
+ * <p/>
+ * Every time a cached context is returned, a lease is taken on it.  Calling {@link AcrossTestContext#close()} on a
+ * cached context releases a single lease but keeps the context running.  A test that modifies the context in a way
+ * that makes it unsuitable for other tests should call {@link AcrossTestContext#markDirty()}: the context will no
+ * longer be handed out and will be closed as soon as all its leases have been released.
+ * <p/>
+ * Contexts for different keys are bootstrapped concurrently.  If a context for the same key is being bootstrapped
+ * by another thread, the caller waits for that bootstrap to finish and shares the resulting context.
+ * If the bootstrap fails, the context is not cached and all waiting callers receive the exception.
+ * <p/>
+ * When the cache exceeds its maximum size, the least recently used contexts without leases are closed.
+ * All remaining contexts are closed on {@link #clear()} or when the JVM shuts down.
+ * <p/>
+ * Note that a cached context is bootstrapped only once: database resets and installers are not executed again
+ * when a context is reused.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+public class AcrossTestContextCache
+{
+	/**
+	 * System property that determines the maximum size of the {@link #shared()} cache.
+	 */
+	public static final String MAX_SIZE_PROPERTY = "acrossTest.contextCache.maxSize";
+
+	public static final int DEFAULT_MAX_SIZE = 32;
+
+	private static final Logger LOG = LoggerFactory.getLogger( AcrossTestContextCache.class );
+
+	private static AcrossTestContextCache sharedCache;
+
+	private final int maxSize;
+	private final Map<Object, Entry> entries = new LinkedHashMap<>( 16, 0.75f, true );
+
+	private int hitCount;
+	private int missCount;
+	private Thread shutdownHook;
+
+	/**
+	 * @param maxSize maximum number of contexts without leases to keep
+	 */
+	public AcrossTestContextCache( int maxSize ) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * @return the JVM-wide cache instance
+	 */
+	public static synchronized AcrossTestContextCache shared() {
+		if ( sharedCache == null ) {
+			sharedCache = new AcrossTestContextCache( Integer.getInteger( MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE ) );
+		}
+		return sharedCache;
+	}
+
+	/**
+	 * Take a lease on the context registered under the key, creating the context if there is none.
+	 * The context is created outside of the cache lock: other keys can be bootstrapped at the same time,
+	 * callers for a key that is still being bootstrapped wait for it to be ready.
+	 *
+	 * @param key            configuration the context is built from, must implement value based equality
+	 * @param contextFactory to create the context if it is not yet cached
+	 * @param <T>            type of the test context
+	 * @return context
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends AcrossTestContext> T getOrCreate( Object key, Supplier<T> contextFactory ) {
+		Entry entry;
+		boolean created = false;
+
+		synchronized ( this ) {
+			entry = entries.get( key );
+
+			if ( entry != null ) {
+				hitCount++;
+			}
+			else {
+				missCount++;
+				entry = new Entry( key );
+				entries.put( key, entry );
+				registerShutdownHook();
+				created = true;
+			}
+
+			entry.leases++;
+
+			LOG.trace( "Across test context cache: {} hits, {} misses, {} contexts", hitCount, missCount, entries.size() );
+		}
+
+		if ( created ) {
+			return (T) create( entry, contextFactory );
+		}
+
+		try {
+			return (T) entry.context.join();
+		}
+		catch ( CompletionException ce ) {
+			Throwable cause = ce.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw ce;
+		}
+	}
+
+	private AcrossTestContext create( Entry entry, Supplier<? extends AcrossTestContext> contextFactory ) {
+		AcrossTestContext context;
+
+		try {
+			context = contextFactory.get();
+			context.setCacheEntry( entry );
+		}
+		catch ( RuntimeException | Error e ) {
+			synchronized ( this ) {
+				entries.remove( entry.key, entry );
+			}
+			entry.context.completeExceptionally( e );
+			throw e;
+		}
+
+		entry.context.complete( context );
+
+		List<Entry> evicted;
+
+		synchronized ( this ) {
+			evicted = evict();
+		}
+
+		evicted.forEach( Entry::close );
+
+		return context;
+	}
+
+	/**
+	 * @return number of contexts in the cache
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized int getHitCount() {
+		return hitCount;
+	}
+
+	public synchronized int getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Close all cached contexts, including the ones that still have leases.
+	 */
+	public void clear() {
+		List<Entry> removed;
+
+		synchronized ( this ) {
+			removed = new ArrayList<>( entries.values() );
+			entries.clear();
+		}
+
+		removed.forEach( Entry::close );
+	}
+
+	/**
+	 * Removes the least recently used entries without leases if the cache is too large.
+	 * Must be called holding the cache lock, the entries returned should be closed after releasing the lock.
+	 */
+	private List<Entry> evict() {
+		List<Entry> evicted = new ArrayList<>();
+		Iterator<Entry> iterator = entries.values().iterator();
+
+		while ( entries.size() > maxSize && iterator.hasNext() ) {
+			Entry candidate = iterator.next();
+			if ( candidate.leases == 0 ) {
+				iterator.remove();
+				LOG.debug( "Evicting Across test context {}", candidate.context.join().contextInfo().getId() );
+				evicted.add( candidate );
+			}
+		}
+
+		return evicted;
+	}
+
+	private void registerShutdownHook() {
+		if ( shutdownHook == null ) {
+			shutdownHook = new Thread( this::clear, "across-test-context-cache" );
+			Runtime.getRuntime().addShutdownHook( shutdownHook );
+		}
+	}
+
+	private void release( Entry entry ) {
+		List<Entry> entriesToClose = Collections.emptyList();
+
+		synchronized ( this ) {
+			if ( entry.leases > 0 ) {
+				entry.leases--;
+			}
+
+			if ( entry.leases == 0 ) {
+				entriesToClose = entry.dirty ? Collections.singletonList( entry ) : evict();
+			}
+		}
+
+		entriesToClose.forEach( Entry::close );
+	}
+
+	private void markDirty( Entry entry ) {
+		boolean close = false;
+
+		synchronized ( this ) {
+			if ( !entry.dirty ) {
+				entry.dirty = true;
+				entries.remove( entry.key, entry );
+				close = entry.leases == 0;
+			}
+		}
+
+		if ( close ) {
+			entry.close();
+		}
+	}
+
+	/**
+	 * Cached context with its lease count.  The context is completed once the bootstrap has finished.
+	 */
+	final class Entry
+	{
+		private final Object key;
+		private final CompletableFuture<AcrossTestContext> context = new CompletableFuture<>();
+
+		private int leases;
+		private boolean dirty;
+		private boolean closed;
+
+		private Entry( Object key ) {
+			this.key = key;
+		}
+
+		void release() {
+			AcrossTestContextCache.this.release( this );
+		}
+
+		void markDirty() {
+			AcrossTestContextCache.this.markDirty( this );
+		}
+
+		private void close() {
+			synchronized ( AcrossTestContextCache.this ) {
+				if ( closed ) {
+					return;
+				}
+				closed = true;
+			}
+
+			// waits for a bootstrap still in progress, a failed bootstrap leaves nothing to shut down
+			AcrossTestContext testContext = context.handle( ( ctx, error ) -> ctx ).join();
+			if ( testContext != null ) {
+				testContext.shutdown();
+			}
+		}
+	}
+}
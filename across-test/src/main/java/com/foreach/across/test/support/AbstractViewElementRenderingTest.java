@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.test.support;
+
+import com.foreach.across.test.modules.webtest.controllers.RenderViewElementController;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Base class for unit testing {@link com.foreach.across.modules.web.ui.ViewElement} rendering using Thymeleaf,
+ * offering the same methods as {@link AbstractViewElementTemplateTest} but without bootstrapping an Across context.
+ * Rendering is done using the {@link ViewElementTestRenderer} returned by {@link #renderer()}, by default the
+ * {@link ViewElementTestRenderer#shared()} instance.
+ * <p>
+ * Output can be verified using xml assertion, thus ignoring whitespace and attribute ordering.
+ * See the {@link #renderAndExpect(Object, java.lang.String)} method.
+ * </p>
+ *
+ * @author agent
+ * @see ViewElementTestRenderer
+ * @since 5.3.0
+ */
+public abstract class AbstractViewElementRenderingTest
+{
+	private RenderViewElementController.Callback callback;
+	private String template;
+
+	/**
+	 * Override to use a custom configured renderer, for example one with additional model writers.
+	 * The renderer should be reused across tests.
+	 *
+	 * @return renderer to use
+	 */
+	protected ViewElementTestRenderer renderer() {
+		return ViewElementTestRenderer.shared();
+	}
+
+	/**
+	 * <p>Set the callback method to be called before rendering the view element.
+	 * If set this way, the callback will be used for every render call.  See
+	 * {@link #renderAndExpect(Object, RenderViewElementController.Callback, String)} to execute a
+	 * callback a single time only.
+	 * </p>
+	 * <p>Set to {@code null} to remove the callback.</p>
+	 *
+	 * @param callback to be executed before rendering
+	 */
+	protected void setCallback( RenderViewElementController.Callback callback ) {
+		this.callback = callback;
+	}
+
+	/**
+	 * Set a custom Thymeleaf template that should be used for rendering.
+	 *
+	 * @param template to use
+	 */
+	protected void setTemplate( String template ) {
+		this.template = template;
+	}
+
+	/**
+	 * Renders a single {@link com.foreach.across.modules.web.ui.ViewElement} and verifies the generated
+	 * content by using xml comparison.
+	 *
+	 * @param viewElement     element to render
+	 * @param expectedContent xml body that should be generated
+	 */
+	public void renderAndExpect( Object viewElement, String expectedContent ) {
+		renderAndExpect( viewElement, callback, expectedContent );
+	}
+
+	/**
+	 * Renders a single {@link com.foreach.across.modules.web.ui.ViewElement} and verifies the generated
+	 * content by using xml comparison.
+	 *
+	 * @param viewElement     element to render
+	 * @param callback        to be executed before rendering
+	 * @param expectedContent xml body that should be generated
+	 */
+	public void renderAndExpect( Object viewElement, RenderViewElementController.Callback callback, String expectedContent ) {
+		ViewElementXmlAssertions.assertXmlEqual( expectedContent, render( viewElement, callback ), allowedXmlEntities() );
+	}
+
+	/**
+	 * @return output that was rendered
+	 */
+	public String render( Object viewElement ) {
+		return render( viewElement, callback );
+	}
+
+	/**
+	 * @return output that was rendered
+	 */
+	public String render( Object viewElement, RenderViewElementController.Callback callback ) {
+		return renderer().render( template, viewElement, callback );
+	}
+
+	/**
+	 * Override this method to define the named entities that can be referenced in the xml.
+	 */
+	protected Collection<String> allowedXmlEntities() {
+		return Collections.emptyList();
+	}
+}
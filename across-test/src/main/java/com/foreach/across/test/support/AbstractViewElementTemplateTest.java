@@ -31,7 +31,6 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.web.WebAppConfiguration;
-import org.springframework.test.util.XmlExpectationsHelper;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
@@ -129,25 +128,12 @@ public abstract class AbstractViewElementTemplateTest
 		renderController.setElement( viewElement );
 		renderController.setCallback( callback );
 
-		final String pattern = "<?xml version=\"1.0\"?>" + generateDocType() + "<root xmlns:across='https://across.dev'>%s</root>";
-
 		try {
 			mockMvc.perform( get( RenderViewElementController.PATH ) )
 			       .andExpect( status().isOk() )
-			       .andDo( mvcResult -> {
-				       String receivedContent = mvcResult.getResponse().getContentAsString();
-
-				       try {
-					       new XmlExpectationsHelper().assertXmlEqual(
-							       String.format( pattern, expectedContent ),
-							       String.format( pattern, receivedContent )
-					       );
-				       }
-				       catch ( AssertionError | Exception e ) {
-					       throw new AssertionError( "Unexpected content:\n" + receivedContent, e );
-				       }
-			       } );
-
+			       .andDo( mvcResult -> ViewElementXmlAssertions.assertXmlEqual(
+					       expectedContent, mvcResult.getResponse().getContentAsString(), allowedXmlEntities()
+			       ) );
 		}
 		catch ( Exception e ) {
 			throw new RuntimeException( e );
@@ -180,17 +166,6 @@ public abstract class AbstractViewElementTemplateTest
 		}
 	}
 
-	private String generateDocType() {
-		Collection<String> allowedEntities = allowedXmlEntities();
-		if ( !allowedEntities.isEmpty() ) {
-			StringBuilder doctype = new StringBuilder( "<!DOCTYPE doc_type [" );
-			allowedEntities.forEach( s -> doctype.append( "<!ENTITY " ).append( s ).append( " \"&#160;\">" ) );
-			doctype.append( "]>" );
-			return doctype.toString();
-		}
-		return "";
-	}
-
 	/**
 	 * Override this method to define the named entities that can be referenced in the xml.
 	 */
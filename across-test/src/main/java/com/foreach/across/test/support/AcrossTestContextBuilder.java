@@ -26,6 +26,7 @@ import com.foreach.across.core.context.beans.ProvidedBeansMap;
 import com.foreach.across.core.context.configurer.PropertyPlaceholderSupportConfigurer;
 import com.foreach.across.core.support.AcrossContextBuilder;
 import com.foreach.across.test.AcrossTestContext;
+import com.foreach.across.test.AcrossTestContextCache;
 import com.foreach.across.test.support.config.AcrossContextBuilderConfigurerRegistrar;
 import com.foreach.across.test.support.config.ResetDatabaseConfigurer;
 import com.foreach.across.test.support.config.TestDataSourceConfigurer;
@@ -33,12 +34,16 @@ import org.springframework.boot.context.properties.source.ConfigurationPropertyS
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.PropertiesPropertySource;
 import org.springframework.core.env.PropertySource;
+import org.springframework.util.ReflectionUtils;
 
 import javax.sql.DataSource;
+import java.lang.reflect.Method;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Builder for creating an {@link AcrossTestContext}.
@@ -59,6 +64,9 @@ public class AcrossTestContextBuilder
 	private final Set<Class<?>> annotatedClasses = new LinkedHashSet<>();
 	private final Set<Class<?>> exposeClasses = new LinkedHashSet<>();
 	private final AcrossContextBuilder contextBuilder = new AcrossContextBuilder();
+	private final List<Object> contextBuilderSettings = new ArrayList<>();
+
+	private AcrossTestContextCache contextCache;
 
 	public AcrossTestContextBuilder() {
 		properties( properties );
@@ -141,6 +149,7 @@ public class AcrossTestContextBuilder
 	 */
 	public AcrossTestContextBuilder dataSource( DataSource dataSource ) {
 		contextBuilder.dataSource( dataSource );
+		recordSetting( "dataSource", dataSource );
 		return this;
 	}
 
@@ -152,6 +161,7 @@ public class AcrossTestContextBuilder
 	 */
 	public AcrossTestContextBuilder installerDataSource( DataSource installerDataSource ) {
 		contextBuilder.installerDataSource( installerDataSource );
+		recordSetting( "installerDataSource", installerDataSource );
 		return this;
 	}
 
@@ -169,6 +179,7 @@ public class AcrossTestContextBuilder
 	 */
 	public AcrossTestContextBuilder modules( String... moduleNames ) {
 		contextBuilder.modules( moduleNames );
+		recordSetting( "modules", moduleNames );
 		return this;
 	}
 
@@ -181,6 +192,7 @@ public class AcrossTestContextBuilder
 	 */
 	public AcrossTestContextBuilder modules( AcrossModule... modules ) {
 		contextBuilder.modules( modules );
+		recordSetting( "modules", modules );
 		return this;
 	}
 
@@ -195,6 +207,7 @@ public class AcrossTestContextBuilder
 	 */
 	public AcrossTestContextBuilder moduleDependencyResolver( ModuleDependencyResolver moduleDependencyResolver ) {
 		contextBuilder.moduleDependencyResolver( moduleDependencyResolver );
+		recordSetting( "moduleDependencyResolver", moduleDependencyResolver );
 		return this;
 	}
 
@@ -213,6 +226,7 @@ public class AcrossTestContextBuilder
 	 */
 	public AcrossTestContextBuilder additionalModulePackages( String... packageNames ) {
 		contextBuilder.additionalModulePackages( packageNames );
+		recordSetting( "additionalModulePackages", packageNames );
 		return this;
 	}
 
@@ -230,6 +244,7 @@ public class AcrossTestContextBuilder
 	 */
 	public AcrossTestContextBuilder additionalModulePackageClasses( Class<?>... classes ) {
 		contextBuilder.additionalModulePackageClasses( classes );
+		recordSetting( "additionalModulePackageClasses", classes );
 		return this;
 	}
 
@@ -243,6 +258,7 @@ public class AcrossTestContextBuilder
 	 */
 	public AcrossTestContextBuilder moduleConfigurationPackages( String... packageNames ) {
 		contextBuilder.moduleConfigurationPackages( packageNames );
+		recordSetting( "moduleConfigurationPackages", packageNames );
 		return this;
 	}
 
@@ -254,6 +270,7 @@ public class AcrossTestContextBuilder
 	 */
 	public AcrossTestContextBuilder moduleConfigurationPackageClasses( Class<?>... classes ) {
 		contextBuilder.moduleConfigurationPackageClasses( classes );
+		recordSetting( "moduleConfigurationPackageClasses", classes );
 		return this;
 	}
 
@@ -263,6 +280,7 @@ public class AcrossTestContextBuilder
 	 */
 	public AcrossTestContextBuilder developmentMode( boolean developmentMode ) {
 		contextBuilder.developmentMode( developmentMode );
+		recordSetting( "developmentMode", developmentMode );
 		return this;
 	}
 
@@ -275,6 +293,7 @@ public class AcrossTestContextBuilder
 	 */
 	public AcrossTestContextBuilder configurer( AcrossContextConfigurer... configurer ) {
 		contextBuilder.configurer( configurer );
+		recordSetting( "configurer", configurer );
 		return this;
 	}
 
@@ -323,13 +342,62 @@ public class AcrossTestContextBuilder
 		return this;
 	}
 
+	/**
+	 * Set the {@link AcrossTestContextCache} that should be used for sharing the context with other builders that have
+	 * the same configuration.  Builders are considered the same if they are of the same type, have the same settings
+	 * configured in the same order and use the same property values.  Other instances (for example datasources or
+	 * configurers) must be the same or implement value based equality.
+	 * <p>
+	 * Module instances are by default compared only by type, name and the configuration exposed by the
+	 * {@link AcrossModule} base class: enabled state, configurers, runtime dependencies, installers, scan packages,
+	 * expose filter and transformer and installer settings.  Any other state of a module (for example fields of a
+	 * module subclass) is <strong>not</strong> compared.  A module implementation with additional state should
+	 * override {@link Object#equals(Object)} and {@link Object#hashCode()}: if it does, the module instance itself is
+	 * used for comparison instead of the base class configuration.
+	 * </p>
+	 * <p>
+	 * Default is {@code null}: every call to {@link #build()} bootstraps a new context.
+	 * </p>
+	 *
+	 * @param contextCache to use
+	 * @return self
+	 * @see AcrossTestContextCache
+	 */
+	public AcrossTestContextBuilder contextCache( AcrossTestContextCache contextCache ) {
+		this.contextCache = contextCache;
+		return this;
+	}
+
+	/**
+	 * Should the context be shared through the JVM-wide {@link AcrossTestContextCache#shared()} cache.
+	 *
+	 * @param useContextCache true if the context should be cached
+	 * @return self
+	 * @see #contextCache(AcrossTestContextCache)
+	 */
+	public AcrossTestContextBuilder useContextCache( boolean useContextCache ) {
+		return contextCache( useContextCache ? AcrossTestContextCache.shared() : null );
+	}
+
 	/**
 	 * Creates the internal {@link AcrossContext} and bootstraps it.  Then wraps it in a {@link AcrossTestContext}
 	 * instance that gives easy access to querying functionality.
+	 * <p>
+	 * If a {@link #contextCache(AcrossTestContextCache)} is configured, a previously created context with the same
+	 * configuration is returned instead, if there is one.
+	 * </p>
 	 *
 	 * @return queryable context containing the bootstrapped {@link AcrossContext}
 	 */
 	public AcrossTestContext build() {
+		if ( contextCache != null ) {
+			return contextCache.getOrCreate( cacheKey(), this::createContext );
+		}
+
+		return createContext();
+	}
+
+	private AcrossTestContext createContext() {
 		AcrossConfigurableApplicationContext applicationContext = createDefaultApplicationContext();
 		configureApplicationContext( applicationContext );
 
@@ -351,6 +419,67 @@ public class AcrossTestContextBuilder
 		return createTestContext( applicationContext, context );
 	}
 
+	/**
+	 * Builds the key under which the context is registered in the {@link #contextCache(AcrossTestContextCache)}.
+	 * Subclasses with additional settings should add them to the key.
+	 *
+	 * @return key with value based equality
+	 */
+	protected List<Object> cacheKey() {
+		List<Object> key = new ArrayList<>();
+		key.add( getClass() );
+		key.add( new ArrayList<>( annotatedClasses ) );
+		key.add( new ArrayList<>( exposeClasses ) );
+		propertySources.forEach( propertySource -> key.add( propertySourceKey( propertySource ) ) );
+		contextBuilderSettings.forEach( setting -> key.add( settingKey( setting ) ) );
+		return key;
+	}
+
+	private void recordSetting( String name, Object... values ) {
+		contextBuilderSettings.add( Arrays.asList( name, Arrays.asList( values ) ) );
+	}
+
+	private Object settingKey( Object value ) {
+		if ( value instanceof List ) {
+			return ( (List<?>) value ).stream().map( this::settingKey ).collect( Collectors.toList() );
+		}
+		if ( value instanceof AcrossModule ) {
+			AcrossModule module = (AcrossModule) value;
+			if ( implementsEquals( module ) ) {
+				return module;
+			}
+			return Arrays.asList(
+					module.getClass(), module.getName(), module.isEnabled(),
+					new ArrayList<>( module.getApplicationContextConfigurers() ),
+					new ArrayList<>( module.getInstallerContextConfigurers() ),
+					new TreeSet<>( module.getRuntimeDependencies() ),
+					Arrays.asList( module.getInstallers() ),
+					Arrays.asList( module.getInstallerScanPackages() ),
+					Arrays.asList( module.getModuleConfigurationScanPackages() ),
+					module.getExposeFilter(), module.getExposeTransformer(), module.getInstallerSettings()
+			);
+		}
+		return value;
+	}
+
+	private boolean implementsEquals( AcrossModule module ) {
+		Method equals = ReflectionUtils.findMethod( module.getClass(), "equals", Object.class );
+		return equals != null && equals.getDeclaringClass() != AcrossModule.class;
+	}
+
+	private Object propertySourceKey( PropertySource<?> propertySource ) {
+		if ( propertySource instanceof EnumerablePropertySource ) {
+			Map<String, Object> values = new HashMap<>();
+			for ( String propertyName : ( (EnumerablePropertySource<?>) propertySource ).getPropertyNames() ) {
+				values.put( propertyName, propertySource.getProperty( propertyName ) );
+			}
+			return values;
+		}
+
+		// property sources are equal if their name is equal - only reuse the same instance
+		return new IdentityKey( propertySource );
+	}
+
 	protected AcrossTestContext createTestContext( AcrossConfigurableApplicationContext applicationContext,
 	                                               AcrossContext context ) {
 		return new RunningAcrossContext( applicationContext, context );
@@ -375,6 +504,25 @@ public class AcrossTestContextBuilder
 		return annotatedClasses.toArray( new Class<?>[0] );
 	}
 
+	private static final class IdentityKey
+	{
+		private final Object instance;
+
+		IdentityKey( Object instance ) {
+			this.instance = instance;
+		}
+
+		@Override
+		public boolean equals( Object o ) {
+			return o instanceof IdentityKey && ( (IdentityKey) o ).instance == instance;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode( instance );
+		}
+	}
+
 	private static class RunningAcrossContext extends AcrossTestContext
 	{
 		RunningAcrossContext( ConfigurableApplicationContext parentApplicationContext, AcrossContext acrossContext ) {
@@ -23,12 +23,14 @@ import com.foreach.across.core.context.AcrossConfigurableApplicationContext;
 import com.foreach.across.core.context.AcrossContextUtils;
 import com.foreach.across.core.context.ModuleDependencyResolver;
 import com.foreach.across.core.context.web.AcrossWebApplicationContext;
+import com.foreach.across.test.AcrossTestContextCache;
 import com.foreach.across.test.AcrossTestWebContext;
 import com.foreach.across.test.MockAcrossServletContext;
 import org.springframework.core.env.PropertySource;
 import org.springframework.web.context.WebApplicationContext;
 
 import javax.sql.DataSource;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -160,6 +162,23 @@ public class AcrossTestWebContextBuilder extends AcrossTestContextBuilder
 		return (AcrossTestWebContextBuilder) super.developmentMode( developmentMode );
 	}
 
+	@Override
+	public AcrossTestWebContextBuilder contextCache( AcrossTestContextCache contextCache ) {
+		return (AcrossTestWebContextBuilder) super.contextCache( contextCache );
+	}
+
+	@Override
+	public AcrossTestWebContextBuilder useContextCache( boolean useContextCache ) {
+		return (AcrossTestWebContextBuilder) super.useContextCache( useContextCache );
+	}
+
+	@Override
+	protected List<Object> cacheKey() {
+		List<Object> key = super.cacheKey();
+		key.add( dynamicServletContext );
+		return key;
+	}
+
 	@Override
 	protected AcrossConfigurableApplicationContext createDefaultApplicationContext() {
 		AcrossWebApplicationContext wac = new AcrossWebApplicationContext();
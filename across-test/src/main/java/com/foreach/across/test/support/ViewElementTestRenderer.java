@@ -0,0 +1,329 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.test.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foreach.across.modules.web.config.AcrossWebModuleDevSettings;
+import com.foreach.across.modules.web.config.UrlPrefixingConfiguration;
+import com.foreach.across.modules.web.config.resources.ResourceConfigurationProperties;
+import com.foreach.across.modules.web.context.PrefixingPathRegistry;
+import com.foreach.across.modules.web.context.PrefixingSupportingWebAppLinkBuilder;
+import com.foreach.across.modules.web.context.WebAppLinkBuilder;
+import com.foreach.across.modules.web.resource.WebResourceUtils;
+import com.foreach.across.modules.web.thymeleaf.AcrossWebDialect;
+import com.foreach.across.modules.web.thymeleaf.PrefixingSupportingLinkBuilder;
+import com.foreach.across.modules.web.ui.*;
+import com.foreach.across.modules.web.ui.elements.ContainerViewElement;
+import com.foreach.across.modules.web.ui.elements.NodeViewElement;
+import com.foreach.across.modules.web.ui.elements.TextViewElement;
+import com.foreach.across.modules.web.ui.elements.ViewElementGenerator;
+import com.foreach.across.modules.web.ui.elements.thymeleaf.ContainerViewElementModelWriter;
+import com.foreach.across.modules.web.ui.elements.thymeleaf.HtmlViewElementModelWriter;
+import com.foreach.across.modules.web.ui.elements.thymeleaf.TextViewElementModelWriter;
+import com.foreach.across.modules.web.ui.elements.thymeleaf.ViewElementGeneratorModelWriter;
+import com.foreach.across.modules.web.ui.thymeleaf.ViewElementModelWriter;
+import com.foreach.across.modules.web.ui.thymeleaf.ViewElementModelWriterRegistry;
+import com.foreach.across.test.modules.webtest.controllers.RenderViewElementController;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.DelegatingMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.ui.ModelMap;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.support.RequestContext;
+import org.springframework.web.servlet.view.AbstractTemplateView;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.dialect.IDialect;
+import org.thymeleaf.extras.java8time.dialect.Java8TimeDialect;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.spring5.context.webmvc.SpringWebMvcThymeleafRequestContext;
+import org.thymeleaf.spring5.expression.ThymeleafEvaluationContext;
+import org.thymeleaf.spring5.naming.SpringContextVariableNames;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lightweight alternative to {@link AbstractViewElementTemplateTest} for rendering
+ * {@link com.foreach.across.modules.web.ui.ViewElement} instances to a string, without bootstrapping an Across context.
+ * <p>
+ * Only a Thymeleaf {@link SpringTemplateEngine} with the {@link AcrossWebDialect} is created, along with the
+ * minimal infrastructure the dialect requires: a {@link ViewElementModelWriterRegistry} with the standard model writers,
+ * a {@link ViewElementAttributeConverter}, a {@link MessageSource} and a {@link WebAppLinkBuilder} using the default
+ * AcrossWebModule prefixes.  Templates are resolved from the <em>views</em> folder on the classpath, with either
+ * <em>.thtml</em> or <em>.html</em> extension.  Every render call uses a new mock request, the engine and its
+ * template cache are kept for the lifetime of the renderer.
+ * </p>
+ * <p>
+ * A single default renderer is available through {@link #shared()}.  The shared instance is read-only: custom model
+ * writers, dialects or a custom message source should be registered on a separate instance created with
+ * {@link #ViewElementTestRenderer()}, before the first element is rendered.
+ * Behaviour that depends on other beans of the Across context (eg. web resource packages or custom interceptors)
+ * requires {@link AbstractViewElementTemplateTest} instead.
+ * </p>
+ *
+ * @author agent
+ * @see AbstractViewElementRenderingTest
+ * @since 5.3.0
+ */
+public class ViewElementTestRenderer
+{
+	/**
+	 * Default template rendering the element, same as the one used by {@link AbstractViewElementTemplateTest}.
+	 */
+	public static final String DEFAULT_TEMPLATE = "th/WebTestModule/renderViewElement";
+
+	private static ViewElementTestRenderer sharedRenderer;
+
+	private final MockServletContext servletContext = new MockServletContext();
+	private final GenericWebApplicationContext applicationContext = new GenericWebApplicationContext( servletContext );
+	private final ViewElementModelWriterRegistry modelWriterRegistry = new ViewElementModelWriterRegistry();
+	private final DelegatingMessageSource messageSource = new DelegatingMessageSource();
+	private final SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+	private final PrefixingPathRegistry prefixingPathRegistry;
+	private final WebAppLinkBuilder webAppLinkBuilder;
+
+	private final boolean readOnly;
+
+	private boolean renderViewElementNames;
+
+	public ViewElementTestRenderer() {
+		this( false );
+	}
+
+	private ViewElementTestRenderer( boolean readOnly ) {
+		this.readOnly = readOnly;
+
+		modelWriterRegistry.registerModelWriter( TextViewElement.class, new TextViewElementModelWriter() );
+		modelWriterRegistry.registerModelWriter( StandardViewElements.TEXT, new TextViewElementModelWriter() );
+		modelWriterRegistry.registerModelWriter( ContainerViewElement.class, new ContainerViewElementModelWriter() );
+		modelWriterRegistry.registerModelWriter( StandardViewElements.CONTAINER, new ContainerViewElementModelWriter() );
+		modelWriterRegistry.registerModelWriter( ViewElementGenerator.class, new ViewElementGeneratorModelWriter() );
+		modelWriterRegistry.registerModelWriter( StandardViewElements.GENERATOR, new ViewElementGeneratorModelWriter() );
+		modelWriterRegistry.registerModelWriter( NodeViewElement.class, new HtmlViewElementModelWriter() );
+		modelWriterRegistry.registerModelWriter( StandardViewElements.NODE, new HtmlViewElementModelWriter() );
+
+		prefixingPathRegistry = new UrlPrefixingConfiguration().prefixingPathRegistry( new ResourceConfigurationProperties() );
+		webAppLinkBuilder = new PrefixingSupportingWebAppLinkBuilder( prefixingPathRegistry, servletContext );
+
+		applicationContext.registerBean( "messageSource", MessageSource.class, () -> messageSource );
+		applicationContext.registerBean( ViewElementModelWriterRegistry.class, () -> modelWriterRegistry );
+		applicationContext.registerBean( ViewElementAttributeConverter.class, () -> new DefaultViewElementAttributeConverter( new ObjectMapper() ) );
+		applicationContext.registerBean( AcrossWebModuleDevSettings.class, () -> new AcrossWebModuleDevSettings( null )
+		{
+			@Override
+			public boolean shouldRenderViewElementNames() {
+				return renderViewElementNames;
+			}
+		} );
+		applicationContext.refresh();
+
+		templateEngine.setTemplateEngineMessageSource( applicationContext );
+		templateEngine.setLinkBuilder( new PrefixingSupportingLinkBuilder( prefixingPathRegistry ) );
+		templateEngine.addDialect( new AcrossWebDialect() );
+		templateEngine.addDialect( new Java8TimeDialect() );
+		templateEngine.addTemplateResolver( classpathTemplateResolver( ".thtml", 1 ) );
+		templateEngine.addTemplateResolver( classpathTemplateResolver( ".html", 2 ) );
+	}
+
+	/**
+	 * The default renderer instance, created on first use.  The shared instance cannot be modified,
+	 * attempting to register model writers, dialects or a message source will throw an exception.
+	 *
+	 * @return the default renderer instance
+	 */
+	public static synchronized ViewElementTestRenderer shared() {
+		if ( sharedRenderer == null ) {
+			sharedRenderer = new ViewElementTestRenderer( true );
+		}
+		return sharedRenderer;
+	}
+
+	/**
+	 * Register a custom model writer for a type of view element.
+	 *
+	 * @param viewElementClass type of view element
+	 * @param modelWriter      writer to use
+	 * @return self
+	 */
+	public ViewElementTestRenderer registerModelWriter( Class<? extends ViewElement> viewElementClass, ViewElementModelWriter modelWriter ) {
+		assertModifiable();
+		modelWriterRegistry.registerModelWriter( viewElementClass, modelWriter );
+		return this;
+	}
+
+	/**
+	 * Register a custom model writer for an element type.
+	 *
+	 * @param viewElementType element type
+	 * @param modelWriter     writer to use
+	 * @return self
+	 */
+	public ViewElementTestRenderer registerModelWriter( String viewElementType, ViewElementModelWriter modelWriter ) {
+		assertModifiable();
+		modelWriterRegistry.registerModelWriter( viewElementType, modelWriter );
+		return this;
+	}
+
+	/**
+	 * Add an additional dialect to the template engine, only possible before the first element has been rendered.
+	 *
+	 * @param dialect to add
+	 * @return self
+	 */
+	public ViewElementTestRenderer addDialect( IDialect dialect ) {
+		assertModifiable();
+		templateEngine.addDialect( dialect );
+		return this;
+	}
+
+	/**
+	 * Set the message source that should be used for resolving messages.
+	 *
+	 * @param messageSource to use
+	 * @return self
+	 */
+	public ViewElementTestRenderer messageSource( MessageSource messageSource ) {
+		assertModifiable();
+		this.messageSource.setParentMessageSource( messageSource );
+		return this;
+	}
+
+	/**
+	 * Should view element names be rendered, the equivalent of development mode being active.
+	 * Defaults to {@code false}.
+	 *
+	 * @param renderViewElementNames true if names should be rendered
+	 * @return self
+	 */
+	public ViewElementTestRenderer renderViewElementNames( boolean renderViewElementNames ) {
+		assertModifiable();
+		this.renderViewElementNames = renderViewElementNames;
+		return this;
+	}
+
+	/**
+	 * @return the template engine used for rendering
+	 */
+	public SpringTemplateEngine getTemplateEngine() {
+		return templateEngine;
+	}
+
+	/**
+	 * Render a single {@link ViewElement} or {@link ViewElementBuilder} using the default template.
+	 *
+	 * @param viewElement element to render
+	 * @return output that was rendered
+	 */
+	public String render( Object viewElement ) {
+		return render( viewElement, null );
+	}
+
+	/**
+	 * Render a single {@link ViewElement} or {@link ViewElementBuilder} using the default template.
+	 *
+	 * @param viewElement element to render
+	 * @param callback    to be executed before rendering, can be {@code null}
+	 * @return output that was rendered
+	 */
+	public String render( Object viewElement, RenderViewElementController.Callback callback ) {
+		return render( DEFAULT_TEMPLATE, viewElement, callback );
+	}
+
+	/**
+	 * Render a single {@link ViewElement} or {@link ViewElementBuilder} using a custom template.
+	 * The element is available as the <strong>element</strong> model attribute.
+	 *
+	 * @param template    to render, {@link #DEFAULT_TEMPLATE} if empty
+	 * @param viewElement element to render
+	 * @param callback    to be executed before rendering, can be {@code null}
+	 * @return output that was rendered
+	 */
+	public String render( String template, Object viewElement, RenderViewElementController.Callback callback ) {
+		MockHttpServletRequest request = new MockHttpServletRequest( servletContext );
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		request.setAttribute( DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, applicationContext );
+		WebResourceUtils.storePathResolver( prefixingPathRegistry, request );
+		WebResourceUtils.storeLinkBuilder( webAppLinkBuilder, request );
+		WebResourceUtils.storeMessageSource( messageSource, request );
+
+		DefaultViewElementBuilderContext builderContext = new DefaultViewElementBuilderContext();
+		builderContext.setWebAppLinkBuilder( webAppLinkBuilder );
+		builderContext.setMessageSource( messageSource );
+		WebResourceUtils.storeViewElementBuilderContext( builderContext, request );
+
+		RequestAttributes originalAttributes = RequestContextHolder.getRequestAttributes();
+		RequestContextHolder.setRequestAttributes( new ServletRequestAttributes( request, response ) );
+		Optional<ViewElementBuilderContext> originalBuilderContext = ViewElementBuilderContextHolder.setViewElementBuilderContext( builderContext );
+
+		try {
+			ModelMap model = new ModelMap();
+			if ( callback != null ) {
+				callback.prepareModel( model );
+			}
+			model.put( "controllerAttributes", Collections.singletonMap( "name", "RenderViewElementController" ) );
+			model.put( "element", viewElement );
+
+			Map<String, Object> variables = new HashMap<>( model );
+			RequestContext requestContext = new RequestContext( request, response, servletContext, variables );
+			variables.put( AbstractTemplateView.SPRING_MACRO_REQUEST_CONTEXT_ATTRIBUTE, requestContext );
+			variables.put( SpringContextVariableNames.SPRING_REQUEST_CONTEXT, requestContext );
+			variables.put( SpringContextVariableNames.THYMELEAF_REQUEST_CONTEXT, new SpringWebMvcThymeleafRequestContext( requestContext, request ) );
+			variables.put( ThymeleafEvaluationContext.THYMELEAF_EVALUATION_CONTEXT_CONTEXT_VARIABLE_NAME,
+			               new ThymeleafEvaluationContext( applicationContext, null ) );
+
+			StringWriter writer = new StringWriter();
+			templateEngine.process( StringUtils.defaultIfEmpty( template, DEFAULT_TEMPLATE ),
+			                        new WebContext( request, response, servletContext, request.getLocale(), variables ),
+			                        writer );
+			return writer.toString();
+		}
+		finally {
+			ViewElementBuilderContextHolder.setViewElementBuilderContext( originalBuilderContext );
+			RequestContextHolder.setRequestAttributes( originalAttributes );
+		}
+	}
+
+	private void assertModifiable() {
+		if ( readOnly ) {
+			throw new UnsupportedOperationException(
+					"The shared ViewElementTestRenderer cannot be modified, create a separate instance using new ViewElementTestRenderer()" );
+		}
+	}
+
+	private ClassLoaderTemplateResolver classpathTemplateResolver( String suffix, int order ) {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix( "views/" );
+		resolver.setSuffix( suffix );
+		resolver.setTemplateMode( TemplateMode.HTML );
+		resolver.setCharacterEncoding( "UTF-8" );
+		resolver.setCheckExistence( true );
+		resolver.setCacheable( true );
+		resolver.setOrder( order );
+		return resolver;
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.test.support;
+
+import org.springframework.test.util.XmlExpectationsHelper;
+
+import java.util.Collection;
+
+/**
+ * Compares rendered {@link com.foreach.across.modules.web.ui.ViewElement} output using xml comparison,
+ * ignoring whitespace and attribute ordering.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+final class ViewElementXmlAssertions
+{
+	private ViewElementXmlAssertions() {
+	}
+
+	/**
+	 * Verify the received content matches the expected content.
+	 *
+	 * @param expectedContent xml body that should have been generated
+	 * @param receivedContent xml body that was generated
+	 * @param allowedEntities named entities that can be referenced in the xml
+	 */
+	static void assertXmlEqual( String expectedContent, String receivedContent, Collection<String> allowedEntities ) {
+		String pattern = "<?xml version=\"1.0\"?>" + generateDocType( allowedEntities ) + "<root xmlns:across='https://across.dev'>%s</root>";
+
+		try {
+			new XmlExpectationsHelper().assertXmlEqual(
+					String.format( pattern, expectedContent ),
+					String.format( pattern, receivedContent )
+			);
+		}
+		catch ( AssertionError | Exception e ) {
+			throw new AssertionError( "Unexpected content:\n" + receivedContent, e );
+		}
+	}
+
+	private static String generateDocType( Collection<String> allowedEntities ) {
+		if ( !allowedEntities.isEmpty() ) {
+			StringBuilder doctype = new StringBuilder( "<!DOCTYPE doc_type [" );
+			allowedEntities.forEach( s -> doctype.append( "<!ENTITY " ).append( s ).append( " \"&#160;\">" ) );
+			doctype.append( "]>" );
+			return doctype.toString();
+		}
+		return "";
+	}
+}
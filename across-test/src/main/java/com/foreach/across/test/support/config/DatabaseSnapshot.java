@@ -0,0 +1,277 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.test.support.config;
+
+import com.foreach.across.core.database.DatabaseInfo;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Snapshot of the schema and data of an embedded HSQLDB or H2 database, used by the {@link ResetDatabaseConfigurer}
+ * to reset a test database without running the installers again.
+ * <p>
+ * The schema is captured using the {@code SCRIPT} statement of the database, the data is captured table by table
+ * using plain JDBC.  Restoring a snapshot drops all objects in the target database, recreates the tables,
+ * inserts the data and only then adds the constraints.  A snapshot can be restored in a different database
+ * of the same type.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+public final class DatabaseSnapshot
+{
+	private static final Set<String> SYSTEM_SCHEMAS = new HashSet<>( Arrays.asList( "INFORMATION_SCHEMA", "SYSTEM_LOBS" ) );
+
+	private final String productName;
+	private final List<String> createStatements = new ArrayList<>();
+	private final List<String> alterStatements = new ArrayList<>();
+	private final List<TableData> tables = new ArrayList<>();
+
+	private DatabaseSnapshot( String productName ) {
+		this.productName = productName;
+	}
+
+	/**
+	 * @return name of the database product the snapshot was taken from
+	 */
+	public String getProductName() {
+		return productName;
+	}
+
+	/**
+	 * @return total number of rows in the snapshot
+	 */
+	public int getRowCount() {
+		return tables.stream().mapToInt( table -> table.rows.size() ).sum();
+	}
+
+	/**
+	 * Check if a snapshot can be taken of a database.
+	 *
+	 * @param databaseInfo of the database
+	 * @return true if the database is HSQLDB or H2
+	 */
+	public static boolean isSupported( DatabaseInfo databaseInfo ) {
+		return databaseInfo.isHsql() || databaseInfo.isH2();
+	}
+
+	/**
+	 * Capture the schema and data of all non-system schemas of the database.
+	 *
+	 * @param dataSource of the database
+	 * @return snapshot
+	 */
+	public static DatabaseSnapshot capture( DataSource dataSource ) {
+		DatabaseInfo databaseInfo = DatabaseInfo.retrieve( dataSource );
+
+		if ( !isSupported( databaseInfo ) ) {
+			throw new IllegalArgumentException( "Database snapshots are only supported for HSQLDB and H2, not for " + databaseInfo.getProductName() );
+		}
+
+		DatabaseSnapshot snapshot = new DatabaseSnapshot( databaseInfo.getProductName() );
+
+		try (Connection connection = dataSource.getConnection()) {
+			try (Statement statement = connection.createStatement();
+			     ResultSet rs = statement.executeQuery( databaseInfo.isH2() ? "SCRIPT NODATA" : "SCRIPT" )) {
+				while ( rs.next() ) {
+					snapshot.addSchemaStatement( StringUtils.removeEnd( StringUtils.trim( rs.getString( 1 ) ), ";" ) );
+				}
+			}
+
+			DatabaseMetaData metaData = connection.getMetaData();
+			for ( String schema : userSchemas( metaData ) ) {
+				try (ResultSet rs = metaData.getTables( null, schema, "%", new String[] { "TABLE" } )) {
+					while ( rs.next() ) {
+						snapshot.tables.add( TableData.read( connection, schema, rs.getString( "TABLE_NAME" ) ) );
+					}
+				}
+			}
+		}
+		catch ( SQLException se ) {
+			throw new IllegalStateException( "Unable to capture database snapshot", se );
+		}
+
+		return snapshot;
+	}
+
+	private void addSchemaStatement( String sql ) {
+		String upper = StringUtils.upperCase( sql );
+
+		if ( StringUtils.startsWithAny( upper, "CREATE USER", "ALTER USER", "CREATE SCHEMA PUBLIC " )
+				|| StringUtils.contains( upper, "SYSTEM_LOBS" ) ) {
+			return;
+		}
+
+		if ( upper.startsWith( "ALTER " ) ) {
+			alterStatements.add( sql );
+		}
+		else if ( upper.startsWith( "CREATE " ) ) {
+			createStatements.add( sql );
+		}
+	}
+
+	/**
+	 * Drop all objects in the database and restore the schema and data from this snapshot.
+	 *
+	 * @param dataSource of the database
+	 */
+	public void restore( DataSource dataSource ) {
+		DatabaseInfo databaseInfo = DatabaseInfo.retrieve( dataSource );
+
+		if ( !StringUtils.equals( productName, databaseInfo.getProductName() ) ) {
+			throw new IllegalArgumentException( "Unable to restore a snapshot of " + productName + " in " + databaseInfo.getProductName() );
+		}
+
+		try (Connection connection = dataSource.getConnection()) {
+			try (Statement statement = connection.createStatement()) {
+				if ( databaseInfo.isH2() ) {
+					statement.execute( "DROP ALL OBJECTS" );
+				}
+				else {
+					DatabaseMetaData metaData = connection.getMetaData();
+					for ( String schema : userSchemas( metaData ) ) {
+						statement.execute( "DROP SCHEMA " + quote( metaData, schema ) + " CASCADE" );
+					}
+				}
+
+				for ( String sql : createStatements ) {
+					statement.execute( sql );
+				}
+			}
+
+			for ( TableData table : tables ) {
+				table.write( connection );
+			}
+
+			try (Statement statement = connection.createStatement()) {
+				for ( String sql : alterStatements ) {
+					statement.execute( sql );
+				}
+			}
+
+			if ( !connection.getAutoCommit() ) {
+				connection.commit();
+			}
+		}
+		catch ( SQLException se ) {
+			throw new IllegalStateException( "Unable to restore database snapshot", se );
+		}
+	}
+
+	private static List<String> userSchemas( DatabaseMetaData metaData ) throws SQLException {
+		List<String> schemas = new ArrayList<>();
+		try (ResultSet rs = metaData.getSchemas()) {
+			while ( rs.next() ) {
+				String schema = rs.getString( "TABLE_SCHEM" );
+				if ( !SYSTEM_SCHEMAS.contains( schema ) ) {
+					schemas.add( schema );
+				}
+			}
+		}
+		return schemas;
+	}
+
+	private static String quote( DatabaseMetaData metaData, String identifier ) throws SQLException {
+		String quote = StringUtils.trimToEmpty( metaData.getIdentifierQuoteString() );
+		return quote + identifier + quote;
+	}
+
+	/**
+	 * Rows of a single table, LOB values are read into memory.
+	 */
+	private static final class TableData
+	{
+		private final String insertSql;
+		private final int[] columnTypes;
+		private final List<Object[]> rows = new ArrayList<>();
+
+		private TableData( String insertSql, int[] columnTypes ) {
+			this.insertSql = insertSql;
+			this.columnTypes = columnTypes;
+		}
+
+		static TableData read( Connection connection, String schema, String table ) throws SQLException {
+			DatabaseMetaData metaData = connection.getMetaData();
+			String tableName = quote( metaData, schema ) + "." + quote( metaData, table );
+
+			try (Statement statement = connection.createStatement();
+			     ResultSet rs = statement.executeQuery( "SELECT * FROM " + tableName )) {
+				ResultSetMetaData rsMetaData = rs.getMetaData();
+				int columnCount = rsMetaData.getColumnCount();
+
+				int[] columnTypes = new int[columnCount];
+				StringJoiner columns = new StringJoiner( ", ", "(", ")" );
+				StringJoiner values = new StringJoiner( ", ", "(", ")" );
+				for ( int i = 0; i < columnCount; i++ ) {
+					columnTypes[i] = rsMetaData.getColumnType( i + 1 );
+					columns.add( quote( metaData, rsMetaData.getColumnName( i + 1 ) ) );
+					values.add( "?" );
+				}
+
+				TableData tableData = new TableData( "INSERT INTO " + tableName + " " + columns + " VALUES " + values, columnTypes );
+
+				while ( rs.next() ) {
+					Object[] row = new Object[columnCount];
+					for ( int i = 0; i < columnCount; i++ ) {
+						row[i] = readValue( rs.getObject( i + 1 ) );
+					}
+					tableData.rows.add( row );
+				}
+
+				return tableData;
+			}
+		}
+
+		private static Object readValue( Object value ) throws SQLException {
+			if ( value instanceof Clob ) {
+				Clob clob = (Clob) value;
+				return clob.getSubString( 1, (int) clob.length() );
+			}
+			if ( value instanceof Blob ) {
+				Blob blob = (Blob) value;
+				return blob.getBytes( 1, (int) blob.length() );
+			}
+			if ( value instanceof Array ) {
+				return ( (Array) value ).getArray();
+			}
+			return value;
+		}
+
+		void write( Connection connection ) throws SQLException {
+			if ( rows.isEmpty() ) {
+				return;
+			}
+
+			try (PreparedStatement statement = connection.prepareStatement( insertSql )) {
+				for ( Object[] row : rows ) {
+					for ( int i = 0; i < row.length; i++ ) {
+						if ( row[i] == null ) {
+							statement.setNull( i + 1, columnTypes[i] );
+						}
+						else {
+							statement.setObject( i + 1, row[i] );
+						}
+					}
+					statement.addBatch();
+				}
+				statement.executeBatch();
+			}
+		}
+	}
+}
@@ -17,55 +17,207 @@ package com.foreach.across.test.support.config;
 
 import com.foreach.across.config.AcrossContextConfigurer;
 import com.foreach.across.core.AcrossContext;
+import com.foreach.across.core.AcrossModule;
+import com.foreach.across.core.database.DatabaseInfo;
+import com.foreach.across.core.events.AcrossContextBootstrappedEvent;
+import com.foreach.across.core.events.AcrossLifecycleListener;
+import com.foreach.across.core.installers.InstallerSettings;
+import com.foreach.across.core.installers.ThreadLocalLiquibaseScopeManager;
 import liquibase.integration.spring.SpringLiquibase;
 import lombok.SneakyThrows;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 
 import javax.sql.DataSource;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Takes care of resetting the datasources attached to the {@link com.foreach.across.core.AcrossContext}.
+ * <p>
+ * By default all tables are dropped and the installers will recreate the schema when the context bootstraps.
+ * When the <strong>acrossTest.resetDatabase.strategy</strong> property is set to <strong>snapshot</strong>,
+ * a {@link DatabaseSnapshot} is taken of an HSQLDB or H2 database right after the first successful bootstrap.
+ * A later context with the same modules, installers and installer settings restores that snapshot instead,
+ * which includes the installer tracking tables: installers that have already been executed will be skipped.
+ * Snapshots are kept for the lifetime of the JVM.  Other databases are always dropped.
+ * </p>
+ * <p>
+ * Snapshots do not take the environment into account, tests that change installer behaviour using
+ * properties or profiles should use the default strategy.
+ * </p>
  *
  * @author Arne Vandamme
  * @since 1.1.2
  */
 @Order(Ordered.LOWEST_PRECEDENCE)
 @Configuration
-public class ResetDatabaseConfigurer implements AcrossContextConfigurer, BeanFactoryAware
+public class ResetDatabaseConfigurer implements AcrossContextConfigurer, AcrossLifecycleListener, BeanFactoryAware, EnvironmentAware
 {
+	/**
+	 * Property that determines the {@link Strategy} to use, defaults to {@link Strategy#DROP}.
+	 */
+	public static final String STRATEGY_PROPERTY = "acrossTest.resetDatabase.strategy";
+
 	private static final Logger LOG = LoggerFactory.getLogger( ResetDatabaseConfigurer.class );
 
+	private static final Map<List<Object>, DatabaseSnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+
+	public enum Strategy
+	{
+		/**
+		 * Drop all tables, the installers recreate the schema.
+		 */
+		DROP,
+
+		/**
+		 * Restore the snapshot taken after the first bootstrap of the same configuration, drop if there is none.
+		 */
+		SNAPSHOT
+	}
+
+	private final Map<DataSource, List<Object>> pendingSnapshots = new LinkedHashMap<>();
+
 	private BeanFactory beanFactory;
+	private Environment environment;
 
 	@Override
 	public void setBeanFactory( BeanFactory beanFactory ) throws BeansException {
 		this.beanFactory = beanFactory;
 	}
 
+	@Override
+	public void setEnvironment( Environment environment ) {
+		this.environment = environment;
+	}
+
 	@Override
 	public void configure( AcrossContext context ) {
 		DataSource ds = context.getDataSource();
 		DataSource installerDs = context.getInstallerDataSource();
 
 		if ( ds != null ) {
-			LOG.info( "Resetting database for Across datasource" );
-			dropDataSource( ds );
+			resetDataSource( context, ds, "Across datasource" );
 		}
 
 		if ( installerDs != null && installerDs != ds ) {
-			LOG.info( "Resetting database for Across installer datasource" );
-			dropDataSource( installerDs );
+			resetDataSource( context, installerDs, "Across installer datasource" );
+		}
+	}
+
+	@Override
+	public void onAcrossContextBootstrappedEvent( AcrossContextBootstrappedEvent event ) {
+		pendingSnapshots.forEach( ( ds, key ) -> {
+			try {
+				DatabaseSnapshot snapshot = DatabaseSnapshot.capture( ds );
+				SNAPSHOTS.put( key, snapshot );
+				LOG.info( "Captured database snapshot with {} rows", snapshot.getRowCount() );
+			}
+			catch ( RuntimeException re ) {
+				LOG.warn( "Unable to capture database snapshot", re );
+			}
+		} );
+		pendingSnapshots.clear();
+	}
+
+	private void resetDataSource( AcrossContext context, DataSource ds, String description ) {
+		if ( getStrategy() == Strategy.SNAPSHOT ) {
+			DatabaseInfo databaseInfo = DatabaseInfo.retrieve( ds );
+
+			if ( DatabaseSnapshot.isSupported( databaseInfo ) ) {
+				List<Object> key = snapshotKey( context, description, databaseInfo );
+				DatabaseSnapshot snapshot = SNAPSHOTS.get( key );
+
+				if ( snapshot != null ) {
+					try {
+						LOG.info( "Restoring database snapshot for {}", description );
+						snapshot.restore( ds );
+						return;
+					}
+					catch ( RuntimeException re ) {
+						LOG.warn( "Unable to restore database snapshot for {} - dropping database instead", description, re );
+						SNAPSHOTS.remove( key );
+					}
+				}
+
+				pendingSnapshots.put( ds, key );
+			}
+			else {
+				LOG.info( "Database snapshots are not supported for {} - dropping database instead", databaseInfo.getProductName() );
+			}
+		}
+
+		LOG.info( "Resetting database for {}", description );
+		dropDataSource( ds );
+	}
+
+	private Strategy getStrategy() {
+		String strategy = environment != null ? environment.getProperty( STRATEGY_PROPERTY ) : null;
+
+		if ( StringUtils.isBlank( strategy ) ) {
+			return Strategy.DROP;
+		}
+
+		try {
+			return Strategy.valueOf( StringUtils.upperCase( strategy.trim() ) );
+		}
+		catch ( IllegalArgumentException iae ) {
+			throw new IllegalArgumentException(
+					"Invalid value '" + strategy + "' for property " + STRATEGY_PROPERTY + ", supported values are: "
+							+ Stream.of( Strategy.values() ).map( s -> s.name().toLowerCase() ).collect( Collectors.joining( ", " ) ),
+					iae
+			);
 		}
 	}
 
+	private List<Object> snapshotKey( AcrossContext context, String description, DatabaseInfo databaseInfo ) {
+		List<Object> key = new ArrayList<>();
+		key.add( description );
+		key.add( databaseInfo.getProductName() );
+		key.add( installerSettingsKey( context.getInstallerSettings() ) );
+		context.getModules().forEach( module -> key.add( moduleKey( module ) ) );
+		return key;
+	}
+
+	private List<Object> moduleKey( AcrossModule module ) {
+		return Arrays.asList(
+				module.getClass().getName(),
+				module.getName(),
+				module.isEnabled(),
+				Stream.of( module.getInstallers() )
+				      .map( installer -> installer instanceof Class ? ( (Class<?>) installer ).getName() : installer.getClass().getName() )
+				      .collect( Collectors.toList() ),
+				Arrays.asList( module.getInstallerScanPackages() ),
+				installerSettingsKey( module.getInstallerSettings() )
+		);
+	}
+
+	private List<Object> installerSettingsKey( InstallerSettings installerSettings ) {
+		if ( installerSettings == null ) {
+			return null;
+		}
+
+		// a priority action resolver can only be compared by instance
+		return Arrays.asList(
+				installerSettings.getDefaultAction(),
+				new HashMap<>( installerSettings.getGroupActions() ),
+				new HashMap<>( installerSettings.getInstallerActions() ),
+				installerSettings.getPriorityActionResolver()
+		);
+	}
+
 	@SneakyThrows
 	private void dropDataSource( DataSource ds ) {
 		SpringLiquibase springLiquibase = new SpringLiquibase();
@@ -75,6 +227,7 @@ public class ResetDatabaseConfigurer implements AcrossContextConfigurer, BeanFac
 
 		AutowireCapableBeanFactory bf = (AutowireCapableBeanFactory) beanFactory;
 		bf.autowireBean( springLiquibase );
-		bf.initializeBean( springLiquibase, "dropDataSource" );
+		// dropping resets the shared liquibase services, which would break updates running in parallel contexts
+		ThreadLocalLiquibaseScopeManager.executeExclusively( () -> bf.initializeBean( springLiquibase, "dropDataSource" ) );
 	}
 }
@@ -31,9 +31,13 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
 
 import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
 import java.util.UUID;
 
 /**
@@ -52,6 +56,12 @@ import java.util.UUID;
  * If no specific datasource is set, this configuration will ensure that a HSQL memory database is used.
  * If the {@link AcrossContext} already has a datasource configured, it will kept.
  * </p>
+ * <p>
+ * Every context gets its own memory database, so tests can safely run in parallel forks or threads.
+ * Configured datasources are shared however, their properties can use the <strong>${acrossTest.isolationId}</strong>
+ * placeholder to get a database per JVM and thread,
+ * for example: <em>jdbc:hsqldb:file:target/db/across-${acrossTest.isolationId}</em>.
+ * </p>
  *
  * @author Arne Vandamme
  * @since 1.1.2
@@ -61,6 +71,11 @@ import java.util.UUID;
 @PropertySource(value = "file:${user.home}/dev-configs/across-test.properties", ignoreResourceNotFound = true)
 public class TestDataSourceConfigurer implements EnvironmentAware, AcrossContextConfigurer
 {
+	/**
+	 * Property holding an id that is unique for the current JVM and thread.
+	 */
+	public static final String ISOLATION_ID_PROPERTY = "acrossTest.isolationId";
+
 	private static final Logger LOG = LoggerFactory.getLogger( TestDataSourceConfigurer.class );
 
 	private Environment environment;
@@ -68,6 +83,12 @@ public class TestDataSourceConfigurer implements EnvironmentAware, AcrossContext
 
 	public void setEnvironment( Environment environment ) {
 		this.environment = environment;
+
+		if ( environment instanceof ConfigurableEnvironment && !environment.containsProperty( ISOLATION_ID_PROPERTY ) ) {
+			( (ConfigurableEnvironment) environment ).getPropertySources().addLast(
+					new MapPropertySource( "acrossTestIsolation", Collections.singletonMap( ISOLATION_ID_PROPERTY, isolationId() ) )
+			);
+		}
 	}
 
 	public void setDataSourceName( String dataSourceName ) {
@@ -132,4 +153,14 @@ public class TestDataSourceConfigurer implements EnvironmentAware, AcrossContext
 
 		return dataSource;
 	}
+
+	/**
+	 * Build an id that is unique for the current JVM and thread, safe to use in database names.
+	 *
+	 * @return isolation id
+	 */
+	public static String isolationId() {
+		String jvmName = ManagementFactory.getRuntimeMXBean().getName();
+		return StringUtils.substringBefore( jvmName, "@" ).replaceAll( "[^A-Za-z0-9]", "" ) + "_" + Thread.currentThread().getId();
+	}
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.web.resource;
+
+import com.foreach.across.core.context.info.AcrossContextInfo;
+import com.foreach.across.modules.web.AcrossWebModule;
+import com.foreach.across.test.modules.webtest.controllers.WebResourceController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Collections;
+import java.util.Locale;
+
+import static com.foreach.across.utils.CustomResultMatchers.jsoup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Renders the same buckets as {@link TestDeprecatedWebResourceRendering} with the markup cache enabled.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@TestPropertySource(properties = "across.web.resources.rendering.cache-markup=true")
+public class TestCachedWebResourceRendering extends TestDeprecatedWebResourceRendering
+{
+	@Autowired
+	private AcrossContextInfo contextInfo;
+
+	@Test
+	public void unchangedBucketIsWrittenFromCache() throws Exception {
+		WebResourceMarkupCache markupCache = contextInfo.getModuleInfo( AcrossWebModule.NAME )
+		                                                .getApplicationContext()
+		                                                .getBean( WebResourceMarkupCache.class );
+		markupCache.clear();
+
+		mockMvc.perform( get( WebResourceController.PATH ) )
+		       .andExpect( jsoup().elementById( "empty-bucket" ).valueIgnoringLineEndings( "" ) );
+
+		WebResourceReferenceCollection emptyBucket = new WebResourceReferenceCollection( Collections.emptyList() );
+		assertThat( markupCache.getMarkup( emptyBucket, "/", Locale.ENGLISH ) ).isEmpty();
+		assertThat( markupCache.size() ).isEqualTo( 4 );
+
+		markupCache.putMarkup( emptyBucket, "/", Locale.ENGLISH, "<i>cached</i>" );
+
+		mockMvc.perform( get( WebResourceController.PATH ) )
+		       .andExpect( jsoup().elementById( "empty-bucket" ).valueIgnoringLineEndings( "<i>cached</i>" ) );
+
+		// markup is cached per locale
+		mockMvc.perform( get( WebResourceController.PATH ).locale( Locale.FRENCH ) )
+		       .andExpect( jsoup().elementById( "empty-bucket" ).valueIgnoringLineEndings( "" ) );
+		assertThat( markupCache.getMarkup( emptyBucket, "/", Locale.FRENCH ) ).isEmpty();
+	}
+}
@@ -53,7 +53,7 @@ public class TestDeprecatedWebResourceRendering
 	@Autowired
 	private AcrossContextInfo contextInfo;
 
-	private MockMvc mockMvc;
+	protected MockMvc mockMvc;
 
 	@BeforeEach
 	public void initMvc() {
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+public class TestAcrossTestContextCache
+{
+	private final AcrossTestContextCache cache = new AcrossTestContextCache( 4 );
+	private final ExecutorService executor = Executors.newFixedThreadPool( 2 );
+
+	@AfterEach
+	public void shutdown() {
+		executor.shutdownNow();
+		cache.clear();
+	}
+
+	@Test
+	public void differentKeysAreBootstrappedConcurrently() throws Exception {
+		CountDownLatch bothBootstrapping = new CountDownLatch( 2 );
+
+		Future<AcrossTestContext> one = executor.submit( () -> cache.getOrCreate( "one", () -> bootstrap( bothBootstrapping ) ) );
+		Future<AcrossTestContext> two = executor.submit( () -> cache.getOrCreate( "two", () -> bootstrap( bothBootstrapping ) ) );
+
+		assertThat( one.get( 10, TimeUnit.SECONDS ) ).isNotSameAs( two.get( 10, TimeUnit.SECONDS ) );
+		assertThat( cache.size() ).isEqualTo( 2 );
+		assertThat( cache.getMissCount() ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void callersForTheSameKeyWaitForTheContextBeingBootstrapped() throws Exception {
+		CountDownLatch bootstrapping = new CountDownLatch( 1 );
+		CountDownLatch proceed = new CountDownLatch( 1 );
+		AtomicInteger bootstrapCount = new AtomicInteger();
+
+		Future<AcrossTestContext> first = executor.submit( () -> cache.getOrCreate( "key", () -> {
+			bootstrapCount.incrementAndGet();
+			bootstrapping.countDown();
+			await( proceed );
+			return mock( AcrossTestContext.class );
+		} ) );
+
+		await( bootstrapping );
+		Future<AcrossTestContext> second = executor.submit( () -> cache.getOrCreate( "key", () -> {
+			bootstrapCount.incrementAndGet();
+			return mock( AcrossTestContext.class );
+		} ) );
+
+		// the cache itself is not locked during bootstrap
+		assertThat( cache.size() ).isEqualTo( 1 );
+		assertThat( second.isDone() ).isFalse();
+
+		proceed.countDown();
+		assertThat( second.get( 10, TimeUnit.SECONDS ) ).isSameAs( first.get( 10, TimeUnit.SECONDS ) );
+		assertThat( bootstrapCount.get() ).isEqualTo( 1 );
+		assertThat( cache.getHitCount() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void failedBootstrapIsNotCached() {
+		assertThatExceptionOfType( IllegalStateException.class )
+				.isThrownBy( () -> cache.getOrCreate( "key", () -> {
+					throw new IllegalStateException( "bootstrap failed" );
+				} ) );
+		assertThat( cache.size() ).isEqualTo( 0 );
+
+		AcrossTestContext context = mock( AcrossTestContext.class );
+		assertThat( cache.getOrCreate( "key", () -> context ) ).isSameAs( context );
+		assertThat( cache.getMissCount() ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void contextIsShutDownWithoutBlockingTheCache() throws Exception {
+		CountDownLatch shuttingDown = new CountDownLatch( 1 );
+		CountDownLatch proceed = new CountDownLatch( 1 );
+
+		AcrossTestContext dirty = mock( AcrossTestContext.class );
+		doAnswer( invocation -> {
+			shuttingDown.countDown();
+			await( proceed );
+			return null;
+		} ).when( dirty ).shutdown();
+
+		cache.getOrCreate( "dirty", () -> dirty );
+		ArgumentCaptor<AcrossTestContextCache.Entry> entry = ArgumentCaptor.forClass( AcrossTestContextCache.Entry.class );
+		verify( dirty ).setCacheEntry( entry.capture() );
+
+		Future<?> release = executor.submit( () -> {
+			entry.getValue().markDirty();
+			entry.getValue().release();
+		} );
+		await( shuttingDown );
+
+		AcrossTestContext other = mock( AcrossTestContext.class );
+		Future<AcrossTestContext> created = executor.submit( () -> cache.getOrCreate( "other", () -> other ) );
+		assertThat( created.get( 5, TimeUnit.SECONDS ) ).isSameAs( other );
+		assertThat( release.isDone() ).isFalse();
+
+		proceed.countDown();
+		release.get( 5, TimeUnit.SECONDS );
+		verify( dirty ).shutdown();
+	}
+
+	@Test
+	public void clearShutsDownCachedContexts() {
+		AcrossTestContext context = mock( AcrossTestContext.class );
+		cache.getOrCreate( "key", () -> context );
+
+		cache.clear();
+
+		assertThat( cache.size() ).isEqualTo( 0 );
+		verify( context ).shutdown();
+	}
+
+	private AcrossTestContext bootstrap( CountDownLatch bothBootstrapping ) {
+		bothBootstrapping.countDown();
+		await( bothBootstrapping );
+		return mock( AcrossTestContext.class );
+	}
+
+	private void await( CountDownLatch latch ) {
+		try {
+			assertThat( latch.await( 5, TimeUnit.SECONDS ) ).isTrue();
+		}
+		catch ( InterruptedException ie ) {
+			throw new IllegalStateException( ie );
+		}
+	}
+}
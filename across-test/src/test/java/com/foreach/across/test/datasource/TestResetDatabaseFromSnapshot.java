@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.test.datasource;
+
+import com.foreach.across.core.AcrossContext;
+import com.foreach.across.core.AcrossModule;
+import com.foreach.across.core.annotations.Installer;
+import com.foreach.across.core.annotations.InstallerMethod;
+import com.foreach.across.core.installers.InstallerAction;
+import com.foreach.across.core.installers.InstallerSettings;
+import com.foreach.across.test.AcrossTestContext;
+import com.foreach.across.test.support.AcrossTestContextBuilder;
+import com.foreach.across.test.support.config.ResetDatabaseConfigurer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+public class TestResetDatabaseFromSnapshot
+{
+	private static final AtomicInteger INSTALLER_RUNS = new AtomicInteger();
+
+	@Test
+	public void installersAreOnlyExecutedForTheFirstSnapshotContext() {
+		try (AcrossTestContext ctx = contextBuilder( "snapshot" ).build()) {
+			assertThat( INSTALLER_RUNS.get() ).isEqualTo( 1 );
+			assertThat( itemNames( ctx ) ).containsExactly( "installed" );
+
+			jdbcTemplate( ctx ).update( "INSERT INTO snapshot_items (name) VALUES ('test')" );
+		}
+
+		try (AcrossTestContext ctx = contextBuilder( "snapshot" ).build()) {
+			assertThat( INSTALLER_RUNS.get() ).isEqualTo( 1 );
+			assertThat( itemNames( ctx ) ).containsExactly( "installed" );
+		}
+
+		try (AcrossTestContext ctx = contextBuilder( "drop" ).build()) {
+			assertThat( INSTALLER_RUNS.get() ).isEqualTo( 2 );
+			assertThat( itemNames( ctx ) ).containsExactly( "installed" );
+		}
+	}
+
+	@Test
+	public void snapshotIsNotSharedWithDifferentInstallerSettings() {
+		try (AcrossTestContext ctx = contextBuilder( "snapshot", new SnapshotModule( "SettingsSnapshotModule" ) ).build()) {
+			assertThat( itemNames( ctx ) ).containsExactly( "installed" );
+		}
+
+		SnapshotModule skippingModule = new SnapshotModule( "SettingsSnapshotModule" );
+		skippingModule.setInstallerSettings( new InstallerSettings( InstallerAction.SKIP ) );
+
+		try (AcrossTestContext ctx = contextBuilder( "snapshot", skippingModule ).build()) {
+			assertThatThrownBy( () -> itemNames( ctx ) ).isInstanceOf( BadSqlGrammarException.class );
+		}
+	}
+
+	@Test
+	public void unknownStrategyIsReportedWithThePropertyName() {
+		assertThatThrownBy( () -> contextBuilder( "snapshots" ).build() )
+				.hasStackTraceContaining( "Invalid value 'snapshots' for property " + ResetDatabaseConfigurer.STRATEGY_PROPERTY );
+	}
+
+	private AcrossTestContextBuilder contextBuilder( String strategy ) {
+		return contextBuilder( strategy, new SnapshotModule( "SnapshotModule" ) );
+	}
+
+	private AcrossTestContextBuilder contextBuilder( String strategy, AcrossModule module ) {
+		return new AcrossTestContextBuilder()
+				.property( ResetDatabaseConfigurer.STRATEGY_PROPERTY, strategy )
+				.modules( module );
+	}
+
+	private JdbcTemplate jdbcTemplate( AcrossTestContext ctx ) {
+		return new JdbcTemplate( ctx.getBean( AcrossContext.DATASOURCE, DataSource.class ) );
+	}
+
+	private Iterable<String> itemNames( AcrossTestContext ctx ) {
+		return jdbcTemplate( ctx ).queryForList( "SELECT name FROM snapshot_items", String.class );
+	}
+
+	static class SnapshotModule extends AcrossModule
+	{
+		private final String name;
+
+		SnapshotModule( String name ) {
+			this.name = name;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public Object[] getInstallers() {
+			return new Object[] { SnapshotInstaller.class };
+		}
+	}
+
+	@Installer(description = "Creates a table with a single item", version = 1)
+	static class SnapshotInstaller
+	{
+		@Autowired
+		private DataSource dataSource;
+
+		@InstallerMethod
+		public void install() {
+			INSTALLER_RUNS.incrementAndGet();
+
+			JdbcTemplate jdbcTemplate = new JdbcTemplate( dataSource );
+			jdbcTemplate.execute( "CREATE TABLE snapshot_items (name VARCHAR(20))" );
+			jdbcTemplate.update( "INSERT INTO snapshot_items (name) VALUES ('installed')" );
+		}
+	}
+}
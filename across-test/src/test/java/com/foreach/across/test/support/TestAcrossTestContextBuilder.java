@@ -16,8 +16,10 @@
 package com.foreach.across.test.support;
 
 import com.foreach.across.core.AcrossContext;
+import com.foreach.across.core.AcrossModule;
 import com.foreach.across.core.EmptyAcrossModule;
 import com.foreach.across.test.AcrossTestContext;
+import com.foreach.across.test.AcrossTestContextCache;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.context.annotation.Configuration;
@@ -154,12 +156,148 @@ public class TestAcrossTestContextBuilder
 		}
 	}
 
+	@Test
+	public void cachedContextIsReusedForTheSameConfiguration() {
+		AcrossTestContextCache cache = new AcrossTestContextCache( 2 );
+		AcrossTestContext cached;
+
+		try {
+			try (AcrossTestContext ctx = cachedContextBuilder( cache ).build()) {
+				cached = ctx;
+			}
+			assertTrue( cached.contextInfo().getContext().isBootstrapped() );
+
+			try (AcrossTestContext ctx = cachedContextBuilder( cache ).build()) {
+				assertSame( cached, ctx );
+			}
+
+			try (AcrossTestContext ctx = cachedContextBuilder( cache ).property( "cached", "other" ).build()) {
+				assertNotSame( cached, ctx );
+			}
+
+			assertEquals( 2, cache.size() );
+			assertEquals( 1, cache.getHitCount() );
+			assertEquals( 2, cache.getMissCount() );
+		}
+		finally {
+			cache.clear();
+		}
+
+		assertEquals( 0, cache.size() );
+		assertFalse( cached.contextInfo().getContext().isBootstrapped() );
+	}
+
+	@Test
+	public void dirtyContextIsClosedWhenAllLeasesAreReleased() {
+		AcrossTestContextCache cache = new AcrossTestContextCache( 2 );
+
+		try {
+			AcrossTestContext first = cachedContextBuilder( cache ).build();
+			AcrossTestContext second = cachedContextBuilder( cache ).build();
+			assertSame( first, second );
+
+			first.markDirty();
+			first.close();
+			assertTrue( second.contextInfo().getContext().isBootstrapped() );
+
+			try (AcrossTestContext ctx = cachedContextBuilder( cache ).build()) {
+				assertNotSame( first, ctx );
+			}
+
+			second.close();
+			assertFalse( second.contextInfo().getContext().isBootstrapped() );
+		}
+		finally {
+			cache.clear();
+		}
+	}
+
+	@Test
+	public void leastRecentlyUsedContextIsEvicted() {
+		AcrossTestContextCache cache = new AcrossTestContextCache( 1 );
+		AcrossTestContext evicted;
+
+		try {
+			try (AcrossTestContext ctx = cachedContextBuilder( cache ).build()) {
+				evicted = ctx;
+			}
+
+			try (AcrossTestContext ctx = cachedContextBuilder( cache ).property( "cached", "other" ).build()) {
+				assertTrue( ctx.contextInfo().getContext().isBootstrapped() );
+			}
+
+			assertEquals( 1, cache.size() );
+			assertFalse( evicted.contextInfo().getContext().isBootstrapped() );
+		}
+		finally {
+			cache.clear();
+		}
+	}
+
+	@Test
+	public void moduleImplementingEqualsIsComparedByItsOwnEquality() {
+		AcrossTestContextCache cache = new AcrossTestContextCache( 2 );
+
+		try {
+			try (AcrossTestContext ctx = cachedModuleContextBuilder( cache, new StatefulModule( "one" ) ).build()) {
+				try (AcrossTestContext same = cachedModuleContextBuilder( cache, new StatefulModule( "one" ) ).build()) {
+					assertSame( ctx, same );
+				}
+				try (AcrossTestContext other = cachedModuleContextBuilder( cache, new StatefulModule( "two" ) ).build()) {
+					assertNotSame( ctx, other );
+				}
+			}
+		}
+		finally {
+			cache.clear();
+		}
+	}
+
+	private AcrossTestContextBuilder cachedModuleContextBuilder( AcrossTestContextCache cache, AcrossModule module ) {
+		return contextBuilder()
+				.contextCache( cache )
+				.useTestDataSource( false )
+				.modules( module );
+	}
+
+	private AcrossTestContextBuilder cachedContextBuilder( AcrossTestContextCache cache ) {
+		return contextBuilder()
+				.contextCache( cache )
+				.useTestDataSource( false )
+				.property( "cached", "value" )
+				.modules( new EmptyAcrossModule( "testModule", ModuleConfig.class ) );
+	}
+
 	@Configuration("testModuleConfig")
 	static class ModuleConfig
 	{
 
 	}
 
+	static class StatefulModule extends AcrossModule
+	{
+		private final String state;
+
+		StatefulModule( String state ) {
+			this.state = state;
+		}
+
+		@Override
+		public String getName() {
+			return "statefulModule";
+		}
+
+		@Override
+		public boolean equals( Object o ) {
+			return o instanceof StatefulModule && state.equals( ( (StatefulModule) o ).state );
+		}
+
+		@Override
+		public int hashCode() {
+			return state.hashCode();
+		}
+	}
+
 	protected AcrossTestContextBuilder contextBuilder() {
 		return new AcrossTestContextBuilder();
 	}
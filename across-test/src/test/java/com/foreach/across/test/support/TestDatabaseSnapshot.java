@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.test.support;
+
+import com.foreach.across.test.support.config.DatabaseSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+public class TestDatabaseSnapshot
+{
+	@Test
+	public void hsqlSnapshot() {
+		verifySnapshotIsRestoredInOtherDatabase( EmbeddedDatabaseType.HSQL );
+	}
+
+	@Test
+	public void h2Snapshot() {
+		verifySnapshotIsRestoredInOtherDatabase( EmbeddedDatabaseType.H2 );
+	}
+
+	private void verifySnapshotIsRestoredInOtherDatabase( EmbeddedDatabaseType type ) {
+		EmbeddedDatabase source = new EmbeddedDatabaseBuilder().setType( type ).generateUniqueName( true ).build();
+		EmbeddedDatabase target = new EmbeddedDatabaseBuilder().setType( type ).generateUniqueName( true ).build();
+
+		try {
+			JdbcTemplate jdbcTemplate = new JdbcTemplate( source );
+			jdbcTemplate.execute( "CREATE SCHEMA other" );
+			jdbcTemplate.execute( "CREATE TABLE other.parent (id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(20), data CLOB)" );
+			jdbcTemplate.execute( "CREATE TABLE child (id INT PRIMARY KEY, parent_id INT, CONSTRAINT fk_parent FOREIGN KEY (parent_id) REFERENCES other.parent(id))" );
+			jdbcTemplate.update( "INSERT INTO other.parent (name, data) VALUES ('one', 'first')" );
+			jdbcTemplate.update( "INSERT INTO other.parent (name, data) VALUES ('two', null)" );
+			jdbcTemplate.update( "INSERT INTO child (id, parent_id) SELECT 1, id FROM other.parent WHERE name = 'two'" );
+
+			DatabaseSnapshot snapshot = DatabaseSnapshot.capture( source );
+			assertThat( snapshot.getRowCount() ).isEqualTo( 3 );
+
+			JdbcTemplate targetTemplate = new JdbcTemplate( target );
+			targetTemplate.execute( "CREATE TABLE child (id INT PRIMARY KEY)" );
+			snapshot.restore( target );
+
+			assertThat( targetTemplate.queryForList( "SELECT name FROM other.parent ORDER BY id", String.class ) ).containsExactly( "one", "two" );
+			assertThat( targetTemplate.queryForObject( "SELECT data FROM other.parent WHERE name = 'one'", String.class ) ).isEqualTo( "first" );
+			assertThat( targetTemplate.queryForObject( "SELECT p.name FROM child c JOIN other.parent p ON p.id = c.parent_id", String.class ) )
+					.isEqualTo( "two" );
+
+			// identity continues and constraints are restored
+			targetTemplate.update( "INSERT INTO other.parent (name) VALUES ('three')" );
+			assertThat( targetTemplate.queryForObject( "SELECT count(DISTINCT id) FROM other.parent", Integer.class ) ).isEqualTo( 3 );
+			assertThatExceptionOfType( Exception.class )
+					.isThrownBy( () -> targetTemplate.update( "INSERT INTO child (id, parent_id) VALUES (2, 99)" ) );
+
+			// restoring again resets all changes
+			snapshot.restore( target );
+			assertThat( targetTemplate.queryForObject( "SELECT count(*) FROM other.parent", Integer.class ) ).isEqualTo( 2 );
+		}
+		finally {
+			source.shutdown();
+			target.shutdown();
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.test.support;
+
+import com.foreach.across.core.AcrossContext;
+import com.foreach.across.core.AcrossModule;
+import com.foreach.across.core.annotations.Installer;
+import com.foreach.across.core.annotations.InstallerMethod;
+import com.foreach.across.test.AcrossTestContext;
+import com.foreach.across.test.support.config.TestDataSourceConfigurer;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+public class TestParallelTestContexts
+{
+	private static final int THREADS = 4;
+
+	@Test
+	public void contextsCanBeBootstrappedConcurrently() throws Exception {
+		ExecutorService executorService = Executors.newFixedThreadPool( THREADS );
+		CyclicBarrier barrier = new CyclicBarrier( THREADS );
+
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for ( int i = 0; i < THREADS; i++ ) {
+				results.add( executorService.submit( () -> {
+					barrier.await( 10, TimeUnit.SECONDS );
+
+					try (AcrossTestContext ctx = new AcrossTestContextBuilder().modules( new ParallelModule() ).build()) {
+						DataSource dataSource = ctx.getBean( AcrossContext.DATASOURCE, DataSource.class );
+						assertThat( new JdbcTemplate( dataSource ).queryForObject( "SELECT count(*) FROM parallel_items", Integer.class ) )
+								.isEqualTo( 1 );
+						assertThat( ctx.contextInfo().getApplicationContext().getEnvironment().getProperty( TestDataSourceConfigurer.ISOLATION_ID_PROPERTY ) )
+								.isEqualTo( TestDataSourceConfigurer.isolationId() );
+
+						return ( (HikariDataSource) dataSource ).getJdbcUrl();
+					}
+				} ) );
+			}
+
+			List<String> urls = new ArrayList<>();
+			for ( Future<String> result : results ) {
+				urls.add( result.get( 2, TimeUnit.MINUTES ) );
+			}
+			assertThat( urls ).doesNotHaveDuplicates();
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void isolationIdIsUniquePerThread() throws Exception {
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+		try {
+			String otherThread = executorService.submit( TestDataSourceConfigurer::isolationId ).get();
+			assertThat( otherThread ).isNotEqualTo( TestDataSourceConfigurer.isolationId() ).matches( "[A-Za-z0-9_]+" );
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	static class ParallelModule extends AcrossModule
+	{
+		@Override
+		public String getName() {
+			return "ParallelModule";
+		}
+
+		@Override
+		public Object[] getInstallers() {
+			return new Object[] { ParallelInstaller.class };
+		}
+	}
+
+	@Installer(description = "Creates a table with a single item", version = 1)
+	static class ParallelInstaller
+	{
+		@Autowired
+		private DataSource dataSource;
+
+		@InstallerMethod
+		public void install() {
+			JdbcTemplate jdbcTemplate = new JdbcTemplate( dataSource );
+			jdbcTemplate.execute( "CREATE TABLE parallel_items (name VARCHAR(20))" );
+			jdbcTemplate.update( "INSERT INTO parallel_items (name) VALUES ('installed')" );
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.test.support;
+
+import com.foreach.across.modules.web.resource.WebResource;
+import com.foreach.across.modules.web.template.WebTemplateInterceptor;
+import com.foreach.across.modules.web.ui.elements.ContainerViewElement;
+import com.foreach.across.modules.web.ui.elements.NodeViewElement;
+import com.foreach.across.modules.web.ui.elements.TemplateViewElement;
+import com.foreach.across.modules.web.ui.elements.TextViewElement;
+import com.foreach.across.modules.web.ui.elements.builder.TextViewElementBuilder;
+import com.foreach.across.modules.web.ui.elements.thymeleaf.HtmlViewElementModelWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.thymeleaf.extras.java8time.dialect.Java8TimeDialect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+public class TestViewElementTestRenderer extends AbstractViewElementRenderingTest
+{
+	@Test
+	public void nodeWithChildren() {
+		NodeViewElement node = new NodeViewElement( "ul" );
+		node.setAttribute( "class", "list" );
+		node.addChild( new NodeViewElement( "li" ) );
+		node.addChild( new TextViewElement( "child <text>" ) );
+
+		renderAndExpect( node, "<ul class='list'><li></li>child &lt;text&gt;</ul>" );
+	}
+
+	@Test
+	public void partialRendering() {
+		NodeViewElement node = new NodeViewElement( "ul" );
+		NodeViewElement visible = new NodeViewElement( "visible", "li" );
+		visible.addChild( TextViewElement.text( "hello" ) );
+		node.addChild( visible );
+
+		renderAndExpect( node, model -> model.addAttribute( WebTemplateInterceptor.RENDER_VIEW_ELEMENT, "visible" ), "<li>hello</li>" );
+	}
+
+	@Test
+	public void builderUsesPrefixedLinks() {
+		renderAndExpect( WebResource.javascript( "@webjars:/bootstrap.js" ),
+		                 "<script type='text/javascript' src='/webjars/bootstrap.js'/>" );
+		renderAndExpect( new TextViewElementBuilder().text( "builder text" ), "builder text" );
+	}
+
+	@Test
+	public void templateWithModelAndRequestAttributes() {
+		TemplateViewElement template = new TemplateViewElement( "th/test/elements/text :: customAttribute" );
+
+		renderAndExpect( template, model -> model.put( "customAttribute", 123 ), "Custom attribute value: 123" );
+		renderAndExpect( template,
+		                 model -> RequestContextHolder
+				                 .getRequestAttributes()
+				                 .setAttribute( "customAttribute", "hello!", RequestAttributes.SCOPE_REQUEST ),
+		                 "Custom attribute value: hello!" );
+		assertThat( RequestContextHolder.getRequestAttributes() ).isNull();
+
+		renderAndExpect( new TemplateViewElement( AbstractViewElementTemplateTest.CUSTOM_TEMPLATE ), AbstractViewElementTemplateTest.CUSTOM_TEMPLATE_OUTPUT );
+	}
+
+	@Test
+	public void customTemplate() {
+		ContainerViewElement container = new ContainerViewElement();
+		container.addChild( TextViewElement.text( "one" ) );
+		container.addChild( TextViewElement.text( "two" ) );
+
+		setTemplate( AbstractViewElementTemplateTest.CUSTOM_TEMPLATE );
+		assertThat( render( container ) ).contains( AbstractViewElementTemplateTest.CUSTOM_TEMPLATE_OUTPUT );
+
+		setTemplate( null );
+		renderAndExpect( container, "onetwo" );
+	}
+
+	@Test
+	public void customRendererConfiguration() {
+		ViewElementTestRenderer renderer = new ViewElementTestRenderer()
+				.renderViewElementNames( true )
+				.registerModelWriter( "custom", new HtmlViewElementModelWriter() );
+
+		NodeViewElement node = new NodeViewElement( "p" );
+		node.setName( "para" );
+		assertThat( renderer.render( node ) ).isEqualTo( "<!--[ax:para]--><p data-ax-dev-view-element=\"para\"></p><!--[/ax:para]-->" );
+
+		NodeViewElement custom = new NodeViewElement( "span" )
+		{
+			@Override
+			public String getElementType() {
+				return "custom";
+			}
+		};
+		assertThat( renderer.render( custom ) ).isEqualTo( "<span></span>" );
+
+		assertThat( ViewElementTestRenderer.shared() ).isNotSameAs( renderer ).isSameAs( renderer() );
+	}
+
+	@Test
+	public void sharedRendererCannotBeModified() {
+		ViewElementTestRenderer shared = ViewElementTestRenderer.shared();
+
+		assertThatExceptionOfType( UnsupportedOperationException.class )
+				.isThrownBy( () -> shared.renderViewElementNames( true ) )
+				.withMessageContaining( "new ViewElementTestRenderer()" );
+		assertThatExceptionOfType( UnsupportedOperationException.class )
+				.isThrownBy( () -> shared.registerModelWriter( "custom", new HtmlViewElementModelWriter() ) );
+		assertThatExceptionOfType( UnsupportedOperationException.class )
+				.isThrownBy( () -> shared.registerModelWriter( NodeViewElement.class, new HtmlViewElementModelWriter() ) );
+		assertThatExceptionOfType( UnsupportedOperationException.class )
+				.isThrownBy( () -> shared.addDialect( new Java8TimeDialect() ) );
+		assertThatExceptionOfType( UnsupportedOperationException.class )
+				.isThrownBy( () -> shared.messageSource( new StaticMessageSource() ) );
+
+		renderAndExpect( new NodeViewElement( "p" ), "<p></p>" );
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package performance;
+
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.web.context.ConfigurableWebApplicationContext;
+import performance.applications.PerformanceTestApplications;
+import performance.load.LoadDriver;
+import performance.load.LoadResult;
+import performance.load.LoadScenario;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the load scenarios against the {@link performance.applications.loadweb.LoadWebAcrossApplication}
+ * on an embedded server.  A regular build only verifies that the scenarios return the expected content,
+ * the actual load run is only executed if the {@code load.duration} system property is set:
+ * <ul>
+ * <li>{@code load.duration}: measurement per scenario in seconds</li>
+ * <li>{@code load.threads}: number of concurrent client threads (default: 4)</li>
+ * <li>{@code load.warmup}: warmup per scenario in seconds (default: 1)</li>
+ * <li>{@code load.scenarios}: comma separated names of the scenarios to run (default: all)</li>
+ * </ul>
+ * Example: {@code mvn test -pl across-test -Dtest=TestLoadHarness -Dload.threads=16 -Dload.duration=600}
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@Slf4j
+class TestLoadHarness
+{
+	private static final List<LoadScenario> SCENARIOS = Arrays.asList(
+			LoadScenario.of( "menu", "/load/menu/group-3/item-4", "menu:10:/group-3/item-4" ),
+			LoadScenario.of( "web-resources", "/load/resources", "/static/js/resource-19.js" ),
+			LoadScenario.of( "view-elements", "/load/view-elements", "data-cell=\"24-4\"" ),
+			LoadScenario.of( "exposed-beans", "/load/exposed-beans", "products:1:20" )
+	);
+
+	private static ConfigurableWebApplicationContext applicationContext;
+	private static String baseUrl;
+
+	@BeforeAll
+	static void startApplication() {
+		applicationContext = PerformanceTestApplications.acrossApplicationLoadWeb();
+		baseUrl = "http://localhost:" + applicationContext.getEnvironment().getProperty( "local.server.port" );
+	}
+
+	@AfterAll
+	static void stopApplication() {
+		if ( applicationContext != null ) {
+			applicationContext.close();
+		}
+	}
+
+	@Test
+	@DisplayName("Verify load scenarios return the expected content")
+	@SneakyThrows
+	void verifyScenarios() {
+		LoadDriver driver = new LoadDriver( baseUrl, 1, Duration.ZERO, Duration.ZERO );
+
+		for ( LoadScenario scenario : SCENARIOS ) {
+			assertThat( driver.request( scenario ) ).as( scenario.getName() ).contains( scenario.getExpectedContent() );
+		}
+	}
+
+	@Test
+	@DisplayName("Sustained load per scenario")
+	@EnabledIfSystemProperty(named = "load.duration", matches = "\\d+")
+	void sustainedLoad() {
+		LoadDriver driver = new LoadDriver(
+				baseUrl,
+				Integer.getInteger( "load.threads", 4 ),
+				Duration.ofSeconds( Long.getLong( "load.warmup", 1 ) ),
+				Duration.ofSeconds( Long.getLong( "load.duration" ) )
+		);
+
+		List<String> scenarioNames = Arrays.stream( System.getProperty( "load.scenarios", "" ).split( "," ) )
+		                                   .map( String::trim )
+		                                   .filter( s -> !s.isEmpty() )
+		                                   .collect( Collectors.toList() );
+
+		List<LoadResult> results = SCENARIOS.stream()
+		                                    .filter( s -> scenarioNames.isEmpty() || scenarioNames.contains( s.getName() ) )
+		                                    .map( driver::run )
+		                                    .collect( Collectors.toList() );
+
+		String line = LoadResult.HEADER.replaceAll( "[^|]", "-" ).replace( '|', '+' );
+		List<String> report = new ArrayList<>( Arrays.asList( "Load test results:", line, LoadResult.HEADER, line ) );
+		results.forEach( result -> report.add( result.toString() ) );
+		report.add( line );
+		LOG.info( String.join( System.lineSeparator(), report ) );
+
+		results.forEach( result -> {
+			assertThat( result.getErrors() ).as( result.getScenario().getName() ).isEqualTo( 0 );
+			assertThat( result.getRequests() ).as( result.getScenario().getName() ).isGreaterThan( 0 );
+		} );
+	}
+}
@@ -21,11 +21,14 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.WebApplicationType;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.web.context.ConfigurableWebApplicationContext;
+import performance.applications.loadweb.LoadWebAcrossApplication;
 import performance.applications.simple.SimpleAcrossApplication;
 import performance.applications.simple.SimpleBootApplication;
 import performance.applications.simpleweb.SimpleWebAcrossApplication;
 import performance.applications.simpleweb.SimpleWebBootApplication;
 
+import java.util.Collections;
+
 /**
  * @author Arne Vandamme
  * @since 5.0.0
@@ -84,4 +87,15 @@ public class PerformanceTestApplications
 		application.setAdditionalProfiles( "across" );
 		return (ConfigurableWebApplicationContext) application.run();
 	}
+
+	/**
+	 * Starts the load test application on an embedded server with a random port,
+	 * the port is available as property {@code local.server.port}.
+	 */
+	public ConfigurableWebApplicationContext acrossApplicationLoadWeb() {
+		SpringApplication application = new AcrossApplicationRunner( LoadWebAcrossApplication.class );
+		application.setAdditionalProfiles( "load" );
+		application.setDefaultProperties( Collections.singletonMap( "server.port", "0" ) );
+		return (ConfigurableWebApplicationContext) application.run();
+	}
 }
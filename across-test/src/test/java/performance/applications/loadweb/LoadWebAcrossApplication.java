@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package performance.applications.loadweb;
+
+import com.foreach.across.config.AcrossApplication;
+import com.foreach.across.modules.web.AcrossWebModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import performance.applications.loadweb.modules.catalog.CatalogModule;
+
+/**
+ * Sample multi-module web application used for load testing, see {@code performance.load.LoadDriver}.
+ * Consists of {@link AcrossWebModule}, the {@link CatalogModule} exposing a service and an application module
+ * with an endpoint per load scenario.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@Profile("load")
+@AcrossApplication(modules = AcrossWebModule.NAME)
+public class LoadWebAcrossApplication
+{
+	@Bean
+	public CatalogModule catalogModule() {
+		return new CatalogModule();
+	}
+}
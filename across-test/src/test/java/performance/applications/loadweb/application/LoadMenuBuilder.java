@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package performance.applications.loadweb.application;
+
+import com.foreach.across.modules.web.events.BuildMenuEvent;
+import com.foreach.across.modules.web.menu.Menu;
+import com.foreach.across.modules.web.menu.PathBasedMenuBuilder;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds a number of groups and items to the {@code loadMenu} whenever it is built.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@Component
+public class LoadMenuBuilder
+{
+	public static final String MENU_NAME = "loadMenu";
+
+	private static final int GROUPS = 10;
+	private static final int ITEMS_PER_GROUP = 10;
+
+	@EventListener
+	public void buildMenu( BuildMenuEvent<Menu> event ) {
+		if ( MENU_NAME.equals( event.getMenuName() ) ) {
+			PathBasedMenuBuilder builder = event.builder();
+			for ( int group = 0; group < GROUPS; group++ ) {
+				builder.group( "/group-" + group, "Group " + group );
+				for ( int item = 0; item < ITEMS_PER_GROUP; item++ ) {
+					String path = "/group-" + group + "/item-" + item;
+					builder.item( path, "Item " + item, "/load/menu" + path ).order( ITEMS_PER_GROUP - item );
+				}
+			}
+		}
+	}
+}
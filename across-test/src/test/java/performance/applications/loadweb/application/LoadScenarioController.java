@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package performance.applications.loadweb.application;
+
+import com.foreach.across.core.context.registry.AcrossContextBeanRegistry;
+import com.foreach.across.modules.web.menu.Menu;
+import com.foreach.across.modules.web.resource.WebResource;
+import com.foreach.across.modules.web.resource.WebResourceRegistry;
+import com.foreach.across.modules.web.resource.WebResourceRule;
+import com.foreach.across.modules.web.resource.rules.AddWebResourceRule;
+import com.foreach.across.modules.web.ui.elements.ContainerViewElement;
+import com.foreach.across.modules.web.ui.elements.NodeViewElement;
+import com.foreach.across.modules.web.ui.elements.TextViewElement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import performance.applications.loadweb.modules.catalog.CatalogModule;
+import performance.applications.loadweb.modules.catalog.CatalogService;
+
+import java.util.List;
+
+/**
+ * Endpoint per load scenario, every endpoint exercises a single part of the framework.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@Controller
+@RequiredArgsConstructor
+public class LoadScenarioController
+{
+	public static final String VIEW_ELEMENT_TEMPLATE = "th/WebTestModule/renderViewElement";
+
+	private static final int RESOURCES = 20;
+	private static final int ROWS = 25;
+	private static final int CELLS = 5;
+
+	private final AcrossContextBeanRegistry beanRegistry;
+
+	/**
+	 * Builds the request-scoped menu, selecting the item matching the request path.
+	 */
+	@GetMapping("/load/menu/**")
+	@ResponseBody
+	public String menu( Menu loadMenu ) {
+		Menu selected = loadMenu.getLowestSelectedItem();
+		return "menu:" + loadMenu.size() + ":" + ( selected != null ? selected.getPath() : "" );
+	}
+
+	/**
+	 * Registers resources with dependencies in the request-scoped registry and renders the sorted bucket.
+	 */
+	@GetMapping("/load/resources")
+	public String resources( WebResourceRegistry webResourceRegistry, Model model ) {
+		for ( int i = 0; i < RESOURCES; i++ ) {
+			String key = "resource-" + i;
+			AddWebResourceRule rule = WebResourceRule.add( WebResource.javascript( "/static/js/" + key + ".js" ) )
+			                                         .withKey( key )
+			                                         .order( i % 5 )
+			                                         .toBucket( WebResource.JAVASCRIPT_PAGE_END );
+			if ( i % 3 == 1 ) {
+				rule.after( "resource-" + ( i - 1 ) );
+			}
+			webResourceRegistry.apply( rule );
+		}
+		model.addAttribute( "element", webResourceRegistry.getResourcesForBucket( WebResource.JAVASCRIPT_PAGE_END ) );
+		return VIEW_ELEMENT_TEMPLATE;
+	}
+
+	/**
+	 * Renders a table of nested {@link NodeViewElement}s.
+	 */
+	@GetMapping("/load/view-elements")
+	public String viewElements( Model model ) {
+		NodeViewElement table = new NodeViewElement( "table" );
+		table.setAttribute( "class", "table" );
+
+		for ( int row = 0; row < ROWS; row++ ) {
+			NodeViewElement tr = new NodeViewElement( "tr" );
+			for ( int cell = 0; cell < CELLS; cell++ ) {
+				NodeViewElement td = new NodeViewElement( "td" );
+				td.setAttribute( "data-cell", row + "-" + cell );
+				td.addChild( TextViewElement.text( "Row " + row + " <cell " + cell + ">" ) );
+				tr.addChild( td );
+			}
+			table.addChild( tr );
+		}
+
+		ContainerViewElement container = new ContainerViewElement();
+		container.addChild( table );
+		model.addAttribute( "element", container );
+
+		return VIEW_ELEMENT_TEMPLATE;
+	}
+
+	/**
+	 * Looks up beans exposed by other modules.
+	 */
+	@GetMapping("/load/exposed-beans")
+	@ResponseBody
+	public String exposedBeans() {
+		List<CatalogService> services = beanRegistry.getBeansOfType( CatalogService.class, true );
+		CatalogService moduleService = beanRegistry.getBeanOfTypeFromModule( CatalogModule.NAME, CatalogService.class );
+		return "products:" + services.size() + ":" + moduleService.getProducts().size();
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package performance.applications.loadweb.modules.catalog;
+
+import com.foreach.across.core.annotations.Exposed;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+@Service
+@Exposed
+public class CatalogService
+{
+	private final List<String> products = IntStream.range( 0, 20 ).mapToObj( i -> "product-" + i ).collect( Collectors.toList() );
+
+	public List<String> getProducts() {
+		return products;
+	}
+}
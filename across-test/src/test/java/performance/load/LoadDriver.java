@@ -0,0 +1,301 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package performance.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StreamUtils;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Sends concurrent requests for a {@link LoadScenario} to a locally running server for a fixed duration,
+ * after a warmup period of which the results are discarded.  Every thread sends its next request as soon
+ * as the previous one has completed, the connections are kept alive by the JDK {@link HttpURLConnection}.
+ * <p/>
+ * Besides throughput and latency percentiles, the allocation rate of the JVM and the garbage collections
+ * during the measurement are reported.  As driver and server run in the same JVM, allocations by the driver
+ * threads are included - compare the rates between framework versions rather than looking at absolute values.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@Slf4j
+public class LoadDriver
+{
+	private static final String GC_NOTIFICATION = "com.sun.management.gc.notification";
+
+	private final String baseUrl;
+	private final int threads;
+	private final Duration warmup;
+	private final Duration duration;
+
+	public LoadDriver( String baseUrl, int threads, Duration warmup, Duration duration ) {
+		this.baseUrl = baseUrl;
+		this.threads = threads;
+		this.warmup = warmup;
+		this.duration = duration;
+	}
+
+	/**
+	 * Send a single request for the scenario.
+	 *
+	 * @param scenario to execute
+	 * @return response body
+	 * @throws IOException if the request failed or did not return status 200
+	 */
+	public String request( LoadScenario scenario ) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL( baseUrl + scenario.getPath() ).openConnection();
+		connection.setConnectTimeout( 5000 );
+		connection.setReadTimeout( 30000 );
+		int status = connection.getResponseCode();
+
+		if ( status != HttpURLConnection.HTTP_OK ) {
+			// consume the error stream so the connection can be reused
+			try (InputStream errorStream = connection.getErrorStream()) {
+				if ( errorStream != null ) {
+					StreamUtils.drain( errorStream );
+				}
+			}
+			throw new IOException( "Status " + status + " for " + scenario.getPath() );
+		}
+
+		try (InputStream inputStream = connection.getInputStream()) {
+			return StreamUtils.copyToString( inputStream, StandardCharsets.UTF_8 );
+		}
+	}
+
+	/**
+	 * Run the scenario: warmup first, followed by the actual measurement.
+	 *
+	 * @param scenario to execute
+	 * @return measurements
+	 */
+	public LoadResult run( LoadScenario scenario ) {
+		LOG.info( "Warming up scenario {} for {}", scenario.getName(), warmup );
+		execute( scenario, warmup );
+
+		LOG.info( "Running scenario {} for {} with {} threads", scenario.getName(), duration, threads );
+		GcPauseRecorder gcPauseRecorder = new GcPauseRecorder();
+		long gcCountBefore = totalGcCount();
+		long gcTimeBefore = totalGcTime();
+		long allocatedBefore = totalAllocatedBytes();
+		long start = System.nanoTime();
+
+		Measurement measurement;
+		try {
+			measurement = execute( scenario, duration );
+		}
+		finally {
+			gcPauseRecorder.stop();
+		}
+
+		long elapsedNanos = System.nanoTime() - start;
+		long allocated = totalAllocatedBytes() - allocatedBefore;
+		long[] latencies = LoadResult.sorted( measurement.latencies() );
+
+		return new LoadResult(
+				scenario,
+				latencies.length + measurement.errors.get(),
+				measurement.errors.get(),
+				TimeUnit.NANOSECONDS.toMillis( elapsedNanos ),
+				LoadResult.percentile( latencies, 50 ),
+				LoadResult.percentile( latencies, 90 ),
+				LoadResult.percentile( latencies, 99 ),
+				LoadResult.percentile( latencies, 100 ),
+				allocatedBefore >= 0 ? ( allocated / ( 1024.0 * 1024.0 ) ) / ( elapsedNanos / 1_000_000_000.0 ) : -1,
+				totalGcCount() - gcCountBefore,
+				totalGcTime() - gcTimeBefore,
+				gcPauseRecorder.getMaxPause()
+		);
+	}
+
+	private Measurement execute( LoadScenario scenario, Duration period ) {
+		Measurement measurement = new Measurement( threads );
+		long deadline = System.nanoTime() + period.toNanos();
+
+		ExecutorService executorService = Executors.newFixedThreadPool( threads );
+		try {
+			List<Future<?>> workers = new ArrayList<>( threads );
+			for ( int i = 0; i < threads; i++ ) {
+				LatencyRecorder recorder = measurement.recorders.get( i );
+				workers.add( executorService.submit( () -> {
+					while ( System.nanoTime() - deadline < 0 ) {
+						long requestStart = System.nanoTime();
+						try {
+							String body = request( scenario );
+							if ( body.contains( scenario.getExpectedContent() ) ) {
+								recorder.add( System.nanoTime() - requestStart );
+							}
+							else {
+								measurement.error( scenario, "unexpected response body" );
+							}
+						}
+						catch ( IOException ioe ) {
+							measurement.error( scenario, ioe.getMessage() );
+						}
+					}
+				} ) );
+			}
+			for ( Future<?> worker : workers ) {
+				worker.get();
+			}
+		}
+		catch ( InterruptedException ie ) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException( ie );
+		}
+		catch ( ExecutionException ee ) {
+			throw new IllegalStateException( ee.getCause() );
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+
+		return measurement;
+	}
+
+	private static long totalGcCount() {
+		return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong( GarbageCollectorMXBean::getCollectionCount ).sum();
+	}
+
+	private static long totalGcTime() {
+		return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong( GarbageCollectorMXBean::getCollectionTime ).sum();
+	}
+
+	/**
+	 * @return bytes allocated by all live threads, {@code -1} if not supported by the JVM
+	 */
+	private static long totalAllocatedBytes() {
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		if ( threadMXBean instanceof com.sun.management.ThreadMXBean ) {
+			com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+			if ( sunThreadMXBean.isThreadAllocatedMemorySupported() && sunThreadMXBean.isThreadAllocatedMemoryEnabled() ) {
+				long total = 0;
+				for ( long allocated : sunThreadMXBean.getThreadAllocatedBytes( threadMXBean.getAllThreadIds() ) ) {
+					total += Math.max( 0, allocated );
+				}
+				return total;
+			}
+		}
+		return -1;
+	}
+
+	private static class Measurement
+	{
+		private final List<LatencyRecorder> recorders = new ArrayList<>();
+		private final AtomicLong errors = new AtomicLong();
+
+		Measurement( int threads ) {
+			for ( int i = 0; i < threads; i++ ) {
+				recorders.add( new LatencyRecorder() );
+			}
+		}
+
+		void error( LoadScenario scenario, String message ) {
+			if ( errors.getAndIncrement() == 0 ) {
+				LOG.warn( "Request for scenario {} failed: {}", scenario.getName(), message );
+			}
+		}
+
+		long[] latencies() {
+			int total = recorders.stream().mapToInt( r -> r.size ).sum();
+			long[] latencies = new long[total];
+			int offset = 0;
+			for ( LatencyRecorder recorder : recorders ) {
+				System.arraycopy( recorder.latencies, 0, latencies, offset, recorder.size );
+				offset += recorder.size;
+			}
+			return latencies;
+		}
+	}
+
+	/**
+	 * Latencies of a single thread, kept in a primitive array to limit the allocations by the driver itself.
+	 */
+	private static class LatencyRecorder
+	{
+		private long[] latencies = new long[4096];
+		private int size;
+
+		void add( long latency ) {
+			if ( size == latencies.length ) {
+				long[] grown = new long[latencies.length * 2];
+				System.arraycopy( latencies, 0, grown, 0, size );
+				latencies = grown;
+			}
+			latencies[size++] = latency;
+		}
+	}
+
+	/**
+	 * Records the duration of the individual collections using the JMX notifications of the collectors.
+	 */
+	private static class GcPauseRecorder implements NotificationListener
+	{
+		private final LongAccumulator maxPause = new LongAccumulator( Math::max, 0 );
+		private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+		GcPauseRecorder() {
+			for ( GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans() ) {
+				if ( collector instanceof NotificationEmitter ) {
+					NotificationEmitter emitter = (NotificationEmitter) collector;
+					emitter.addNotificationListener( this, null, null );
+					emitters.add( emitter );
+				}
+			}
+		}
+
+		@Override
+		public void handleNotification( Notification notification, Object handback ) {
+			if ( GC_NOTIFICATION.equals( notification.getType() ) ) {
+				CompositeData gcInfo = (CompositeData) ( (CompositeData) notification.getUserData() ).get( "gcInfo" );
+				maxPause.accumulate( (Long) gcInfo.get( "duration" ) );
+			}
+		}
+
+		long getMaxPause() {
+			return maxPause.get();
+		}
+
+		void stop() {
+			for ( NotificationEmitter emitter : emitters ) {
+				try {
+					emitter.removeNotificationListener( this );
+				}
+				catch ( Exception ignore ) {
+					// listener already removed
+				}
+			}
+		}
+	}
+}
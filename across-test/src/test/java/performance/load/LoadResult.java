@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package performance.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * Measurements of a single {@link LoadScenario} run.
+ * Latencies are in milliseconds, the allocation rate is the number of megabytes allocated per second
+ * by all threads of the JVM (server and driver alike).
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@Getter
+@RequiredArgsConstructor
+public class LoadResult
+{
+	public static final String HEADER = String.format( "| %-16s | %8s | %6s | %8s | %7s | %7s | %7s | %7s | %10s | %4s | %7s | %7s |",
+	                                            "Scenario", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "max ms",
+	                                            "Alloc MB/s", "GCs", "GC ms", "Max GC" );
+
+	private final LoadScenario scenario;
+	private final long requests;
+	private final long errors;
+	private final long durationInMillis;
+	private final double p50;
+	private final double p90;
+	private final double p99;
+	private final double max;
+	private final double allocationRate;
+	private final long gcCount;
+	private final long gcTimeInMillis;
+	private final long maxGcPauseInMillis;
+
+	public double getThroughput() {
+		return durationInMillis > 0 ? requests * 1000.0 / durationInMillis : 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format( "| %-16s | %8d | %6d | %8.1f | %7.2f | %7.2f | %7.2f | %7.2f | %10.1f | %4d | %7d | %7d |",
+		                      scenario.getName(), requests, errors, getThroughput(), p50, p90, p99, max,
+		                      allocationRate, gcCount, gcTimeInMillis, maxGcPauseInMillis );
+	}
+
+	/**
+	 * @param sortedLatencies latencies in nanoseconds, sorted ascending
+	 * @param percentile      between 0 and 100
+	 * @return latency in milliseconds
+	 */
+	static double percentile( long[] sortedLatencies, double percentile ) {
+		if ( sortedLatencies.length == 0 ) {
+			return 0;
+		}
+		int index = (int) Math.ceil( percentile / 100 * sortedLatencies.length ) - 1;
+		return sortedLatencies[Math.max( 0, Math.min( index, sortedLatencies.length - 1 ) )] / 1_000_000.0;
+	}
+
+	static long[] sorted( long[] latencies ) {
+		long[] copy = latencies.clone();
+		Arrays.sort( copy );
+		return copy;
+	}
+}
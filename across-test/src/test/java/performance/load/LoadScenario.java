@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package performance.load;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A single load scenario: a request path and a fragment the response body should contain.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@Getter
+@RequiredArgsConstructor(staticName = "of")
+public class LoadScenario
+{
+	@NonNull
+	private final String name;
+
+	@NonNull
+	private final String path;
+
+	@NonNull
+	private final String expectedContent;
+}
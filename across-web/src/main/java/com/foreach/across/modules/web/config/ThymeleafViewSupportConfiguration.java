@@ -21,7 +21,9 @@ import com.foreach.across.core.annotations.Exposed;
 import com.foreach.across.core.annotations.PostRefresh;
 import com.foreach.across.core.development.AcrossDevelopmentMode;
 import com.foreach.across.modules.web.AcrossWebModuleSettings;
+import com.foreach.across.modules.web.config.resources.ResourceRenderingProperties;
 import com.foreach.across.modules.web.context.PrefixingPathRegistry;
+import com.foreach.across.modules.web.resource.WebResourceMarkupCache;
 import com.foreach.across.modules.web.thymeleaf.AcrossWebDialect;
 import com.foreach.across.modules.web.thymeleaf.PrefixingSupportingLinkBuilder;
 import com.foreach.across.modules.web.ui.DefaultViewElementAttributeConverter;
@@ -140,6 +142,13 @@ public class ThymeleafViewSupportConfiguration
 		return registry;
 	}
 
+	@Bean
+	@Exposed
+	@ConditionalOnProperty(prefix = "across.web.resources.rendering", value = "cache-markup", havingValue = "true")
+	public WebResourceMarkupCache webResourceMarkupCache( ResourceRenderingProperties renderingProperties ) {
+		return new WebResourceMarkupCache( renderingProperties.getMarkupCacheSize() );
+	}
+
 	@Bean
 	@Exposed
 	public ViewElementAttributeConverter viewElementAttributeConverter( ObjectMapper objectMapper ) {
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.web.config.resources;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for rendering the web resource buckets.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "across.web.resources.rendering")
+public class ResourceRenderingProperties
+{
+	/**
+	 * Cache the rendered markup of web resource buckets that have not changed.
+	 * Should only be enabled if web resources always render the same markup for the same links.
+	 */
+	private boolean cacheMarkup = false;
+
+	/**
+	 * Maximum number of rendered web resource buckets to cache.
+	 */
+	private int markupCacheSize = 256;
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.web.resource;
+
+import lombok.NonNull;
+
+import java.util.*;
+
+/**
+ * Keeps the rendered markup of web resource buckets, so a bucket that has not changed can be written
+ * without building and rendering its view elements again.  The markup is stored for a fingerprint
+ * of the sorted references of the bucket, the link state and the locale of the request, and only the least
+ * recently used entries are kept.  The locale is part of the fingerprint because elements can use messages.
+ * <p/>
+ * The link state should represent all request dependent parts of the links that are generated,
+ * for example the context path and a possible session id.  Resource versioning uses a fixed version
+ * for the lifetime of the application, so versioned resource urls are identical for the same link state.
+ * <p/>
+ * Because the references themselves are used as the fingerprint, this cache should only be used if the
+ * view element builders of the references always build the same elements for the same links.
+ *
+ * @author agent
+ * @since 5.3.0
+ */
+public final class WebResourceMarkupCache
+{
+	private final Map<Fingerprint, String> markup;
+
+	/**
+	 * @param maximumSize maximum number of rendered buckets to keep
+	 */
+	public WebResourceMarkupCache( int maximumSize ) {
+		markup = Collections.synchronizedMap( new LinkedHashMap<Fingerprint, String>( 16, 0.75f, true )
+		{
+			@Override
+			protected boolean removeEldestEntry( Map.Entry<Fingerprint, String> eldest ) {
+				return size() > maximumSize;
+			}
+		} );
+	}
+
+	/**
+	 * Get the previously rendered markup for a collection of references.
+	 *
+	 * @param references collection that will be rendered
+	 * @param linkState  representation of the request dependent link building
+	 * @param locale     locale the markup is rendered for
+	 * @return markup or {@code null} if none has been stored
+	 */
+	public String getMarkup( @NonNull WebResourceReferenceCollection references, String linkState, Locale locale ) {
+		return markup.get( new Fingerprint( references, linkState, locale ) );
+	}
+
+	/**
+	 * Store the rendered markup for a collection of references.
+	 *
+	 * @param references collection that has been rendered
+	 * @param linkState  representation of the request dependent link building
+	 * @param locale     locale the markup has been rendered for
+	 * @param html       rendered markup
+	 */
+	public void putMarkup( @NonNull WebResourceReferenceCollection references, String linkState, Locale locale, @NonNull String html ) {
+		markup.put( new Fingerprint( references, linkState, locale ), html );
+	}
+
+	/**
+	 * @return number of rendered buckets in the cache
+	 */
+	public int size() {
+		return markup.size();
+	}
+
+	/**
+	 * Remove all rendered markup.
+	 */
+	public void clear() {
+		markup.clear();
+	}
+
+	private static final class Fingerprint
+	{
+		private final List<WebResourceReference> references;
+		private final String linkState;
+		private final Locale locale;
+		private final int hashCode;
+
+		Fingerprint( WebResourceReferenceCollection collection, String linkState, Locale locale ) {
+			List<WebResourceReference> sorted = new ArrayList<>();
+			collection.forEach( sorted::add );
+			this.references = sorted;
+			this.linkState = linkState;
+			this.locale = locale;
+			this.hashCode = Objects.hash( references, linkState, locale );
+		}
+
+		@Override
+		public boolean equals( Object o ) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( o == null || getClass() != o.getClass() ) {
+				return false;
+			}
+			Fingerprint that = (Fingerprint) o;
+			return hashCode == that.hashCode
+					&& Objects.equals( linkState, that.linkState )
+					&& Objects.equals( locale, that.locale )
+					&& references.equals( that.references );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
@@ -19,22 +19,45 @@ import com.foreach.across.modules.web.ui.ViewElementBuilder;
 import com.foreach.across.modules.web.ui.ViewElementBuilderContext;
 import com.foreach.across.modules.web.ui.elements.ContainerViewElement;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
 /**
  * A collection of {@link WebResourceReference} items to be rendered.
+ * <p/>
+ * The sorted order of the items is kept and only calculated again if the items have changed
+ * since the last time the collection was iterated.
  *
  * @author Marc Vanbrabant
  * @see ViewElementBuilder
  * @since 3.1.3
  */
-@RequiredArgsConstructor
 public class WebResourceReferenceCollection implements Iterable<WebResourceReference>, ViewElementBuilder<ContainerViewElement>
 {
 	private final List<WebResourceReference> items;
+	private final boolean immutable;
+
+	private volatile SortedItems sortedItems;
+
+	public WebResourceReferenceCollection( List<WebResourceReference> items ) {
+		this( items, false );
+	}
+
+	/**
+	 * @param items     references in the collection
+	 * @param immutable true if the items will never be modified, the items are then not checked for changes
+	 */
+	WebResourceReferenceCollection( List<WebResourceReference> items, boolean immutable ) {
+		this.items = items;
+		this.immutable = immutable;
+	}
+
+	List<WebResourceReference> getItems() {
+		return items;
+	}
 
 	@Override
 	public ContainerViewElement build( @NonNull ViewElementBuilderContext builderContext ) {
@@ -45,6 +68,41 @@ public class WebResourceReferenceCollection implements Iterable<WebResourceRefer
 
 	@Override
 	public Iterator<WebResourceReference> iterator() {
-		return WebResourceReferenceSorter.sort( items ).iterator();
+		SortedItems sorted = sortedItems;
+		if ( sorted == null || ( !immutable && !sorted.isSortedFrom( items ) ) ) {
+			sorted = new SortedItems( items );
+			sortedItems = sorted;
+		}
+		return sorted.items.iterator();
+	}
+
+	/**
+	 * Sorted order of the items, along with the items it was calculated from.
+	 */
+	private static final class SortedItems
+	{
+		private final WebResourceReference[] source;
+		private final List<WebResourceReference> items;
+
+		SortedItems( List<WebResourceReference> source ) {
+			this.source = source.toArray( new WebResourceReference[0] );
+			this.items = Collections.unmodifiableList( WebResourceReferenceSorter.sort( Arrays.asList( this.source ) ) );
+		}
+
+		/**
+		 * @return true if the same references are present in the same order
+		 */
+		boolean isSortedFrom( List<WebResourceReference> references ) {
+			if ( references.size() != source.length ) {
+				return false;
+			}
+			int index = 0;
+			for ( WebResourceReference reference : references ) {
+				if ( reference != source[index++] ) {
+					return false;
+				}
+			}
+			return true;
+		}
 	}
 }
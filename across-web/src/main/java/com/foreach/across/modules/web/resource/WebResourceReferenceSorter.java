@@ -16,7 +16,6 @@
 package com.foreach.across.modules.web.resource;
 
 import lombok.NonNull;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.util.Assert;
 
 import java.util.*;
@@ -25,6 +24,9 @@ import java.util.*;
  * A class used to sort WebResourceReferences.
  * Sorting is done in stages: first by order, then by after.
  * The <code>before</code> field is logically translated into an <code>after</code> field.
+ * <p/>
+ * The before and after constraints are resolved using an index on the keys of the references,
+ * after which the references are sorted topologically using a depth-first traversal.
  *
  * @author Marc Vanbrabant
  * @since 3.2.0
@@ -32,51 +34,72 @@ import java.util.*;
 class WebResourceReferenceSorter
 {
 	public static List<WebResourceReference> sort( @NonNull List<WebResourceReference> items ) {
-		List<WebResourceReference> sorted = new LinkedList<>( items );
-		sorted.sort( ( o1, o2 ) -> Comparator.comparingInt( WebResourceReference::getOrder ).compare( o1, o2 ) );
+		List<WebResourceReference> sorted = new ArrayList<>( items );
+		sorted.sort( Comparator.comparingInt( WebResourceReference::getOrder ) );
 
 		return sortByBeforeOrAfter( sorted );
 	}
 
-	private static List<WebResourceReference> sortByBeforeOrAfter( List<WebResourceReference> classes ) {
-		List<WebResourceReference> toSort = new ArrayList<>( classes );
+	private static List<WebResourceReference> sortByBeforeOrAfter( List<WebResourceReference> references ) {
+		Map<String, WebResourceReference> referencesByKey = new HashMap<>();
+		Map<String, List<WebResourceReference>> referencesByBefore = new HashMap<>();
+
+		for ( WebResourceReference reference : references ) {
+			if ( reference.getKey() != null ) {
+				referencesByKey.putIfAbsent( reference.getKey(), reference );
+				// references without before are registered under null: they are sorted before references without key
+				referencesByBefore.computeIfAbsent( reference.getBefore(), b -> new ArrayList<>() ).add( reference );
+			}
+		}
+
 		Set<WebResourceReference> sorted = new LinkedHashSet<>();
-		Set<WebResourceReference> processing = new LinkedHashSet<>();
-		while ( !toSort.isEmpty() ) {
-			doSortByAfter( classes, toSort, sorted, processing, null );
+		Set<WebResourceReference> processing = new HashSet<>();
+
+		for ( WebResourceReference reference : references ) {
+			if ( !sorted.contains( reference ) ) {
+				sortAfterDependencies( reference, referencesByKey, referencesByBefore, sorted, processing );
+			}
 		}
+
 		return new ArrayList<>( sorted );
 	}
 
-	private static void doSortByAfter( List<WebResourceReference> classes,
-	                                   List<WebResourceReference> toSort, Set<WebResourceReference> sorted, Set<WebResourceReference> processing,
-	                                   WebResourceReference current ) {
-		if ( current == null ) {
-			current = toSort.remove( 0 );
-		}
+	private static void sortAfterDependencies( WebResourceReference current,
+	                                           Map<String, WebResourceReference> referencesByKey,
+	                                           Map<String, List<WebResourceReference>> referencesByBefore,
+	                                           Set<WebResourceReference> sorted,
+	                                           Set<WebResourceReference> processing ) {
 		processing.add( current );
-		Set<WebResourceReference> afterResources = webResourcesToBeSortedAfter( classes, current );
-		for ( WebResourceReference after : afterResources ) {
-			Assert.state( !processing.contains( after ),
-			              "WebResourceReference cycle detected between " + current + " and " + after );
-			if ( !sorted.contains( after ) && toSort.contains( after ) ) {
-				doSortByAfter( classes, toSort, sorted, processing, after );
+
+		for ( WebResourceReference dependency : dependencies( current, referencesByKey, referencesByBefore ) ) {
+			Assert.state( !processing.contains( dependency ),
+			              "WebResourceReference cycle detected between " + current + " and " + dependency );
+			if ( !sorted.contains( dependency ) ) {
+				sortAfterDependencies( dependency, referencesByKey, referencesByBefore, sorted, processing );
 			}
 		}
+
 		processing.remove( current );
 		sorted.add( current );
 	}
 
-	private static Set<WebResourceReference> webResourcesToBeSortedAfter( List<WebResourceReference> classes, WebResourceReference after ) {
-		Set<WebResourceReference> rtn = new LinkedHashSet<>();
-		if ( after.getAfter() != null ) {
-			classes.stream().filter( r -> after.getAfter() != null && StringUtils.equals( after.getAfter(), r.getKey() ) ).findFirst().ifPresent( rtn::add );
-		}
-		for ( WebResourceReference clazz : classes ) {
-			if ( clazz.getKey() != null && StringUtils.equals( clazz.getBefore(), after.getKey() ) ) {
-				rtn.add( clazz );
-			}
+	/**
+	 * The references that should be sorted before the current reference: the reference it should be after,
+	 * followed by all references that should be before it.
+	 */
+	private static Collection<WebResourceReference> dependencies( WebResourceReference current,
+	                                                              Map<String, WebResourceReference> referencesByKey,
+	                                                              Map<String, List<WebResourceReference>> referencesByBefore ) {
+		WebResourceReference after = current.getAfter() != null ? referencesByKey.get( current.getAfter() ) : null;
+		List<WebResourceReference> before = referencesByBefore.getOrDefault( current.getKey(), Collections.emptyList() );
+
+		if ( after == null ) {
+			return before;
 		}
-		return rtn;
+
+		Set<WebResourceReference> dependencies = new LinkedHashSet<>( before.size() + 1 );
+		dependencies.add( after );
+		dependencies.addAll( before );
+		return dependencies;
 	}
 }
@@ -19,8 +19,10 @@ package com.foreach.across.modules.web.resource;
 import com.foreach.across.modules.web.ui.ViewElementBuilder;
 import lombok.NonNull;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.Assert;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 import static com.foreach.across.modules.web.resource.WebResource.*;
 
@@ -66,10 +68,23 @@ public class WebResourceRegistry
 
 	private final Set<String> installedPackages = new HashSet<>();
 
+	/**
+	 * Buckets that are still shared with the snapshot this registry was created from.
+	 */
+	private final Set<String> sharedBuckets = new HashSet<>();
+
+	/**
+	 * Collections returned for the buckets, kept until the bucket is modified so the sorted order can be reused.
+	 */
+	private final Map<String, WebResourceReferenceCollection> bucketCollections = new HashMap<>();
+
+	private int modificationCount;
+
 	public WebResourceRegistry( WebResourcePackageManager packageManager ) {
 		this.packageManager = packageManager;
 	}
 
+
 	/**
 	 * @return The default location resources will be registered with.
 	 * @see com.foreach.across.modules.web.resource.WebResource
@@ -245,16 +260,8 @@ public class WebResourceRegistry
 	 */
 	@Deprecated
 	public void removeResource( Object data ) {
-		for ( Map.Entry<String, List<WebResourceReference>> references : webResources.entrySet() ) {
-			// Only for old style references
-			for ( WebResourceReference reference : references.getValue() ) {
-				WebResource resource = reference.getResource();
-				if ( resource != null ) {
-					if ( Objects.equals( data, resource.getData() ) ) {
-						references.getValue().remove( reference );
-					}
-				}
-			}
+		for ( String bucket : new ArrayList<>( webResources.keySet() ) ) {
+			removeResource( bucket, data );
 		}
 	}
 
@@ -267,18 +274,8 @@ public class WebResourceRegistry
 	 */
 	@Deprecated
 	public void removeResource( String type, Object data ) {
-		List<WebResourceReference> references = webResources.get( type );
-		if ( references != null ) {
-			// Only for old style references
-			for ( WebResourceReference reference : references ) {
-				WebResource resource = reference.getResource();
-				if ( resource != null ) {
-					if ( Objects.equals( data, resource.getData() ) ) {
-						references.remove( reference );
-					}
-				}
-			}
-		}
+		// Only for old style references
+		removeFromBucket( type, reference -> reference.getResource() != null && Objects.equals( data, reference.getResource().getData() ) );
 	}
 
 	/**
@@ -287,8 +284,8 @@ public class WebResourceRegistry
 	 * @param key Key the resource is registered under.
 	 */
 	public void removeResourceWithKey( @NonNull String key ) {
-		for ( List<WebResourceReference> resources : webResources.values() ) {
-			resources.removeIf( resource -> StringUtils.equals( key, resource.getKey() ) );
+		for ( String bucket : new ArrayList<>( webResources.keySet() ) ) {
+			removeFromBucket( bucket, resource -> StringUtils.equals( key, resource.getKey() ) );
 		}
 	}
 
@@ -300,9 +297,12 @@ public class WebResourceRegistry
 	 * @return reference that was removed
 	 */
 	public Optional<WebResourceReference> removeResourceWithKeyFromBucket( @NonNull String key, @NonNull String bucket ) {
-		List<WebResourceReference> resources = webResources.getOrDefault( bucket, Collections.emptyList() );
-		int index = findPosition( key, resources );
-		return index >= 0 ? Optional.of( resources.remove( index ) ) : Optional.empty();
+		int index = findPosition( key, webResources.getOrDefault( bucket, Collections.emptyList() ) );
+		if ( index >= 0 ) {
+			modificationCount++;
+			return Optional.of( modifiableBucket( bucket ).remove( index ) );
+		}
+		return Optional.empty();
 	}
 
 	/**
@@ -359,7 +359,10 @@ public class WebResourceRegistry
 	 * Clears the entire registry, for all buckets.
 	 */
 	public void clear() {
-		webResources.values().clear();
+		webResources.clear();
+		sharedBuckets.clear();
+		bucketCollections.clear();
+		modificationCount++;
 	}
 
 	/**
@@ -369,8 +372,9 @@ public class WebResourceRegistry
 	 */
 	public void clear( @NonNull String bucket ) {
 		List<WebResourceReference> references = webResources.get( bucket );
-		if ( references != null ) {
-			references.clear();
+		if ( references != null && !references.isEmpty() ) {
+			modifiableBucket( bucket ).clear();
+			modificationCount++;
 		}
 	}
 
@@ -430,14 +434,12 @@ public class WebResourceRegistry
 	 * @param bucket The bucket name.
 	 */
 	public WebResourceReferenceCollection getResourcesForBucket( @NonNull String bucket ) {
-		List<WebResourceReference> filtered = new LinkedList<>();
-
-		List<WebResourceReference> items = webResources.get( bucket );
-		if ( items != null ) {
-			filtered.addAll( items );
-		}
-
-		return new WebResourceReferenceCollection( filtered );
+		return bucketCollections.computeIfAbsent(
+				bucket,
+				b -> new WebResourceReferenceCollection(
+						Collections.unmodifiableList( new ArrayList<>( webResources.getOrDefault( b, Collections.emptyList() ) ) ), true
+				)
+		);
 	}
 
 	/**
@@ -490,27 +492,22 @@ public class WebResourceRegistry
 	 */
 	public boolean addResourceToBucket( @NonNull WebResourceReference webResourceReference, @NonNull String bucket, boolean replaceIfExists ) {
 		String key = webResourceReference.getKey();
+		int index = key != null ? findPosition( key, webResources.getOrDefault( bucket, Collections.emptyList() ) ) : -1;
 
-		List<WebResourceReference> resources = webResources.computeIfAbsent( bucket, w -> new LinkedList<>() );
+		if ( index >= 0 && !replaceIfExists ) {
+			return false;
+		}
 
-		if ( key == null ) {
-			resources.add( webResourceReference );
+		List<WebResourceReference> resources = modifiableBucket( bucket );
+
+		if ( index >= 0 ) {
+			resources.set( index, webResourceReference );
 		}
 		else {
-			int index = findPosition( key, resources );
-			if ( index >= 0 ) {
-				if ( replaceIfExists ) {
-					resources.set( index, webResourceReference );
-				}
-				else {
-					return false;
-				}
-			}
-			else {
-				resources.add( webResourceReference );
-			}
+			resources.add( webResourceReference );
 		}
 
+		modificationCount++;
 		return true;
 	}
 
@@ -526,6 +523,61 @@ public class WebResourceRegistry
 		return resources.stream().filter( r -> StringUtils.equals( r.getKey(), key ) ).findFirst();
 	}
 
+	/**
+	 * Create an immutable snapshot of the current buckets, the snapshot is not updated when this registry is modified.
+	 */
+	WebResourceRegistrySnapshot snapshot() {
+		return new WebResourceRegistrySnapshot( this, modificationCount, webResources );
+	}
+
+	/**
+	 * Add the buckets of the snapshot to this (empty) registry. The buckets are shared with the snapshot
+	 * and only copied when they are modified in this registry.
+	 *
+	 * @param base snapshot to start from
+	 */
+	void shareBuckets( WebResourceRegistrySnapshot base ) {
+		Assert.state( webResources.isEmpty(), "Buckets can only be shared with an empty registry" );
+		base.getBuckets().forEach( ( bucket, references ) -> {
+			webResources.put( bucket, references.getItems() );
+			sharedBuckets.add( bucket );
+			bucketCollections.put( bucket, references );
+		} );
+	}
+
+	int getModificationCount() {
+		return modificationCount;
+	}
+
+	private void removeFromBucket( String bucket, Predicate<WebResourceReference> predicate ) {
+		List<WebResourceReference> references = webResources.get( bucket );
+		if ( references != null && references.stream().anyMatch( predicate ) ) {
+			modifiableBucket( bucket ).removeIf( predicate );
+			modificationCount++;
+		}
+	}
+
+	/**
+	 * Get the references of a bucket for modification, creating the bucket if it does not exist
+	 * and copying it if it is still shared with the snapshot this registry was created from.
+	 * The collection of the bucket is discarded as it will no longer be valid.
+	 */
+	private List<WebResourceReference> modifiableBucket( String bucket ) {
+		List<WebResourceReference> references = webResources.get( bucket );
+		bucketCollections.remove( bucket );
+
+		if ( references == null ) {
+			references = new ArrayList<>();
+			webResources.put( bucket, references );
+		}
+		else if ( sharedBuckets.remove( bucket ) ) {
+			references = new ArrayList<>( references );
+			webResources.put( bucket, references );
+		}
+
+		return references;
+	}
+
 	private int findPosition( String key, List<WebResourceReference> references ) {
 		for ( int i = 0; i < references.size(); i++ ) {
 			if ( StringUtils.equals( key, references.get( i ).getKey() ) ) {
@@ -30,6 +30,10 @@ import java.util.LinkedList;
 /**
  * Configures a WebResourceRegistry for the request.  Will initialize using the default
  * registry provided and will fire the registry build events.
+ * <p/>
+ * The default registry is not copied for every request: an immutable snapshot of it is shared by all
+ * request registries, a bucket is only copied when it gets modified during the request.  A new snapshot
+ * is taken if the default registry has been modified since the previous one.
  */
 public class WebResourceRegistryInterceptor extends HandlerInterceptorAdapter
 {
@@ -39,6 +43,7 @@ public class WebResourceRegistryInterceptor extends HandlerInterceptorAdapter
 	private ApplicationEventPublisher eventPublisher;
 
 	private WebResourceRegistry defaultRegistry;
+	private volatile WebResourceRegistrySnapshot defaultRegistrySnapshot;
 
 	private Collection<WebResourceTranslator> webResourceTranslators = new LinkedList<WebResourceTranslator>();
 
@@ -76,10 +81,9 @@ public class WebResourceRegistryInterceptor extends HandlerInterceptorAdapter
 	public boolean preHandle( HttpServletRequest request,
 	                          HttpServletResponse response,
 	                          Object handler ) {
-		WebResourceRegistry registry = new WebResourceRegistry( webResourcePackageManager );
-		if ( defaultRegistry != null ) {
-			registry.merge( defaultRegistry );
-		}
+		WebResourceRegistry registry = defaultRegistry != null
+				? getDefaultRegistrySnapshot( defaultRegistry ).createRegistry( webResourcePackageManager )
+				: new WebResourceRegistry( webResourcePackageManager );
 
 		eventPublisher.publishEvent( new BuildRegistryEvent<>( registry ) );
 
@@ -88,6 +92,15 @@ public class WebResourceRegistryInterceptor extends HandlerInterceptorAdapter
 		return true;
 	}
 
+	private WebResourceRegistrySnapshot getDefaultRegistrySnapshot( WebResourceRegistry registry ) {
+		WebResourceRegistrySnapshot snapshot = defaultRegistrySnapshot;
+		if ( snapshot == null || !snapshot.isSnapshotOf( registry ) ) {
+			snapshot = registry.snapshot();
+			defaultRegistrySnapshot = snapshot;
+		}
+		return snapshot;
+	}
+
 	/**
 	 * Prepares the WebResourceRegistry for rendering by translating locations.
 	 */
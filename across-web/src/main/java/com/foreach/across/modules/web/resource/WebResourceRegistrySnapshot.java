@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.web.resource;
+
+import java.util.*;
+
+/**
+ * Immutable copy of the buckets of a {@link WebResourceRegistry}, used as the shared base of the
+ * registries created for every request.  The sorted order of a bucket is only calculated once.
+ *
+ * @author agent
+ * @see WebResourceRegistryInterceptor
+ * @since 5.3.0
+ */
+final class WebResourceRegistrySnapshot
+{
+	private final WebResourceRegistry source;
+	private final int sourceModificationCount;
+	private final Map<String, WebResourceReferenceCollection> buckets;
+
+	WebResourceRegistrySnapshot( WebResourceRegistry source,
+	                             int sourceModificationCount,
+	                             Map<String, List<WebResourceReference>> webResources ) {
+		this.source = source;
+		this.sourceModificationCount = sourceModificationCount;
+
+		Map<String, WebResourceReferenceCollection> copy = new LinkedHashMap<>();
+		webResources.forEach(
+				( bucket, references ) -> copy.put( bucket, new WebResourceReferenceCollection( Collections.unmodifiableList( new ArrayList<>( references ) ), true ) )
+		);
+		this.buckets = Collections.unmodifiableMap( copy );
+	}
+
+	/**
+	 * Create a new registry that has the same buckets as this snapshot, see {@link WebResourceRegistry#shareBuckets(WebResourceRegistrySnapshot)}.
+	 *
+	 * @param packageManager for the new registry
+	 * @return registry
+	 */
+	WebResourceRegistry createRegistry( WebResourcePackageManager packageManager ) {
+		WebResourceRegistry registry = new WebResourceRegistry( packageManager );
+		registry.shareBuckets( this );
+		return registry;
+	}
+
+	/**
+	 * @param registry to check
+	 * @return true if this snapshot represents the current state of the registry
+	 */
+	boolean isSnapshotOf( WebResourceRegistry registry ) {
+		return source == registry && sourceModificationCount == registry.getModificationCount();
+	}
+
+	/**
+	 * @return buckets in registration order
+	 */
+	Map<String, WebResourceReferenceCollection> getBuckets() {
+		return buckets;
+	}
+}
@@ -25,6 +25,7 @@ import org.springframework.web.servlet.support.RequestContextUtils;
 import org.thymeleaf.context.ITemplateContext;
 import org.thymeleaf.context.WebEngineContext;
 import org.thymeleaf.inline.NoOpInliner;
+import org.thymeleaf.model.IModel;
 import org.thymeleaf.model.IProcessableElementTag;
 import org.thymeleaf.processor.element.AbstractElementTagProcessor;
 import org.thymeleaf.processor.element.IElementTagStructureHandler;
@@ -60,6 +61,17 @@ class ViewElementElementProcessor extends AbstractElementTagProcessor
 		structureHandler.setInliner( NoOpInliner.INSTANCE );
 
 		ViewElement viewElement = retrieveViewElementFromAttribute( context, tag );
+		structureHandler.replaceWith( createModel( context, viewElement ), true );
+	}
+
+	/**
+	 * Create the Thymeleaf model for a {@link ViewElement}, using the model writers of the current web application context.
+	 *
+	 * @param context     of the template being processed
+	 * @param viewElement to render
+	 * @return model
+	 */
+	static IModel createModel( ITemplateContext context, ViewElement viewElement ) {
 		ApplicationContext appCtx = RequestContextUtils.findWebApplicationContext( ( (WebEngineContext) context ).getRequest() );
 		ViewElementModelWriterRegistry registry = appCtx.getBean( ViewElementModelWriterRegistry.class );
 		ViewElementAttributeConverter attributeConverter = appCtx.getBean( ViewElementAttributeConverter.class );
@@ -71,7 +83,7 @@ class ViewElementElementProcessor extends AbstractElementTagProcessor
 		ThymeleafModelBuilder builder = new ThymeleafModelBuilder( context, registry, idStore, attributeConverter, generator,
 		                                                           developmentMode.shouldRenderViewElementNames() );
 		builder.addViewElement( viewElement );
-		structureHandler.replaceWith( builder.retrieveModel(), true );
+		return builder.retrieveModel();
 	}
 
 	private ViewElement retrieveViewElementFromAttribute( ITemplateContext context, IProcessableElementTag element ) {
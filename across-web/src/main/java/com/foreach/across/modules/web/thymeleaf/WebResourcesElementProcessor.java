@@ -15,12 +15,21 @@
  */
 package com.foreach.across.modules.web.thymeleaf;
 
+import com.foreach.across.modules.web.resource.WebResourceMarkupCache;
+import com.foreach.across.modules.web.resource.WebResourceReferenceCollection;
+import com.foreach.across.modules.web.resource.WebResourceRegistry;
+import com.foreach.across.modules.web.resource.WebResourceUtils;
+import com.foreach.across.modules.web.template.WebTemplateInterceptor;
+import com.foreach.across.modules.web.ui.ViewElementBuilderContext;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationContext;
 import org.springframework.util.Assert;
+import org.springframework.web.servlet.support.RequestContextUtils;
 import org.thymeleaf.context.ITemplateContext;
-import org.thymeleaf.model.IModel;
-import org.thymeleaf.model.IModelFactory;
-import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.context.WebEngineContext;
+import org.thymeleaf.exceptions.TemplateProcessingException;
+import org.thymeleaf.inline.NoOpInliner;
+import org.thymeleaf.model.*;
 import org.thymeleaf.processor.element.AbstractElementTagProcessor;
 import org.thymeleaf.processor.element.IElementTagStructureHandler;
 import org.thymeleaf.standard.expression.IStandardExpression;
@@ -28,8 +37,15 @@ import org.thymeleaf.standard.expression.IStandardExpressionParser;
 import org.thymeleaf.standard.expression.StandardExpressions;
 import org.thymeleaf.templatemode.TemplateMode;
 
+import java.io.IOException;
+import java.io.StringWriter;
+
 /**
  * Supports rendering the collection of web resources present in a {@link com.foreach.across.modules.web.resource.WebResourceRegistry} bucket.
+ * <p/>
+ * If a {@link WebResourceMarkupCache} is available, the markup of the bucket is rendered once and written as a single
+ * text for all requests with the same references, link state and locale.  Markup that would still require template processing
+ * or that contains generated html ids is never cached.
  *
  * @author Arne Vandamme
  * @since 3.2.0
@@ -65,6 +81,14 @@ class WebResourcesElementProcessor extends AbstractElementTagProcessor
 
 		Assert.isTrue( StringUtils.isNotEmpty( bucketName ), "across:web-resources requires a valid bucket name" );
 
+		WebResourceMarkupCache markupCache = retrieveMarkupCache( context );
+		WebResourceRegistry registry = (WebResourceRegistry) context.getVariable( WebResourceUtils.REGISTRY_ATTRIBUTE_KEY );
+
+		if ( markupCache != null && registry != null ) {
+			renderCachedMarkup( context, markupCache, registry.getResourcesForBucket( bucketName ), structureHandler );
+			return;
+		}
+
 		IModelFactory modelFactory = context.getModelFactory();
 		IModel model = modelFactory.createModel();
 		model.add( modelFactory.createStandaloneElementTag(
@@ -73,4 +97,74 @@ class WebResourcesElementProcessor extends AbstractElementTagProcessor
 
 		structureHandler.replaceWith( model, true );
 	}
+
+	private void renderCachedMarkup( ITemplateContext context,
+	                                 WebResourceMarkupCache markupCache,
+	                                 WebResourceReferenceCollection references,
+	                                 IElementTagStructureHandler structureHandler ) {
+		String linkState = ViewElementBuilderContext.retrieveGlobalBuilderContext().map( ctx -> ctx.buildLink( "/" ) ).orElse( null );
+		String markup = markupCache.getMarkup( references, linkState, context.getLocale() );
+
+		if ( markup == null ) {
+			IModel model = ViewElementElementProcessor.createModel( context, references.build() );
+
+			if ( !isStaticMarkup( model ) ) {
+				structureHandler.setInliner( NoOpInliner.INSTANCE );
+				structureHandler.replaceWith( model, true );
+				return;
+			}
+
+			markup = write( model );
+			markupCache.putMarkup( references, linkState, context.getLocale(), markup );
+		}
+
+		structureHandler.replaceWith( markup, false );
+	}
+
+	private WebResourceMarkupCache retrieveMarkupCache( ITemplateContext context ) {
+		if ( context instanceof WebEngineContext && context.getVariable( WebTemplateInterceptor.RENDER_VIEW_ELEMENT ) == null ) {
+			ApplicationContext appCtx = RequestContextUtils.findWebApplicationContext( ( (WebEngineContext) context ).getRequest() );
+			return appCtx != null ? appCtx.getBeanProvider( WebResourceMarkupCache.class ).getIfAvailable() : null;
+		}
+		return null;
+	}
+
+	/**
+	 * Markup is static if it does not contain any element or attribute that could be processed
+	 * by a dialect, nor any html id that depends on the other elements of the page.
+	 */
+	private boolean isStaticMarkup( IModel model ) {
+		for ( int i = 0; i < model.size(); i++ ) {
+			ITemplateEvent event = model.get( i );
+
+			if ( event instanceof IProcessingInstruction ) {
+				return false;
+			}
+
+			if ( event instanceof IProcessableElementTag ) {
+				IProcessableElementTag tag = (IProcessableElementTag) event;
+				if ( tag.getElementCompleteName().indexOf( ':' ) >= 0 || tag.hasAttribute( "id" ) ) {
+					return false;
+				}
+				for ( IAttribute attribute : tag.getAllAttributes() ) {
+					String attributeName = attribute.getAttributeCompleteName();
+					if ( attributeName.indexOf( ':' ) >= 0 || attributeName.startsWith( "data-th-" ) || attributeName.startsWith( "data-across-" ) ) {
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	private String write( IModel model ) {
+		try {
+			StringWriter writer = new StringWriter();
+			model.write( writer );
+			return writer.toString();
+		}
+		catch ( IOException ioe ) {
+			throw new TemplateProcessingException( "Unable to write web resources markup", ioe );
+		}
+	}
 }
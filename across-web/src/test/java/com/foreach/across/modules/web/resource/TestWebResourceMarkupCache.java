@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.web.resource;
+
+import com.foreach.across.modules.web.ui.ViewElementBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+public class TestWebResourceMarkupCache
+{
+	private final WebResourceReference one = new WebResourceReference( mock( ViewElementBuilder.class ), "one", null, null, null );
+	private final WebResourceReference two = new WebResourceReference( mock( ViewElementBuilder.class ), "two", "one", null, null );
+
+	@Test
+	public void markupIsStoredForTheSortedReferencesLinkStateAndLocale() {
+		WebResourceMarkupCache cache = new WebResourceMarkupCache( 10 );
+		cache.putMarkup( collection( one, two ), "/", Locale.ENGLISH, "<one/><two/>" );
+
+		assertThat( cache.getMarkup( collection( one, two ), "/", Locale.ENGLISH ) ).isEqualTo( "<one/><two/>" );
+		assertThat( cache.getMarkup( collection( two, one ), "/", Locale.ENGLISH ) ).isEqualTo( "<one/><two/>" );
+		assertThat( cache.getMarkup( collection( one, two ), "/context/", Locale.ENGLISH ) ).isNull();
+		assertThat( cache.getMarkup( collection( one ), "/", Locale.ENGLISH ) ).isNull();
+		assertThat( cache.getMarkup( collection( one, two ), "/", Locale.FRENCH ) ).isNull();
+		assertThat( cache.size() ).isEqualTo( 1 );
+
+		cache.clear();
+		assertThat( cache.getMarkup( collection( one, two ), "/", Locale.ENGLISH ) ).isNull();
+	}
+
+	@Test
+	public void leastRecentlyUsedMarkupIsEvicted() {
+		WebResourceMarkupCache cache = new WebResourceMarkupCache( 2 );
+		cache.putMarkup( collection( one ), "/", Locale.ENGLISH, "<one/>" );
+		cache.putMarkup( collection( two ), "/", Locale.ENGLISH, "<two/>" );
+		assertThat( cache.getMarkup( collection( one ), "/", Locale.ENGLISH ) ).isEqualTo( "<one/>" );
+
+		cache.putMarkup( collection(), "/", Locale.ENGLISH, "" );
+
+		assertThat( cache.size() ).isEqualTo( 2 );
+		assertThat( cache.getMarkup( collection( one ), "/", Locale.ENGLISH ) ).isEqualTo( "<one/>" );
+		assertThat( cache.getMarkup( collection( two ), "/", Locale.ENGLISH ) ).isNull();
+		assertThat( cache.getMarkup( collection(), "/", Locale.ENGLISH ) ).isEmpty();
+	}
+
+	private WebResourceReferenceCollection collection( WebResourceReference... references ) {
+		return new WebResourceReferenceCollection( Arrays.asList( references ) );
+	}
+}
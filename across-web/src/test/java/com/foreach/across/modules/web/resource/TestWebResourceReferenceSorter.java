@@ -21,11 +21,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
 
@@ -106,4 +108,49 @@ public class TestWebResourceReferenceSorter
 		assertEquals( "3", sorted.get( 3 ).getKey() );
 		assertEquals( "4", sorted.get( 4 ).getKey() );
 	}
+
+	@Test
+	public void longChainOfAfterIsSorted() {
+		List<WebResourceReference> items = new ArrayList<>();
+		for ( int i = 499; i > 0; i-- ) {
+			items.add( new WebResourceReference( viewElementBuilder, "" + i, null, "" + ( i - 1 ), null ) );
+		}
+		items.add( new WebResourceReference( viewElementBuilder, "0", null, null, null ) );
+
+		List<WebResourceReference> sorted = WebResourceReferenceSorter.sort( items );
+		assertEquals( 500, sorted.size() );
+		for ( int i = 0; i < 500; i++ ) {
+			assertEquals( "" + i, sorted.get( i ).getKey() );
+		}
+	}
+
+	@Test
+	public void cycleIsDetected() {
+		List<WebResourceReference> items = new ArrayList<>();
+		items.add( new WebResourceReference( viewElementBuilder, "0", null, "2", null ) );
+		items.add( new WebResourceReference( viewElementBuilder, "1", null, "0", null ) );
+		items.add( new WebResourceReference( viewElementBuilder, "2", null, "1", null ) );
+
+		assertThatExceptionOfType( IllegalStateException.class )
+				.isThrownBy( () -> WebResourceReferenceSorter.sort( items ) )
+				.withMessageStartingWith( "WebResourceReference cycle detected" );
+	}
+
+	@Test
+	public void collectionOnlySortsAgainIfItemsHaveChanged() {
+		WebResourceReference one = new WebResourceReference( viewElementBuilder, "1", null, "2", null );
+		WebResourceReference two = new WebResourceReference( viewElementBuilder, "2", null, null, null );
+		List<WebResourceReference> items = new ArrayList<>( Arrays.asList( one, two ) );
+
+		WebResourceReferenceCollection collection = new WebResourceReferenceCollection( items );
+		assertThat( collection ).containsExactly( two, one );
+		assertThat( collection.iterator().next() ).isSameAs( two );
+
+		WebResourceReference zero = new WebResourceReference( viewElementBuilder, "0", "2", null, null );
+		items.add( zero );
+		assertThat( collection ).containsExactly( zero, two, one );
+
+		items.set( 0, new WebResourceReference( viewElementBuilder, "3", null, null, null ) );
+		assertThat( collection ).extracting( WebResourceReference::getKey ).containsExactly( "3", "0", "2" );
+	}
 }
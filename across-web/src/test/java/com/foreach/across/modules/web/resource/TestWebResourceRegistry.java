@@ -181,6 +181,79 @@ public class TestWebResourceRegistry
 		verify( pkg, times( 2 ) ).install( registry );
 	}
 
+	@Test
+	public void registriesCreatedFromSnapshotShareBucketsUntilModified() {
+		WebResourceRegistry defaultRegistry = new WebResourceRegistry( null );
+		defaultRegistry.apply( WebResourceRule.add( WebResource.css( "/one.css" ) ).withKey( "1-css" ).toBucket( "bucket-css" ),
+		                       WebResourceRule.add( WebResource.css( "/two.css" ) ).withKey( "2-css" ).toBucket( "bucket-css" ),
+		                       WebResourceRule.add( WebResource.javascript( "/one.js" ) ).withKey( "1-js" ).toBucket( "bucket-js" ) );
+
+		WebResourceRegistrySnapshot snapshot = defaultRegistry.snapshot();
+		WebResourceRegistry first = snapshot.createRegistry( null );
+		WebResourceRegistry second = snapshot.createRegistry( null );
+
+		assertThat( first.getBuckets() ).containsExactly( "bucket-css", "bucket-js" );
+		assertThat( first.getResourcesForBucket( "bucket-css" ) ).isSameAs( second.getResourcesForBucket( "bucket-css" ) );
+
+		first.apply( WebResourceRule.add( WebResource.css( "/three.css" ) ).withKey( "3-css" ).toBucket( "bucket-css" ) );
+		first.removeResourceWithKeyFromBucket( "1-js", "bucket-js" );
+		second.removeResourceWithKey( "unknown" );
+
+		size( 3, first.getResourcesForBucket( "bucket-css" ) );
+		size( 0, first.getResourcesForBucket( "bucket-js" ) );
+		size( 2, second.getResourcesForBucket( "bucket-css" ) );
+		size( 1, second.getResourcesForBucket( "bucket-js" ) );
+		size( 2, defaultRegistry.getResourcesForBucket( "bucket-css" ) );
+		size( 1, defaultRegistry.getResourcesForBucket( "bucket-js" ) );
+		assertThat( second.getResourcesForBucket( "bucket-js" ) ).isSameAs( snapshot.getBuckets().get( "bucket-js" ) );
+
+		second.clear( "bucket-css" );
+		size( 0, second.getResourcesForBucket( "bucket-css" ) );
+		assertThat( snapshot.createRegistry( null ).getResourcesForBucket( "bucket-css" ) )
+				.extracting( WebResourceReference::getKey )
+				.containsExactly( "1-css", "2-css" );
+	}
+
+	@Test
+	public void snapshotIsOutdatedWhenRegistryIsModified() {
+		WebResourceRegistry defaultRegistry = new WebResourceRegistry( null );
+		defaultRegistry.apply( WebResourceRule.add( WebResource.css( "/one.css" ) ).withKey( "1-css" ).toBucket( "bucket-css" ) );
+
+		WebResourceRegistrySnapshot snapshot = defaultRegistry.snapshot();
+		assertThat( snapshot.isSnapshotOf( defaultRegistry ) ).isTrue();
+		assertThat( snapshot.isSnapshotOf( new WebResourceRegistry( null ) ) ).isFalse();
+
+		// not modified
+		defaultRegistry.addResourceToBucket( WebResourceReference.builder().key( "1-css" ).viewElementBuilder( mock( ViewElementBuilder.class ) ).build(),
+		                                     "bucket-css", false );
+		assertThat( snapshot.isSnapshotOf( defaultRegistry ) ).isTrue();
+
+		defaultRegistry.removeResourceWithKey( "1-css" );
+		assertThat( snapshot.isSnapshotOf( defaultRegistry ) ).isFalse();
+		size( 1, snapshot.getBuckets().get( "bucket-css" ) );
+	}
+
+	@Test
+	public void bucketCollectionIsReusedUntilBucketIsModified() {
+		registry.apply( WebResourceRule.add( WebResource.css( "/one.css" ) ).withKey( "1-css" ).toBucket( "bucket-css" ),
+		                WebResourceRule.add( WebResource.javascript( "/one.js" ) ).withKey( "1-js" ).toBucket( "bucket-js" ) );
+
+		WebResourceReferenceCollection css = registry.getResourcesForBucket( "bucket-css" );
+		WebResourceReferenceCollection js = registry.getResourcesForBucket( "bucket-js" );
+		assertThat( registry.getResourcesForBucket( "bucket-css" ) ).isSameAs( css );
+
+		registry.apply( WebResourceRule.add( WebResource.css( "/two.css" ) ).withKey( "2-css" ).before( "1-css" ).toBucket( "bucket-css" ) );
+		assertThat( registry.getResourcesForBucket( "bucket-js" ) ).isSameAs( js );
+		assertThat( registry.getResourcesForBucket( "bucket-css" ) )
+				.isNotSameAs( css )
+				.extracting( WebResourceReference::getKey )
+				.containsExactly( "2-css", "1-css" );
+		assertThat( css ).extracting( WebResourceReference::getKey ).containsExactly( "1-css" );
+
+		registry.clear();
+		size( 0, registry.getResourcesForBucket( "bucket-js" ) );
+	}
+
 	private void size( int expectedSize, WebResourceReferenceCollection referenceCollection ) {
 		assertThat( referenceCollection ).hasSize( expectedSize );
 	}
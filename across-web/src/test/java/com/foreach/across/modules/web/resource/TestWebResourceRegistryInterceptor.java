@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.web.resource;
+
+import com.foreach.across.core.events.BuildRegistryEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ * @since 5.3.0
+ */
+public class TestWebResourceRegistryInterceptor
+{
+	private final WebResourceRegistry defaultRegistry = new WebResourceRegistry( null );
+	private final ApplicationEventPublisher eventPublisher = mock( ApplicationEventPublisher.class );
+
+	private WebResourceRegistryInterceptor interceptor;
+
+	@BeforeEach
+	public void createInterceptor() {
+		defaultRegistry.apply( WebResourceRule.add( WebResource.css( "/default.css" ) ).withKey( "default" ).toBucket( WebResource.CSS ) );
+
+		interceptor = new WebResourceRegistryInterceptor( null );
+		interceptor.setDefaultRegistry( defaultRegistry );
+		ReflectionTestUtils.setField( interceptor, "eventPublisher", eventPublisher );
+	}
+
+	@Test
+	public void requestRegistryStartsFromDefaultRegistry() {
+		WebResourceRegistry registry = handleRequest();
+
+		assertThat( registry ).isNotSameAs( defaultRegistry );
+		assertThat( registry.getResourcesForBucket( WebResource.CSS ) ).extracting( WebResourceReference::getKey ).containsExactly( "default" );
+		verify( eventPublisher ).publishEvent( any( BuildRegistryEvent.class ) );
+
+		registry.apply( WebResourceRule.add( WebResource.css( "/request.css" ) ).withKey( "request" ).toBucket( WebResource.CSS ) );
+		assertThat( handleRequest().getResourcesForBucket( WebResource.CSS ) ).extracting( WebResourceReference::getKey ).containsExactly( "default" );
+		assertThat( defaultRegistry.getResourcesForBucket( WebResource.CSS ) ).hasSize( 1 );
+	}
+
+	@Test
+	public void modificationsOfDefaultRegistryAreVisibleInNextRequest() {
+		WebResourceRegistry first = handleRequest();
+
+		defaultRegistry.apply( WebResourceRule.add( WebResource.css( "/other.css" ) ).withKey( "other" ).toBucket( WebResource.CSS ) );
+		WebResourceRegistry second = handleRequest();
+
+		assertThat( first.getResourcesForBucket( WebResource.CSS ) ).hasSize( 1 );
+		assertThat( second.getResourcesForBucket( WebResource.CSS ) ).extracting( WebResourceReference::getKey ).containsExactly( "default", "other" );
+		assertThat( handleRequest().getResourcesForBucket( WebResource.CSS ) ).isSameAs( second.getResourcesForBucket( WebResource.CSS ) );
+	}
+
+	private WebResourceRegistry handleRequest() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		interceptor.preHandle( request, new MockHttpServletResponse(), null );
+		return WebResourceUtils.getRegistry( request ).orElseThrow( IllegalStateException::new );
+	}
+}